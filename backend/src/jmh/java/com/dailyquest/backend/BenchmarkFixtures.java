@@ -0,0 +1,64 @@
+package com.dailyquest.backend;
+
+import com.dailyquest.backend.domain.Priority;
+import com.dailyquest.backend.domain.Project;
+import com.dailyquest.backend.domain.RecurrenceType;
+import com.dailyquest.backend.domain.Task;
+import com.dailyquest.backend.domain.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 엔티티. DB 없이 빌더로 만들며, 실제 목록 응답과 비슷하게 일부만 프로젝트/반복 설정을 가진다.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user() {
+        return User.builder()
+                .id(1L)
+                .email("bench@dailyquest.com")
+                .password("encoded")
+                .nickname("bench")
+                .build();
+    }
+
+    public static List<Task> tasks(int count) {
+        User user = user();
+        Project project = Project.builder()
+                .id(1L)
+                .user(user)
+                .name("Benchmark Project")
+                .color("#3B82F6")
+                .build();
+        LocalDate today = LocalDate.of(2025, 1, 1);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 9, 0);
+        Priority[] priorities = Priority.values();
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean recurring = i % 5 == 0;
+            tasks.add(Task.builder()
+                    .id((long) i + 1)
+                    .user(user)
+                    .project(i % 3 == 0 ? null : project)
+                    .title("Task " + i)
+                    .description(i % 2 == 0 ? "Description for task " + i : null)
+                    .priority(priorities[i % priorities.length])
+                    .dueDate(today.plusDays(i % 30))
+                    .isCompleted(i % 4 == 0)
+                    .isRecurring(recurring)
+                    .recurrenceType(recurring ? RecurrenceType.WEEKLY : null)
+                    .version(0L)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,48 @@
+package com.dailyquest.backend.config.jwt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 인증 요청이 거치는 JWT 발급/검증 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtTokenProvider = new JwtTokenProvider();
+        set("secretString", "benchmark-secret-key-must-be-at-least-256-bits-long-for-hmac-sha-algorithms");
+        set("expiration", 900_000L);
+        jwtTokenProvider.init();
+        token = jwtTokenProvider.createToken(1L, "bench@dailyquest.com");
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtTokenProvider.createToken(1L, "bench@dailyquest.com");
+    }
+
+    @Benchmark
+    public AccessToken parse() {
+        return jwtTokenProvider.parse(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtTokenProvider.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtTokenProvider, value);
+    }
+}
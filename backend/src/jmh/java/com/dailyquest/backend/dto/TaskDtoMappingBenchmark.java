@@ -0,0 +1,33 @@
+package com.dailyquest.backend.dto;
+
+import com.dailyquest.backend.BenchmarkFixtures;
+import com.dailyquest.backend.domain.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 → 응답 DTO 변환 비용 (프로젝트가 있는 task 기준).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskDtoMappingBenchmark {
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkFixtures.tasks(2).get(1);
+    }
+
+    @Benchmark
+    public TaskDto.Response response() {
+        return TaskDto.Response.from(task);
+    }
+
+    @Benchmark
+    public TaskDto.ListResponse listResponse() {
+        return TaskDto.ListResponse.from(task);
+    }
+}
@@ -0,0 +1,39 @@
+package com.dailyquest.backend.dto;
+
+import com.dailyquest.backend.BenchmarkFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/tasks 응답 본문 직렬화 비용. ObjectMapper는 Spring Boot와 같은 빌더 기본값(JavaTimeModule, ISO 날짜)을 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListSerializationBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<TaskDto.ListResponse>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<TaskDto.ListResponse> tasks = BenchmarkFixtures.tasks(size).stream()
+                .map(TaskDto.ListResponse::from)
+                .toList();
+        response = ApiResponse.success(tasks);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,38 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.domain.RecurrenceType;
+import com.dailyquest.backend.domain.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 반복 task 완료 시 다음 마감일 계산.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskServiceBenchmark {
+
+    @Param({"DAILY", "WEEKLY", "MONTHLY"})
+    public RecurrenceType recurrenceType;
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        task = Task.builder()
+                .title("Recurring")
+                .dueDate(LocalDate.of(2025, 1, 31))
+                .isRecurring(true)
+                .recurrenceType(recurrenceType)
+                .recurrenceInterval(2)
+                .build();
+    }
+
+    @Benchmark
+    public LocalDate calculateNextDueDate() {
+        return TaskService.calculateNextDueDate(task);
+    }
+}
@@ -0,0 +1,299 @@
+package com.dailyquest.backend.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 부하 테스트용 데이터를 JDBC 배치 INSERT로 넣는다. 스키마는 앱(Flyway 또는 ddl-auto)이 먼저 만들어 두어야 한다.
+ *
+ * 사용자마다 프로젝트, 일반 task, 반복 task 체인(완료된 회차들 + 진행 중인 마지막 회차)과
+ * 부하 생성기가 쓸 개인 액세스 토큰(READ, WRITE)을 만든다. 토큰 원문은 tokens-file에 남긴다.
+ * 로그인 API는 요청 수 제한이 있어 부하 생성기는 로그인 대신 이 토큰을 쓴다.
+ *
+ * 실행: ./gradlew seedLoadTestData -Pseed.users=1000 -Pseed.tasks-per-user=500
+ */
+public final class DatasetSeeder {
+
+    private static final String PASSWORD = "password123";
+    private static final String TOKEN_PREFIX = "dq_pat_";
+    private static final String[] COLORS = {"#3B82F6", "#10B981", "#F59E0B", "#EF4444", "#8B5CF6"};
+    private static final String[] PRIORITIES = {"HIGH", "MEDIUM", "LOW"};
+    private static final String[] RECURRENCE_TYPES = {"DAILY", "WEEKLY", "MONTHLY"};
+
+    private final int users;
+    private final int projectsPerUser;
+    private final int tasksPerUser;
+    private final double recurringRatio;
+    private final int chainLength;
+    private final int usersPerBatch;
+    private final Random random;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final LocalDate today = LocalDate.now();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private DatasetSeeder() {
+        this.users = LoadTestConfig.integer("seed.users", 100);
+        this.projectsPerUser = LoadTestConfig.integer("seed.projects-per-user", 5);
+        this.tasksPerUser = LoadTestConfig.integer("seed.tasks-per-user", 200);
+        this.recurringRatio = LoadTestConfig.decimal("seed.recurring-ratio", 0.1);
+        this.chainLength = LoadTestConfig.integer("seed.chain-length", 5);
+        this.usersPerBatch = LoadTestConfig.integer("seed.users-per-batch", 50);
+        this.random = new Random(LoadTestConfig.integer("seed.random-seed", 42));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = LoadTestConfig.string("seed.jdbc-url", "jdbc:postgresql://localhost:5434/dailyquest");
+        String username = LoadTestConfig.string("seed.username", "postgres");
+        String password = LoadTestConfig.string("seed.password", "postgres");
+        Path tokensFile = Path.of(LoadTestConfig.string("seed.tokens-file", "build/loadtest/tokens.csv"));
+
+        Files.createDirectories(tokensFile.toAbsolutePath().getParent());
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             PrintWriter tokens = new PrintWriter(Files.newBufferedWriter(tokensFile, StandardCharsets.UTF_8))) {
+            connection.setAutoCommit(false);
+            new DatasetSeeder().seed(connection, tokens);
+        }
+        System.out.println("Tokens written to " + tokensFile.toAbsolutePath());
+    }
+
+    private void seed(Connection connection, PrintWriter tokens) throws SQLException {
+        // 모든 사용자가 같은 비밀번호를 쓰므로 해시는 한 번만 만든다
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        long started = System.nanoTime();
+        long taskCount = 0;
+
+        for (int offset = 0; offset < users; offset += usersPerBatch) {
+            int count = Math.min(usersPerBatch, users - offset);
+            List<Long> userIds = insertUsers(connection, offset, count, passwordHash);
+            insertCounters(connection, userIds);
+            List<Long> projectIds = insertProjects(connection, userIds);
+            taskCount += insertTasks(connection, userIds, projectIds);
+            insertTokens(connection, userIds, tokens);
+            connection.commit();
+            System.out.printf("Seeded %d/%d users, %d tasks%n", offset + count, users, taskCount);
+        }
+
+        System.out.printf("Done: %d users, %d tasks in %.1fs%n",
+                users, taskCount, (System.nanoTime() - started) / 1e9);
+    }
+
+    private List<Long> insertUsers(Connection connection, int offset, int count, String passwordHash) throws SQLException {
+        String sql = "INSERT INTO users (email, password, nickname, created_at) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (int i = 0; i < count; i++) {
+                int index = offset + i;
+                statement.setString(1, "load-" + runId + "-" + index + "@dailyquest.test");
+                statement.setString(2, passwordHash);
+                statement.setString(3, "load" + index);
+                statement.setTimestamp(4, Timestamp.valueOf(now));
+                statement.addBatch();
+            }
+            return executeAndCollectIds(statement);
+        }
+    }
+
+    private void insertCounters(Connection connection, List<Long> userIds) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO user_change_counters (user_id, version) VALUES (?, 0)")) {
+            for (Long userId : userIds) {
+                statement.setLong(1, userId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * @return 사용자 순서대로 projectsPerUser개씩 이어 붙인 프로젝트 id
+     */
+    private List<Long> insertProjects(Connection connection, List<Long> userIds) throws SQLException {
+        String sql = "INSERT INTO projects (user_id, name, color, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (Long userId : userIds) {
+                for (int p = 0; p < projectsPerUser; p++) {
+                    statement.setLong(1, userId);
+                    statement.setString(2, "Project " + (p + 1));
+                    statement.setString(3, COLORS[p % COLORS.length]);
+                    statement.setTimestamp(4, Timestamp.valueOf(now));
+                    statement.setTimestamp(5, Timestamp.valueOf(now));
+                    statement.addBatch();
+                }
+            }
+            return executeAndCollectIds(statement);
+        }
+    }
+
+    /**
+     * 일반 task와 반복 체인의 첫 회차를 먼저 넣고, 받은 id를 parent_task_id로 삼아 나머지 회차를 넣는다.
+     */
+    private long insertTasks(Connection connection, List<Long> userIds, List<Long> projectIds) throws SQLException {
+        String sql = "INSERT INTO tasks (user_id, project_id, title, description, priority, due_date, is_completed,"
+                + " completed_at, is_recurring, recurrence_type, recurrence_interval, recurrence_end_date,"
+                + " parent_task_id, version, created_at, updated_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NULL, ?, 0, ?, ?)";
+
+        List<TaskRow> roots = new ArrayList<>();
+        long inserted = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (int u = 0; u < userIds.size(); u++) {
+                int chains = (int) Math.round(tasksPerUser * recurringRatio / Math.max(1, chainLength));
+                int standalone = tasksPerUser - chains * Math.max(1, chainLength);
+                for (int t = 0; t < standalone + chains; t++) {
+                    boolean recurring = t >= standalone;
+                    TaskRow row = new TaskRow(
+                            userIds.get(u),
+                            pickProject(projectIds, u),
+                            recurring ? "Recurring " + (t - standalone + 1) : "Task " + (t + 1),
+                            recurring ? RECURRENCE_TYPES[random.nextInt(RECURRENCE_TYPES.length)] : null,
+                            recurring ? today.minusDays(chainLength * 7L) : today.plusDays(random.nextInt(60) - 20),
+                            recurring || random.nextDouble() < 0.4);
+                    bindTask(statement, row, null);
+                    if (recurring) {
+                        roots.add(row);
+                    }
+                }
+            }
+            List<Long> ids = executeAndCollectIds(statement);
+            inserted += ids.size();
+            // 반복 task는 루프 뒤쪽에 있으므로 id 목록의 끝에서 대응시킨다
+            int rootOffset = ids.size() - roots.size();
+            for (int i = 0; i < roots.size(); i++) {
+                roots.get(i).id = ids.get(rootOffset + i);
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (TaskRow root : roots) {
+                LocalDate dueDate = root.dueDate;
+                for (int n = 1; n < chainLength; n++) {
+                    dueDate = next(root.recurrenceType, dueDate);
+                    boolean last = n == chainLength - 1;
+                    TaskRow child = new TaskRow(root.userId, root.projectId, root.title,
+                            root.recurrenceType, dueDate, !last);
+                    bindTask(statement, child, root.id);
+                    inserted++;
+                }
+            }
+            statement.executeBatch();
+        }
+        return inserted;
+    }
+
+    private void bindTask(PreparedStatement statement, TaskRow row, Long parentId) throws SQLException {
+        statement.setLong(1, row.userId);
+        if (row.projectId != null) {
+            statement.setLong(2, row.projectId);
+        } else {
+            statement.setNull(2, Types.BIGINT);
+        }
+        statement.setString(3, row.title);
+        statement.setString(4, random.nextBoolean() ? "Generated for load testing" : null);
+        statement.setString(5, PRIORITIES[random.nextInt(PRIORITIES.length)]);
+        statement.setObject(6, row.dueDate);
+        statement.setBoolean(7, row.completed);
+        statement.setTimestamp(8, row.completed ? Timestamp.valueOf(now) : null);
+        statement.setBoolean(9, row.recurrenceType != null);
+        statement.setString(10, row.recurrenceType);
+        statement.setInt(11, 1);
+        if (parentId != null) {
+            statement.setLong(12, parentId);
+        } else {
+            statement.setNull(12, Types.BIGINT);
+        }
+        statement.setTimestamp(13, Timestamp.valueOf(now));
+        statement.setTimestamp(14, Timestamp.valueOf(now));
+        statement.addBatch();
+    }
+
+    private void insertTokens(Connection connection, List<Long> userIds, PrintWriter tokens) throws SQLException {
+        String sql = "INSERT INTO personal_access_tokens (user_id, name, token_digest, token_prefix, scopes, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Long userId : userIds) {
+                byte[] bytes = new byte[32];
+                secureRandom.nextBytes(bytes);
+                String token = TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+                statement.setLong(1, userId);
+                statement.setString(2, "load-test");
+                statement.setString(3, sha256(token));
+                statement.setString(4, token.substring(0, 12));
+                statement.setString(5, "READ,WRITE");
+                statement.setTimestamp(6, Timestamp.valueOf(now));
+                statement.addBatch();
+                tokens.println(userId + "," + token);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private Long pickProject(List<Long> projectIds, int userIndex) {
+        if (projectsPerUser == 0 || random.nextInt(4) == 0) {
+            return null;
+        }
+        return projectIds.get(userIndex * projectsPerUser + random.nextInt(projectsPerUser));
+    }
+
+    private static LocalDate next(String recurrenceType, LocalDate dueDate) {
+        return switch (recurrenceType) {
+            case "DAILY" -> dueDate.plusDays(1);
+            case "WEEKLY" -> dueDate.plusWeeks(1);
+            default -> dueDate.plusMonths(1);
+        };
+    }
+
+    private static List<Long> executeAndCollectIds(PreparedStatement statement) throws SQLException {
+        statement.executeBatch();
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class TaskRow {
+        final Long userId;
+        final Long projectId;
+        final String title;
+        final String recurrenceType;
+        final LocalDate dueDate;
+        final boolean completed;
+        Long id;
+
+        TaskRow(Long userId, Long projectId, String title, String recurrenceType, LocalDate dueDate, boolean completed) {
+            this.userId = userId;
+            this.projectId = projectId;
+            this.title = title;
+            this.recurrenceType = recurrenceType;
+            this.dueDate = dueDate;
+            this.completed = completed;
+        }
+    }
+}
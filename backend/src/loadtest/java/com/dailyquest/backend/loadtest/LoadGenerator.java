@@ -0,0 +1,257 @@
+package com.dailyquest.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실행 중인 서버에 대시보드 조회/목록 조회/생성/완료를 섞은 부하를 목표 RPS로 건다.
+ *
+ * 요청은 응답을 기다리지 않고 정해진 간격으로 보낸다(open loop). 응답 시간은 실제 전송 시각이 아니라
+ * 보냈어야 할 시각부터 재므로 서버가 밀려 전송이 늦어진 만큼도 지연에 포함된다(coordinated omission 보정).
+ * 동시 요청이 max-in-flight를 넘으면 보내지 않고 dropped로 센다.
+ *
+ * 인증은 DatasetSeeder가 남긴 개인 액세스 토큰을 쓴다.
+ * 실행: ./gradlew loadTest -Pload.rps=500 -Pload.duration-seconds=60
+ */
+public final class LoadGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String baseUrl;
+    private final int rps;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int maxInFlight;
+    private final List<String> operations = new ArrayList<>();
+    private final List<VirtualUser> users;
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private LoadGenerator(List<VirtualUser> users) {
+        this.baseUrl = LoadTestConfig.string("load.base-url", "http://localhost:8080");
+        this.rps = LoadTestConfig.integer("load.rps", 100);
+        this.durationSeconds = LoadTestConfig.integer("load.duration-seconds", 60);
+        this.warmupSeconds = LoadTestConfig.integer("load.warmup-seconds", 10);
+        this.maxInFlight = LoadTestConfig.integer("load.max-in-flight", 1000);
+        this.users = users;
+
+        // 가중치만큼 이름을 채워 두고 균등하게 뽑는다
+        LoadTestConfig.weights("load.mix", "dashboard=30,list=40,create=15,complete=15")
+                .forEach((operation, weight) -> {
+                    recorders.put(operation, new LatencyRecorder());
+                    for (int i = 0; i < weight; i++) {
+                        operations.add(operation);
+                    }
+                });
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path tokensFile = Path.of(LoadTestConfig.string("load.tokens-file", "build/loadtest/tokens.csv"));
+        List<VirtualUser> users = new ArrayList<>();
+        for (String line : Files.readAllLines(tokensFile)) {
+            if (!line.isBlank()) {
+                users.add(new VirtualUser(line.substring(line.indexOf(',') + 1).trim()));
+            }
+        }
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No tokens in " + tokensFile + ", run seedLoadTestData first");
+        }
+        new LoadGenerator(users).run();
+    }
+
+    private void run() throws IOException {
+        System.out.printf("Target %d rps for %ds (+%ds warmup) against %s with %d users%n",
+                rps, durationSeconds, warmupSeconds, baseUrl, users.size());
+
+        long intervalNanos = 1_000_000_000L / rps;
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + durationSeconds * 1_000_000_000L;
+
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    dropped.incrementAndGet();
+                }
+                continue;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            String operation = operations.get(random.nextInt(operations.size()));
+            send(user, operation, intended, measured);
+        }
+
+        awaitInFlight();
+        report((end - measureFrom) / 1e9);
+    }
+
+    private void send(VirtualUser user, String operation, long intended, boolean measured) {
+        HttpRequest request = buildRequest(user, operation);
+        if (request == null) {
+            // 완료할 task가 아직 없으면 목록 조회로 대신한다
+            operation = "list";
+            request = buildRequest(user, operation);
+        }
+        String name = operation;
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intended;
+                    inFlight.decrementAndGet();
+                    if (error != null) {
+                        failures.incrementAndGet();
+                        if (measured) {
+                            recorders.get(name).record(latency, 0);
+                        }
+                        return;
+                    }
+                    if (measured) {
+                        recorders.computeIfAbsent(name, key -> new LatencyRecorder())
+                                .record(latency, response.statusCode());
+                    }
+                    user.observe(name, response);
+                });
+    }
+
+    private HttpRequest buildRequest(VirtualUser user, String operation) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + user.token);
+        switch (operation) {
+            case "dashboard" -> user.conditional(builder, "/api/dashboard").uri(uri("/api/dashboard")).GET();
+            case "list" -> user.conditional(builder, "/api/tasks").uri(uri("/api/tasks")).GET();
+            case "create" -> builder.uri(uri("/api/tasks"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody()));
+            case "complete" -> {
+                Long taskId = user.pending.pollFirst();
+                if (taskId == null) {
+                    return null;
+                }
+                builder.uri(uri("/api/tasks/" + taskId + "/complete"))
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody());
+            }
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String createBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"title\":\"Load task " + random.nextInt(1_000_000) + "\","
+                + "\"priority\":\"" + (random.nextBoolean() ? "MEDIUM" : "HIGH") + "\","
+                + "\"dueDate\":\"" + LocalDate.now().plusDays(random.nextInt(14)) + "\"}";
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(Duration.ofMillis(50).toNanos());
+        }
+    }
+
+    private void report(double elapsedSeconds) throws IOException {
+        Map<String, Object> endpoints = new TreeMap<>();
+        recorders.forEach((name, recorder) -> endpoints.put(name, recorder.summarize(elapsedSeconds)));
+
+        System.out.printf("%n%-10s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "304", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, value) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> s = (Map<String, Object>) value;
+            System.out.printf("%-10s %9s %7s %7s %9s %9s %9s %9s %9s%n", name, s.get("count"), s.get("errors"),
+                    s.get("notModified"), s.get("throughput"), s.get("p50Ms"), s.get("p99Ms"), s.get("p999Ms"),
+                    s.get("maxMs"));
+        });
+        System.out.printf("dropped=%d transportFailures=%d%n", dropped.get(), failures.get());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("targetRps", rps);
+        report.put("durationSeconds", durationSeconds);
+        report.put("users", users.size());
+        report.put("dropped", dropped.get());
+        report.put("transportFailures", failures.get());
+        report.put("endpoints", endpoints);
+
+        Path reportFile = Path.of(LoadTestConfig.string("load.report-file", "build/loadtest/report.json"));
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        MAPPER.writeValue(reportFile.toFile(), report);
+        System.out.println("Report written to " + reportFile.toAbsolutePath());
+    }
+
+    /**
+     * 사용자별 상태. 조회 응답의 ETag를 기억해 두었다가 다음 조회에 If-None-Match로 보낸다.
+     */
+    private static final class VirtualUser {
+
+        private static final int MAX_PENDING = 200;
+
+        final String token;
+        final Map<String, String> etags = new ConcurrentHashMap<>();
+        final ConcurrentLinkedDeque<Long> pending = new ConcurrentLinkedDeque<>();
+
+        VirtualUser(String token) {
+            this.token = token;
+        }
+
+        HttpRequest.Builder conditional(HttpRequest.Builder builder, String path) {
+            String etag = etags.get(path);
+            return etag != null ? builder.header("If-None-Match", etag) : builder;
+        }
+
+        void observe(String operation, HttpResponse<String> response) {
+            String path = response.request().uri().getPath();
+            response.headers().firstValue("ETag").ifPresent(etag -> etags.put(path, etag));
+            if (response.statusCode() >= 300) {
+                return;
+            }
+            try {
+                JsonNode data = MAPPER.readTree(response.body()).path("data");
+                if ("list".equals(operation)) {
+                    for (JsonNode task : data) {
+                        if (!task.path("isCompleted").asBoolean() && pending.size() < MAX_PENDING) {
+                            pending.add(task.path("id").asLong());
+                        }
+                    }
+                } else if ("create".equals(operation)) {
+                    pending.addFirst(data.path("id").asLong());
+                }
+            } catch (IOException ignored) {
+                // 본문을 해석하지 못해도 측정에는 영향이 없다
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.dailyquest.backend.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 시스템 프로퍼티 읽기. Gradle에서 -Pseed.users=1000 처럼 넘긴 값이 그대로 시스템 프로퍼티로 전달된다.
+ */
+final class LoadTestConfig {
+
+    private LoadTestConfig() {
+    }
+
+    static String string(String key, String defaultValue) {
+        return System.getProperty(key, defaultValue);
+    }
+
+    static int integer(String key, int defaultValue) {
+        return Integer.parseInt(System.getProperty(key, String.valueOf(defaultValue)));
+    }
+
+    static double decimal(String key, double defaultValue) {
+        return Double.parseDouble(System.getProperty(key, String.valueOf(defaultValue)));
+    }
+
+    /**
+     * "dashboard=30,list=40" 형식의 가중치.
+     */
+    static Map<String, Integer> weights(String key, String defaultValue) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : System.getProperty(key, defaultValue).split(",")) {
+            String[] pair = entry.trim().split("=");
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+}
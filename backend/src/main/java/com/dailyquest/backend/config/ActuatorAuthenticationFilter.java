@@ -0,0 +1,58 @@
+package com.dailyquest.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * /actuator/** 요청의 bearer 토큰이 설정된 운영자 토큰(actuator.operator-token)과 같으면 ROLE_OPERATOR로 인증한다.
+ * 메트릭에는 전체 사용자의 트래픽과 내부 구조가 드러나므로 일반 사용자 세션이나 개인 액세스 토큰으로는 읽을 수 없다.
+ * Prometheus는 이 토큰을 bearer_token으로 보내 수집한다. 토큰을 설정하지 않으면 헬스 체크 외의 actuator는 막힌다.
+ */
+@Component
+public class ActuatorAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String ACTUATOR_PATH = "/actuator/";
+    public static final String OPERATOR_ROLE = "OPERATOR";
+
+    private final byte[] operatorToken;
+
+    public ActuatorAuthenticationFilter(@Value("${actuator.operator-token:}") String operatorToken) {
+        this.operatorToken = StringUtils.hasText(operatorToken) ? operatorToken.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return operatorToken == null || !request.getRequestURI().startsWith(ACTUATOR_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+            byte[] presented = header.substring(7).getBytes(StandardCharsets.UTF_8);
+            // 길이 외에는 비교 시간으로 토큰이 드러나지 않게 한다
+            if (MessageDigest.isEqual(presented, operatorToken)) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        "operator", null, List.of(new SimpleGrantedAuthority("ROLE_" + OPERATOR_ROLE))));
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
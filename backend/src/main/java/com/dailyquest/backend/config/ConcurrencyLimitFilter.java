@@ -0,0 +1,159 @@
+package com.dailyquest.backend.config;
+
+import com.dailyquest.backend.dto.ApiResponse;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.util.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * API 요청을 종류별로 나눠 동시 처리 수를 AdaptiveConcurrencyLimiter로 제한한다.
+ * DB가 느려지면 처리 시간이 늘어 limit이 줄고, 넘치는 요청은 Hikari 커넥션을 기다리며 Tomcat 스레드를 잡는 대신 바로 503으로 거절된다.
+ *
+ * - auth: 로그인/회원가입/토큰 재발급/이메일 확인 (BCrypt, 사용자 조회)
+ * - expensive: 동기화 (전체 변경 조회, 배치 변경 적용)
+ * - interactive: 나머지 /api 요청 (할 일, 대시보드, 프로젝트 등)
+ *
+ * 헬스 체크, actuator, SSE 스트림(연결이 오래 유지됨)은 제한하지 않는다.
+ * RateLimitFilter와 같이 보안 필터 체인 안(CorsFilter 뒤, JwtAuthenticationFilter 앞)에서 실행한다.
+ * PAT 조회 전에 거절되고, 503 응답에도 CORS 헤더가 붙는다.
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String SYNC_PATH = "/api/sync";
+    static final String STREAM_PATH = "/api/stream";
+    static final String HEALTH_PATH = "/api/health";
+
+    enum RequestClass {
+        INTERACTIVE, EXPENSIVE, AUTH
+    }
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final Map<RequestClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> rejected = new EnumMap<>(RequestClass.class);
+
+    public ConcurrencyLimitFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${concurrency-limit.retry-after:1s}") Duration retryAfter,
+            @Value("${concurrency-limit.backoff-ratio:0.8}") double backoffRatio,
+            @Value("${concurrency-limit.interactive.initial-limit:20}") int interactiveInitial,
+            @Value("${concurrency-limit.interactive.min-limit:5}") int interactiveMin,
+            @Value("${concurrency-limit.interactive.max-limit:100}") int interactiveMax,
+            @Value("${concurrency-limit.interactive.latency-threshold:1s}") Duration interactiveThreshold,
+            @Value("${concurrency-limit.expensive.initial-limit:4}") int expensiveInitial,
+            @Value("${concurrency-limit.expensive.min-limit:1}") int expensiveMin,
+            @Value("${concurrency-limit.expensive.max-limit:16}") int expensiveMax,
+            @Value("${concurrency-limit.expensive.latency-threshold:5s}") Duration expensiveThreshold,
+            @Value("${concurrency-limit.auth.initial-limit:8}") int authInitial,
+            @Value("${concurrency-limit.auth.min-limit:2}") int authMin,
+            @Value("${concurrency-limit.auth.max-limit:32}") int authMax,
+            @Value("${concurrency-limit.auth.latency-threshold:2s}") Duration authThreshold) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        limiters.put(RequestClass.INTERACTIVE, new AdaptiveConcurrencyLimiter(
+                interactiveInitial, interactiveMin, interactiveMax, interactiveThreshold, backoffRatio));
+        limiters.put(RequestClass.EXPENSIVE, new AdaptiveConcurrencyLimiter(
+                expensiveInitial, expensiveMin, expensiveMax, expensiveThreshold, backoffRatio));
+        limiters.put(RequestClass.AUTH, new AdaptiveConcurrencyLimiter(
+                authInitial, authMin, authMax, authThreshold, backoffRatio));
+
+        limiters.forEach((requestClass, limiter) -> {
+            String tag = requestClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests currently holding a concurrency permit")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejected.put(requestClass, Counter.builder("http.concurrency.rejected")
+                    .description("Requests rejected with 503 because the concurrency limit was reached")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith(HEALTH_PATH) || path.startsWith(STREAM_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestClass requestClass = classify(request.getRequestURI());
+        AdaptiveConcurrencyLimiter.Permit permit = limiters.get(requestClass).tryAcquire();
+        if (permit == null) {
+            reject(response, requestClass, request.getRequestURI());
+            return;
+        }
+
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            permit.release(dropped);
+        }
+    }
+
+    AdaptiveConcurrencyLimiter limiter(String path) {
+        return limiters.get(classify(path));
+    }
+
+    static RequestClass classify(String path) {
+        if (RateLimitFilter.LOGIN_PATH.equals(path) || RateLimitFilter.SIGNUP_PATH.equals(path)
+                || RateLimitFilter.CHECK_EMAIL_PATH.equals(path) || "/api/users/refresh".equals(path)) {
+            return RequestClass.AUTH;
+        }
+        if (path.equals(SYNC_PATH) || path.startsWith(SYNC_PATH + "/")) {
+            return RequestClass.EXPENSIVE;
+        }
+        return RequestClass.INTERACTIVE;
+    }
+
+    private void reject(HttpServletResponse response, RequestClass requestClass, String path) throws IOException {
+        rejected.get(requestClass).increment();
+        log.debug("Concurrency limit reached: class={}, path={}, limit={}",
+                requestClass, path, limiters.get(requestClass).getLimit());
+
+        response.setStatus(ErrorCode.SERVICE_BUSY.getHttpStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error(ErrorCode.SERVICE_BUSY));
+    }
+}
@@ -0,0 +1,56 @@
+package com.dailyquest.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate 2차 캐시 영역을 크기와 만료 시간이 정해진 Caffeine 캐시로 만든다.
+ *
+ * - users: 내 정보, 토큰 재발급, 부트스트랩처럼 id로 읽는 User (@Cache)
+ *
+ * 캐시는 인스턴스마다 따로다. 다른 인스턴스에서 바꾼 값은 ttl이 지나야 보이므로 ttl을 짧게 둔다.
+ * ETag는 DB의 사용자별 변경 카운터로 만들어 모든 인스턴스가 같은 값을 내므로, ETag를 붙이는 응답과 소유권 확인에는
+ * 캐시된 값을 쓰지 않는다. 그래서 Project와 쿼리 캐시는 두지 않는다 (옛 본문이 새 ETag로 나가 304로 계속 남거나,
+ * 지워진 프로젝트가 소유권 확인을 통과해 외래 키 오류가 나는 것을 막는다).
+ * 여기서 만들지 않은 영역은 missing_cache_strategy=fail로 시작을 멈춰, 크기 제한 없는 캐시가 생기지 않게 한다.
+ * 적중률은 hibernate.second.level.cache.requests 메트릭으로 나간다.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    static final String USERS_REGION = "users";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${hibernate-cache.ttl:60s}") Duration ttl,
+            @Value("${hibernate-cache.users-max-entries:10000}") long usersMaxEntries) {
+        // 컨텍스트마다 새 provider를 써서 같은 JVM의 다른 애플리케이션 컨텍스트(테스트 등)와 캐시를 나누지 않는다
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        cacheManager.createCache(USERS_REGION, region(usersMaxEntries, ttl));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
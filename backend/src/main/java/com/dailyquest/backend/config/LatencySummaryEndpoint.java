@@ -0,0 +1,98 @@
+package com.dailyquest.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 실행용 지연 시간 요약 (/actuator/latency). Prometheus 없이 메모리의 타이머를 바로 읽는다.
+ * 총 소요 시간이 큰 순서로 보여주며, 백분위는 히스토그램 버킷 경계값이라 근사치다.
+ * application-dev.yml에서만 노출한다.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencySummaryEndpoint {
+
+    static final List<String> METER_NAMES = List.of(
+            "http.server.requests", "api.controller", "spring.data.repository.invocations");
+
+    private static final int MAX_ROWS_PER_METER = 20;
+
+    private final MeterRegistry meterRegistry;
+
+    public LatencySummaryEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, List<TimerSummary>> summary() {
+        Map<String, List<TimerSummary>> result = new LinkedHashMap<>();
+        for (String name : METER_NAMES) {
+            List<TimerSummary> rows = meterRegistry.find(name).timers().stream()
+                    .filter(timer -> timer.count() > 0)
+                    .map(TimerSummary::from)
+                    .sorted(Comparator.comparingDouble(TimerSummary::totalMs).reversed())
+                    .limit(MAX_ROWS_PER_METER)
+                    .toList();
+            result.put(name, rows);
+        }
+        return result;
+    }
+
+    public record TimerSummary(Map<String, String> tags, long count, double totalMs, double meanMs,
+                               double maxMs, Double p50Ms, Double p95Ms, Double p99Ms) {
+
+        static TimerSummary from(Timer timer) {
+            Map<String, String> tags = new LinkedHashMap<>();
+            for (Tag tag : timer.getId().getTags()) {
+                tags.put(tag.getKey(), tag.getValue());
+            }
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            return new TimerSummary(
+                    tags,
+                    timer.count(),
+                    round(timer.totalTime(TimeUnit.MILLISECONDS)),
+                    round(timer.mean(TimeUnit.MILLISECONDS)),
+                    round(timer.max(TimeUnit.MILLISECONDS)),
+                    percentile(snapshot, 0.50),
+                    percentile(snapshot, 0.95),
+                    percentile(snapshot, 0.99));
+        }
+    }
+
+    /**
+     * 누적 버킷 카운트에서 q 백분위가 속한 버킷의 상한을 돌려준다. 히스토그램이 없으면 null.
+     */
+    static Double percentile(HistogramSnapshot snapshot, double q) {
+        CountAtBucket[] buckets = snapshot.histogramCounts();
+        if (buckets.length == 0) {
+            return null;
+        }
+        double total = buckets[buckets.length - 1].count();
+        if (total == 0) {
+            return null;
+        }
+        double rank = q * total;
+        for (CountAtBucket bucket : buckets) {
+            if (bucket.count() >= rank) {
+                return round(bucket.bucket(TimeUnit.MILLISECONDS));
+            }
+        }
+        return round(snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.dailyquest.backend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 컨트롤러의 @Timed를 처리한다. 요청 전체 시간은 http.server.requests가,
+ * 필터/직렬화를 뺀 핸들러 메서드 시간은 api.controller가, 리포지토리 호출은 spring.data.repository.invocations가 잰다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,229 @@
+package com.dailyquest.backend.config;
+
+import com.dailyquest.backend.dto.ApiResponse;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.util.RateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 없이 호출되는 로그인/회원가입/이메일 확인 API의 요청 수를 IP별, 이메일별로 제한한다.
+ * JwtAuthenticationFilter 앞에서 동작하며, 거절된 요청은 컨트롤러까지 가지 않으므로 DB 조회나 BCrypt 해싱이 일어나지 않는다.
+ *
+ * 클라이언트 IP는 request.getRemoteAddr()를 쓴다. 프록시 뒤에서는 server.forward-headers-strategy로 실제 IP가 들어오게 설정한다.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LOGIN_PATH = "/api/users/login";
+    static final String SIGNUP_PATH = "/api/users/signup";
+    static final String CHECK_EMAIL_PATH = "/api/users/check-email";
+
+    // 로그인/회원가입 요청 본문은 작다. 더 큰 본문에는 이메일 제한 없이 IP 제한만 적용한다
+    private static final int MAX_INSPECTED_BODY_BYTES = 4096;
+
+    private final boolean enabled;
+    private final RateLimiter loginPerIp;
+    private final RateLimiter loginPerEmail;
+    private final RateLimiter signupPerIp;
+    private final RateLimiter signupPerEmail;
+    private final RateLimiter checkEmailPerIp;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.period:1m}") Duration period,
+            @Value("${rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${rate-limit.login-per-ip:20}") int loginPerIp,
+            @Value("${rate-limit.login-per-email:5}") int loginPerEmail,
+            @Value("${rate-limit.signup-per-ip:5}") int signupPerIp,
+            @Value("${rate-limit.signup-per-email:3}") int signupPerEmail,
+            @Value("${rate-limit.check-email-per-ip:30}") int checkEmailPerIp) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.loginPerIp = new RateLimiter(loginPerIp, period, maxKeys);
+        this.loginPerEmail = new RateLimiter(loginPerEmail, period, maxKeys);
+        this.signupPerIp = new RateLimiter(signupPerIp, period, maxKeys);
+        this.signupPerEmail = new RateLimiter(signupPerEmail, period, maxKeys);
+        this.checkEmailPerIp = new RateLimiter(checkEmailPerIp, period, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !(LOGIN_PATH.equals(path) || SIGNUP_PATH.equals(path) || CHECK_EMAIL_PATH.equals(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI();
+        String ip = request.getRemoteAddr();
+
+        if (CHECK_EMAIL_PATH.equals(path)) {
+            if (reject(response, checkEmailPerIp.tryAcquire(ip), path)) {
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean login = LOGIN_PATH.equals(path);
+        if (reject(response, (login ? loginPerIp : signupPerIp).tryAcquire(ip), path)) {
+            return;
+        }
+
+        CachedBodyRequest cached = CachedBodyRequest.wrap(request);
+        if (cached != null) {
+            String email = extractEmail(cached.body);
+            if (email != null
+                    && reject(response, (login ? loginPerEmail : signupPerEmail).tryAcquire(email), path)) {
+                return;
+            }
+            filterChain.doFilter(cached, response);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // 표가 가득 차면 새 키는 여기서 정리될 때까지 거절되므로 period보다 짧게 돈다
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:10000}")
+    public void evictIdleKeys() {
+        int evicted = loginPerIp.evictIdle() + loginPerEmail.evictIdle() + signupPerIp.evictIdle()
+                + signupPerEmail.evictIdle() + checkEmailPerIp.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted idle rate limit keys: count={}", evicted);
+        }
+    }
+
+    private boolean reject(HttpServletResponse response, long waitNanos, String path) throws IOException {
+        if (waitNanos == 0) {
+            return false;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.warn("Rate limit exceeded: path={}, retryAfter={}s", path, retryAfterSeconds);
+
+        response.setStatus(ErrorCode.TOO_MANY_REQUESTS.getHttpStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error(ErrorCode.TOO_MANY_REQUESTS));
+        return true;
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            if (!email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            // 잘못된 JSON은 컨트롤러에서 400으로 처리된다
+            return null;
+        }
+    }
+
+    /**
+     * 본문을 한 번 읽어 이메일을 꺼낸 뒤 컨트롤러가 다시 읽을 수 있게 보관한다.
+     */
+    static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        static CachedBodyRequest wrap(HttpServletRequest request) throws IOException {
+            // 길이를 모르는(chunked) 본문은 읽지 않고 그대로 넘긴다
+            long length = request.getContentLengthLong();
+            if (length < 0 || length > MAX_INSPECTED_BODY_BYTES) {
+                return null;
+            }
+            byte[] body = request.getInputStream().readNBytes((int) length);
+            return new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // 본문은 이미 메모리에 있으므로 비동기 읽기도 곧바로 끝까지 읽게 한다
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
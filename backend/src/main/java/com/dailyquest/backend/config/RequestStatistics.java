@@ -0,0 +1,96 @@
+package com.dailyquest.backend.config;
+
+/**
+ * 요청 하나 동안의 SQL 실행 수와 구간별 소요 시간. ServerTimingFilter가 요청 스레드에 붙이고,
+ * Hibernate 리스너/인증 필터/JSON 변환기가 값을 더한다. 요청 밖(스케줄러 등)에서는 current()가 null이다.
+ * 측정 구간은 중첩될 수 있다. 안쪽 구간의 SQL은 바깥 구간에도 더해지고, end()는 바깥 구간을 되살린다.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final RequestStatistics parent;
+    private final long startNanos = System.nanoTime();
+    private int statements;
+    private long dbNanos;
+    private long authNanos;
+    private long serializationNanos;
+    private long statementStartNanos;
+
+    private RequestStatistics(RequestStatistics parent) {
+        this.parent = parent;
+    }
+
+    public static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void end() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null && statistics.parent != null) {
+            CURRENT.set(statistics.parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementStarted() {
+        statementStartNanos = System.nanoTime();
+    }
+
+    void statementFinished() {
+        long elapsed = statementStartNanos != 0 ? System.nanoTime() - statementStartNanos : 0;
+        statementStartNanos = 0;
+        for (RequestStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+            statistics.statements++;
+            statistics.dbNanos += elapsed;
+        }
+    }
+
+    public void addAuthNanos(long nanos) {
+        authNanos += nanos;
+    }
+
+    void addSerializationNanos(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long dbNanos() {
+        return dbNanos;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Server-Timing 헤더 값. 예: auth;dur=0.41, db;dur=3.20;desc="4 statements", ser;dur=0.12, total;dur=7.85
+     */
+    String toServerTiming() {
+        return toServerTiming(true);
+    }
+
+    /**
+     * @param withSerialization false면 ser를 뺀다. 본문을 다 쓰기 전에 헤더를 보내야 하는 큰 응답용
+     */
+    String toServerTiming(boolean withSerialization) {
+        return "auth;dur=" + millis(authNanos)
+                + ", db;dur=" + millis(dbNanos) + ";desc=\"" + statements + " statements\""
+                + (withSerialization ? ", ser;dur=" + millis(serializationNanos) : "")
+                + ", total;dur=" + millis(elapsedNanos());
+    }
+
+    private static String millis(long nanos) {
+        return String.valueOf(Math.round(nanos / 10_000.0) / 100.0);
+    }
+}
@@ -1,9 +1,15 @@
 package com.dailyquest.backend.config;
 
 import com.dailyquest.backend.config.jwt.JwtAuthenticationFilter;
+import com.dailyquest.backend.domain.TokenScope;
+import jakarta.servlet.DispatcherType;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -16,6 +22,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -24,10 +31,24 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final ActuatorAuthenticationFilter actuatorAuthenticationFilter;
 
+    /**
+     * strength는 로그인 1회 해싱이 대상 서버에서 수백 ms를 넘지 않도록 맞춘다.
+     * 올리면 기존 해시는 다음 로그인 때 새 strength로 다시 저장된다.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.hash-threads:0}") int threads,
+            @Value("${security.password.hash-queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.hash-wait-timeout:5s}") Duration waitTimeout,
+            MeterRegistry meterRegistry) {
+        int workers = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), workers, queueCapacity,
+                waitTimeout, meterRegistry);
     }
 
     @Bean
@@ -40,15 +61,41 @@ public class SecurityConfig {
             "http://127.0.0.1:8080"
         ));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Content-Type", "Authorization", "Accept", "X-Requested-With"));
+        config.setAllowedHeaders(List.of("Content-Type", "Authorization", "Accept", "X-Requested-With", "If-None-Match", "If-Match", "Idempotency-Key"));
         config.setAllowCredentials(true);
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setExposedHeaders(List.of("Authorization", "ETag", "Idempotent-Replayed", "Retry-After", "Server-Timing", "Age"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
         return source;
     }
 
+    /**
+     * RateLimitFilter, ConcurrencyLimitFilter는 보안 필터 체인 안(CorsFilter 뒤)에서만 실행한다.
+     * 429/503 응답에도 CORS 헤더가 붙어야 브라우저가 읽을 수 있다.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(ConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ActuatorAuthenticationFilter> actuatorAuthenticationFilterRegistration(
+            ActuatorAuthenticationFilter filter) {
+        FilterRegistrationBean<ActuatorAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -57,17 +104,27 @@ public class SecurityConfig {
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // SSE 응답 완료 시의 비동기 디스패치 (원 요청에서 이미 인증됨)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Swagger UI
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**", "/swagger-ui.html").permitAll()
                 // Health check
-                .requestMatchers("/api/health/**").permitAll()
+                .requestMatchers("/api/health/**", "/actuator/health/**").permitAll()
+                // 메트릭 등 나머지 actuator는 운영자 토큰으로만 (ActuatorAuthenticationFilter)
+                .requestMatchers("/actuator/**").hasRole(ActuatorAuthenticationFilter.OPERATOR_ROLE)
                 // Auth endpoints
-                .requestMatchers("/api/users/signup", "/api/users/login", "/api/users/check-email").permitAll()
-                // All other API requires authentication
-                .requestMatchers("/api/**").authenticated()
+                .requestMatchers("/api/users/signup", "/api/users/login", "/api/users/refresh", "/api/users/check-email").permitAll()
+                // 계정/토큰 관리, 계정 정보가 담긴 bootstrap, SSE와 그 연결 티켓은 로그인 세션(JWT)으로만 접근한다
+                .requestMatchers("/api/users/**", "/api/tokens/**", "/api/bootstrap", "/api/stream", "/api/stream/**").hasRole("USER")
+                // 나머지 API는 로그인 세션 또는 scope가 맞는 개인 액세스 토큰
+                .requestMatchers(HttpMethod.GET, "/api/**").hasAnyAuthority("ROLE_USER", TokenScope.READ.authority())
+                .requestMatchers("/api/**").hasAnyAuthority("ROLE_USER", TokenScope.WRITE.authority())
                 .anyRequest().permitAll()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+            .addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class)
+            .addFilterBefore(actuatorAuthenticationFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
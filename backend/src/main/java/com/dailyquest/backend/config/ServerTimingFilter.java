@@ -0,0 +1,63 @@
+package com.dailyquest.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 모든 응답에 Server-Timing 헤더(인증, DB, 직렬화, 전체 시간과 SQL 실행 수)를 붙인다.
+ * 본문이 있는 응답은 TimedJsonHttpMessageConverter가 본문을 쓰기 직전에, 본문이 없는 응답은 여기서 붙인다.
+ * SQL 실행 수가 statement-budget을 넘으면 경고 로그를 남겨 N+1 회귀를 잡는다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final boolean enabled;
+    private final int statementBudget;
+
+    public ServerTimingFilter(
+            @Value("${server-timing.enabled:true}") boolean enabled,
+            @Value("${server-timing.statement-budget:20}") int statementBudget) {
+        this.enabled = enabled;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+
+            if (!response.isCommitted() && !response.containsHeader(HEADER)) {
+                response.addHeader(HEADER, statistics.toServerTiming());
+            }
+            if (statistics.statements() > statementBudget) {
+                log.warn("Statement budget exceeded: {} {} statements={} db={}ms (budget {})",
+                        request.getMethod(), request.getRequestURI(), statistics.statements(),
+                        statistics.dbNanos() / 1_000_000, statementBudget);
+            }
+        } finally {
+            RequestStatistics.end();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.dailyquest.backend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 같은 사용자의 같은 인자 호출이 동시에 들어오면 먼저 온 호출 하나만 실행하고, 나머지는 그 결과를 함께 받는다.
+ * 첫 번째 인자가 사용자 id(Long)인 읽기 메서드에 붙인다. 결과 객체를 호출자끼리 공유하므로 받은 쪽에서 고치면 안 된다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+}
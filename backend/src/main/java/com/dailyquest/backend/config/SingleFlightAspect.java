@@ -0,0 +1,143 @@
+package com.dailyquest.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * @SingleFlight 메서드의 동시 호출을 하나로 합친다. 로그인 직후나 푸시를 받은 여러 탭/기기가 대시보드와 목록을
+ * 한꺼번에 요청해도 사용자마다 같은 조회는 한 번만 실행된다.
+ *
+ * - 먼저 온 호출(leader)이 호출한 스레드에서 그대로 실행하고, 끝나기 전에 온 같은 키의 호출(follower)은 결과를 기다린다.
+ *   끝난 결과는 남겨 두지 않으므로 캐시가 아니다.
+ * - 그 사용자의 쓰기가 커밋되는 동안(ChangeTracker가 beforeCommit~afterCompletion을 알린다)은 합치지 않고,
+ *   끝나면 진행 중인 호출을 떼어 낸다. 그래서 커밋 뒤에 온 호출(새 ETag를 읽은 호출 등)은 커밋 전에 시작한 결과를 받지 않는다.
+ *   이미 기다리던 호출은 커밋 전에 왔으므로 커밋 전 결과를 받아도 된다.
+ * - 트랜잭션 advice보다 바깥에서 돌아 follower는 커넥션을 잡지 않는다. 이미 트랜잭션 안에서 부르면
+ *   커밋 전 변경이 보여야 하므로 합치지 않는다.
+ *
+ * singleflight.calls{method, role=leader|follower}로 나가며, follower / 전체가 중복 제거 비율이다.
+ */
+@Component
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SingleFlightAspect {
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Method, Counter[]> counters = new ConcurrentHashMap<>();
+    // 사용자별 커밋 중인 쓰기 트랜잭션 수
+    private final Map<Long, Integer> committing = new ConcurrentHashMap<>();
+
+    public SingleFlightAspect(@Value("${single-flight.enabled:true}") boolean enabled, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private record Key(Method method, Long userId, List<Object> args) {
+    }
+
+    @Around("@annotation(com.dailyquest.backend.config.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object[] args = joinPoint.getArgs();
+        if (args.length == 0 || !(args[0] instanceof Long userId)) {
+            throw new IllegalStateException("@SingleFlight requires a Long user id as the first argument: " + method);
+        }
+        Key key = new Key(method, userId, Arrays.asList(args.clone()));
+        Counter[] calls = counters.computeIfAbsent(method, this::registerCounters);
+        if (committing.containsKey(userId)) {
+            calls[0].increment();
+            return joinPoint.proceed();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            calls[1].increment();
+            return await(leader);
+        }
+
+        calls[0].increment();
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // 쓰기 커밋으로 이미 떼어 냈다면 그 뒤에 시작한 다른 호출을 지우지 않는다
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 사용자의 쓰기 트랜잭션이 커밋을 시작한다. writeCompleted까지 그 사용자의 호출은 합치지 않는다.
+     */
+    public void writeCommitting(Long userId) {
+        committing.merge(userId, 1, Integer::sum);
+    }
+
+    /**
+     * 커밋(또는 롤백)이 끝났다. 진행 중인 호출을 먼저 떼어 낸 뒤 다시 합치기 시작한다.
+     */
+    public void writeCompleted(Long userId) {
+        forget(userId);
+        committing.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * 사용자의 진행 중인 호출을 떼어 낸다. 이후 호출은 새로 실행한다.
+     */
+    public void forget(Long userId) {
+        if (!inFlight.isEmpty()) {
+            inFlight.keySet().removeIf(key -> key.userId().equals(userId));
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader) throws Throwable {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private Counter[] registerCounters(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return new Counter[]{
+                Counter.builder("singleflight.calls")
+                        .description("Calls to @SingleFlight methods, executed (leader) or sharing a concurrent call (follower)")
+                        .tag("method", name).tag("role", "leader")
+                        .register(meterRegistry),
+                Counter.builder("singleflight.calls")
+                        .description("Calls to @SingleFlight methods, executed (leader) or sharing a concurrent call (follower)")
+                        .tag("method", name).tag("role", "follower")
+                        .register(meterRegistry)
+        };
+    }
+}
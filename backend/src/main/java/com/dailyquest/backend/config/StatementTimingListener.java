@@ -0,0 +1,36 @@
+package com.dailyquest.backend.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate가 세션마다 만드는 리스너 (hibernate.session.events.auto).
+ * JDBC 실행 전후 콜백에서 현재 요청의 RequestStatistics에 실행 수와 시간을 더한다. 요청 밖이면 아무 것도 하지 않는다.
+ */
+public class StatementTimingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statementStarted();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statementFinished();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
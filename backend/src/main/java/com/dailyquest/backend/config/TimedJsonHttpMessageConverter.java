@@ -0,0 +1,101 @@
+package com.dailyquest.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON 직렬화 시간을 재고 Server-Timing 헤더를 붙인다.
+ * 헤더는 본문보다 먼저 나가야 하므로 요청 중일 때는 maxBufferedBytes까지만 메모리에 직렬화한 뒤 헤더를 추가하고 본문을 쓴다.
+ * 본문이 그보다 크면 넘는 순간 직렬화 시간(ser)을 뺀 헤더를 보내고 나머지는 바로 흘려 쓴다.
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final int maxBufferedBytes;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, int maxBufferedBytes) {
+        super(objectMapper);
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        long start = System.nanoTime();
+        BufferedBody body = new BufferedBody(outputMessage, statistics);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        statistics.addSerializationNanos(System.nanoTime() - start);
+
+        if (body.buffer != null) {
+            outputMessage.getHeaders().set(ServerTimingFilter.HEADER, statistics.toServerTiming());
+            body.buffer.writeTo(outputMessage.getBody());
+        }
+    }
+
+    /**
+     * maxBufferedBytes까지는 모아 두고, 넘으면 헤더를 보낸 뒤 실제 본문으로 흘려 쓴다.
+     */
+    private final class BufferedBody extends OutputStream {
+
+        private final HttpOutputMessage target;
+        private final RequestStatistics statistics;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        private OutputStream streaming;
+
+        private BufferedBody(HttpOutputMessage target, RequestStatistics statistics) {
+            this.target = target;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (streaming == null && buffer.size() + length > maxBufferedBytes) {
+                // 직렬화가 끝나기 전이라 ser는 아직 모른다
+                target.getHeaders().set(ServerTimingFilter.HEADER, statistics.toServerTiming(false));
+                streaming = target.getBody();
+                buffer.writeTo(streaming);
+                buffer = null;
+            }
+            if (streaming != null) {
+                streaming.write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (streaming != null) {
+                streaming.flush();
+            }
+        }
+    }
+}
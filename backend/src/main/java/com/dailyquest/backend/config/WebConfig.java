@@ -1,9 +1,21 @@
 package com.dailyquest.backend.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     // CORS 설정은 SecurityConfig에서 통합 관리
+
+    // Boot 기본 Jackson 변환기를 대체해 Server-Timing에 직렬화 시간을 포함한다
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper,
+            @Value("${server-timing.max-buffered-bytes:65536}") int maxBufferedBytes) {
+        return new TimedJsonHttpMessageConverter(objectMapper, maxBufferedBytes);
+    }
 }
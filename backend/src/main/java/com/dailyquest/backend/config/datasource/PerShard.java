@@ -0,0 +1,18 @@
+package com.dailyquest.backend.config.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 샤딩을 켜면 샤드마다 한 번씩, ShardContext.forShard로 그 샤드를 묶어 실행할 작업.
+ * 메서드 안의 @Transactional은 샤드마다 따로 열린다. 반환값은 쓰지 않으므로 void 메서드에만 붙인다.
+ * 샤딩을 끄면 아무 효과가 없다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PerShard {
+}
@@ -0,0 +1,46 @@
+package com.dailyquest.backend.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * @PerShard 메서드를 샤드마다 호출한다. 트랜잭션 advice보다 바깥에서 돌아야 샤드마다 트랜잭션(커넥션)이 새로 열린다.
+ * 한 샤드에서 실패해도 나머지 샤드는 계속 처리하고, 마지막에 첫 예외를 다시 던진다.
+ */
+@Slf4j
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PerShardJobAspect {
+
+    private final ShardRoutingDataSource routingDataSource;
+
+    public PerShardJobAspect(ShardRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Around("@annotation(com.dailyquest.backend.config.datasource.PerShard)")
+    public Object eachShard(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.currentShard() != null) {
+            return joinPoint.proceed();
+        }
+        Throwable failure = null;
+        for (String shard : routingDataSource.getShardNames()) {
+            try (ShardContext.Scope ignored = ShardContext.forShard(shard)) {
+                joinPoint.proceed();
+            } catch (Throwable e) {
+                log.warn("Per-shard job failed: job={}, shard={}", joinPoint.getSignature().toShortString(), shard, e);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return null;
+    }
+}
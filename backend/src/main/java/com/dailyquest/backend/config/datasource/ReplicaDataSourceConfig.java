@@ -0,0 +1,84 @@
+package com.dailyquest.backend.config.datasource;
+
+import com.dailyquest.backend.util.SecurityUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * datasource.replica.enabled=true일 때 primary + replica 풀을 만들어 ReplicaRoutingDataSource로 묶는다.
+ * 꺼져 있으면 Spring Boot 기본 DataSource(spring.datasource.*) 하나만 쓴다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replica.connection-timeout:2s}") Duration connectionTimeout,
+            @Value("${datasource.replica.sticky-window:5s}") Duration stickyWindow,
+            @Value("${datasource.replica.max-tracked-writers:100000}") int maxTrackedWriters) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                    .password(StringUtils.hasText(password) ? password : properties.determinePassword())
+                    .build();
+            replica.setPoolName(name);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            // 죽은 replica에서 기본값(30초)만큼 기다리지 않게 한다. 읽기 요청과 지연 확인 모두 빨리 실패한다
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, stickyWindow, maxTrackedWriters,
+                Clock.systemUTC(), ReplicaDataSourceConfig::currentUserId);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            @Value("${datasource.replica.lag-query}") String lagQuery,
+            @Value("${datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${datasource.replica.lag-check-timeout:2s}") Duration checkTimeout) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, lagQuery, maxLag, checkTimeout);
+    }
+
+    private static Long currentUserId() {
+        return SecurityUtil.isAuthenticated() ? SecurityUtil.getCurrentUserId() : null;
+    }
+}
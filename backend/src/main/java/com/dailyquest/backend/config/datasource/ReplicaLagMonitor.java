@@ -0,0 +1,126 @@
+package com.dailyquest.backend.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * replica마다 복제 지연을 주기적으로 확인해, max-lag 이내이고 응답하는 replica만 읽기 대상으로 둔다.
+ * 지연 쿼리는 지연 시간(초)을 숫자 하나로 돌려주어야 한다. NULL이면(복제 중인 트랜잭션이 없음) 0으로 본다.
+ *
+ * 확인은 replica별로 전용 스레드에서 동시에 하고, 스케줄러 스레드는 check-timeout까지만 기다린다.
+ * 그때까지 답하지 않은 replica(커넥션을 못 얻거나 쿼리가 멈춤)는 빼고, 그 확인이 끝날 때까지 다시 시작하지 않는다.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long checkTimeoutNanos;
+    private final ThreadPoolExecutor checker;
+    // replica별 진행 중인 확인. check()는 fixedDelay로 한 번에 하나만 돌므로 그 안에서만 읽고 쓴다
+    private final Map<String, Future<Double>> inFlight = new HashMap<>();
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, String lagQuery, Duration maxLag,
+                             Duration checkTimeout) {
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.checkTimeoutNanos = checkTimeout.toNanos();
+        int replicaCount = Math.max(1, routingDataSource.getReplicas().size());
+        this.checker = new ThreadPoolExecutor(replicaCount, replicaCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(replicaCount),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "replica-lag-check");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        Map<String, Future<Double>> checks = new LinkedHashMap<>();
+        for (Map.Entry<String, DataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            String name = replica.getKey();
+            Future<Double> running = inFlight.get(name);
+            if (running != null && !running.isDone()) {
+                // 지난 확인이 아직 멈춰 있다
+                log.debug("Replica {} lag check still running", name);
+                continue;
+            }
+            try {
+                Future<Double> started = checker.submit(() -> lagSeconds(name, replica.getValue()));
+                inFlight.put(name, started);
+                checks.put(name, started);
+            } catch (RejectedExecutionException e) {
+                log.debug("Replica {} lag check rejected", name);
+            }
+        }
+
+        long deadline = System.nanoTime() + checkTimeoutNanos;
+        List<String> available = new ArrayList<>();
+        for (Map.Entry<String, Future<Double>> check : checks.entrySet()) {
+            if (await(check.getKey(), check.getValue(), deadline) <= maxLagSeconds) {
+                available.add(check.getKey());
+            }
+        }
+        routingDataSource.setAvailableReplicas(available);
+    }
+
+    @Override
+    public void destroy() {
+        checker.shutdownNow();
+    }
+
+    private double await(String name, Future<Double> check, long deadline) {
+        try {
+            return check.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Replica {} lag check timed out", name);
+        } catch (ExecutionException e) {
+            log.debug("Replica {} lag check failed: {}", name, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private double lagSeconds(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lag = resultSet.next() ? resultSet.getDouble(1) : 0;
+                if (lag > maxLagSeconds) {
+                    log.debug("Replica {} is {}s behind", name, lag);
+                }
+                return lag;
+            }
+        } catch (Exception e) {
+            log.debug("Replica {} lag check failed: {}", name, e.getMessage());
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
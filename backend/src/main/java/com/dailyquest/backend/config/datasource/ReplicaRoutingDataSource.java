@@ -0,0 +1,105 @@
+package com.dailyquest.backend.config.datasource;
+
+import com.dailyquest.backend.util.StripedTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * readOnly 트랜잭션은 replica로, 그 밖은 primary로 보낸다.
+ *
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 동기화 매니저에 올라가 있지 않으므로,
+ * 반드시 LazyConnectionDataSourceProxy로 감싸 첫 SQL 실행 때 커넥션을 고르게 해야 한다.
+ *
+ * - read-your-writes: 쓰기 트랜잭션을 연 사용자는 sticky-window 동안 읽기도 primary에서 한다.
+ * - 지연 대응: ReplicaLagMonitor가 지연이 max-lag를 넘거나 응답하지 않는 replica를 빼고,
+ *   쓸 수 있는 replica가 없으면 primary에서 읽는다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final StripedTtlCache<Long, Boolean> recentWriters;
+    private final Supplier<Long> currentUserId;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile String[] availableReplicas;
+
+    /**
+     * @param replicas      이름 → replica DataSource. 처음에는 모두 사용 가능한 것으로 본다
+     * @param currentUserId 현재 요청의 사용자 id. 인증 밖(스케줄러 등)이면 null
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration stickyWindow, int maxTrackedWriters, Clock clock,
+                                    Supplier<Long> currentUserId) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.recentWriters = new StripedTtlCache<>(64, maxTrackedWriters, stickyWindow, clock);
+        this.currentUserId = currentUserId;
+        this.availableReplicas = replicas.keySet().toArray(String[]::new);
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+            return PRIMARY;
+        }
+        if (userId != null && recentWriters.get(userId) != null) {
+            return PRIMARY;
+        }
+        String[] candidates = availableReplicas;
+        if (candidates.length == 0) {
+            return PRIMARY;
+        }
+        return candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+    }
+
+    Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 읽기를 보낼 replica 목록을 바꾼다. 바뀐 경우에만 로그를 남긴다.
+     */
+    void setAvailableReplicas(Collection<String> names) {
+        String[] updated = replicas.keySet().stream().filter(names::contains).toArray(String[]::new);
+        if (updated.length != availableReplicas.length) {
+            log.warn("Read replicas available: {}/{} {}", updated.length, replicas.size(), String.join(",", updated));
+        }
+        availableReplicas = updated;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : replicas.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.dailyquest.backend.config.datasource;
+
+/**
+ * 인증 정보 밖에서 샤드를 정해야 할 때 현재 스레드에 라우팅 대상을 묶어 둔다.
+ *
+ * - forShard: 스케줄 작업처럼 샤드마다 한 번씩 도는 코드 (PerShardJobAspect)
+ * - forUser: 로그인, refresh token 회전처럼 요청에 인증 정보가 없지만 대상 사용자를 아는 경우
+ *
+ * ShardRoutingDataSource는 첫 SQL 실행 때 커넥션을 고르므로, 트랜잭션 안이라도 첫 조회 전에 묶으면 된다.
+ * 샤딩을 쓰지 않으면 아무 효과가 없다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> SHARD = new ThreadLocal<>();
+    private static final ThreadLocal<Long> USER = new ThreadLocal<>();
+
+    private ShardContext() {}
+
+    public static Scope forShard(String shard) {
+        String previous = SHARD.get();
+        SHARD.set(shard);
+        return () -> restore(SHARD, previous);
+    }
+
+    public static Scope forUser(Long userId) {
+        Long previous = USER.get();
+        USER.set(userId);
+        return () -> restore(USER, previous);
+    }
+
+    /**
+     * forShard로 묶인 샤드. 없으면 null
+     */
+    public static String currentShard() {
+        return SHARD.get();
+    }
+
+    static Long currentUser() {
+        return USER.get();
+    }
+
+    private static <T> void restore(ThreadLocal<T> holder, T previous) {
+        if (previous == null) {
+            holder.remove();
+        } else {
+            holder.set(previous);
+        }
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,161 @@
+package com.dailyquest.backend.config.datasource;
+
+import com.dailyquest.backend.util.ConsistentHashRing;
+import com.dailyquest.backend.util.SecurityUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * datasource.shards.enabled=true일 때 사용자 단위로 여러 DB에 나눠 저장한다.
+ *
+ * - directory: spring.datasource.* DB의 user_shards 테이블 (db/directory 마이그레이션)
+ * - 샤드: datasource.shards.urls 순서대로 shard-1, shard-2, ... 이름이 ring 위치를 정하므로 순서를 바꾸지 않고 뒤에만 추가한다
+ *
+ * 읽기 replica 라우팅(datasource.replica.enabled)과는 함께 쓸 수 없다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.shards.enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+
+    static final String SHARD_PREFIX = "shard-";
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource shardDirectoryDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.enabled:false}") boolean replicaEnabled) {
+        if (replicaEnabled) {
+            throw new IllegalStateException("datasource.shards and datasource.replica cannot be enabled together");
+        }
+        HikariDataSource directory = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        directory.setPoolName("shard-directory");
+
+        Flyway.configure()
+                .dataSource(directory)
+                .locations("classpath:db/directory")
+                .table("flyway_directory_history")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+        return directory;
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(
+            HikariDataSource shardDirectoryDataSource,
+            @Value("${datasource.shards.urls}") List<String> urls,
+            @Value("${datasource.shards.virtual-nodes:128}") int virtualNodes,
+            @Value("${datasource.shards.directory-cache-ttl:5s}") Duration cacheTtl,
+            @Value("${datasource.shards.directory-cache-max-entries:100000}") int cacheMaxEntries) {
+        List<String> names = shardNames(urls);
+        return new ShardDirectory(shardDirectoryDataSource, new ConsistentHashRing<>(names, virtualNodes),
+                cacheTtl, cacheMaxEntries, Clock.systemUTC());
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource(
+            DataSourceProperties properties,
+            ShardDirectory shardDirectory,
+            @Value("${datasource.shards.urls}") List<String> urls,
+            @Value("${datasource.shards.username:}") String username,
+            @Value("${datasource.shards.password:}") String password,
+            @Value("${datasource.shards.maximum-pool-size:10}") int maximumPoolSize) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            String name = SHARD_PREFIX + (shards.size() + 1);
+            HikariDataSource shard = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                    .password(StringUtils.hasText(password) ? password : properties.determinePassword())
+                    .build();
+            shard.setPoolName(name);
+            shard.setMaximumPoolSize(maximumPoolSize);
+            shards.put(name, shard);
+        }
+        return new ShardRoutingDataSource(shardDirectory, shards, ShardDataSourceConfig::currentUserId);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public PerShardJobAspect perShardJobAspect(ShardRoutingDataSource shardRoutingDataSource) {
+        return new PerShardJobAspect(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(
+            EntityManagerFactory entityManagerFactory,
+            ShardRoutingDataSource shardRoutingDataSource,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto,
+            @Value("${datasource.shards.id-base:1000000000}") long idBase,
+            @Value("${datasource.shards.id-range:1099511627776}") long idRange) {
+        return new ShardSchemaInitializer(entityManagerFactory, shardRoutingDataSource, ddlAuto, idBase, idRange);
+    }
+
+    /**
+     * spring.flyway 설정 그대로 샤드마다 마이그레이션하고, 샤드별 id 구간을 나누는 db/sharding을 더한다.
+     */
+    @Bean
+    public FlywayMigrationStrategy shardFlywayMigrationStrategy(
+            ShardRoutingDataSource shardRoutingDataSource,
+            @Value("${datasource.shards.id-base:1000000000}") long idBase,
+            @Value("${datasource.shards.id-range:1099511627776}") long idRange) {
+        return flyway -> {
+            int index = 0;
+            for (Map.Entry<String, DataSource> shard : shardRoutingDataSource.getShards().entrySet()) {
+                Map<String, String> placeholders = new HashMap<>(flyway.getConfiguration().getPlaceholders());
+                placeholders.put("shard_index", String.valueOf(index++));
+                placeholders.put("shard_id_base", String.valueOf(idBase));
+                placeholders.put("shard_id_range", String.valueOf(idRange));
+
+                List<Location> locations = new ArrayList<>(List.of(flyway.getConfiguration().getLocations()));
+                locations.add(new Location("classpath:db/sharding"));
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shard.getValue())
+                        .locations(locations.toArray(Location[]::new))
+                        .placeholders(placeholders)
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    static List<String> shardNames(List<String> urls) {
+        long count = urls.stream().filter(StringUtils::hasText).count();
+        return LongStream.rangeClosed(1, count).mapToObj(i -> SHARD_PREFIX + i).toList();
+    }
+
+    private static Long currentUserId() {
+        return SecurityUtil.isAuthenticated() ? SecurityUtil.getCurrentUserId() : null;
+    }
+}
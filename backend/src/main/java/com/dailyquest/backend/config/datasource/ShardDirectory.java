@@ -0,0 +1,163 @@
+package com.dailyquest.backend.config.datasource;
+
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.exception.ServiceBusyException;
+import com.dailyquest.backend.util.ConsistentHashRing;
+import com.dailyquest.backend.util.StripedTtlCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * 샤드와 무관하게 한 곳(directory DB)에 두는 사용자 → 샤드 목록 (user_shards).
+ *
+ * - 사용자 id를 발급하고, 새 사용자는 consistent hash ring이 고른 샤드에 둔다.
+ * - 이메일로 찾는 로그인/가입 중복 확인은 샤드를 모르므로 여기서 답한다.
+ * - 샤드는 행에 기록된 값을 따른다. 샤드를 추가해 ring이 바뀌어도 기존 사용자는 ShardRebalancer로 옮기기 전까지 제자리에 있다.
+ *
+ * 요청마다 조회하는 shardOf는 cache-ttl 동안 캐시한다. 그래서 이동을 시작한 사용자(moving)는
+ * 모든 인스턴스의 캐시가 만료될 때까지 기다린 뒤에 복사한다 (ShardRebalancer).
+ */
+public class ShardDirectory {
+
+    private static final String COLUMNS = "user_id, email, shard, moving";
+    private static final Entry MISSING = new Entry(0L, null, null, false);
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> new Entry(
+            rs.getLong("user_id"), rs.getString("email"), rs.getString("shard"), rs.getBoolean("moving"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConsistentHashRing<String> ring;
+    private final StripedTtlCache<Long, Entry> cache;
+    private final long retryAfterSeconds;
+
+    public ShardDirectory(DataSource dataSource, ConsistentHashRing<String> ring,
+                          Duration cacheTtl, int cacheMaxEntries, Clock clock) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.ring = ring;
+        this.cache = new StripedTtlCache<>(64, cacheMaxEntries, cacheTtl, clock);
+        this.retryAfterSeconds = Math.max(1, cacheTtl.toSeconds());
+    }
+
+    public record Entry(long userId, String email, String shard, boolean moving) {
+    }
+
+    public ConsistentHashRing<String> ring() {
+        return ring;
+    }
+
+    /**
+     * 새 사용자 id를 발급하고 ring이 고른 샤드로 등록한다. 이메일이 이미 있으면 DuplicateKeyException.
+     */
+    public Entry register(String email) {
+        Long userId = jdbcTemplate.queryForObject("SELECT nextval('user_shards_user_id_seq')", Long.class);
+        Entry entry = new Entry(userId, email, ring.nodeFor(userId), false);
+        jdbcTemplate.update("INSERT INTO user_shards (user_id, email, shard) VALUES (?, ?, ?)",
+                entry.userId(), entry.email(), entry.shard());
+        return entry;
+    }
+
+    /**
+     * 샤드 DB에 사용자를 만들지 못했을 때 등록을 되돌린다.
+     */
+    public void unregister(long userId) {
+        jdbcTemplate.update("DELETE FROM user_shards WHERE user_id = ?", userId);
+        cache.remove(userId);
+    }
+
+    public Optional<Entry> findByEmail(String email) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM user_shards WHERE email = ?", ENTRY_MAPPER, email)
+                .stream().findFirst();
+    }
+
+    public Optional<Entry> find(long userId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM user_shards WHERE user_id = ?", ENTRY_MAPPER, userId)
+                .stream().findFirst();
+    }
+
+    public boolean emailExists(String email) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM user_shards WHERE email = ?", Integer.class, email).isEmpty();
+    }
+
+    /**
+     * 사용자의 샤드. 목록에 없으면(샤딩 전부터 있던 사용자를 아직 가져오지 않은 경우 등) null.
+     * 다른 샤드로 옮기는 중이면 잠시 뒤 다시 시도하라고 503으로 거절한다.
+     */
+    public String shardOf(long userId) {
+        Entry entry = cache.get(userId);
+        if (entry == null) {
+            entry = find(userId).orElse(MISSING);
+            cache.put(userId, entry);
+        }
+        if (entry.moving()) {
+            throw new ServiceBusyException(ErrorCode.USER_RELOCATING, retryAfterSeconds);
+        }
+        return entry.shard();
+    }
+
+    /**
+     * user_id 순으로 afterUserId 다음부터 limit건
+     */
+    public List<Entry> findAfter(long afterUserId, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM user_shards WHERE user_id > ? ORDER BY user_id ASC LIMIT ?",
+                ENTRY_MAPPER, afterUserId, limit);
+    }
+
+    public Map<String, Long> countByShard() {
+        Map<String, Long> counts = new TreeMap<>();
+        ring.nodes().forEach(shard -> counts.put(shard, 0L));
+        jdbcTemplate.query("SELECT shard, COUNT(*) AS users FROM user_shards GROUP BY shard",
+                rs -> {
+                    counts.put(rs.getString("shard"), rs.getLong("users"));
+                });
+        return counts;
+    }
+
+    /**
+     * from 샤드에 있고 이동 중이 아닐 때만 이동 중으로 표시한다.
+     */
+    boolean beginMove(long userId, String from) {
+        cache.remove(userId);
+        return jdbcTemplate.update("UPDATE user_shards SET moving = TRUE WHERE user_id = ? AND shard = ? AND moving = FALSE",
+                userId, from) == 1;
+    }
+
+    void finishMove(long userId, String to) {
+        jdbcTemplate.update("UPDATE user_shards SET shard = ?, moving = FALSE WHERE user_id = ?", to, userId);
+        cache.remove(userId);
+    }
+
+    void abortMove(long userId) {
+        jdbcTemplate.update("UPDATE user_shards SET moving = FALSE WHERE user_id = ?", userId);
+        cache.remove(userId);
+    }
+
+    /**
+     * 샤딩 전부터 있던 사용자를 지금 있는 샤드 그대로 등록한다. 이미 있으면 건너뛴다.
+     *
+     * @return 새로 등록한 수
+     */
+    int importUsers(String shard, List<Object[]> idAndEmails) {
+        int imported = 0;
+        for (Object[] row : idAndEmails) {
+            imported += jdbcTemplate.update("INSERT INTO user_shards (user_id, email, shard) "
+                            + "SELECT ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM user_shards WHERE user_id = ?)",
+                    row[0], row[1], shard, row[0]);
+        }
+        return imported;
+    }
+
+    /**
+     * 가져온 사용자 id 다음부터 새 id를 발급하도록 시퀀스를 옮긴다.
+     */
+    void restartUserIdsAfterMax() {
+        Long maxUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) FROM user_shards", Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE user_shards_user_id_seq RESTART WITH " + (maxUserId + 1));
+    }
+}
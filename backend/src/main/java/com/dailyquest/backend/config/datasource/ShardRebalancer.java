@@ -0,0 +1,280 @@
+package com.dailyquest.backend.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자를 다른 샤드로 옮기는 운영 도구 (./gradlew shardTool). 애플리케이션과 같은 JDBC 접속 정보만으로 동작한다.
+ *
+ * 한 사용자를 옮기는 순서:
+ * 1. directory에 moving으로 표시한다. 이때부터 그 사용자의 요청은 503 (USER_RELOCATING)
+ * 2. 모든 인스턴스의 directory 캐시가 만료될 때까지(settle-time) 기다린다
+ * 3. 대상 샤드에 사용자의 행을 한 트랜잭션으로 복사한다 (같은 id 유지)
+ * 4. directory의 샤드를 바꾸고 moving을 푼다
+ * 5. 원래 샤드의 행을 지운다
+ *
+ * 샤드마다 id 시퀀스가 겹치지 않게 나뉘어 있어(db/sharding) 같은 id로 복사해도 충돌하지 않는다.
+ * outbox_events는 원래 샤드의 디스패처가 마저 전달하므로 옮기지 않는다.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private static final int PAGE_SIZE = 1000;
+
+    // 외래 키 순서(부모 먼저). 지울 때는 역순이다
+    private static final List<Table> TABLES = List.of(
+            new Table("users", "id"),
+            new Table("user_change_counters", "user_id"),
+            new Table("projects", "user_id"),
+            new Table("tasks", "user_id"),
+            new Table("personal_access_tokens", "user_id"),
+            new Table("refresh_tokens", "user_id"),
+            new Table("revoked_tokens", "user_id"),
+            new Table("deletion_logs", "user_id"));
+
+    private final ShardDirectory directory;
+    private final Map<String, DataSource> shards;
+    private final Duration settleTime;
+
+    /**
+     * @param settleTime moving 표시 후 복사 전까지 기다릴 시간. 애플리케이션의 directory cache-ttl보다 길어야 한다
+     */
+    public ShardRebalancer(ShardDirectory directory, Map<String, DataSource> shards, Duration settleTime) {
+        this.directory = directory;
+        this.shards = new LinkedHashMap<>(shards);
+        this.settleTime = settleTime;
+    }
+
+    private record Table(String name, String userColumn) {
+    }
+
+    public record Move(long userId, String from, String to) {
+    }
+
+    /**
+     * @return 옮겼으면 true, 이미 target에 있으면 false
+     */
+    public boolean move(long userId, String target) {
+        if (!shards.containsKey(target)) {
+            throw new IllegalArgumentException("Unknown shard: " + target);
+        }
+        ShardDirectory.Entry entry = directory.find(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not in shard directory: " + userId));
+        if (entry.shard().equals(target)) {
+            return false;
+        }
+        return moveAll(List.of(new Move(userId, entry.shard(), target))) == 1;
+    }
+
+    /**
+     * ring이 고른 샤드와 기록된 샤드가 다른 사용자를 limit명까지 옮긴다. 샤드를 추가한 뒤 실행한다.
+     */
+    public int rebalance(int limit) {
+        List<Move> moves = new ArrayList<>();
+        long afterUserId = 0;
+        while (moves.size() < limit) {
+            List<ShardDirectory.Entry> page = directory.findAfter(afterUserId, PAGE_SIZE);
+            for (ShardDirectory.Entry entry : page) {
+                String placement = directory.ring().nodeFor(entry.userId());
+                if (!entry.moving() && !placement.equals(entry.shard()) && moves.size() < limit) {
+                    moves.add(new Move(entry.userId(), entry.shard(), placement));
+                }
+                afterUserId = entry.userId();
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        return moves.isEmpty() ? 0 : moveAll(moves);
+    }
+
+    /**
+     * 여러 사용자를 함께 moving으로 표시해 settle-time을 한 번만 기다린다.
+     *
+     * @return 옮긴 사용자 수
+     */
+    public int moveAll(List<Move> moves) {
+        List<Move> started = new ArrayList<>();
+        for (Move move : moves) {
+            if (directory.beginMove(move.userId(), move.from())) {
+                started.add(move);
+            } else {
+                log.warn("Skipped user already moving or relocated: userId={}", move.userId());
+            }
+        }
+        if (started.isEmpty()) {
+            return 0;
+        }
+        sleep(settleTime);
+
+        int moved = 0;
+        for (Move move : started) {
+            try {
+                copy(move);
+            } catch (SQLException | RuntimeException e) {
+                directory.abortMove(move.userId());
+                log.error("Shard move failed, user stays on {}: userId={}", move.from(), move.userId(), e);
+                continue;
+            }
+            directory.finishMove(move.userId(), move.to());
+            try {
+                delete(shards.get(move.from()), move.userId());
+            } catch (SQLException | RuntimeException e) {
+                // directory는 이미 새 샤드를 가리키므로 남은 행은 읽히지 않는다. 다음에 이 샤드로 돌아올 때 지워진다
+                log.warn("Failed to delete moved rows from {}: userId={}", move.from(), move.userId(), e);
+            }
+            moved++;
+            log.info("User moved: userId={}, from={}, to={}", move.userId(), move.from(), move.to());
+        }
+        return moved;
+    }
+
+    /**
+     * 샤딩 전부터 shard에 있던 사용자를 directory에 등록하고, 이후 발급할 사용자 id를 그 뒤로 옮긴다.
+     * 이미 등록된 사용자는 건너뛰므로 다시 실행해도 된다. 트래픽을 받기 전에 실행한다.
+     *
+     * @return 새로 등록한 수
+     */
+    public int importUsers(String shard) throws SQLException {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        int imported = 0;
+        long afterId = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, email FROM users WHERE id > ? ORDER BY id ASC LIMIT " + PAGE_SIZE)) {
+            while (true) {
+                List<Object[]> page = new ArrayList<>();
+                select.setLong(1, afterId);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        afterId = rs.getLong(1);
+                        page.add(new Object[]{afterId, rs.getString(2)});
+                    }
+                }
+                imported += directory.importUsers(shard, page);
+                if (page.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+        }
+        directory.restartUserIdsAfterMax();
+        log.info("Imported users into shard directory: shard={}, imported={}", shard, imported);
+        return imported;
+    }
+
+    private void copy(Move move) throws SQLException {
+        try (Connection source = shards.get(move.from()).getConnection();
+             Connection target = shards.get(move.to()).getConnection()) {
+            target.setAutoCommit(false);
+            try {
+                // 예전에 이 샤드에서 옮겨 가며 지우지 못한 행이 있으면 먼저 정리한다
+                delete(target, move.userId());
+                Map<Long, Long> parentTaskIds = new LinkedHashMap<>();
+                for (Table table : TABLES) {
+                    copyRows(source, target, table, move.userId(), parentTaskIds);
+                }
+                // 반복 태스크 체인은 id 순서와 생성 순서가 다를 수 있어 부모 참조는 모두 넣은 뒤 채운다
+                try (PreparedStatement update = target.prepareStatement(
+                        "UPDATE tasks SET parent_task_id = ? WHERE id = ?")) {
+                    for (Map.Entry<Long, Long> entry : parentTaskIds.entrySet()) {
+                        update.setLong(1, entry.getValue());
+                        update.setLong(2, entry.getKey());
+                        update.addBatch();
+                    }
+                    update.executeBatch();
+                }
+                target.commit();
+            } catch (SQLException | RuntimeException e) {
+                target.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static void copyRows(Connection source, Connection target, Table table, long userId,
+                                 Map<Long, Long> parentTaskIds) throws SQLException {
+        try (PreparedStatement select = source.prepareStatement(
+                "SELECT * FROM " + table.name() + " WHERE " + table.userColumn() + " = ?")) {
+            select.setLong(1, userId);
+            try (ResultSet rs = select.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columnCount = meta.getColumnCount();
+                List<String> columns = new ArrayList<>(columnCount);
+                for (int i = 1; i <= columnCount; i++) {
+                    columns.add(meta.getColumnName(i).toLowerCase());
+                }
+                int parentColumn = columns.indexOf("parent_task_id") + 1;
+
+                String insert = "INSERT INTO " + table.name() + " (" + String.join(", ", columns) + ") VALUES ("
+                        + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+                try (PreparedStatement statement = target.prepareStatement(insert)) {
+                    while (rs.next()) {
+                        for (int i = 1; i <= columnCount; i++) {
+                            Object value = rs.getObject(i);
+                            if (i == parentColumn && value != null) {
+                                parentTaskIds.put(rs.getLong("id"), ((Number) value).longValue());
+                                value = null;
+                            }
+                            statement.setObject(i, value);
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+        }
+    }
+
+    private static void delete(DataSource dataSource, long userId) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                delete(connection, userId);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static void delete(Connection connection, long userId) throws SQLException {
+        try (PreparedStatement detach = connection.prepareStatement(
+                "UPDATE tasks SET parent_task_id = NULL WHERE user_id = ?")) {
+            detach.setLong(1, userId);
+            detach.executeUpdate();
+        }
+        for (int i = TABLES.size() - 1; i >= 0; i--) {
+            Table table = TABLES.get(i);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM " + table.name() + " WHERE " + table.userColumn() + " = ?")) {
+                statement.setLong(1, userId);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for directory caches to expire", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.dailyquest.backend.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 데이터를 그 사용자의 샤드 DB로 보낸다. 샤드는 ShardDirectory에 기록된 값을 따른다.
+ *
+ * 대상은 다음 순서로 정한다.
+ * 1. ShardContext.forShard로 묶인 샤드 (샤드별 스케줄 작업)
+ * 2. ShardContext.forUser로 묶인 사용자, 없으면 인증된 사용자의 샤드
+ * 3. 둘 다 없거나 directory에 없는 사용자면 첫 번째 샤드 (샤딩 전의 단일 DB)
+ *
+ * ReplicaRoutingDataSource와 같이 LazyConnectionDataSourceProxy로 감싸 첫 SQL 실행 때 커넥션을 고른다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final ShardDirectory directory;
+    private final Map<String, DataSource> shards;
+    private final String defaultShard;
+    private final Supplier<Long> currentUserId;
+
+    /**
+     * @param shards        이름 → 샤드 DataSource. 순서대로 첫 번째가 기본 샤드다
+     * @param currentUserId 현재 요청의 사용자 id. 인증 밖(스케줄러 등)이면 null
+     */
+    public ShardRoutingDataSource(ShardDirectory directory, Map<String, DataSource> shards,
+                                  Supplier<Long> currentUserId) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.directory = directory;
+        this.shards = new LinkedHashMap<>(shards);
+        this.defaultShard = this.shards.keySet().iterator().next();
+        this.currentUserId = currentUserId;
+
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(this.shards.get(defaultShard));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentShard();
+    }
+
+    /**
+     * 지금 SQL을 실행하면 가게 될 샤드
+     */
+    public String currentShard() {
+        String shard = ShardContext.currentShard();
+        if (shard != null) {
+            return shard;
+        }
+        Long userId = ShardContext.currentUser();
+        if (userId == null) {
+            userId = currentUserId.get();
+        }
+        return userId != null ? shardOf(userId) : defaultShard;
+    }
+
+    public String shardOf(long userId) {
+        String shard = directory.shardOf(userId);
+        if (shard == null) {
+            return defaultShard;
+        }
+        if (!shards.containsKey(shard)) {
+            // 설정에서 샤드를 빼면 그 샤드의 사용자를 다른 DB에서 찾게 되므로 조용히 넘어가지 않는다
+            throw new IllegalStateException("Unknown shard for user " + userId + ": " + shard);
+        }
+        return shard;
+    }
+
+    public List<String> getShardNames() {
+        return List.copyOf(shards.keySet());
+    }
+
+    Map<String, DataSource> getShards() {
+        return shards;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : shards.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.dailyquest.backend.config.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Hibernate는 시작할 때 기본 샤드 하나에만 ddl-auto를 적용하므로, 나머지 샤드에 같은 작업을 한다.
+ * create/create-drop이면 스키마를 다시 만들고 모든 샤드의 id 구간을 db/sharding 마이그레이션과 같게 나눈다.
+ * validate면 매핑과 맞는지 확인해 틀리면 시작을 멈춘다.
+ * update는 Hibernate에 프로그래밍 API가 없어 나머지 샤드에는 적용하지 않는다.
+ *
+ * 스케줄 작업이 시작되기 전(모든 싱글턴 생성 직후)에 실행한다.
+ */
+@Slf4j
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    // db/sharding/V7_5__partition_shard_ids.sql과 같은 목록
+    private static final List<String> ID_TABLES = List.of("users", "projects", "tasks", "personal_access_tokens",
+            "refresh_tokens", "revoked_tokens", "deletion_logs", "outbox_events");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRoutingDataSource routingDataSource;
+    private final String ddlAuto;
+    private final long idBase;
+    private final long idRange;
+
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, ShardRoutingDataSource routingDataSource,
+                                  String ddlAuto, long idBase, long idRange) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.routingDataSource = routingDataSource;
+        this.ddlAuto = ddlAuto;
+        this.idBase = idBase;
+        this.idRange = idRange;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> shards = routingDataSource.getShardNames();
+        SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+        for (String shard : shards.subList(1, shards.size())) {
+            try (ShardContext.Scope ignored = ShardContext.forShard(shard)) {
+                switch (ddlAuto) {
+                    case "create", "create-drop" -> {
+                        schemaManager.dropMappedObjects(false);
+                        schemaManager.exportMappedObjects(false);
+                        log.info("Shard schema created: shard={}", shard);
+                    }
+                    case "validate" -> schemaManager.validateMappedObjects();
+                    default -> {
+                        // none, update: 스키마는 마이그레이션과 운영 절차로 맞춘다
+                    }
+                }
+            }
+        }
+        if (ddlAuto.startsWith("create")) {
+            for (int index = 0; index < shards.size(); index++) {
+                partitionIds(routingDataSource.getShards().get(shards.get(index)), idBase + index * idRange);
+            }
+        }
+    }
+
+    private static void partitionIds(DataSource shard, long nextId) {
+        try (Connection connection = shard.getConnection(); Statement statement = connection.createStatement()) {
+            for (String table : ID_TABLES) {
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to partition shard ids", e);
+        }
+    }
+}
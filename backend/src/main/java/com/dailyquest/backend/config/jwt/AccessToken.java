@@ -0,0 +1,9 @@
+package com.dailyquest.backend.config.jwt;
+
+import java.time.Instant;
+
+/**
+ * 검증을 마친 access token의 클레임. 필터에서 한 번만 파싱해 인증 정보(details)에 담아 둔다.
+ */
+public record AccessToken(Long userId, String email, String jti, Instant expiresAt) {
+}
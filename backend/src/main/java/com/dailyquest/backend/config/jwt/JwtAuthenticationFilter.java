@@ -4,6 +4,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.dailyquest.backend.config.RequestStatistics;
+import com.dailyquest.backend.service.PersonalAccessTokenService;
+import com.dailyquest.backend.service.StreamTicketService;
+import com.dailyquest.backend.service.TokenDenylist;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,32 +25,72 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource는 헤더를 지정할 수 없어 SSE 엔드포인트에 한해 일회용 티켓을 쿼리 파라미터로 받는다.
+    // JWT 자체는 URL에 넣지 않는다 (접근 로그에 남는다)
+    private static final String STREAM_PATH = "/api/stream";
+    private static final String TICKET_PARAMETER = "ticket";
+
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenDenylist tokenDenylist;
+    private final PersonalAccessTokenService personalAccessTokenService;
+    private final StreamTicketService streamTicketService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                     HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
-        
+        long start = System.nanoTime();
+        authenticate(request);
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.addAuthNanos(System.nanoTime() - start);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request) {
         String token = resolveToken(request);
+        if (token == null && STREAM_PATH.equals(request.getRequestURI())) {
+            authenticateStreamTicket(request.getParameter(TICKET_PARAMETER));
+            return;
+        }
+
+        // 개인 액세스 토큰은 접두사로 구분하며, scope가 곧 권한이다
+        if (StringUtils.hasText(token) && token.startsWith(PersonalAccessTokenService.TOKEN_PREFIX)) {
+            PersonalAccessTokenService.Principal principal = personalAccessTokenService.authenticate(token, request.getRemoteAddr());
+            if (principal != null) {
+                SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal.userId(), null, principal.authorities()));
+                log.debug("Set Authentication for personal access token: {}", principal.tokenId());
+            }
+            return;
+        }
 
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            Long userId = jwtTokenProvider.getUserId(token);
-            String email = jwtTokenProvider.getEmail(token);
+        AccessToken accessToken = StringUtils.hasText(token) ? jwtTokenProvider.parse(token) : null;
 
+        if (accessToken != null && !tokenDenylist.isRevoked(accessToken.jti())) {
             // Create authentication with userId as principal
             UsernamePasswordAuthenticationToken authentication = 
                 new UsernamePasswordAuthenticationToken(
-                    userId, 
+                    accessToken.userId(), 
                     null, 
                     List.of(new SimpleGrantedAuthority("ROLE_USER"))
                 );
+            authentication.setDetails(accessToken);
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            log.debug("Set Authentication for user: {}", email);
+            log.debug("Set Authentication for user: {}", accessToken.email());
         }
+    }
 
-        filterChain.doFilter(request, response);
+    private void authenticateStreamTicket(String ticket) {
+        Long userId = StringUtils.hasText(ticket) ? streamTicketService.redeem(ticket) : null;
+        if (userId != null) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    userId, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+            log.debug("Set Authentication for stream ticket: userId={}", userId);
+        }
     }
 
     private String resolveToken(HttpServletRequest request) {
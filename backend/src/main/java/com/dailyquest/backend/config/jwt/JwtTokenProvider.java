@@ -9,12 +9,18 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    // access token이 아닌 토큰(SSE 연결 티켓)의 용도. access token으로는 받지 않는다
+    private static final String TYPE_CLAIM = "typ";
+    private static final String STREAM_TICKET_TYPE = "stream";
+
     @Value("${jwt.secret}")
     private String secretString;
 
@@ -32,7 +38,9 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
+        // jti는 만료 전 폐기(로그아웃)를 위해 TokenDenylist가 참조한다
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(String.valueOf(userId))
                 .claim("email", email)
                 .issuedAt(now)
@@ -41,6 +49,68 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * /api/stream 연결에만 쓰는 짧은 수명의 티켓. 한 번만 쓰는지는 StreamTicketService가 확인한다.
+     */
+    public String createStreamTicket(Long userId, Duration ttl) {
+        Date now = new Date();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(String.valueOf(userId))
+                .claim(TYPE_CLAIM, STREAM_TICKET_TYPE)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + ttl.toMillis()))
+                .signWith(secretKey)
+                .compact();
+    }
+
+    /**
+     * 서명과 만료를 검증한 스트림 티켓. 유효하지 않거나 다른 종류의 토큰이면 null.
+     */
+    public AccessToken parseStreamTicket(String ticket) {
+        try {
+            Claims claims = parseClaims(ticket);
+            if (!STREAM_TICKET_TYPE.equals(claims.get(TYPE_CLAIM, String.class))) {
+                return null;
+            }
+            return new AccessToken(Long.parseLong(claims.getSubject()), null, claims.getId(),
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid stream ticket");
+            return null;
+        }
+    }
+
+    public long getExpirationSeconds() {
+        return expiration / 1000;
+    }
+
+    /**
+     * 서명과 만료를 검증하고 클레임을 꺼낸다. 유효하지 않으면 null.
+     */
+    public AccessToken parse(String token) {
+        try {
+            Claims claims = parseClaims(token);
+            if (claims.get(TYPE_CLAIM) != null) {
+                return null;
+            }
+            return new AccessToken(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("email", String.class),
+                    claims.getId(),
+                    claims.getExpiration().toInstant());
+        } catch (SecurityException | MalformedJwtException e) {
+            log.warn("Invalid JWT signature");
+        } catch (ExpiredJwtException e) {
+            log.debug("Expired JWT token");
+        } catch (UnsupportedJwtException e) {
+            log.warn("Unsupported JWT token");
+        } catch (IllegalArgumentException e) {
+            log.warn("JWT token compact of handler are invalid");
+        }
+        return null;
+    }
+
     public Long getUserId(String token) {
         Claims claims = parseClaims(token);
         return Long.parseLong(claims.getSubject());
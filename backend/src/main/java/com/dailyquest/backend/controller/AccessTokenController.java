@@ -0,0 +1,55 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.dto.AccessTokenDto;
+import com.dailyquest.backend.dto.ApiResponse;
+import com.dailyquest.backend.service.PersonalAccessTokenService;
+import com.dailyquest.backend.util.SecurityUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Access Token", description = "Personal Access Token API")
+@RestController
+@RequestMapping("/api/tokens")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class AccessTokenController {
+
+    private final PersonalAccessTokenService personalAccessTokenService;
+
+    @Operation(summary = "Create access token",
+               description = "Create a personal access token for scripts and integrations. The token is shown only once")
+    @PostMapping
+    public ResponseEntity<ApiResponse<AccessTokenDto.CreatedResponse>> createToken(
+            @Valid @RequestBody AccessTokenDto.CreateRequest request) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        AccessTokenDto.CreatedResponse response = personalAccessTokenService.create(userId, request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Access token created successfully", response));
+    }
+
+    @Operation(summary = "Get access tokens", description = "Get active personal access tokens")
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<AccessTokenDto.Response>>> getTokens() {
+        Long userId = SecurityUtil.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(personalAccessTokenService.getTokens(userId)));
+    }
+
+    @Operation(summary = "Revoke access token", description = "Revoke a personal access token")
+    @DeleteMapping("/{tokenId}")
+    public ResponseEntity<ApiResponse<Void>> revokeToken(
+            @Parameter(description = "Token ID") @PathVariable Long tokenId) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        personalAccessTokenService.revoke(userId, tokenId);
+        return ResponseEntity.ok(ApiResponse.success("Access token revoked successfully"));
+    }
+}
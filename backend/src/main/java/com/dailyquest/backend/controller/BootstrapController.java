@@ -0,0 +1,37 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.dto.ApiResponse;
+import com.dailyquest.backend.dto.BootstrapDto;
+import com.dailyquest.backend.service.BootstrapService;
+import com.dailyquest.backend.util.SecurityUtil;
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Bootstrap", description = "Dashboard page initial data API")
+@RestController
+@Timed(value = "api.controller", histogram = true)
+@RequestMapping("/api/bootstrap")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class BootstrapController {
+
+    private final BootstrapService bootstrapService;
+
+    /**
+     * 사용자 정보(닉네임)는 변경 카운터에 들어가지 않으므로 ETag 조건부 GET을 쓰지 않는다.
+     */
+    @Operation(summary = "Get bootstrap data",
+            description = "Get current user, dashboard stats, projects and all/today/week/overdue tasks in one response")
+    @GetMapping
+    public ResponseEntity<ApiResponse<BootstrapDto.Response>> getBootstrap() {
+        Long userId = SecurityUtil.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(bootstrapService.getBootstrap(userId)));
+    }
+}
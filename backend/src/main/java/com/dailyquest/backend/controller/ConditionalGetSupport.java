@@ -0,0 +1,137 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.dto.ApiResponse;
+import com.dailyquest.backend.exception.BusinessException;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.service.ChangeTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 변경 카운터로 ETag를 만들어 조건부 GET을 처리한다.
+ * 카운터 한 건만 조회하므로 변경이 없으면 태스크/프로젝트를 로딩하지 않고 304를 돌려준다.
+ * 오늘/이번 주/지연 목록은 날짜에 따라 결과가 달라지므로 ETag에 날짜도 포함한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetSupport {
+
+    // 브라우저가 응답을 저장하되 매번 If-None-Match로 재검증하도록 한다
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final ChangeTracker changeTracker;
+
+    public <T> ResponseEntity<ApiResponse<T>> okIfModified(WebRequest request, Long userId, Supplier<T> loader) {
+        String eTag = "\"" + userId + "-" + changeTracker.currentVersion(userId)
+                + "-" + LocalDate.now().toEpochDay() + "\"";
+
+        if (request.checkNotModified(eTag)) {
+            if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+                servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+            }
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .body(ApiResponse.success(loader.get()));
+    }
+
+    /**
+     * 단일 Task 조회. ETag는 "Task.version-변경 카운터"다.
+     * Task.version은 수정 요청의 If-Match(낙관적 잠금)에 쓰고, 카운터는 Task.version이 오르지 않는 변경
+     * (응답에 들어가는 프로젝트 이름/색 등)까지 잡는다. If-None-Match의 카운터가 지금 값과 같으면 Task를 로딩하지 않고 304를 돌려준다.
+     */
+    public <T> ResponseEntity<ApiResponse<T>> okIfTaskModified(WebRequest request, Long userId, Supplier<T> loader,
+                                                               Function<T, Long> versionOf) {
+        long counter = changeTracker.currentVersion(userId);
+
+        Long cachedVersion = cachedTaskVersion(request.getHeader(HttpHeaders.IF_NONE_MATCH), counter);
+        if (cachedVersion != null && request.checkNotModified(taskETag(cachedVersion, counter))) {
+            if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+                servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+            }
+            return null;
+        }
+
+        T body = loader.get();
+        return ResponseEntity.ok()
+                .eTag(taskETag(versionOf.apply(body), counter))
+                .cacheControl(REVALIDATE)
+                .body(ApiResponse.success(body));
+    }
+
+    /**
+     * 수정 응답에 붙일 Task ETag. 커밋 뒤의 카운터로 만들어 이어지는 GET의 ETag와 같다.
+     */
+    public String currentTaskETag(Long userId, Long version) {
+        return taskETag(version, changeTracker.currentVersion(userId));
+    }
+
+    static String taskETag(long version, long counter) {
+        return "\"" + version + "-" + counter + "\"";
+    }
+
+    /**
+     * If-Match 헤더에서 Task.version을 꺼낸다. 헤더가 없거나 "*"이면 null (버전 검사 안 함).
+     * ETag의 카운터 부분은 보지 않는다. 약한 ETag(W/)는 강한 비교(RFC 9110)에 쓸 수 없으므로 412다.
+     */
+    public static Long parseIfMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            throw new BusinessException(ErrorCode.PRECONDITION_FAILED, "If-Match must carry a strong ETag");
+        }
+        value = value.replace("\"", "");
+        int separator = value.indexOf('-');
+        if (separator >= 0) {
+            value = value.substring(0, separator);
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.PRECONDITION_FAILED, "If-Match must carry the task version");
+        }
+    }
+
+    /**
+     * If-None-Match 목록에서 카운터가 지금 값과 같은 Task ETag의 version. If-None-Match는 약한 비교라 W/도 받는다.
+     */
+    private static Long cachedTaskVersion(String ifNoneMatch, long counter) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+                continue;
+            }
+            String[] parts = value.substring(1, value.length() - 1).split("-");
+            if (parts.length == 2 && parts[1].equals(Long.toString(counter))) {
+                try {
+                    return Long.parseLong(parts[0]);
+                } catch (NumberFormatException ignored) {
+                    // 다른 형식의 ETag
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -4,35 +4,42 @@ import com.dailyquest.backend.dto.ApiResponse;
 import com.dailyquest.backend.dto.DashboardDto;
 import com.dailyquest.backend.service.DashboardService;
 import com.dailyquest.backend.util.SecurityUtil;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Dashboard", description = "Dashboard API")
 @RestController
+@Timed(value = "api.controller", histogram = true)
 @RequestMapping("/api/dashboard")
 @RequiredArgsConstructor
 @SecurityRequirement(name = "bearerAuth")
 public class DashboardController {
 
+    // 두 API가 같은 내용을 돌려주므로 스냅샷도 함께 쓴다
+    private static final String DASHBOARD_VIEW = "dashboard";
+
     private final DashboardService dashboardService;
+    private final StaleSnapshotSupport staleSnapshotSupport;
 
     @Operation(summary = "Get dashboard", description = "Get user's task statistics and dashboard data")
     @GetMapping
-    public ResponseEntity<ApiResponse<DashboardDto.Response>> getDashboard() {
+    public ResponseEntity<ApiResponse<DashboardDto.Response>> getDashboard(WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        DashboardDto.Response response = dashboardService.getDashboard(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return staleSnapshotSupport.okIfModifiedOrStale(webRequest, userId, DASHBOARD_VIEW,
+                () -> dashboardService.getDashboard(userId));
     }
 
     @Operation(summary = "Get dashboard stats", description = "Get user's task statistics")
     @GetMapping("/stats")
-    public ResponseEntity<ApiResponse<DashboardDto.Response>> getStats() {
+    public ResponseEntity<ApiResponse<DashboardDto.Response>> getStats(WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        DashboardDto.Response response = dashboardService.getDashboard(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return staleSnapshotSupport.okIfModifiedOrStale(webRequest, userId, DASHBOARD_VIEW,
+                () -> dashboardService.getDashboard(userId));
     }
 }
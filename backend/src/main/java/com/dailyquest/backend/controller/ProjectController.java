@@ -2,8 +2,10 @@ package com.dailyquest.backend.controller;
 
 import com.dailyquest.backend.dto.ApiResponse;
 import com.dailyquest.backend.dto.ProjectDto;
+import com.dailyquest.backend.service.IdempotencyService;
 import com.dailyquest.backend.service.ProjectService;
 import com.dailyquest.backend.util.SecurityUtil;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,53 +15,62 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @Tag(name = "Project", description = "Project Management API")
 @RestController
+@Timed(value = "api.controller", histogram = true)
 @RequestMapping("/api/projects")
 @RequiredArgsConstructor
 @SecurityRequirement(name = "bearerAuth")
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ConditionalGetSupport conditionalGetSupport;
+    private final StaleSnapshotSupport staleSnapshotSupport;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "Create project", description = "Create a new project")
     @PostMapping
     public ResponseEntity<ApiResponse<ProjectDto.Response>> createProject(
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody ProjectDto.CreateRequest request) {
         Long userId = SecurityUtil.getCurrentUserId();
-        ProjectDto.Response response = projectService.createProject(userId, request);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Project created successfully", response));
+        return idempotencyService.execute(userId, "projects", idempotencyKey, request, () -> {
+            ProjectDto.Response response = projectService.createProject(userId, request);
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Project created successfully", response));
+        });
     }
 
     @Operation(summary = "Get project", description = "Get project details by ID")
     @GetMapping("/{projectId}")
     public ResponseEntity<ApiResponse<ProjectDto.Response>> getProject(
-            @Parameter(description = "Project ID") @PathVariable Long projectId) {
+            @Parameter(description = "Project ID") @PathVariable Long projectId,
+            WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        ProjectDto.Response response = projectService.getProject(userId, projectId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> projectService.getProject(userId, projectId));
     }
 
     @Operation(summary = "Get all projects", description = "Get all projects for current user")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProjectDto.Response>>> getAllProjects() {
+    public ResponseEntity<ApiResponse<List<ProjectDto.Response>>> getAllProjects(WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        List<ProjectDto.Response> response = projectService.getAllProjects(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return staleSnapshotSupport.okIfModifiedOrStale(webRequest, userId, "projects",
+                () -> projectService.getAllProjects(userId));
     }
 
     @Operation(summary = "Get project stats", description = "Get project task statistics")
     @GetMapping("/{projectId}/stats")
     public ResponseEntity<ApiResponse<ProjectDto.StatsResponse>> getProjectStats(
-            @Parameter(description = "Project ID") @PathVariable Long projectId) {
+            @Parameter(description = "Project ID") @PathVariable Long projectId,
+            WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        ProjectDto.StatsResponse response = projectService.getProjectStats(userId, projectId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> projectService.getProjectStats(userId, projectId));
     }
 
     @Operation(summary = "Update project", description = "Update project information")
@@ -0,0 +1,257 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.config.datasource.ShardContext;
+import com.dailyquest.backend.dto.ApiResponse;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.exception.ServiceBusyException;
+import com.dailyquest.backend.util.CircuitBreaker;
+import com.dailyquest.backend.util.StripedTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 대시보드, 프로젝트 목록처럼 자주 여는 화면의 조회를 DB 장애에서 지킨다.
+ *
+ * - 성공한 조회 결과를 사용자/화면별 스냅샷으로 남긴다 (크기, 보관 시간 제한)
+ * - DB 연결 실패가 이어지면 회로를 열고, 열린 동안은 DB에 가지 않고 스냅샷을 stale=true로 돌려준다.
+ *   스냅샷이 없으면 Retry-After를 붙여 503으로 거절해, 클라이언트가 곧바로 재시도하지 않게 한다
+ * - open-duration이 지나면 스냅샷이 있는 요청은 스냅샷을 바로 받고, 그 요청의 조회를 백그라운드에서 시험 삼아 실행한다.
+ *   성공하면 회로를 닫고, 장애 중 stale로 내준 스냅샷을 백그라운드에서 차례로 새로 읽는다
+ *
+ * 스냅샷은 인스턴스마다 따로 가진다. 조건부 GET(ETag)은 정상일 때만 쓰고, stale 응답은 브라우저가 저장하지 않게 한다.
+ */
+@Slf4j
+@Component
+public class StaleSnapshotSupport implements DisposableBean {
+
+    private static final CacheControl NO_STORE = CacheControl.noStore();
+
+    private final ConditionalGetSupport conditionalGetSupport;
+    private final boolean enabled;
+    private final CircuitBreaker circuitBreaker;
+    private final StripedTtlCache<Key, Snapshot> snapshots;
+    // 장애 중 stale로 내준 스냅샷. 복구되면 새로 읽는다
+    private final Set<Key> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor refresher;
+    private final Counter staleServed;
+    private final Counter rejected;
+
+    public StaleSnapshotSupport(
+            ConditionalGetSupport conditionalGetSupport,
+            MeterRegistry meterRegistry,
+            @Value("${stale-snapshot.enabled:true}") boolean enabled,
+            @Value("${stale-snapshot.failure-threshold:3}") int failureThreshold,
+            @Value("${stale-snapshot.open-duration:10s}") Duration openDuration,
+            @Value("${stale-snapshot.max-entries:10000}") int maxEntries,
+            @Value("${stale-snapshot.max-age:30m}") Duration maxAge) {
+        this.conditionalGetSupport = conditionalGetSupport;
+        this.enabled = enabled;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.snapshots = new StripedTtlCache<>(16, maxEntries, maxAge);
+        // 복구 뒤 새로 읽기는 한 스레드로 차례로 해서 막 살아난 DB에 몰리지 않게 한다
+        this.refresher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "stale-snapshot-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("stale.snapshot.circuit.open", circuitBreaker,
+                        breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("Whether reads are being served from snapshots because the database is failing")
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("stale.snapshot.served")
+                .description("Responses served from a stale snapshot")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("stale.snapshot.rejected")
+                .description("Requests rejected with 503 because the database was failing and no snapshot existed")
+                .register(meterRegistry);
+    }
+
+    private record Key(Long userId, String view) {
+    }
+
+    private record Snapshot(Object data, long takenAtMillis, Supplier<?> loader) {
+    }
+
+    /**
+     * ConditionalGetSupport.okIfModified와 같지만, DB 장애 중에는 view별 마지막 스냅샷을 돌려준다.
+     */
+    public <T> ResponseEntity<ApiResponse<T>> okIfModifiedOrStale(WebRequest request, Long userId, String view,
+                                                                   Supplier<T> loader) {
+        if (!enabled) {
+            return conditionalGetSupport.okIfModified(request, userId, loader);
+        }
+
+        Key key = new Key(userId, view);
+        if (!circuitBreaker.tryAcquire()) {
+            return staleOrBusy(key, null);
+        }
+        if (circuitBreaker.getState() == CircuitBreaker.State.HALF_OPEN && snapshots.get(key) != null) {
+            // 시험 조회는 백그라운드에서. 사용자는 DB가 살았는지 기다리지 않는다
+            if (!submit(() -> probe(key, loader))) {
+                circuitBreaker.onFailure();
+            }
+            return staleOrBusy(key, null);
+        }
+
+        try {
+            ResponseEntity<ApiResponse<T>> response = conditionalGetSupport.okIfModified(request, userId,
+                    () -> remember(key, loader.get(), loader));
+            if (recordSuccess()) {
+                submit(this::refreshPending);
+            }
+            return response;
+        } catch (RuntimeException e) {
+            if (!isDatabaseFailure(e)) {
+                // DB는 응답했다 (권한 없음 등)
+                if (recordSuccess()) {
+                    submit(this::refreshPending);
+                }
+                throw e;
+            }
+            circuitBreaker.onFailure();
+            log.warn("Database read failed, serving snapshot if present: view={}, userId={}, error={}",
+                    view, userId, e.toString());
+            return staleOrBusy(key, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T remember(Key key, T data, Supplier<?> loader) {
+        snapshots.put(key, new Snapshot(data, System.currentTimeMillis(), loader));
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<ApiResponse<T>> staleOrBusy(Key key, RuntimeException failure) {
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1,
+                    TimeUnit.NANOSECONDS.toSeconds(circuitBreaker.remainingOpenNanos() + 999_999_999L));
+            ServiceBusyException busy = new ServiceBusyException(ErrorCode.SERVICE_BUSY, retryAfterSeconds);
+            if (failure != null) {
+                busy.initCause(failure);
+            }
+            throw busy;
+        }
+
+        staleServed.increment();
+        pendingRefresh.add(key);
+        long ageSeconds = Math.max(0, (System.currentTimeMillis() - snapshot.takenAtMillis()) / 1000);
+        return ResponseEntity.ok()
+                .cacheControl(NO_STORE)
+                .header(HttpHeaders.AGE, String.valueOf(ageSeconds))
+                .body(ApiResponse.stale((T) snapshot.data()));
+    }
+
+    private void probe(Key key, Supplier<?> loader) {
+        if (load(key, loader)) {
+            refreshPending();
+        }
+    }
+
+    private void refreshPending() {
+        for (Key key : pendingRefresh) {
+            if (circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+                return;
+            }
+            pendingRefresh.remove(key);
+            Snapshot snapshot = snapshots.get(key);
+            if (snapshot != null) {
+                load(key, snapshot.loader());
+            }
+        }
+    }
+
+    /**
+     * 백그라운드에서 스냅샷을 새로 읽는다. 요청 스레드가 아니므로 샤드는 사용자로 고른다.
+     *
+     * @return 회로가 이 조회로 닫혔으면 true
+     */
+    private boolean load(Key key, Supplier<?> loader) {
+        try (ShardContext.Scope ignored = ShardContext.forUser(key.userId())) {
+            remember(key, loader.get(), loader);
+            pendingRefresh.remove(key);
+            return recordSuccess();
+        } catch (RuntimeException e) {
+            if (isDatabaseFailure(e)) {
+                circuitBreaker.onFailure();
+                pendingRefresh.add(key);
+                log.warn("Snapshot refresh failed: view={}, userId={}, error={}", key.view(), key.userId(), e.toString());
+                return false;
+            }
+            // 사용자가 지워졌거나 권한이 바뀌었다. 스냅샷도 버린다
+            snapshots.remove(key);
+            pendingRefresh.remove(key);
+            return recordSuccess();
+        }
+    }
+
+    /**
+     * @return 회로가 이 성공으로 닫혔으면 true
+     */
+    private boolean recordSuccess() {
+        boolean recovered = circuitBreaker.onSuccess();
+        if (recovered) {
+            log.info("Database reads recovered, refreshing stale snapshots: count={}", pendingRefresh.size());
+        }
+        return recovered;
+    }
+
+    private boolean submit(Runnable task) {
+        try {
+            refresher.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    static boolean isDatabaseFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.dto.ApiResponse;
+import com.dailyquest.backend.dto.StreamDto;
+import com.dailyquest.backend.service.EventStreamService;
+import com.dailyquest.backend.service.StreamTicketService;
+import com.dailyquest.backend.util.SecurityUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Stream", description = "Server-Sent Events API")
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class StreamController {
+
+    private final EventStreamService eventStreamService;
+    private final StreamTicketService streamTicketService;
+
+    @Operation(summary = "Subscribe to changes",
+            description = "Server-Sent Events stream. Emits 'change' with task/project change events and 'dashboard' with the refreshed dashboard. "
+                    + "Clients that cannot send an Authorization header (EventSource) pass a ticket from POST /api/stream/ticket as the ticket query parameter.")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        Long userId = SecurityUtil.getCurrentUserId();
+        return eventStreamService.connect(userId);
+    }
+
+    @Operation(summary = "Issue stream ticket",
+            description = "Short-lived, single-use ticket for connecting to /api/stream without an Authorization header")
+    @PostMapping("/ticket")
+    public ResponseEntity<ApiResponse<StreamDto.TicketResponse>> issueTicket() {
+        Long userId = SecurityUtil.getCurrentUserId();
+        StreamDto.TicketResponse response = StreamDto.TicketResponse.builder()
+                .ticket(streamTicketService.issue(userId))
+                .expiresIn(streamTicketService.getTtlSeconds())
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
@@ -0,0 +1,42 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.dto.ApiResponse;
+import com.dailyquest.backend.dto.SyncDto;
+import com.dailyquest.backend.service.SyncService;
+import com.dailyquest.backend.util.SecurityUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Sync", description = "Delta Sync API")
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Operation(summary = "Get changes", description = "Get tasks and projects created, changed or deleted since the given token. Omit the token for a full snapshot.")
+    @GetMapping
+    public ResponseEntity<ApiResponse<SyncDto.Response>> getChanges(
+            @Parameter(description = "nextToken from the previous sync") @RequestParam(required = false) String since) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        SyncDto.Response response = syncService.getChanges(userId, since);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @Operation(summary = "Replay offline mutations", description = "Apply an ordered batch of create/update/complete/delete operations in one transaction. Conflicts are detected with baseVersion.")
+    @PostMapping("/mutations")
+    public ResponseEntity<ApiResponse<SyncDto.MutationBatchResponse>> applyMutations(
+            @Valid @RequestBody SyncDto.MutationBatchRequest request) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        SyncDto.MutationBatchResponse response = syncService.applyMutations(userId, request);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
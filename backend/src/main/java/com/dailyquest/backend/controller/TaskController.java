@@ -3,123 +3,145 @@ package com.dailyquest.backend.controller;
 import com.dailyquest.backend.dto.ApiResponse;
 import com.dailyquest.backend.dto.TaskDto;
 import com.dailyquest.backend.domain.Priority;
+import com.dailyquest.backend.service.IdempotencyService;
 import com.dailyquest.backend.service.TaskService;
 import com.dailyquest.backend.util.SecurityUtil;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @Tag(name = "Task", description = "Task Management API")
 @RestController
+@Timed(value = "api.controller", histogram = true)
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
 @SecurityRequirement(name = "bearerAuth")
 public class TaskController {
 
     private final TaskService taskService;
+    private final ConditionalGetSupport conditionalGetSupport;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "Create task", description = "Create a new task")
     @PostMapping
     public ResponseEntity<ApiResponse<TaskDto.Response>> createTask(
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody TaskDto.CreateRequest request) {
         Long userId = SecurityUtil.getCurrentUserId();
-        TaskDto.Response response = taskService.createTask(userId, request);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Task created successfully", response));
+        return idempotencyService.execute(userId, "tasks", idempotencyKey, request, () -> {
+            // 키는 client_id로 저장되므로, 이 인스턴스가 응답을 갖고 있지 않아도 이미 만든 Task를 돌려준다
+            String clientId = IdempotencyService.clientIdOf(idempotencyKey);
+            Optional<TaskDto.Response> created = clientId != null
+                    ? taskService.findCreatedTask(userId, clientId)
+                    : Optional.empty();
+            if (created.isPresent()) {
+                return ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .header(IdempotencyService.REPLAYED_HEADER, "true")
+                        .body(ApiResponse.success("Task created successfully", created.get()));
+            }
+            TaskDto.Response response = taskService.createTask(userId, request, clientId);
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Task created successfully", response));
+        });
     }
 
     @Operation(summary = "Get task", description = "Get task details by ID")
     @GetMapping("/{taskId}")
     public ResponseEntity<ApiResponse<TaskDto.Response>> getTask(
-            @Parameter(description = "Task ID") @PathVariable Long taskId) {
+            @Parameter(description = "Task ID") @PathVariable Long taskId,
+            WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        TaskDto.Response response = taskService.getTask(userId, taskId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfTaskModified(webRequest, userId,
+                () -> taskService.getTask(userId, taskId), TaskDto.Response::getVersion);
     }
 
     @Operation(summary = "Get all tasks", description = "Get all tasks for current user")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getAllTasks() {
+    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getAllTasks(WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        List<TaskDto.ListResponse> response = taskService.getAllTasks(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> taskService.getAllTasks(userId));
     }
 
     @Operation(summary = "Get pending tasks", description = "Get incomplete tasks")
     @GetMapping("/pending")
-    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getPendingTasks() {
+    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getPendingTasks(WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        List<TaskDto.ListResponse> response = taskService.getPendingTasks(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> taskService.getPendingTasks(userId));
     }
 
     @Operation(summary = "Get completed tasks", description = "Get completed tasks")
     @GetMapping("/completed")
-    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getCompletedTasks() {
+    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getCompletedTasks(WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        List<TaskDto.ListResponse> response = taskService.getCompletedTasks(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> taskService.getCompletedTasks(userId));
     }
 
     @Operation(summary = "Get today's tasks", description = "Get tasks due today")
     @GetMapping("/today")
-    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getTodayTasks() {
+    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getTodayTasks(WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        List<TaskDto.ListResponse> response = taskService.getTodayTasks(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> taskService.getTodayTasks(userId));
     }
 
     @Operation(summary = "Get this week's tasks", description = "Get tasks due this week")
     @GetMapping("/week")
-    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getWeekTasks() {
+    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getWeekTasks(WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        List<TaskDto.ListResponse> response = taskService.getWeekTasks(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> taskService.getWeekTasks(userId));
     }
 
     @Operation(summary = "Get tasks by project", description = "Get all tasks in a project")
     @GetMapping("/project/{projectId}")
     public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getTasksByProject(
-            @Parameter(description = "Project ID") @PathVariable Long projectId) {
+            @Parameter(description = "Project ID") @PathVariable Long projectId,
+            WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        List<TaskDto.ListResponse> response = taskService.getTasksByProject(userId, projectId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> taskService.getTasksByProject(userId, projectId));
     }
 
     @Operation(summary = "Get tasks by priority", description = "Get tasks by priority for current user")
     @GetMapping("/priority/{priority}")
     public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getTasksByPriority(
-            @Parameter(description = "Priority") @PathVariable Priority priority) {
+            @Parameter(description = "Priority") @PathVariable Priority priority,
+            WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        List<TaskDto.ListResponse> response = taskService.getTasksByPriority(userId, priority);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> taskService.getTasksByPriority(userId, priority));
     }
 
     @Operation(summary = "Get overdue tasks", description = "Get tasks past due date")
     @GetMapping("/overdue")
-    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getOverdueTasks() {
+    public ResponseEntity<ApiResponse<List<TaskDto.ListResponse>>> getOverdueTasks(WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        List<TaskDto.ListResponse> response = taskService.getOverdueTasks(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditionalGetSupport.okIfModified(webRequest, userId, () -> taskService.getOverdueTasks(userId));
     }
 
-    @Operation(summary = "Update task", description = "Update task information")
+    @Operation(summary = "Update task", description = "Update task information. Send If-Match with the task version for optimistic concurrency.")
     @PutMapping("/{taskId}")
     public ResponseEntity<ApiResponse<TaskDto.Response>> updateTask(
             @Parameter(description = "Task ID") @PathVariable Long taskId,
+            @Parameter(description = "ETag from GET, e.g. \"3-17\"; only the task version before '-' is checked") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TaskDto.UpdateRequest request) {
         Long userId = SecurityUtil.getCurrentUserId();
-        TaskDto.Response response = taskService.updateTask(userId, taskId, request);
-        return ResponseEntity.ok(ApiResponse.success("Task updated successfully", response));
+        Long expectedVersion = ConditionalGetSupport.parseIfMatchVersion(ifMatch);
+        TaskDto.Response response = taskService.updateTask(userId, taskId, request, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(conditionalGetSupport.currentTaskETag(userId, response.getVersion()))
+                .body(ApiResponse.success("Task updated successfully", response));
     }
 
     @Operation(summary = "Complete task", description = "Mark task as completed. Creates next task if recurring.")
@@ -128,7 +150,9 @@ public class TaskController {
             @Parameter(description = "Task ID") @PathVariable Long taskId) {
         Long userId = SecurityUtil.getCurrentUserId();
         TaskDto.Response response = taskService.completeTask(userId, taskId);
-        return ResponseEntity.ok(ApiResponse.success("Task completed", response));
+        return ResponseEntity.ok()
+                .eTag(conditionalGetSupport.currentTaskETag(userId, response.getVersion()))
+                .body(ApiResponse.success("Task completed", response));
     }
 
     @Operation(summary = "Uncomplete task", description = "Mark task as incomplete")
@@ -137,7 +161,9 @@ public class TaskController {
             @Parameter(description = "Task ID") @PathVariable Long taskId) {
         Long userId = SecurityUtil.getCurrentUserId();
         TaskDto.Response response = taskService.uncompleteTask(userId, taskId);
-        return ResponseEntity.ok(ApiResponse.success("Task marked as incomplete", response));
+        return ResponseEntity.ok()
+                .eTag(conditionalGetSupport.currentTaskETag(userId, response.getVersion()))
+                .body(ApiResponse.success("Task marked as incomplete", response));
     }
 
     @Operation(summary = "Delete task", description = "Delete a task")
@@ -1,10 +1,11 @@
 package com.dailyquest.backend.controller;
 
-import com.dailyquest.backend.config.jwt.JwtTokenProvider;
 import com.dailyquest.backend.dto.ApiResponse;
 import com.dailyquest.backend.dto.UserDto;
+import com.dailyquest.backend.service.AuthTokenService;
 import com.dailyquest.backend.service.UserService;
 import com.dailyquest.backend.util.SecurityUtil;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,12 +17,13 @@ import org.springframework.web.bind.annotation.*;
 
 @Tag(name = "User", description = "User Management API")
 @RestController
+@Timed(value = "api.controller", histogram = true)
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
     private final UserService userService;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final AuthTokenService authTokenService;
 
     @Operation(summary = "Sign up", description = "Register a new user")
     @PostMapping("/signup")
@@ -38,12 +40,30 @@ public class UserController {
     public ResponseEntity<ApiResponse<UserDto.LoginResponse>> login(
             @Valid @RequestBody UserDto.LoginRequest request) {
         var user = userService.login(request);
-        String token = jwtTokenProvider.createToken(user.getId(), user.getEmail());
+        UserDto.TokenResponse tokens = authTokenService.issue(user);
         
-        UserDto.LoginResponse response = UserDto.LoginResponse.of(user, token);
+        UserDto.LoginResponse response = UserDto.LoginResponse.of(user, tokens);
         return ResponseEntity.ok(ApiResponse.success("Login successful", response));
     }
 
+    @Operation(summary = "Refresh tokens", description = "Exchange a refresh token for a new access and refresh token")
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<UserDto.TokenResponse>> refresh(
+            @Valid @RequestBody UserDto.RefreshRequest request) {
+        UserDto.TokenResponse response = authTokenService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @Operation(summary = "Logout", description = "Revoke the current access token and its refresh token",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestBody(required = false) UserDto.LogoutRequest request) {
+        authTokenService.logout(SecurityUtil.getCurrentAccessToken(),
+                request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok(ApiResponse.success("Logout successful"));
+    }
+
     @Operation(summary = "Get my info", description = "Get current user's information",
                security = @SecurityRequirement(name = "bearerAuth"))
     @GetMapping("/me")
@@ -0,0 +1,48 @@
+package com.dailyquest.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 삭제된 Task/Project의 tombstone. 델타 동기화 시 클라이언트에 삭제 사실을 전달하기 위해 보관한다.
+ * 사용자 삭제 후에도 남을 수 있으므로 users 테이블과 FK를 걸지 않는다.
+ */
+@Entity
+@Table(name = "deletion_logs", indexes = {
+    @Index(name = "idx_deletion_logs_user_deleted_at", columnList = "user_id, deleted_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class DeletionLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @CreationTimestamp
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    public static DeletionLog of(Long userId, SyncEntityType entityType, Long entityId) {
+        return DeletionLog.builder()
+                .userId(userId)
+                .entityType(entityType)
+                .entityId(entityId)
+                .build();
+    }
+}
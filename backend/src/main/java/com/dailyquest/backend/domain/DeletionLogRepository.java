@@ -0,0 +1,18 @@
+package com.dailyquest.backend.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DeletionLogRepository extends JpaRepository<DeletionLog, Long> {
+
+    List<DeletionLog> findByUserIdAndDeletedAtAfterOrderByDeletedAtAsc(Long userId, LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM DeletionLog d WHERE d.deletedAt < :threshold")
+    int deleteOlderThan(@Param("threshold") LocalDateTime threshold);
+}
@@ -0,0 +1,12 @@
+package com.dailyquest.backend.domain;
+
+public enum DomainEventType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_COMPLETED,
+    TASK_UNCOMPLETED,
+    TASK_DELETED,
+    PROJECT_CREATED,
+    PROJECT_UPDATED,
+    PROJECT_DELETED
+}
@@ -0,0 +1,41 @@
+package com.dailyquest.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 컨슈머별로 마지막으로 처리한 outbox 이벤트 id.
+ */
+@Entity
+@Table(name = "outbox_checkpoints")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OutboxCheckpoint {
+
+    @Id
+    @Column(name = "consumer_name", length = 100)
+    private String consumerName;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public static OutboxCheckpoint of(String consumerName, long lastEventId) {
+        return OutboxCheckpoint.builder()
+                .consumerName(consumerName)
+                .lastEventId(lastEventId)
+                .build();
+    }
+
+    public void advanceTo(long eventId) {
+        this.lastEventId = eventId;
+    }
+}
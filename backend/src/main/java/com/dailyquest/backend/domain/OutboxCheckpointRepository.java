@@ -0,0 +1,6 @@
+package com.dailyquest.backend.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxCheckpointRepository extends JpaRepository<OutboxCheckpoint, String> {
+}
@@ -0,0 +1,49 @@
+package com.dailyquest.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task/Project 변경 이벤트 outbox. 변경을 만든 트랜잭션 안에서 함께 저장되고,
+ * OutboxDispatcher가 id 순서대로 읽어 컨슈머에 전달한다.
+ * 이벤트에는 식별자만 담는다. 컨슈머는 필요하면 현재 상태를 다시 조회한다.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_created_at", columnList = "created_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private DomainEventType eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static OutboxEvent of(Long userId, DomainEventType eventType, Long aggregateId) {
+        return OutboxEvent.builder()
+                .userId(userId)
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .build();
+    }
+}
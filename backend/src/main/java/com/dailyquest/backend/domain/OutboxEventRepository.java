@@ -0,0 +1,22 @@
+package com.dailyquest.backend.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId AND e.id <= :upToId ORDER BY e.id ASC")
+    List<OutboxEvent> findRange(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :upToId AND e.createdAt < :threshold")
+    int deleteDelivered(@Param("upToId") Long upToId, @Param("threshold") LocalDateTime threshold);
+}
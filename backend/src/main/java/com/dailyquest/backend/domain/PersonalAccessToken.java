@@ -0,0 +1,88 @@
+package com.dailyquest.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 스크립트/연동용 개인 액세스 토큰. 원문은 발급할 때 한 번만 보여주고 SHA-256 digest만 저장한다.
+ */
+@Entity
+@Table(name = "personal_access_tokens", indexes = {
+    @Index(name = "idx_personal_access_tokens_user_id", columnList = "user_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class PersonalAccessToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "token_digest", nullable = false, unique = true, length = 64)
+    private String tokenDigest;
+
+    // 목록에서 토큰을 구분할 수 있도록 보여주는 앞부분 (dq_pat_ 포함)
+    @Column(name = "token_prefix", nullable = false, length = 16)
+    private String tokenPrefix;
+
+    // TokenScope 이름을 쉼표로 이은 값
+    @Column(nullable = false, length = 50)
+    private String scopes;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "last_used_at")
+    private LocalDateTime lastUsedAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static String joinScopes(Set<TokenScope> scopes) {
+        return scopes.stream().map(Enum::name).sorted().collect(Collectors.joining(","));
+    }
+
+    public Set<TokenScope> getScopeSet() {
+        Set<TokenScope> result = EnumSet.noneOf(TokenScope.class);
+        // 없어진 scope(예전의 METRICS)로 발급된 토큰은 그 권한 없이 남는다
+        Arrays.stream(TokenScope.values())
+                .filter(scope -> Arrays.asList(scopes.split(",")).contains(scope.name()))
+                .forEach(result::add);
+        return result;
+    }
+
+    public boolean isUsable(LocalDateTime now) {
+        return revokedAt == null && (expiresAt == null || expiresAt.isAfter(now));
+    }
+
+    public void revoke(LocalDateTime now) {
+        if (revokedAt == null) {
+            this.revokedAt = now;
+        }
+    }
+
+    public void markUsed(LocalDateTime usedAt) {
+        if (lastUsedAt == null || lastUsedAt.isBefore(usedAt)) {
+            this.lastUsedAt = usedAt;
+        }
+    }
+}
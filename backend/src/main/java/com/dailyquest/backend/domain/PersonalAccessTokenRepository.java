@@ -0,0 +1,28 @@
+package com.dailyquest.backend.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PersonalAccessTokenRepository extends JpaRepository<PersonalAccessToken, Long> {
+
+    Optional<PersonalAccessToken> findByTokenDigest(String tokenDigest);
+
+    List<PersonalAccessToken> findByUserIdAndRevokedAtIsNullOrderByIdDesc(Long userId);
+
+    Optional<PersonalAccessToken> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserIdAndRevokedAtIsNull(Long userId);
+
+    @Query("SELECT t.tokenDigest FROM PersonalAccessToken t WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    List<String> findActiveDigestsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE PersonalAccessToken t SET t.revokedAt = :now WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
@@ -2,6 +2,8 @@ package com.dailyquest.backend.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +15,10 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     
     boolean existsByUserIdAndName(Long userId, String name);
 
+    // 소유권 확인: user_id 조건으로 찾는다. 다른 인스턴스에서 지운 프로젝트를 통과시키지 않도록 캐시하지 않는다
     Optional<Project> findByIdAndUserId(Long id, Long userId);
+
+    List<Project> findByUserIdAndUpdatedAtAfter(Long userId, LocalDateTime since);
+
+    List<Project> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
 }
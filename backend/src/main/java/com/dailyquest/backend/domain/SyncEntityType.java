@@ -0,0 +1,6 @@
+package com.dailyquest.backend.domain;
+
+public enum SyncEntityType {
+    TASK,
+    PROJECT
+}
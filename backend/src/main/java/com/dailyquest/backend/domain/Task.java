@@ -15,7 +15,10 @@ import java.util.List;
     @Index(name = "idx_tasks_user_id", columnList = "user_id"),
     @Index(name = "idx_tasks_due_date", columnList = "due_date"),
     @Index(name = "idx_tasks_is_completed", columnList = "is_completed"),
-    @Index(name = "idx_tasks_user_due_date", columnList = "user_id, due_date")
+    @Index(name = "idx_tasks_user_due_date", columnList = "user_id, due_date"),
+    @Index(name = "idx_tasks_user_updated_at", columnList = "user_id, updated_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_tasks_user_client_id", columnNames = {"user_id", "client_id"})
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -35,6 +38,10 @@ public class Task {
     @JoinColumn(name = "project_id")
     private Project project;
 
+    // 오프라인 클라이언트가 생성한 ID (UUID). 배치 재생 시 중복 생성을 막는 멱등 키로 쓴다
+    @Column(name = "client_id", length = 36)
+    private String clientId;
+
     @Column(nullable = false, length = 255)
     private String title;
 
@@ -130,6 +137,10 @@ public class Task {
         this.recurrenceEndDate = null;
     }
 
+    public void assignClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
     public void changeProject(Project project) {
         this.project = project;
     }
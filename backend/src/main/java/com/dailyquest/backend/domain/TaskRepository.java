@@ -1,21 +1,38 @@
 package com.dailyquest.backend.domain;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * 목록 조회 메서드는 TaskDto.ListResponse가 프로젝트 이름/색을 읽으므로 @EntityGraph로 project를 함께 가져온다 (N+1 방지).
+ *
+ * 모든 조회는 user_id 조건을 t.user.id로 직접 건다. 파생 쿼리(findByUserId...)는 users를 조인한 뒤 u.id로 거르므로
+ * tasks를 user_id로 해시 파티셔닝했을 때(db/partitioning) 파티션 pruning이 보장되지 않는다.
+ * 새 조회 메서드를 추가하면 TaskPartitionPruningTest에도 추가한다.
+ */
 public interface TaskRepository extends JpaRepository<Task, Long> {
     
-    List<Task> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @EntityGraph(attributePaths = "project")
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId ORDER BY t.createdAt DESC")
+    List<Task> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
     
-    List<Task> findByUserIdAndIsCompleted(Long userId, Boolean isCompleted);
+    @EntityGraph(attributePaths = "project")
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.isCompleted = :isCompleted")
+    List<Task> findByUserIdAndIsCompleted(@Param("userId") Long userId, @Param("isCompleted") Boolean isCompleted);
     
-    List<Task> findByUserIdAndDueDate(Long userId, LocalDate dueDate);
+    @EntityGraph(attributePaths = "project")
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.dueDate = :dueDate")
+    List<Task> findByUserIdAndDueDate(@Param("userId") Long userId, @Param("dueDate") LocalDate dueDate);
     
+    @EntityGraph(attributePaths = "project")
     @Query("SELECT t FROM Task t WHERE t.user.id = :userId " +
            "AND t.dueDate BETWEEN :startDate AND :endDate " +
            "ORDER BY t.dueDate ASC, t.priority DESC")
@@ -24,35 +41,86 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
-    
-    List<Task> findByProjectIdOrderByCreatedAtDesc(Long projectId);
 
-    List<Task> findByProjectIdAndUserIdOrderByCreatedAtDesc(Long projectId, Long userId);
-    
-    List<Task> findByProjectIdAndIsCompleted(Long projectId, Boolean isCompleted);
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.project.id = :projectId")
+    List<Task> findByUserIdAndProjectId(@Param("userId") Long userId, @Param("projectId") Long projectId);
+
+    @EntityGraph(attributePaths = "project")
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.project.id = :projectId " +
+           "ORDER BY t.createdAt DESC")
+    List<Task> findByProjectIdAndUserIdOrderByCreatedAtDesc(@Param("projectId") Long projectId,
+                                                            @Param("userId") Long userId);
     
-    List<Task> findByUserIdAndPriorityOrderByDueDateAsc(Long userId, Priority priority);
+    @EntityGraph(attributePaths = "project")
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.priority = :priority ORDER BY t.dueDate ASC")
+    List<Task> findByUserIdAndPriorityOrderByDueDateAsc(@Param("userId") Long userId,
+                                                        @Param("priority") Priority priority);
     
+    @EntityGraph(attributePaths = "project")
     @Query("SELECT t FROM Task t WHERE t.user.id = :userId " +
            "AND t.dueDate < :today AND t.isCompleted = false " +
            "ORDER BY t.dueDate ASC")
     List<Task> findOverdueTasks(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId " +
+           "AND t.dueDate < :today AND t.isCompleted = false")
+    long countOverdueTasks(@Param("userId") Long userId, @Param("today") LocalDate today);
     
     @Query("SELECT t FROM Task t WHERE t.user.id = :userId " +
            "AND t.isRecurring = true AND t.parentTask IS NULL")
     List<Task> findRecurringParentTasks(@Param("userId") Long userId);
-    
-    List<Task> findByParentTaskId(Long parentTaskId);
 
-    Optional<Task> findByIdAndUserId(Long id, Long userId);
-    
-    long countByUserId(Long userId);
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.id = :id")
+    Optional<Task> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * 단건 조회 후 TaskDto.Response가 프로젝트 정보를 읽으므로 함께 가져온다.
+     */
+    @EntityGraph(attributePaths = "project")
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.id = :id")
+    Optional<Task> findWithProjectByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * 델타 동기화: since 이후 생성/수정된 태스크 (project fetch join으로 N+1 방지)
+     */
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project " +
+           "WHERE t.user.id = :userId AND t.updatedAt > :since")
+    List<Task> findChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project WHERE t.user.id = :userId")
+    List<Task> findAllForSync(@Param("userId") Long userId);
+
+    /**
+     * 배치 변경 재생: 참조된 태스크를 한 번에 미리 로딩
+     */
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project " +
+           "WHERE t.user.id = :userId AND t.id IN :ids")
+    List<Task> findAllByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project " +
+           "WHERE t.user.id = :userId AND t.clientId IN :clientIds")
+    List<Task> findAllByUserIdAndClientIdIn(@Param("userId") Long userId,
+                                            @Param("clientIds") Collection<String> clientIds);
     
-    long countByUserIdAndIsCompleted(Long userId, Boolean isCompleted);
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
     
-    long countByProjectId(Long projectId);
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId AND t.isCompleted = :isCompleted")
+    long countByUserIdAndIsCompleted(@Param("userId") Long userId, @Param("isCompleted") Boolean isCompleted);
 
-    long countByProjectIdAndIsCompleted(Long projectId, Boolean isCompleted);
+    /**
+     * 기간 안에 마감인 태스크 수와 그중 오늘 마감인 태스크 수를 완료 여부별로 한 번의 쿼리로 조회.
+     * 대시보드는 개수만 쓰므로 엔티티(와 project)를 읽지 않는다. today는 기간 안에 있어야 한다.
+     */
+    @Query("SELECT t.isCompleted AS isCompleted, " +
+           "COUNT(t) AS taskCount, " +
+           "SUM(CASE WHEN t.dueDate = :today THEN 1 ELSE 0 END) AS todayCount " +
+           "FROM Task t WHERE t.user.id = :userId " +
+           "AND t.dueDate BETWEEN :startDate AND :endDate GROUP BY t.isCompleted")
+    List<Object[]> countDueTasksByCompletion(@Param("userId") Long userId,
+                                             @Param("today") LocalDate today,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
 
     /**
      * 프로젝트별 태스크 수와 완료 태스크 수를 한 번의 쿼리로 조회 (N+1 방지)
@@ -60,6 +128,7 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t.project.id AS projectId, " +
            "COUNT(t) AS taskCount, " +
            "SUM(CASE WHEN t.isCompleted = true THEN 1 ELSE 0 END) AS completedCount " +
-           "FROM Task t WHERE t.project.id IN :projectIds GROUP BY t.project.id")
-    List<Object[]> countTasksByProjectIds(@Param("projectIds") List<Long> projectIds);
+           "FROM Task t WHERE t.user.id = :userId AND t.project.id IN :projectIds GROUP BY t.project.id")
+    List<Object[]> countTasksByProjectIds(@Param("userId") Long userId,
+                                          @Param("projectIds") Collection<Long> projectIds);
 }
@@ -0,0 +1,14 @@
+package com.dailyquest.backend.domain;
+
+/**
+ * 개인 액세스 토큰의 권한 범위. write는 read를 포함한다.
+ * 메트릭 수집은 사용자 토큰이 아니라 운영자 토큰으로 한다 (ActuatorAuthenticationFilter).
+ */
+public enum TokenScope {
+    READ,
+    WRITE;
+
+    public String authority() {
+        return "SCOPE_" + name().toLowerCase();
+    }
+}
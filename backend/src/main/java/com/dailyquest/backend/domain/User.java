@@ -2,14 +2,22 @@ package com.dailyquest.backend.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+// 2차 캐시는 인스턴스마다 따로라 다른 인스턴스에서 바뀐 값을 ttl 동안 들고 있을 수 있다.
+// 바뀐 컬럼만 UPDATE해서 캐시된 옛 값으로 다른 컬럼(비밀번호 등)을 되돌리지 않는다
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@DynamicUpdate
 @Table(name = "users")
+@EntityListeners(UserEmailListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -0,0 +1,31 @@
+package com.dailyquest.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자별 데이터 변경 카운터. Task/Project가 바뀔 때마다 증가하며 조건부 GET의 ETag로 쓴다.
+ * users 테이블과 분리해 두어 카운터 갱신이 User 엔티티나 캐시에 영향을 주지 않게 한다.
+ */
+@Entity
+@Table(name = "user_change_counters")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class UserChangeCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    public static UserChangeCounter of(Long userId, long version) {
+        return UserChangeCounter.builder()
+                .userId(userId)
+                .version(version)
+                .build();
+    }
+}
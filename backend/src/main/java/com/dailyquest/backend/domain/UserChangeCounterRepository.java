@@ -0,0 +1,18 @@
+package com.dailyquest.backend.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface UserChangeCounterRepository extends JpaRepository<UserChangeCounter, Long> {
+
+    @Query("SELECT c.version FROM UserChangeCounter c WHERE c.userId = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE UserChangeCounter c SET c.version = c.version + 1 WHERE c.userId = :userId")
+    int increment(@Param("userId") Long userId);
+}
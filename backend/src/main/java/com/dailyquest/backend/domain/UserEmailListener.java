@@ -0,0 +1,25 @@
+package com.dailyquest.backend.domain;
+
+import com.dailyquest.backend.service.EmailRegistry;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 인스턴스에서 저장되는 모든 User의 이메일을 Bloom filter에 바로 반영한다.
+ * EmailRegistry는 UserRepository를 통해 EntityManagerFactory에 의존하므로 순환을 피하려고 지연 조회한다.
+ */
+@Component
+public class UserEmailListener {
+
+    private final ObjectProvider<EmailRegistry> emailRegistry;
+
+    public UserEmailListener(ObjectProvider<EmailRegistry> emailRegistry) {
+        this.emailRegistry = emailRegistry;
+    }
+
+    @PostPersist
+    public void onPersist(User user) {
+        emailRegistry.ifAvailable(registry -> registry.registered(user.getEmail()));
+    }
+}
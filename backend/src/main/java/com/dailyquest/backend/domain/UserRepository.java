@@ -1,12 +1,57 @@
 package com.dailyquest.backend.domain;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    
+
+    // 로그인은 트랜잭션 밖에서 해싱하므로 조회만 짧은 트랜잭션으로 한다.
+    // 선언한 쿼리 메서드는 기본 트랜잭션이 없어, 없으면 바깥 범위가 끝날 때까지 EntityManager(커넥션)가 남는다
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    // 비밀번호 확인용 해시. User는 2차 캐시에 있어 findById는 다른 인스턴스에서 바꾼 해시를 ttl 동안 돌려줄 수 있다.
+    // 값 하나를 고르는 쿼리는 캐시를 거치지 않고 항상 DB에서 읽는다
+    @Transactional(readOnly = true)
+    @Query("SELECT u.password FROM User u WHERE u.id = :id")
+    Optional<String> findPasswordById(@Param("id") Long id);
+
+    // 탈퇴: 트랜잭션 밖에서 확인한 해시가 아직 그대로일 때만 행을 잠그고 읽는다. 그 사이 비밀번호가 바뀌었으면 비어 있다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<User> findByIdAndPassword(Long id, String password);
+
+    // 이메일 Bloom filter 적재용: 엔티티 대신 (id, email)만 id 순서로 나눠 읽는다
+    @Query("SELECT u.id, u.email FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<Object[]> findEmailsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 샤딩: id는 ShardDirectory가 발급하므로 IDENTITY 대신 지정한 id로 넣는다
+    // native 쿼리는 영향받는 테이블을 알려 주지 않으면 Hibernate가 2차 캐시 전체를 비운다
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "INSERT INTO users (id, email, password, nickname, created_at) "
+            + "VALUES (:id, :email, :password, :nickname, :createdAt)", nativeQuery = true)
+    void insertWithId(@Param("id") Long id, @Param("email") String email, @Param("password") String password,
+                      @Param("nickname") String nickname, @Param("createdAt") LocalDateTime createdAt);
+
+    // 로그인 중 재해시, 비밀번호 변경: 트랜잭션 밖에서 해싱하므로 저장만 짧은 트랜잭션으로 하고, 그 사이 바뀐 비밀번호는 덮어쓰지 않는다
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
 }
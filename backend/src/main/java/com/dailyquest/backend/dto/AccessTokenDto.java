@@ -0,0 +1,73 @@
+package com.dailyquest.backend.dto;
+
+import com.dailyquest.backend.domain.PersonalAccessToken;
+import com.dailyquest.backend.domain.TokenScope;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public class AccessTokenDto {
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CreateRequest {
+
+        @NotBlank(message = "Token name is required")
+        @Size(max = 100, message = "Token name must be 100 characters or less")
+        private String name;
+
+        @NotEmpty(message = "At least one scope is required")
+        private Set<TokenScope> scopes;
+
+        // 비워 두면 만료 없음
+        @Min(value = 1, message = "Expiration must be between 1 and 365 days")
+        @Max(value = 365, message = "Expiration must be between 1 and 365 days")
+        private Integer expiresInDays;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+
+        private Long id;
+        private String name;
+        private String tokenPrefix;
+        private Set<TokenScope> scopes;
+        private LocalDateTime expiresAt;
+        private LocalDateTime lastUsedAt;
+        private LocalDateTime createdAt;
+
+        public static Response from(PersonalAccessToken token) {
+            return Response.builder()
+                    .id(token.getId())
+                    .name(token.getName())
+                    .tokenPrefix(token.getTokenPrefix())
+                    .scopes(token.getScopeSet())
+                    .expiresAt(token.getExpiresAt())
+                    .lastUsedAt(token.getLastUsedAt())
+                    .createdAt(token.getCreatedAt())
+                    .build();
+        }
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CreatedResponse {
+
+        // 원문 토큰. 이 응답에서만 볼 수 있다
+        private String token;
+        private Response details;
+    }
+}
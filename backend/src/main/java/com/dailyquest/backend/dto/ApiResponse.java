@@ -15,6 +15,8 @@ public class ApiResponse<T> {
     private Integer code;
     private String message;
     private T data;
+    // DB 장애 중 마지막으로 성공한 조회 결과를 돌려줄 때만 true
+    private Boolean stale;
 
     // Success responses
     public static <T> ApiResponse<T> success(T data) {
@@ -39,6 +41,14 @@ public class ApiResponse<T> {
                 .build();
     }
 
+    public static <T> ApiResponse<T> stale(T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .data(data)
+                .stale(true)
+                .build();
+    }
+
     // Error responses with ErrorCode
     public static ApiResponse<Void> error(ErrorCode errorCode) {
         return ApiResponse.<Void>builder()
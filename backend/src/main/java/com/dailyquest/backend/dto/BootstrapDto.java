@@ -0,0 +1,25 @@
+package com.dailyquest.backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+public class BootstrapDto {
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+
+        private UserDto.Response user;
+        private DashboardDto.Response dashboard;
+        private List<ProjectDto.Response> projects;
+
+        // GET /api/tasks, /api/tasks/today, /api/tasks/week, /api/tasks/overdue와 같은 목록
+        private List<TaskDto.ListResponse> tasks;
+        private List<TaskDto.ListResponse> todayTasks;
+        private List<TaskDto.ListResponse> weekTasks;
+        private List<TaskDto.ListResponse> overdueTasks;
+    }
+}
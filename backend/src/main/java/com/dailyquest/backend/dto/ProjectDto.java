@@ -47,6 +47,7 @@ public class ProjectDto {
         private String name;
         private String color;
         private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
         private long taskCount;
         private long completedTaskCount;
 
@@ -56,6 +57,7 @@ public class ProjectDto {
                     .name(project.getName())
                     .color(project.getColor())
                     .createdAt(project.getCreatedAt())
+                    .updatedAt(project.getUpdatedAt())
                     .taskCount(0)
                     .completedTaskCount(0)
                     .build();
@@ -67,6 +69,7 @@ public class ProjectDto {
                     .name(project.getName())
                     .color(project.getColor())
                     .createdAt(project.getCreatedAt())
+                    .updatedAt(project.getUpdatedAt())
                     .taskCount(taskCount)
                     .completedTaskCount(completedTaskCount)
                     .build();
@@ -0,0 +1,16 @@
+package com.dailyquest.backend.dto;
+
+import lombok.*;
+
+public class StreamDto {
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TicketResponse {
+        private String ticket;
+        // 초
+        private long expiresIn;
+    }
+}
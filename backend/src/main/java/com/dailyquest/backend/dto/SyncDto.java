@@ -0,0 +1,140 @@
+package com.dailyquest.backend.dto;
+
+import com.dailyquest.backend.domain.DeletionLog;
+import com.dailyquest.backend.domain.SyncEntityType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SyncDto {
+
+    private static final String UUID_PATTERN =
+            "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$";
+
+    public enum MutationType {
+        CREATE,
+        UPDATE,
+        COMPLETE,
+        UNCOMPLETE,
+        DELETE
+    }
+
+    public enum MutationStatus {
+        APPLIED,
+        // 같은 clientTaskId로 이미 생성된 태스크가 있어 재생을 건너뜀 (재전송된 배치)
+        DUPLICATE,
+        // baseVersion이 서버 버전과 달라 적용하지 않음. task에 서버의 현재 상태가 담긴다
+        CONFLICT,
+        NOT_FOUND,
+        REJECTED
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+
+        // 다음 동기화 요청의 since 값으로 그대로 전달한다
+        private String nextToken;
+
+        // true면 토큰이 없거나 만료되어 전체 스냅샷을 내려준 것이므로 로컬 상태를 교체해야 한다
+        private boolean fullSync;
+
+        private List<TaskDto.Response> tasks;
+        private List<ProjectDto.Response> projects;
+        private List<Tombstone> deleted;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Tombstone {
+
+        private SyncEntityType type;
+        private Long id;
+        private LocalDateTime deletedAt;
+
+        public static Tombstone from(DeletionLog log) {
+            return Tombstone.builder()
+                    .type(log.getEntityType())
+                    .id(log.getEntityId())
+                    .deletedAt(log.getDeletedAt())
+                    .build();
+        }
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MutationBatchRequest {
+
+        @NotEmpty(message = "mutations must not be empty")
+        @Size(max = 500, message = "A batch can contain at most 500 mutations")
+        @Valid
+        private List<Mutation> mutations;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Mutation {
+
+        // 클라이언트가 생성한 시간 순 ID (UUIDv7 권장). 배치 안에서 오름차순이어야 한다
+        @NotBlank(message = "mutationId is required")
+        @Pattern(regexp = UUID_PATTERN, message = "mutationId must be a UUID")
+        private String mutationId;
+
+        @NotNull(message = "type is required")
+        private MutationType type;
+
+        // 서버 ID를 아직 모르는 오프라인 생성 태스크는 clientTaskId로 참조한다
+        private Long taskId;
+
+        @Pattern(regexp = UUID_PATTERN, message = "clientTaskId must be a UUID")
+        private String clientTaskId;
+
+        // 클라이언트가 마지막으로 본 Task.version. null이면 버전 검사 없이 적용한다
+        private Long baseVersion;
+
+        @Valid
+        private TaskDto.CreateRequest create;
+
+        @Valid
+        private TaskDto.UpdateRequest update;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MutationResult {
+
+        private String mutationId;
+        private MutationStatus status;
+        private Long taskId;
+        private String clientTaskId;
+        private TaskDto.Response task;
+        private String message;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MutationBatchResponse {
+
+        private int applied;
+        private List<MutationResult> results;
+    }
+}
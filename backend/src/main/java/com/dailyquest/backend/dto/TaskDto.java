@@ -100,6 +100,8 @@ public class TaskDto {
         
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
+        private Long version;
+        private String clientId;
 
         public static Response from(Task task) {
             return Response.builder()
@@ -120,6 +122,8 @@ public class TaskDto {
                     .projectColor(task.getProject() != null ? task.getProject().getColor() : null)
                     .createdAt(task.getCreatedAt())
                     .updatedAt(task.getUpdatedAt())
+                    .version(task.getVersion())
+                    .clientId(task.getClientId())
                     .build();
         }
     }
@@ -71,6 +71,25 @@ public class UserDto {
         private String password;
     }
 
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RefreshRequest {
+
+        @NotBlank(message = "Refresh token is required")
+        private String refreshToken;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class LogoutRequest {
+
+        private String refreshToken;
+    }
+
     @Getter
     @NoArgsConstructor
     @AllArgsConstructor
@@ -102,14 +121,30 @@ public class UserDto {
         private String email;
         private String nickname;
         private String accessToken;
+        private String refreshToken;
+        private long expiresIn;
 
-        public static LoginResponse of(User user, String accessToken) {
+        public static LoginResponse of(User user, TokenResponse tokens) {
             return LoginResponse.builder()
                     .id(user.getId())
                     .email(user.getEmail())
                     .nickname(user.getNickname())
-                    .accessToken(accessToken)
+                    .accessToken(tokens.getAccessToken())
+                    .refreshToken(tokens.getRefreshToken())
+                    .expiresIn(tokens.getExpiresIn())
                     .build();
         }
     }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TokenResponse {
+
+        private String accessToken;
+        private String refreshToken;
+        // access token 만료까지 남은 초
+        private long expiresIn;
+    }
 }
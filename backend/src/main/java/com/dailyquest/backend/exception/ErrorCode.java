@@ -19,6 +19,8 @@ public enum ErrorCode {
     INVALID_CREDENTIALS(401001, HttpStatus.UNAUTHORIZED, "Invalid email or password"),
     TOKEN_EXPIRED(401002, HttpStatus.UNAUTHORIZED, "Token has expired"),
     INVALID_TOKEN(401003, HttpStatus.UNAUTHORIZED, "Invalid token"),
+    INVALID_REFRESH_TOKEN(401004, HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token"),
+    REFRESH_TOKEN_REUSED(401005, HttpStatus.UNAUTHORIZED, "Refresh token has already been used"),
 
     // 403xxx - Forbidden
     FORBIDDEN(403000, HttpStatus.FORBIDDEN, "Access denied"),
@@ -29,14 +31,30 @@ public enum ErrorCode {
     USER_NOT_FOUND(404001, HttpStatus.NOT_FOUND, "User not found"),
     TASK_NOT_FOUND(404002, HttpStatus.NOT_FOUND, "Task not found"),
     PROJECT_NOT_FOUND(404003, HttpStatus.NOT_FOUND, "Project not found"),
+    ACCESS_TOKEN_NOT_FOUND(404004, HttpStatus.NOT_FOUND, "Access token not found"),
 
     // 409xxx - Conflict
     CONFLICT(409000, HttpStatus.CONFLICT, "Resource conflict"),
     EMAIL_ALREADY_EXISTS(409001, HttpStatus.CONFLICT, "Email already exists"),
     PROJECT_NAME_ALREADY_EXISTS(409002, HttpStatus.CONFLICT, "Project name already exists"),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS(409003, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress"),
+    ACCESS_TOKEN_LIMIT_EXCEEDED(409004, HttpStatus.CONFLICT, "Too many active access tokens"),
+
+    // 412xxx - Precondition Failed
+    PRECONDITION_FAILED(412000, HttpStatus.PRECONDITION_FAILED, "Resource has been modified"),
+
+    // 422xxx - Unprocessable Entity
+    IDEMPOTENCY_KEY_REUSED(422001, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used with a different request"),
+
+    // 429xxx - Too Many Requests
+    TOO_MANY_REQUESTS(429001, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, please retry later"),
 
     // 500xxx - Internal Server Error
-    INTERNAL_SERVER_ERROR(500000, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+    INTERNAL_SERVER_ERROR(500000, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error"),
+
+    // 503xxx - Service Unavailable
+    SERVICE_BUSY(503001, HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry shortly"),
+    USER_RELOCATING(503002, HttpStatus.SERVICE_UNAVAILABLE, "Your data is being moved, please retry shortly");
 
     private final int code;
     private final HttpStatus httpStatus;
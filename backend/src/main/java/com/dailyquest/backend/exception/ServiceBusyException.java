@@ -0,0 +1,17 @@
+package com.dailyquest.backend.exception;
+
+import lombok.Getter;
+
+/**
+ * 서버 자원이 부족해 요청을 거절할 때 사용한다. 응답에 Retry-After 헤더가 붙는다.
+ */
+@Getter
+public class ServiceBusyException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(ErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
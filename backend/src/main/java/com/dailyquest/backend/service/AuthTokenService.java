@@ -0,0 +1,184 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.datasource.PerShard;
+import com.dailyquest.backend.config.datasource.ShardContext;
+import com.dailyquest.backend.config.jwt.AccessToken;
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.domain.RefreshToken;
+import com.dailyquest.backend.domain.RefreshTokenRepository;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import com.dailyquest.backend.dto.UserDto;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.exception.UnauthorizedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * access token(JWT, 짧은 수명)과 refresh token(불투명 난수, 회전)을 발급하고 폐기한다.
+ *
+ * refresh token은 한 번 쓰면 폐기되고 같은 family의 새 토큰으로 바뀐다.
+ * 이미 폐기된 토큰이 다시 들어오면 탈취된 것으로 보고 family 전체를 폐기해 정상 사용자도 다시 로그인하게 한다.
+ *
+ * 샤딩을 켜면 refresh 요청에는 인증 정보가 없으므로 refresh token 앞에 "사용자 id."를 붙여 샤드를 찾는다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class AuthTokenService {
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenDenylist tokenDenylist;
+    private final Duration refreshExpiration;
+    private final boolean sharded;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public AuthTokenService(
+            JwtTokenProvider jwtTokenProvider,
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            TokenDenylist tokenDenylist,
+            @Value("${jwt.refresh-expiration:14d}") Duration refreshExpiration,
+            @Value("${datasource.shards.enabled:false}") boolean sharded) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenDenylist = tokenDenylist;
+        this.refreshExpiration = refreshExpiration;
+        this.sharded = sharded;
+    }
+
+    @Transactional
+    public UserDto.TokenResponse issue(User user) {
+        // 로그인 직후라 아직 인증 정보가 없다
+        try (ShardContext.Scope ignored = ShardContext.forUser(user.getId())) {
+            return issue(user, UUID.randomUUID().toString());
+        }
+    }
+
+    // 재사용 감지 시 family 폐기는 예외를 던져도 커밋되어야 한다
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public UserDto.TokenResponse refresh(String refreshToken) {
+        try (ShardContext.Scope ignored = ShardContext.forUser(sharded ? userIdOf(refreshToken) : null)) {
+            return rotate(refreshToken);
+        }
+    }
+
+    private UserDto.TokenResponse rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new UnauthorizedException(ErrorCode.INVALID_REFRESH_TOKEN));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.isRevoked() || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected: userId={}, family={}", current.getUserId(), current.getFamilyId());
+            throw new UnauthorizedException(ErrorCode.REFRESH_TOKEN_REUSED);
+        }
+        if (current.isExpired(now)) {
+            throw new UnauthorizedException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+
+        User user = userRepository.findById(current.getUserId())
+                .orElseThrow(() -> new UnauthorizedException(ErrorCode.INVALID_REFRESH_TOKEN));
+        return issue(user, current.getFamilyId());
+    }
+
+    /**
+     * 현재 access token을 denylist에 올리고, 함께 받은 refresh token의 family를 폐기한다.
+     */
+    @Transactional
+    public void logout(AccessToken accessToken, String refreshToken) {
+        if (accessToken.jti() != null && accessToken.expiresAt().isAfter(Instant.now())) {
+            tokenDenylist.revoke(accessToken.jti(), accessToken.userId(), accessToken.expiresAt());
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                    .filter(token -> token.getUserId().equals(accessToken.userId()))
+                    .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+        }
+        log.info("User logged out: id={}", accessToken.userId());
+    }
+
+    /**
+     * 비밀번호 변경, 탈퇴 시 모든 기기의 refresh token을 폐기한다. 발급된 access token은 수명이 다할 때까지 유효하다.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    @PerShard
+    @Transactional
+    @Scheduled(cron = "${jwt.token-purge-cron:0 15 4 * * *}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged expired refresh tokens: count={}", deleted);
+        }
+    }
+
+    private UserDto.TokenResponse issue(User user, String familyId) {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        if (sharded) {
+            refreshToken = user.getId() + "." + refreshToken;
+        }
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(user.getId())
+                .tokenHash(hash(refreshToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(refreshExpiration))
+                .build());
+
+        return UserDto.TokenResponse.builder()
+                .accessToken(jwtTokenProvider.createToken(user.getId(), user.getEmail()))
+                .refreshToken(refreshToken)
+                .expiresIn(jwtTokenProvider.getExpirationSeconds())
+                .build();
+    }
+
+    /**
+     * 샤딩 전에 발급된 토큰처럼 사용자 id가 없으면 null (기본 샤드에서 찾는다)
+     */
+    private static Long userIdOf(String refreshToken) {
+        int separator = refreshToken.indexOf('.');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return Long.parseLong(refreshToken, 0, separator, 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 토큰 자체가 256비트 난수라 솔트 없는 SHA-256으로 충분하고, 조회는 unique 인덱스 한 번이다
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
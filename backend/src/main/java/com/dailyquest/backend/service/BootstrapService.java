@@ -0,0 +1,144 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.SingleFlight;
+import com.dailyquest.backend.domain.Project;
+import com.dailyquest.backend.domain.ProjectRepository;
+import com.dailyquest.backend.domain.Task;
+import com.dailyquest.backend.domain.TaskRepository;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import com.dailyquest.backend.dto.BootstrapDto;
+import com.dailyquest.backend.dto.DashboardDto;
+import com.dailyquest.backend.dto.ProjectDto;
+import com.dailyquest.backend.dto.TaskDto;
+import com.dailyquest.backend.dto.UserDto;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대시보드 첫 화면에 필요한 사용자, 통계, 프로젝트, 할 일 목록을 한 번에 만든다.
+ * 사용자(2차 캐시), 프로젝트, 태스크(프로젝트 fetch join)를 한 트랜잭션에서 한 번씩 읽고,
+ * 통계와 오늘/이번 주/지연 목록은 읽어 온 태스크 목록 하나에서 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BootstrapService {
+
+    // findByUserIdAndDueDateBetween과 같은 순서 (priority는 문자열로 저장되어 이름의 역순)
+    private static final Comparator<Task> WEEK_ORDER = Comparator.comparing(Task::getDueDate)
+            .thenComparing(task -> task.getPriority() != null ? task.getPriority().name() : "", Comparator.reverseOrder());
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+
+    @SingleFlight
+    public BootstrapDto.Response getBootstrap(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId));
+        List<Project> projects = projectRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<Task> tasks = taskRepository.findByUserIdOrderByCreatedAtDesc(userId);
+
+        LocalDate today = LocalDate.now();
+        LocalDate startOfWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+
+        List<Task> todayTasks = new ArrayList<>();
+        List<Task> weekTasks = new ArrayList<>();
+        List<Task> overdueTasks = new ArrayList<>();
+        Map<Long, long[]> statsMap = new HashMap<>();
+        long completed = 0;
+        for (Task task : tasks) {
+            boolean done = Boolean.TRUE.equals(task.getIsCompleted());
+            if (done) {
+                completed++;
+            }
+            if (task.getProject() != null) {
+                long[] stats = statsMap.computeIfAbsent(task.getProject().getId(), id -> new long[2]);
+                stats[0]++;
+                if (done) {
+                    stats[1]++;
+                }
+            }
+
+            LocalDate dueDate = task.getDueDate();
+            if (dueDate == null) {
+                continue;
+            }
+            if (dueDate.equals(today)) {
+                todayTasks.add(task);
+            }
+            if (!dueDate.isBefore(startOfWeek) && !dueDate.isAfter(endOfWeek)) {
+                weekTasks.add(task);
+            }
+            if (dueDate.isBefore(today) && !done) {
+                overdueTasks.add(task);
+            }
+        }
+        weekTasks.sort(WEEK_ORDER);
+        overdueTasks.sort(Comparator.comparing(Task::getDueDate));
+
+        List<DashboardDto.ProjectStats> projectStats = new ArrayList<>(projects.size());
+        List<ProjectDto.Response> projectResponses = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            long[] stats = statsMap.getOrDefault(project.getId(), new long[2]);
+            projectStats.add(DashboardDto.ProjectStats.builder()
+                    .projectId(project.getId())
+                    .projectName(project.getName())
+                    .projectColor(project.getColor())
+                    .taskCount(stats[0])
+                    .completedCount(stats[1])
+                    .completionRate(rate(stats[1], stats[0]))
+                    .build());
+            projectResponses.add(ProjectDto.Response.from(project, stats[0], stats[1]));
+        }
+
+        DashboardDto.Response dashboard = DashboardDto.Response.builder()
+                .totalTasks(tasks.size())
+                .completedTasks(completed)
+                .pendingTasks(tasks.size() - completed)
+                .overdueTasks(overdueTasks.size())
+                .completionRate(rate(completed, tasks.size()))
+                .todayTasks(todayTasks.size())
+                .todayCompleted(countCompleted(todayTasks))
+                .weekTasks(weekTasks.size())
+                .weekCompleted(countCompleted(weekTasks))
+                .projectStats(projectStats)
+                .build();
+
+        return BootstrapDto.Response.builder()
+                .user(UserDto.Response.from(user))
+                .dashboard(dashboard)
+                .projects(projectResponses)
+                .tasks(toListResponses(tasks))
+                .todayTasks(toListResponses(todayTasks))
+                .weekTasks(toListResponses(weekTasks))
+                .overdueTasks(toListResponses(overdueTasks))
+                .build();
+    }
+
+    private static double rate(long completed, long total) {
+        return total > 0 ? Math.round((double) completed / total * 100 * 10) / 10.0 : 0;
+    }
+
+    private static long countCompleted(List<Task> tasks) {
+        return tasks.stream().filter(task -> Boolean.TRUE.equals(task.getIsCompleted())).count();
+    }
+
+    private static List<TaskDto.ListResponse> toListResponses(List<Task> tasks) {
+        return tasks.stream().map(TaskDto.ListResponse::from).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.SingleFlightAspect;
+import com.dailyquest.backend.domain.DeletionLog;
+import com.dailyquest.backend.domain.DeletionLogRepository;
+import com.dailyquest.backend.domain.DomainEventType;
+import com.dailyquest.backend.domain.OutboxEvent;
+import com.dailyquest.backend.domain.OutboxEventRepository;
+import com.dailyquest.backend.domain.Project;
+import com.dailyquest.backend.domain.SyncEntityType;
+import com.dailyquest.backend.domain.Task;
+import com.dailyquest.backend.domain.UserChangeCounter;
+import com.dailyquest.backend.domain.UserChangeCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Task/Project 변경 사항을 동기화용으로 기록한다. 호출한 서비스의 트랜잭션 안에서 함께 커밋된다.
+ * 변경마다 outbox 이벤트도 남겨 OutboxDispatcher가 컨슈머에 전달할 수 있게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeTracker {
+
+    private final DeletionLogRepository deletionLogRepository;
+    private final UserChangeCounterRepository userChangeCounterRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final SingleFlightAspect singleFlight;
+
+    public void userCreated(Long userId) {
+        userChangeCounterRepository.save(UserChangeCounter.of(userId, 0));
+    }
+
+    /**
+     * 사용자의 Task/Project가 바뀌었음을 기록한다. 변경 작업마다 한 번씩 호출한다.
+     */
+    public void dataChanged(Long userId) {
+        if (userChangeCounterRepository.increment(userId) == 0) {
+            // 카운터 없이 만들어진 사용자(마이그레이션 이전 데이터 등)
+            userChangeCounterRepository.save(UserChangeCounter.of(userId, 1));
+        }
+        // 커밋 뒤에 온 조회가 커밋 전에 시작한 @SingleFlight 호출의 결과를 받지 않게 한다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean committing;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    singleFlight.writeCommitting(userId);
+                    committing = true;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (committing) {
+                        singleFlight.writeCompleted(userId);
+                    }
+                }
+            });
+        } else {
+            singleFlight.forget(userId);
+        }
+    }
+
+    public long currentVersion(Long userId) {
+        return userChangeCounterRepository.findVersionByUserId(userId).orElse(0L);
+    }
+
+    public void taskChanged(DomainEventType eventType, Task task) {
+        outboxEventRepository.save(OutboxEvent.of(task.getUser().getId(), eventType, task.getId()));
+    }
+
+    public void projectChanged(DomainEventType eventType, Project project) {
+        outboxEventRepository.save(OutboxEvent.of(project.getUser().getId(), eventType, project.getId()));
+    }
+
+    public void taskDeleted(Task task) {
+        Long userId = task.getUser().getId();
+        List<DeletionLog> logs = new ArrayList<>();
+        List<OutboxEvent> events = new ArrayList<>();
+        logs.add(DeletionLog.of(userId, SyncEntityType.TASK, task.getId()));
+        events.add(OutboxEvent.of(userId, DomainEventType.TASK_DELETED, task.getId()));
+
+        // 반복 태스크의 부모를 지우면 childTasks가 cascade로 함께 삭제된다
+        task.getChildTasks().forEach(child -> {
+            logs.add(DeletionLog.of(userId, SyncEntityType.TASK, child.getId()));
+            events.add(OutboxEvent.of(userId, DomainEventType.TASK_DELETED, child.getId()));
+        });
+
+        deletionLogRepository.saveAll(logs);
+        outboxEventRepository.saveAll(events);
+    }
+
+    public void projectDeleted(Project project) {
+        Long userId = project.getUser().getId();
+        deletionLogRepository.save(DeletionLog.of(userId, SyncEntityType.PROJECT, project.getId()));
+        outboxEventRepository.save(OutboxEvent.of(userId, DomainEventType.PROJECT_DELETED, project.getId()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.dailyquest.backend.service;
+
+import org.hibernate.JDBCException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Set;
+
+/**
+ * 저장 중 난 무결성 오류의 종류를 가린다.
+ */
+final class ConstraintViolations {
+
+    // PostgreSQL foreign_key_violation, H2(테스트)의 부모 행 없음
+    private static final Set<String> FOREIGN_KEY_SQL_STATES = Set.of("23503", "23506");
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * 참조하는 행(사용자 등)이 없어 외래 키 제약에 걸렸는지.
+     */
+    static boolean isForeignKey(DataIntegrityViolationException e) {
+        return e.getCause() instanceof JDBCException jdbc && FOREIGN_KEY_SQL_STATES.contains(jdbc.getSQLState());
+    }
+}
@@ -1,5 +1,6 @@
 package com.dailyquest.backend.service;
 
+import com.dailyquest.backend.config.SingleFlight;
 import com.dailyquest.backend.domain.ProjectRepository;
 import com.dailyquest.backend.domain.TaskRepository;
 import com.dailyquest.backend.dto.DashboardDto;
@@ -27,6 +28,7 @@ public class DashboardService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
 
+    @SingleFlight
     public DashboardDto.Response getDashboard(Long userId) {
         LocalDate today = LocalDate.now();
         LocalDate startOfWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
@@ -35,30 +37,35 @@ public class DashboardService {
         long totalTasks = taskRepository.countByUserId(userId);
         long completedTasks = taskRepository.countByUserIdAndIsCompleted(userId, true);
         long pendingTasks = totalTasks - completedTasks;
-        long overdueTasks = taskRepository.findOverdueTasks(userId, today).size();
+        long overdueTasks = taskRepository.countOverdueTasks(userId, today);
 
         double completionRate = totalTasks > 0 
                 ? Math.round((double) completedTasks / totalTasks * 100 * 10) / 10.0 
                 : 0;
 
-        var todayTaskList = taskRepository.findByUserIdAndDueDate(userId, today);
-        long todayTasks = todayTaskList.size();
-        long todayCompleted = todayTaskList.stream()
-                .filter(t -> Boolean.TRUE.equals(t.getIsCompleted()))
-                .count();
-
-        var weekTaskList = taskRepository.findByUserIdAndDueDateBetween(userId, startOfWeek, endOfWeek);
-        long weekTasks = weekTaskList.size();
-        long weekCompleted = weekTaskList.stream()
-                .filter(t -> Boolean.TRUE.equals(t.getIsCompleted()))
-                .count();
+        // 오늘과 이번 주 태스크는 개수만 필요하므로 완료 여부별 집계 한 번으로 구한다
+        long todayTasks = 0;
+        long todayCompleted = 0;
+        long weekTasks = 0;
+        long weekCompleted = 0;
+        for (Object[] row : taskRepository.countDueTasksByCompletion(userId, today, startOfWeek, endOfWeek)) {
+            boolean completed = Boolean.TRUE.equals(row[0]);
+            long taskCount = (Long) row[1];
+            long todayCount = ((Number) row[2]).longValue();
+            todayTasks += todayCount;
+            weekTasks += taskCount;
+            if (completed) {
+                todayCompleted = todayCount;
+                weekCompleted = taskCount;
+            }
+        }
 
         // N+1 방지: 한 번의 쿼리로 모든 프로젝트의 태스크 통계 조회
         List<Project> projects = projectRepository.findByUserId(userId);
         Map<Long, long[]> statsMap = new HashMap<>();
         if (!projects.isEmpty()) {
             List<Long> projectIds = projects.stream().map(Project::getId).collect(Collectors.toList());
-            taskRepository.countTasksByProjectIds(projectIds).forEach(row -> {
+            taskRepository.countTasksByProjectIds(userId, projectIds).forEach(row -> {
                 Long projectId = (Long) row[0];
                 long tc = (Long) row[1];
                 long cc = (Long) row[2];
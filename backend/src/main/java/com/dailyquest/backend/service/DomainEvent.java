@@ -0,0 +1,17 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.domain.DomainEventType;
+import com.dailyquest.backend.domain.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 컨슈머에 전달되는 변경 이벤트. outbox 엔티티와 분리해 영속성 컨텍스트 밖에서도 안전하게 다룬다.
+ */
+public record DomainEvent(long id, Long userId, DomainEventType type, Long aggregateId, LocalDateTime occurredAt) {
+
+    static DomainEvent from(OutboxEvent event) {
+        return new DomainEvent(event.getId(), event.getUserId(), event.getEventType(),
+                event.getAggregateId(), event.getCreatedAt());
+    }
+}
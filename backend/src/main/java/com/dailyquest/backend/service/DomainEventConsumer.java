@@ -0,0 +1,20 @@
+package com.dailyquest.backend.service;
+
+import java.util.List;
+
+/**
+ * outbox 이벤트를 받는 컨슈머. 빈으로 등록하면 OutboxDispatcher가 자동으로 전달한다.
+ * 전달은 at-least-once이므로 같은 이벤트를 다시 받아도 결과가 같도록 구현해야 한다.
+ */
+public interface DomainEventConsumer {
+
+    /**
+     * 체크포인트 키. 이름을 바꾸면 처음부터 다시 전달받는다.
+     */
+    String name();
+
+    /**
+     * 한 사용자의 이벤트를 id 순서대로 전달한다. 예외를 던지면 체크포인트가 전진하지 않고 다음 폴링에서 다시 전달된다.
+     */
+    void onEvents(Long userId, List<DomainEvent> events);
+}
@@ -0,0 +1,230 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.datasource.ShardDirectory;
+import com.dailyquest.backend.domain.UserRepository;
+import com.dailyquest.backend.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 가입된 이메일의 Bloom filter. 필터에 없으면 DB를 조회하지 않고 "없음"으로 답하고, 있으면 DB로 확인한다.
+ *
+ * 시작 시 users 테이블을 id 순으로 나눠 읽어 채우고, 이후에는 User 저장 시 바로 추가하면서
+ * 다른 인스턴스에서 가입한 사용자를 refresh-interval마다 id 증분으로 반영한다.
+ * id는 커밋 순서대로 보이지 않으므로(작은 id의 트랜잭션이 늦게 커밋될 수 있다) 증분은 마지막으로 읽은 id가 아니라
+ * reload-overlap 전에 읽었던 id부터 다시 읽는다. 그보다 오래 열려 있던 트랜잭션의 가입은 rebuild-interval마다 다시 만들 때 반영된다.
+ * Bloom filter는 삭제를 지원하지 않으므로 탈퇴한 이메일은 DB 확인으로 걸러지고,
+ * 탈퇴가 쌓이거나 예상 크기를 넘으면 새 크기로 다시 만든다.
+ * 필터가 준비되기 전에는 항상 DB로 확인한다.
+ *
+ * 샤딩을 켜면 users가 여러 DB에 나뉘므로 필터를 만들지 않고 ShardDirectory(이메일 unique 인덱스)로 확인한다.
+ */
+@Slf4j
+@Component
+public class EmailRegistry {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final ShardDirectory shardDirectory;
+    private final long minCapacity;
+    private final double falsePositiveRate;
+    private final long reloadOverlapNanos;
+    private final long rebuildIntervalNanos;
+    private final LongSupplier nanoClock;
+
+    private volatile BloomFilter filter;
+    private volatile long capacity;
+    private volatile long lastLoadedUserId;
+    private long builtAtNanos;
+    // 적재할 때마다 (시각, 그때까지 읽은 마지막 id). 증분 적재는 reload-overlap보다 오래된 것 중 가장 최근 id부터 읽는다
+    private final Deque<Watermark> watermarks = new ArrayDeque<>();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong removed = new AtomicLong();
+
+    private final Counter skippedQueries;
+    private final Counter falsePositives;
+
+    @Autowired
+    public EmailRegistry(
+            UserRepository userRepository,
+            ObjectProvider<ShardDirectory> shardDirectory,
+            MeterRegistry meterRegistry,
+            @Value("${email-filter.min-capacity:1000000}") long minCapacity,
+            @Value("${email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${email-filter.reload-overlap:5m}") Duration reloadOverlap,
+            @Value("${email-filter.rebuild-interval:24h}") Duration rebuildInterval) {
+        this(userRepository, shardDirectory.getIfAvailable(), meterRegistry, minCapacity, falsePositiveRate,
+                reloadOverlap, rebuildInterval, System::nanoTime);
+    }
+
+    EmailRegistry(UserRepository userRepository, ShardDirectory shardDirectory, MeterRegistry meterRegistry,
+                  long minCapacity, double falsePositiveRate, Duration reloadOverlap, Duration rebuildInterval,
+                  LongSupplier nanoClock) {
+        this.userRepository = userRepository;
+        this.shardDirectory = shardDirectory;
+        this.minCapacity = minCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.reloadOverlapNanos = reloadOverlap.toNanos();
+        this.rebuildIntervalNanos = rebuildInterval.toNanos();
+        this.nanoClock = nanoClock;
+
+        this.skippedQueries = Counter.builder("email.filter.skipped.queries")
+                .description("Email existence checks answered by the Bloom filter without a query")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("email.filter.false.positives")
+                .description("Bloom filter hits that the database did not confirm")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.bytes", this, registry -> {
+                    BloomFilter current = registry.filter;
+                    return current == null ? 0 : current.bitSize() / 8.0;
+                })
+                .description("Memory used by the email Bloom filter bit array")
+                .register(meterRegistry);
+    }
+
+    public boolean exists(String email) {
+        if (shardDirectory != null) {
+            return shardDirectory.emailExists(email);
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(email)) {
+            skippedQueries.increment();
+            return false;
+        }
+
+        boolean exists = userRepository.existsByEmail(email);
+        if (!exists && current != null) {
+            falsePositives.increment();
+        }
+        return exists;
+    }
+
+    /**
+     * User 저장 직후(커밋 전) UserEmailListener가 호출한다. 롤백되더라도 오탐이 하나 늘 뿐 잘못된 "없음" 응답은 생기지 않는다.
+     * 이후 증분 적재에서 다시 세므로 inserted는 실제보다 약간 클 수 있다 (재생성이 조금 일찍 일어날 뿐이다).
+     */
+    public void registered(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(email);
+            inserted.incrementAndGet();
+        }
+    }
+
+    public void unregistered() {
+        removed.incrementAndGet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (shardDirectory != null) {
+            return;
+        }
+        long userCount = userRepository.count();
+        // 다음 재생성까지 가입이 늘 여유로 사용자 수의 2배를 잡는다 (1% 오탐이면 capacity당 약 1.2 byte)
+        long newCapacity = Math.max(minCapacity, userCount * 2);
+        BloomFilter newFilter = new BloomFilter(newCapacity, falsePositiveRate);
+
+        builtAtNanos = nanoClock.getAsLong();
+        lastLoadedUserId = 0L;
+        watermarks.clear();
+        long loaded = load(newFilter, 0L);
+
+        this.capacity = newCapacity;
+        this.inserted.set(loaded);
+        this.removed.set(0);
+        this.filter = newFilter;
+
+        // 적재하는 동안 커밋된 가입을 반영한다
+        inserted.addAndGet(load(newFilter, lastLoadedUserId));
+
+        log.info("Email filter built: users={}, capacity={}, bits={}, hashes={}",
+                loaded, newCapacity, newFilter.bitSize(), newFilter.hashCount());
+    }
+
+    @Scheduled(fixedDelayString = "${email-filter.refresh-interval-ms:30000}",
+            initialDelayString = "${email-filter.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        if (now - builtAtNanos >= rebuildIntervalNanos) {
+            rebuild();
+            return;
+        }
+
+        inserted.addAndGet(load(current, reloadFrom(now)));
+
+        // 오탐률은 원소 수가 capacity를 넘거나 탈퇴가 쌓이면 올라간다
+        if (inserted.get() > capacity || removed.get() > capacity / 10) {
+            rebuild();
+        }
+    }
+
+    /**
+     * reload-overlap 전에 기록한 id 중 가장 최근 것. 그 전 기록은 더 필요 없으므로 버린다.
+     * 아직 그만큼 오래된 기록이 없으면 (필터를 만든 직후) 가장 오래된 기록부터 읽는다.
+     */
+    private long reloadFrom(long now) {
+        Watermark from = watermarks.pollFirst();
+        while (!watermarks.isEmpty() && now - watermarks.peekFirst().atNanos() >= reloadOverlapNanos) {
+            from = watermarks.pollFirst();
+        }
+        if (from == null) {
+            return lastLoadedUserId;
+        }
+        watermarks.addFirst(from);
+        return from.userId();
+    }
+
+    /**
+     * afterId 다음부터 끝까지 읽어 target에 넣는다.
+     *
+     * @return 새로 본 사용자 수 (이미 읽은 id 범위를 다시 읽은 것은 세지 않는다)
+     */
+    private long load(BloomFilter target, long afterId) {
+        long seenUpTo = lastLoadedUserId;
+        long lastId = afterId;
+        long added = 0;
+        while (true) {
+            List<Object[]> rows = userRepository.findEmailsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                target.add((String) row[1]);
+                if (lastId > seenUpTo) {
+                    added++;
+                }
+            }
+            if (rows.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+        }
+        lastLoadedUserId = Math.max(seenUpTo, lastId);
+        watermarks.addLast(new Watermark(nanoClock.getAsLong(), lastLoadedUserId));
+        return added;
+    }
+
+    private record Watermark(long atNanos, long userId) {
+    }
+}
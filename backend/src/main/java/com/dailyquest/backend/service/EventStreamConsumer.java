@@ -0,0 +1,26 @@
+package com.dailyquest.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * outbox 이벤트를 SSE로 연결된 클라이언트에 전달한다. 연결이 없는 사용자의 이벤트는 바로 버린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventStreamConsumer implements DomainEventConsumer {
+
+    private final EventStreamService eventStreamService;
+
+    @Override
+    public String name() {
+        return "event-stream";
+    }
+
+    @Override
+    public void onEvents(Long userId, List<DomainEvent> events) {
+        eventStreamService.publishChanges(userId, events);
+    }
+}
@@ -0,0 +1,188 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.datasource.ShardContext;
+import com.dailyquest.backend.dto.DashboardDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * /api/stream SSE 연결을 사용자별로 묶어 관리한다.
+ * SseEmitter는 서블릿 비동기 요청이라 연결이 열려 있는 동안 요청 스레드를 점유하지 않는다.
+ * 같은 사용자의 여러 탭은 한 번 계산한 대시보드를 함께 받는다.
+ *
+ * 연결에 쓰기는 느린 클라이언트 때문에 막힐 수 있으므로, 스케줄러 스레드(outbox 전달, 정리 작업과 공유)가 아니라
+ * 전용 송신 스레드에서 한다. 사용자마다 정해진 한 스레드가 맡아 같은 연결의 이벤트 순서가 바뀌지 않는다.
+ */
+@Slf4j
+@Service
+public class EventStreamService implements DisposableBean {
+
+    public static final String CHANGE_EVENT = "change";
+    public static final String DASHBOARD_EVENT = "dashboard";
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    // 대시보드 재계산이 필요한 사용자. 짧은 시간 동안의 변경을 모아 한 번만 계산한다
+    private final Set<Long> dirtyDashboards = ConcurrentHashMap.newKeySet();
+
+    private final DashboardService dashboardService;
+    private final long timeoutMillis;
+    private final int maxConnectionsPerUser;
+    private final ThreadPoolExecutor[] senders;
+
+    public EventStreamService(
+            DashboardService dashboardService,
+            @Value("${stream.timeout:30m}") Duration timeout,
+            @Value("${stream.max-connections-per-user:8}") int maxConnectionsPerUser,
+            @Value("${stream.send-threads:4}") int sendThreads,
+            @Value("${stream.send-queue-capacity:1000}") int sendQueueCapacity) {
+        this.dashboardService = dashboardService;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.senders = new ThreadPoolExecutor[Math.max(1, sendThreads)];
+        for (int i = 0; i < senders.length; i++) {
+            String name = "sse-send-" + i;
+            senders[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(sendQueueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    public SseEmitter connect(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        List<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, key -> new CopyOnWriteArrayList<>());
+        userEmitters.add(emitter);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(userId, emitter));
+
+        // 탭을 계속 새로 여는 클라이언트가 연결을 무한히 쌓지 않도록 오래된 연결부터 닫는다
+        while (userEmitters.size() > maxConnectionsPerUser) {
+            userEmitters.remove(0).complete();
+        }
+
+        // 초기 스냅샷을 보내 클라이언트가 연결 직후 별도로 폴링하지 않아도 되게 한다.
+        // 조회는 인증 정보가 있는 요청 스레드에서, 쓰기는 이후 이벤트와 순서를 맞추려고 송신 스레드에서 한다
+        DashboardDto.Response dashboard = dashboardService.getDashboard(userId);
+        submit(userId, () -> send(userId, emitter, SseEmitter.event().name(DASHBOARD_EVENT).data(dashboard)));
+        return emitter;
+    }
+
+    public boolean isConnected(Long userId) {
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        return userEmitters != null && !userEmitters.isEmpty();
+    }
+
+    public int connectionCount() {
+        return emitters.values().stream().mapToInt(List::size).sum();
+    }
+
+    public void publishChanges(Long userId, List<DomainEvent> events) {
+        if (!isConnected(userId)) {
+            return;
+        }
+
+        List<Change> changes = events.stream()
+                .map(event -> new Change(event.id(), event.type().name(), event.aggregateId()))
+                .toList();
+        broadcast(userId, () -> SseEmitter.event().name(CHANGE_EVENT).data(changes));
+        dirtyDashboards.add(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${stream.dashboard-debounce-ms:1000}")
+    public void flushDashboards() {
+        for (Long userId : dirtyDashboards) {
+            dirtyDashboards.remove(userId);
+            if (!isConnected(userId)) {
+                continue;
+            }
+            // 스케줄러 스레드에는 인증 정보가 없으므로 사용자의 샤드를 직접 묶는다
+            try (ShardContext.Scope ignored = ShardContext.forUser(userId)) {
+                DashboardDto.Response dashboard = dashboardService.getDashboard(userId);
+                broadcast(userId, () -> SseEmitter.event().name(DASHBOARD_EVENT).data(dashboard));
+            } catch (RuntimeException e) {
+                log.warn("Failed to push dashboard: userId={}", userId, e);
+            }
+        }
+    }
+
+    /**
+     * 프록시/로드밸런서의 유휴 연결 종료를 막고 끊긴 연결을 정리한다. 연결당 주기적으로 몇 바이트만 쓴다.
+     */
+    @Scheduled(fixedDelayString = "${stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emitters.keySet().forEach(userId -> broadcast(userId, () -> SseEmitter.event().comment("ping")));
+    }
+
+    @Override
+    public void destroy() {
+        for (ThreadPoolExecutor sender : senders) {
+            sender.shutdownNow();
+        }
+    }
+
+    // SseEventBuilder는 build() 시 내부 버퍼에 덧붙이므로 연결마다 새로 만든다
+    private void broadcast(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        submit(userId, () -> {
+            List<SseEmitter> userEmitters = emitters.get(userId);
+            if (userEmitters != null) {
+                userEmitters.forEach(emitter -> send(userId, emitter, event.get()));
+            }
+        });
+    }
+
+    private void submit(Long userId, Runnable task) {
+        try {
+            senders[Math.floorMod(userId.hashCode(), senders.length)].execute(task);
+        } catch (RejectedExecutionException e) {
+            // 쓰기가 밀려 이벤트를 버려야 한다. 연결을 닫아 클라이언트가 다시 연결해 새 스냅샷을 받게 한다
+            log.warn("SSE send queue full, closing connections: userId={}", userId);
+            List<SseEmitter> userEmitters = emitters.remove(userId);
+            if (userEmitters != null) {
+                userEmitters.forEach(SseEmitter::complete);
+            }
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 이미 연결을 끊었다
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (key, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    public record Change(long eventId, String type, Long id) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.exception.BusinessException;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.util.StripedTtlCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더로 생성 요청의 재시도를 한 번만 처리한다.
+ * 첫 요청의 응답을 TTL 동안 보관했다가 같은 키로 다시 오면 그대로 돌려준다.
+ * 헤더가 없으면 아무 것도 하지 않고 바로 실행한다.
+ *
+ * 처리 중인 키는 완료된 응답과 따로 둔다. 용량 때문에 밀려나면 같은 키가 두 번 실행되므로 밀어내지 않고,
+ * 대신 사용자마다 동시에 처리 중인 키 수를 제한한다.
+ * 보관은 인스턴스 메모리라, 여러 인스턴스에 걸친 중복은 Task 생성처럼 DB 제약(clientIdOf)으로 막는다.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // tasks.client_id 컬럼 길이
+    private static final int MAX_CLIENT_ID_LENGTH = 36;
+
+    private final StripedTtlCache<String, Record> records;
+    // 처리 중인 키와 요청 지문. 요청이 끝나면 지운다
+    private final Map<String, byte[]> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> inFlightPerUser = new ConcurrentHashMap<>();
+    private final int maxInFlightPerUser;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyService(
+            ObjectMapper objectMapper,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.max-entries:100000}") int maxEntries,
+            @Value("${idempotency.stripes:64}") int stripes,
+            @Value("${idempotency.max-in-flight-per-user:10}") int maxInFlightPerUser) {
+        this.objectMapper = objectMapper;
+        this.records = new StripedTtlCache<>(stripes, maxEntries, ttl);
+        this.maxInFlightPerUser = maxInFlightPerUser;
+    }
+
+    /**
+     * 키를 생성되는 행의 client_id로 쓸 값. 컬럼보다 긴 키는 SHA-256을 줄여 쓴다. 키가 없으면 null.
+     */
+    public static String clientIdOf(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.length() <= MAX_CLIENT_ID_LENGTH) {
+            return idempotencyKey;
+        }
+        byte[] digest = sha256(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, MAX_CLIENT_ID_LENGTH);
+    }
+
+    public <T> ResponseEntity<T> execute(Long userId, String scope, String idempotencyKey,
+                                         Object request, Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = userId + ":" + scope + ":" + idempotencyKey;
+        byte[] fingerprint = fingerprint(request);
+
+        Record completed = records.get(cacheKey);
+        if (completed != null) {
+            return replay(completed, fingerprint);
+        }
+
+        if (!acquire(userId)) {
+            throw new BusinessException(ErrorCode.TOO_MANY_REQUESTS,
+                    "Too many requests with " + HEADER + " in progress");
+        }
+        boolean registered = false;
+        try {
+            byte[] running = inFlight.putIfAbsent(cacheKey, fingerprint);
+            if (running != null) {
+                if (!Arrays.equals(running, fingerprint)) {
+                    throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+                }
+                throw new BusinessException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+            }
+            registered = true;
+
+            // 먼저 온 요청이 응답을 저장하고 처리 중 표시를 지우는 사이에 들어왔을 수 있다
+            completed = records.get(cacheKey);
+            if (completed != null) {
+                return replay(completed, fingerprint);
+            }
+
+            // 실패한 요청은 기록하지 않는다. 같은 키로 다시 시도할 수 있어야 한다.
+            ResponseEntity<T> response = action.get();
+            records.put(cacheKey, new Record(fingerprint, response.getStatusCode(), response.getBody()));
+            return response;
+        } finally {
+            if (registered) {
+                inFlight.remove(cacheKey);
+            }
+            release(userId);
+        }
+    }
+
+    private boolean acquire(Long userId) {
+        boolean[] acquired = {false};
+        inFlightPerUser.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxInFlightPerUser) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void release(Long userId) {
+        inFlightPerUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Record record, byte[] fingerprint) {
+        if (!Arrays.equals(record.fingerprint(), fingerprint)) {
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        return ResponseEntity.status(record.status())
+                .header(REPLAYED_HEADER, "true")
+                .body((T) record.body());
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            byte[] json = request == null
+                    ? new byte[0]
+                    : objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return sha256(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Record(byte[] fingerprint, HttpStatusCode status, Object body) {
+    }
+}
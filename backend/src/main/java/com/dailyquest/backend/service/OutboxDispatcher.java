@@ -0,0 +1,292 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.datasource.PerShard;
+import com.dailyquest.backend.config.datasource.ShardContext;
+import com.dailyquest.backend.domain.OutboxCheckpoint;
+import com.dailyquest.backend.domain.OutboxCheckpointRepository;
+import com.dailyquest.backend.domain.OutboxEvent;
+import com.dailyquest.backend.domain.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * outbox 이벤트를 폴링해 등록된 DomainEventConsumer에 배치로 전달한다.
+ *
+ * IDENTITY 키는 할당 순서와 커밋 순서가 다를 수 있어, id가 비어 있는 구간 뒤의 이벤트는 바로 전달하지 않는다.
+ * 모든 컨슈머는 연속으로 확정된 id(watermark)까지만 읽고, 빈 구간은 처음 본 뒤 gap-timeout 동안 열려 있으면 롤백된 것으로 보고 건너뛴다.
+ * 뒤 이벤트의 created_at은 빈 id를 잡은 트랜잭션이 얼마나 오래 걸리는지와 상관없으므로 기준으로 쓰지 않는다.
+ * 건너뛴 id는 gap-recheck 동안 다시 조회해, 늦게 커밋된 이벤트가 나타나면 순서와 상관없이 컨슈머에 전달한다.
+ * 건너뛴 id 목록은 메모리에만 두므로 재시작하면 그 전에 건너뛴 구간은 다시 확인하지 않는다.
+ * 컨슈머마다 체크포인트를 따로 저장하므로 한 컨슈머의 실패가 다른 컨슈머를 막지 않는다.
+ * 샤딩을 켜면 샤드마다 outbox와 체크포인트가 따로 있으므로 watermark도 샤드별로 둔다.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxCheckpointRepository outboxCheckpointRepository;
+    private final List<DomainEventConsumer> consumers;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final long gapRecheckNanos;
+    private final int maxSkippedIds;
+    private final Duration retention;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Cursor> cursors = new HashMap<>();
+
+    @Autowired
+    public OutboxDispatcher(
+            OutboxEventRepository outboxEventRepository,
+            OutboxCheckpointRepository outboxCheckpointRepository,
+            List<DomainEventConsumer> consumers,
+            @Value("${outbox.batch-size:200}") int batchSize,
+            @Value("${outbox.gap-timeout:5s}") Duration gapTimeout,
+            @Value("${outbox.gap-recheck:10m}") Duration gapRecheck,
+            @Value("${outbox.max-skipped-ids:10000}") int maxSkippedIds,
+            @Value("${outbox.retention:7d}") Duration retention) {
+        this(outboxEventRepository, outboxCheckpointRepository, consumers, batchSize, gapTimeout, gapRecheck,
+                maxSkippedIds, retention, System::nanoTime);
+    }
+
+    OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                     OutboxCheckpointRepository outboxCheckpointRepository,
+                     List<DomainEventConsumer> consumers,
+                     int batchSize,
+                     Duration gapTimeout,
+                     Duration gapRecheck,
+                     int maxSkippedIds,
+                     Duration retention,
+                     LongSupplier nanoClock) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxCheckpointRepository = outboxCheckpointRepository;
+        this.consumers = consumers;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.gapRecheckNanos = gapRecheck.toNanos();
+        this.maxSkippedIds = maxSkippedIds;
+        this.retention = retention;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * DB(샤드) 하나의 전달 위치
+     */
+    private static final class Cursor {
+        private final Map<String, OutboxCheckpoint> checkpoints = new HashMap<>();
+        private long watermark = -1;
+        // 지금 기다리는 빈 id와 그 구간을 처음 본 시각
+        private long gapId = -1;
+        private long gapOpenedAtNanos;
+        // watermark가 건너뛴 id. 늦게 커밋되면 전달한다 (id 순)
+        private final Map<Long, SkippedId> skipped = new LinkedHashMap<>();
+    }
+
+    private static final class SkippedId {
+        private final long skippedAtNanos;
+        // 아직 이 id의 이벤트를 받지 못한 컨슈머
+        private final Set<String> pendingConsumers;
+
+        private SkippedId(long skippedAtNanos, Set<String> pendingConsumers) {
+            this.skippedAtNanos = skippedAtNanos;
+            this.pendingConsumers = pendingConsumers;
+        }
+    }
+
+    @PerShard
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (consumers.isEmpty()) {
+            return;
+        }
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            log.warn("Outbox dispatch failed", e);
+        }
+    }
+
+    /**
+     * @return 이번 호출에서 컨슈머에 전달한 이벤트 수 (컨슈머별 합계)
+     */
+    public synchronized int dispatch() {
+        String shard = ShardContext.currentShard();
+        Cursor cursor = cursors.computeIfAbsent(shard != null ? shard : "", key -> new Cursor());
+        if (cursor.watermark < 0) {
+            // 앞서 있는 컨슈머가 이미 지나간 구간은 확정된 것으로 본다
+            cursor.watermark = consumers.stream()
+                    .mapToLong(consumer -> checkpointFor(cursor, consumer).getLastEventId())
+                    .max()
+                    .orElse(0L);
+        }
+        advanceWatermark(cursor);
+
+        int delivered = 0;
+        for (DomainEventConsumer consumer : consumers) {
+            delivered += deliver(cursor, consumer);
+        }
+        return delivered + deliverLateEvents(cursor);
+    }
+
+    private void advanceWatermark(Cursor cursor) {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            List<OutboxEvent> page = outboxEventRepository.findByIdGreaterThanOrderByIdAsc(
+                    cursor.watermark, PageRequest.of(0, batchSize));
+            for (OutboxEvent event : page) {
+                long missingId = cursor.watermark + 1;
+                if (event.getId() != missingId) {
+                    if (cursor.gapId != missingId) {
+                        cursor.gapId = missingId;
+                        cursor.gapOpenedAtNanos = now;
+                    }
+                    if (now - cursor.gapOpenedAtNanos < gapTimeoutNanos) {
+                        // 앞 id의 트랜잭션이 아직 커밋 중일 수 있다
+                        return;
+                    }
+                    skip(cursor, missingId, event.getId(), now);
+                }
+                cursor.watermark = event.getId();
+            }
+            if (page.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void skip(Cursor cursor, long fromId, long toIdExclusive, long now) {
+        if (toIdExclusive - fromId > maxSkippedIds) {
+            // 커밋 중인 트랜잭션이 이만큼 id를 잡고 있을 수는 없다. 시퀀스가 건너뛴 것이니 다시 확인하지 않는다
+            log.warn("Outbox id sequence jumped, not rechecking: from={}, to={}", fromId, toIdExclusive - 1);
+            return;
+        }
+        for (long id = fromId; id < toIdExclusive; id++) {
+            if (cursor.skipped.size() >= maxSkippedIds) {
+                log.warn("Too many skipped outbox ids, not rechecking: from={}, to={}", id, toIdExclusive - 1);
+                return;
+            }
+            Set<String> pending = new HashSet<>();
+            consumers.forEach(consumer -> pending.add(consumer.name()));
+            cursor.skipped.put(id, new SkippedId(now, pending));
+        }
+    }
+
+    /**
+     * 건너뛴 id 중 그 사이 커밋된 이벤트를 아직 받지 못한 컨슈머에 전달한다.
+     * 실패한 컨슈머는 다음 호출에서 다시 받는다. gap-recheck가 지난 id는 더 확인하지 않는다.
+     */
+    private int deliverLateEvents(Cursor cursor) {
+        long now = nanoClock.getAsLong();
+        cursor.skipped.values().removeIf(skippedId -> now - skippedId.skippedAtNanos >= gapRecheckNanos);
+        if (cursor.skipped.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> late = outboxEventRepository.findAllById(cursor.skipped.keySet());
+        int delivered = 0;
+        for (DomainEventConsumer consumer : consumers) {
+            Map<Long, List<DomainEvent>> byUser = new LinkedHashMap<>();
+            List<SkippedId> delivering = new ArrayList<>();
+            for (OutboxEvent event : late) {
+                SkippedId skippedId = cursor.skipped.get(event.getId());
+                if (skippedId != null && skippedId.pendingConsumers.contains(consumer.name())) {
+                    byUser.computeIfAbsent(event.getUserId(), key -> new ArrayList<>())
+                            .add(DomainEvent.from(event));
+                    delivering.add(skippedId);
+                }
+            }
+            if (delivering.isEmpty()) {
+                continue;
+            }
+            try {
+                byUser.forEach(consumer::onEvents);
+            } catch (RuntimeException e) {
+                log.warn("Outbox consumer failed on late events, will retry: consumer={}", consumer.name(), e);
+                continue;
+            }
+            log.info("Delivered late outbox events: consumer={}, count={}", consumer.name(), delivering.size());
+            delivering.forEach(skippedId -> skippedId.pendingConsumers.remove(consumer.name()));
+            delivered += delivering.size();
+        }
+
+        cursor.skipped.values().removeIf(skippedId -> skippedId.pendingConsumers.isEmpty());
+        return delivered;
+    }
+
+    private int deliver(Cursor cursor, DomainEventConsumer consumer) {
+        long watermark = cursor.watermark;
+        OutboxCheckpoint checkpoint = checkpointFor(cursor, consumer);
+        long position = checkpoint.getLastEventId();
+        int delivered = 0;
+
+        try {
+            while (position < watermark) {
+                List<OutboxEvent> page = outboxEventRepository.findRange(
+                        position, watermark, PageRequest.of(0, batchSize));
+                if (page.isEmpty()) {
+                    position = watermark;
+                    break;
+                }
+
+                Map<Long, List<DomainEvent>> byUser = new LinkedHashMap<>();
+                for (OutboxEvent event : page) {
+                    byUser.computeIfAbsent(event.getUserId(), key -> new ArrayList<>())
+                            .add(DomainEvent.from(event));
+                }
+                byUser.forEach(consumer::onEvents);
+
+                position = page.get(page.size() - 1).getId();
+                delivered += page.size();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox consumer failed, will retry: consumer={}, position={}", consumer.name(), position, e);
+        }
+
+        if (position != checkpoint.getLastEventId()) {
+            checkpoint.advanceTo(position);
+            cursor.checkpoints.put(consumer.name(), outboxCheckpointRepository.save(checkpoint));
+        }
+        return delivered;
+    }
+
+    private OutboxCheckpoint checkpointFor(Cursor cursor, DomainEventConsumer consumer) {
+        return cursor.checkpoints.computeIfAbsent(consumer.name(), name ->
+                outboxCheckpointRepository.findById(name).orElseGet(() -> OutboxCheckpoint.of(name, 0L)));
+    }
+
+    @PerShard
+    @Transactional
+    @Scheduled(cron = "${outbox.purge-cron:0 45 3 * * *}")
+    public void purgeDeliveredEvents() {
+        // 가장 느린 컨슈머까지 전달이 끝난 이벤트만 지운다
+        long deliveredUpTo = Long.MAX_VALUE;
+        for (DomainEventConsumer consumer : consumers) {
+            long lastEventId = outboxCheckpointRepository.findById(consumer.name())
+                    .map(OutboxCheckpoint::getLastEventId)
+                    .orElse(0L);
+            deliveredUpTo = Math.min(deliveredUpTo, lastEventId);
+        }
+
+        int purged = outboxEventRepository.deleteDelivered(deliveredUpTo, LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged delivered outbox events: count={}", purged);
+        }
+    }
+}
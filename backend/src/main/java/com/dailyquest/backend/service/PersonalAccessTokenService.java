@@ -0,0 +1,248 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.datasource.PerShard;
+import com.dailyquest.backend.config.datasource.ShardContext;
+import com.dailyquest.backend.config.datasource.ShardRoutingDataSource;
+import com.dailyquest.backend.domain.PersonalAccessToken;
+import com.dailyquest.backend.domain.PersonalAccessTokenRepository;
+import com.dailyquest.backend.domain.TokenScope;
+import com.dailyquest.backend.dto.AccessTokenDto;
+import com.dailyquest.backend.exception.BusinessException;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.exception.ResourceNotFoundException;
+import com.dailyquest.backend.util.RateLimiter;
+import com.dailyquest.backend.util.StripedTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스크립트/연동용 개인 액세스 토큰(dq_pat_...)을 발급하고 인증한다.
+ *
+ * 토큰은 256비트 난수라 BCrypt 없이 SHA-256 digest 비교만으로 충분하다.
+ * digest → 사용자/scope 매핑은 TTL 캐시에 두어 매 요청 DB를 조회하지 않는다.
+ * 폐기는 이 인스턴스의 캐시에서 즉시 빠지고, 다른 인스턴스에는 cache-ttl 안에 반영된다.
+ * 마지막 사용 시각은 메모리에 모아 두었다가 last-used-flush-interval마다 한 번에 기록한다.
+ *
+ * 샤딩을 켜면 digest만으로는 샤드를 알 수 없어 캐시에 없는 토큰은 모든 샤드에서 찾는다 (토큰당 cache-ttl마다 샤드 수만큼 조회).
+ *
+ * 없는 토큰은 유효한 주체와 다른 작은 캐시에 둔다. 무작위 토큰을 뿌려도 유효한 주체가 캐시에서 밀려나지 않는다.
+ * 인증에 실패한 IP는 failures-per-ip를 넘으면 한동안 조회 없이 거절한다.
+ */
+@Slf4j
+@Service
+public class PersonalAccessTokenService {
+
+    public static final String TOKEN_PREFIX = "dq_pat_";
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int DISPLAY_PREFIX_LENGTH = 12;
+    private static final int MAX_TOKEN_LENGTH = 128;
+
+    private final PersonalAccessTokenRepository personalAccessTokenRepository;
+    private final ShardRoutingDataSource shardRouting;
+    private final StripedTtlCache<String, Principal> principals;
+    // DB에 없거나 쓸 수 없는 토큰의 digest
+    private final StripedTtlCache<String, Boolean> unknownDigests;
+    private final RateLimiter failuresPerIp;
+    private final Map<Long, LocalDateTime> pendingLastUsed = new ConcurrentHashMap<>();
+    private final int maxTokensPerUser;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public PersonalAccessTokenService(
+            PersonalAccessTokenRepository personalAccessTokenRepository,
+            ObjectProvider<ShardRoutingDataSource> shardRouting,
+            @Value("${pat.cache-ttl:60s}") Duration cacheTtl,
+            @Value("${pat.cache-max-entries:10000}") int cacheMaxEntries,
+            @Value("${pat.negative-cache-max-entries:1000}") int negativeCacheMaxEntries,
+            @Value("${pat.failures-per-ip:20}") int failuresPerIp,
+            @Value("${pat.failure-period:1m}") Duration failurePeriod,
+            @Value("${pat.failure-max-ips:10000}") int failureMaxIps,
+            @Value("${pat.max-per-user:20}") int maxTokensPerUser) {
+        this.personalAccessTokenRepository = personalAccessTokenRepository;
+        this.shardRouting = shardRouting.getIfAvailable();
+        this.principals = new StripedTtlCache<>(16, cacheMaxEntries, cacheTtl);
+        this.unknownDigests = new StripedTtlCache<>(16, negativeCacheMaxEntries, cacheTtl);
+        this.failuresPerIp = new RateLimiter(failuresPerIp, failurePeriod, failureMaxIps);
+        this.maxTokensPerUser = maxTokensPerUser;
+    }
+
+    /**
+     * 인증된 토큰의 주체. 권한 목록은 캐시에 넣을 때 한 번만 만든다.
+     */
+    public record Principal(Long tokenId, Long userId, LocalDateTime expiresAt,
+                            List<GrantedAuthority> authorities) {
+
+        static Principal from(PersonalAccessToken token) {
+            Set<TokenScope> scopes = token.getScopeSet();
+            if (scopes.contains(TokenScope.WRITE)) {
+                scopes.add(TokenScope.READ);
+            }
+            List<GrantedAuthority> authorities = scopes.stream()
+                    .<GrantedAuthority>map(scope -> new SimpleGrantedAuthority(scope.authority()))
+                    .toList();
+            return new Principal(token.getId(), token.getUserId(), token.getExpiresAt(), authorities);
+        }
+    }
+
+    /**
+     * 토큰이 유효하면 주체를, 아니면 null을 돌려준다. 캐시에 있으면 DB를 조회하지 않는다.
+     * 없는 토큰도 따로 캐시해 두어 같은 잘못된 토큰을 반복해서 보내도 DB 조회는 TTL당 한 번이다.
+     * 실패가 잦은 IP는 조회 없이 null이다.
+     */
+    public Principal authenticate(String token, String clientIp) {
+        if (!token.startsWith(TOKEN_PREFIX) || token.length() > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+        if (failuresPerIp.waitNanos(clientIp) > 0) {
+            log.debug("Personal access token failures exceeded: ip={}", clientIp);
+            return null;
+        }
+
+        String digest = digest(token);
+        Principal principal = principals.get(digest);
+        if (principal == null && unknownDigests.get(digest) == null) {
+            principal = lookup(digest);
+            if (principal != null) {
+                principals.put(digest, principal);
+            } else {
+                unknownDigests.put(digest, Boolean.TRUE);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (principal == null || (principal.expiresAt() != null && !principal.expiresAt().isAfter(now))) {
+            failuresPerIp.tryAcquire(clientIp);
+            return null;
+        }
+        pendingLastUsed.put(principal.tokenId(), now);
+        return principal;
+    }
+
+    @Transactional
+    public AccessTokenDto.CreatedResponse create(Long userId, AccessTokenDto.CreateRequest request) {
+        if (personalAccessTokenRepository.countByUserIdAndRevokedAtIsNull(userId) >= maxTokensPerUser) {
+            throw new BusinessException(ErrorCode.ACCESS_TOKEN_LIMIT_EXCEEDED);
+        }
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        PersonalAccessToken saved = personalAccessTokenRepository.save(PersonalAccessToken.builder()
+                .userId(userId)
+                .name(request.getName())
+                .tokenDigest(digest(token))
+                .tokenPrefix(token.substring(0, DISPLAY_PREFIX_LENGTH))
+                .scopes(PersonalAccessToken.joinScopes(request.getScopes()))
+                .expiresAt(request.getExpiresInDays() != null
+                        ? LocalDateTime.now().plusDays(request.getExpiresInDays())
+                        : null)
+                .build());
+        log.info("Personal access token created: id={}, userId={}", saved.getId(), userId);
+
+        return AccessTokenDto.CreatedResponse.builder()
+                .token(token)
+                .details(AccessTokenDto.Response.from(saved))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccessTokenDto.Response> getTokens(Long userId) {
+        return personalAccessTokenRepository.findByUserIdAndRevokedAtIsNullOrderByIdDesc(userId).stream()
+                .map(AccessTokenDto.Response::from)
+                .toList();
+    }
+
+    @Transactional
+    public void revoke(Long userId, Long tokenId) {
+        PersonalAccessToken token = personalAccessTokenRepository.findByIdAndUserId(tokenId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.ACCESS_TOKEN_NOT_FOUND, tokenId));
+
+        token.revoke(LocalDateTime.now());
+        principals.remove(token.getTokenDigest());
+        pendingLastUsed.remove(tokenId);
+        log.info("Personal access token revoked: id={}, userId={}", tokenId, userId);
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        personalAccessTokenRepository.findActiveDigestsByUserId(userId).forEach(principals::remove);
+        personalAccessTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    // 표가 가득 차면 새 IP는 정리될 때까지 거절되므로 failure-period보다 짧게 돈다
+    @Scheduled(fixedDelayString = "${pat.failure-eviction-interval-ms:10000}")
+    public void evictIdleFailures() {
+        failuresPerIp.evictIdle();
+    }
+
+    /**
+     * 모아 둔 마지막 사용 시각을 기록한다. 엔티티 변경 감지로 UPDATE가 JDBC 배치로 묶인다.
+     * 종료 직전 flush 간격 안의 사용 시각은 기록되지 않을 수 있다.
+     */
+    @PerShard
+    @Transactional
+    @Scheduled(fixedDelayString = "${pat.last-used-flush-interval-ms:60000}")
+    public void flushLastUsed() {
+        if (pendingLastUsed.isEmpty()) {
+            return;
+        }
+        Map<Long, LocalDateTime> drained = new HashMap<>(pendingLastUsed);
+        List<PersonalAccessToken> tokens = personalAccessTokenRepository.findAllById(drained.keySet());
+        tokens.forEach(token -> token.markUsed(drained.get(token.getId())));
+
+        // 샤딩을 켜면 이 샤드에 없는 토큰은 그 샤드 차례에 기록한다. 그 사이 더 늦은 사용 시각이 들어왔으면 남겨 둔다
+        Collection<Long> flushed = shardRouting != null
+                ? tokens.stream().map(PersonalAccessToken::getId).toList()
+                : drained.keySet();
+        flushed.forEach(tokenId -> pendingLastUsed.remove(tokenId, drained.get(tokenId)));
+        log.debug("Flushed personal access token usage: count={}", flushed.size());
+    }
+
+    // 없으면 null
+    private Principal lookup(String digest) {
+        if (shardRouting == null) {
+            return find(digest);
+        }
+        for (String shard : shardRouting.getShardNames()) {
+            try (ShardContext.Scope ignored = ShardContext.forShard(shard)) {
+                Principal principal = find(digest);
+                if (principal != null) {
+                    return principal;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Principal find(String digest) {
+        return personalAccessTokenRepository.findByTokenDigest(digest)
+                .filter(found -> found.isUsable(LocalDateTime.now()))
+                .map(Principal::from)
+                .orElse(null);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.dailyquest.backend.service;
 
+import com.dailyquest.backend.config.SingleFlight;
 import com.dailyquest.backend.domain.*;
 import com.dailyquest.backend.dto.ProjectDto;
 import com.dailyquest.backend.exception.DuplicateException;
@@ -8,6 +9,7 @@ import com.dailyquest.backend.exception.ResourceNotFoundException;
 import com.dailyquest.backend.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,11 +27,12 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
+    private final ChangeTracker changeTracker;
 
     @Transactional
     public ProjectDto.Response createProject(Long userId, ProjectDto.CreateRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId));
+        // 외래 키만 채우면 되므로 사용자는 조회하지 않고 프록시를 쓴다. 탈퇴한 사용자면 INSERT의 외래 키 오류로 알 수 있다
+        User user = userRepository.getReferenceById(userId);
 
         if (projectRepository.existsByUserIdAndName(userId, request.getName())) {
             throw new DuplicateException(ErrorCode.PROJECT_NAME_ALREADY_EXISTS, request.getName());
@@ -41,7 +44,17 @@ public class ProjectService {
                 .color(request.getColor() != null ? request.getColor() : "#3B82F6")
                 .build();
 
-        Project savedProject = projectRepository.save(project);
+        Project savedProject;
+        try {
+            savedProject = projectRepository.save(project);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isForeignKey(e)) {
+                throw new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId);
+            }
+            throw e;
+        }
+        changeTracker.projectChanged(DomainEventType.PROJECT_CREATED, savedProject);
+        changeTracker.dataChanged(userId);
         log.info("Project created: id={}, name={}", savedProject.getId(), savedProject.getName());
 
         return ProjectDto.Response.from(savedProject);
@@ -50,17 +63,16 @@ public class ProjectService {
     public ProjectDto.Response getProject(Long userId, Long projectId) {
         Project project = getOwnedProject(userId, projectId);
 
-        long taskCount = taskRepository.countByProjectId(projectId);
-        long completedCount = taskRepository.countByProjectIdAndIsCompleted(projectId, true);
-
-        return ProjectDto.Response.from(project, taskCount, completedCount);
+        long[] stats = countTasks(userId, projectId);
+        return ProjectDto.Response.from(project, stats[0], stats[1]);
     }
 
     public ProjectDto.StatsResponse getProjectStats(Long userId, Long projectId) {
         Project project = getOwnedProject(userId, projectId);
 
-        long taskCount = taskRepository.countByProjectId(project.getId());
-        long completedCount = taskRepository.countByProjectIdAndIsCompleted(project.getId(), true);
+        long[] stats = countTasks(userId, project.getId());
+        long taskCount = stats[0];
+        long completedCount = stats[1];
         double completionRate = taskCount > 0
                 ? Math.round((double) completedCount / taskCount * 100 * 10) / 10.0
                 : 0.0;
@@ -72,6 +84,7 @@ public class ProjectService {
                 .build();
     }
 
+    @SingleFlight
     public List<ProjectDto.Response> getAllProjects(Long userId) {
         List<Project> projects = projectRepository.findByUserIdOrderByCreatedAtDesc(userId);
 
@@ -82,7 +95,7 @@ public class ProjectService {
         // N+1 방지: 한 번의 쿼리로 모든 프로젝트의 태스크 통계 조회
         List<Long> projectIds = projects.stream().map(Project::getId).collect(Collectors.toList());
         Map<Long, long[]> statsMap = new HashMap<>();
-        taskRepository.countTasksByProjectIds(projectIds).forEach(row -> {
+        taskRepository.countTasksByProjectIds(userId, projectIds).forEach(row -> {
             Long projectId = (Long) row[0];
             long taskCount = (Long) row[1];
             long completedCount = (Long) row[2];
@@ -113,12 +126,12 @@ public class ProjectService {
             project.updateColor(request.getColor());
         }
 
+        changeTracker.projectChanged(DomainEventType.PROJECT_UPDATED, project);
+        changeTracker.dataChanged(userId);
         log.info("Project updated: id={}", projectId);
 
-        long taskCount = taskRepository.countByProjectId(projectId);
-        long completedCount = taskRepository.countByProjectIdAndIsCompleted(projectId, true);
-
-        return ProjectDto.Response.from(project, taskCount, completedCount);
+        long[] stats = countTasks(userId, projectId);
+        return ProjectDto.Response.from(project, stats[0], stats[1]);
     }
 
     @Transactional
@@ -126,21 +139,34 @@ public class ProjectService {
         Project project = getOwnedProject(userId, projectId);
 
         // 프로젝트에 속한 태스크의 프로젝트 참조를 null로 설정 (태스크 보존)
-        taskRepository.findByProjectIdOrderByCreatedAtDesc(projectId)
-                .forEach(task -> task.changeProject(null));
-
+        taskRepository.findByUserIdAndProjectId(userId, projectId)
+                .forEach(task -> {
+                    task.changeProject(null);
+                    changeTracker.taskChanged(DomainEventType.TASK_UPDATED, task);
+                });
+
+        changeTracker.projectDeleted(project);
+        changeTracker.dataChanged(userId);
         projectRepository.delete(project);
         log.info("Project deleted: id={}", projectId);
     }
 
-    private Project getOwnedProject(Long userId, Long projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROJECT_NOT_FOUND, projectId));
-
-        if (!project.getUser().getId().equals(userId)) {
-            throw new BusinessException(ErrorCode.NO_PERMISSION);
+    /**
+     * @return {태스크 수, 완료 태스크 수}
+     */
+    private long[] countTasks(Long userId, Long projectId) {
+        List<Object[]> rows = taskRepository.countTasksByProjectIds(userId, List.of(projectId));
+        if (rows.isEmpty()) {
+            return new long[]{0, 0};
         }
+        return new long[]{(Long) rows.get(0)[1], (Long) rows.get(0)[2]};
+    }
 
-        return project;
+    private Project getOwnedProject(Long userId, Long projectId) {
+        // 소유권은 user_id 조건으로 확인한다. 없을 때만 존재 여부를 다시 확인해 404/403을 구분한다
+        return projectRepository.findByIdAndUserId(projectId, userId)
+                .orElseThrow(() -> projectRepository.existsById(projectId)
+                        ? new BusinessException(ErrorCode.NO_PERMISSION)
+                        : new ResourceNotFoundException(ErrorCode.PROJECT_NOT_FOUND, projectId));
     }
 }
@@ -0,0 +1,51 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.jwt.AccessToken;
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.util.StripedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * EventSource처럼 Authorization 헤더를 보낼 수 없는 클라이언트가 /api/stream에 연결할 때 쓰는 일회용 티켓.
+ * JWT를 쿼리 문자열에 넣으면 접근 로그와 프록시 로그에 남으므로, 로그인 세션으로 수명이 짧은 티켓을 받아 대신 보낸다.
+ *
+ * 티켓은 서명된 토큰이라 어느 인스턴스에서나 검증된다. 쓴 티켓은 만료될 때까지 기억해 이 인스턴스에서 다시 받지 않는다.
+ */
+@Service
+public class StreamTicketService {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Duration ttl;
+    private final StripedTtlCache<String, Boolean> redeemed;
+
+    public StreamTicketService(
+            JwtTokenProvider jwtTokenProvider,
+            @Value("${stream.ticket-ttl:30s}") Duration ttl,
+            @Value("${stream.ticket-max-entries:100000}") int maxEntries) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.ttl = ttl;
+        this.redeemed = new StripedTtlCache<>(16, maxEntries, ttl);
+    }
+
+    public String issue(Long userId) {
+        return jwtTokenProvider.createStreamTicket(userId, ttl);
+    }
+
+    public long getTtlSeconds() {
+        return ttl.toSeconds();
+    }
+
+    /**
+     * @return 티켓 주인의 사용자 id. 유효하지 않거나 이미 쓴 티켓이면 null
+     */
+    public Long redeem(String ticket) {
+        AccessToken parsed = jwtTokenProvider.parseStreamTicket(ticket);
+        if (parsed == null || redeemed.putIfAbsent(parsed.jti(), Boolean.TRUE) != null) {
+            return null;
+        }
+        return parsed.userId();
+    }
+}
@@ -0,0 +1,354 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.datasource.PerShard;
+import com.dailyquest.backend.domain.*;
+import com.dailyquest.backend.dto.ProjectDto;
+import com.dailyquest.backend.dto.SyncDto;
+import com.dailyquest.backend.dto.TaskDto;
+import com.dailyquest.backend.exception.BusinessException;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SyncService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final DeletionLogRepository deletionLogRepository;
+    private final UserRepository userRepository;
+    private final ChangeTracker changeTracker;
+
+    // 커밋이 늦게 끝난 트랜잭션의 변경을 놓치지 않도록 다음 토큰을 이만큼 과거로 당긴다
+    @Value("${sync.overlap:5s}")
+    private Duration overlap;
+
+    @Value("${sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    public SyncDto.Response getChanges(Long userId, String sinceToken) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = sinceToken != null ? decodeToken(sinceToken) : null;
+
+        // tombstone 보존 기간보다 오래된 토큰은 삭제 내역을 보장할 수 없으므로 전체 동기화
+        boolean fullSync = since == null || since.isBefore(now.minus(tombstoneRetention));
+
+        List<Task> tasks = fullSync
+                ? taskRepository.findAllForSync(userId)
+                : taskRepository.findChangedSince(userId, since);
+        List<Project> projects = fullSync
+                ? projectRepository.findByUserId(userId)
+                : projectRepository.findByUserIdAndUpdatedAtAfter(userId, since);
+        List<SyncDto.Tombstone> deleted = fullSync
+                ? List.of()
+                : deletionLogRepository.findByUserIdAndDeletedAtAfterOrderByDeletedAtAsc(userId, since)
+                        .stream()
+                        .map(SyncDto.Tombstone::from)
+                        .collect(Collectors.toList());
+
+        return SyncDto.Response.builder()
+                .nextToken(encodeToken(now.minus(overlap)))
+                .fullSync(fullSync)
+                .tasks(tasks.stream().map(TaskDto.Response::from).collect(Collectors.toList()))
+                .projects(toProjectResponses(userId, projects))
+                .deleted(deleted)
+                .build();
+    }
+
+    /**
+     * 오프라인 동안 쌓인 변경을 하나의 트랜잭션으로 재생한다.
+     * 참조 엔티티는 변경 건수와 무관하게 몇 번의 IN 쿼리로 미리 로딩하고, UPDATE/DELETE는 flush 시 JDBC 배치로 실행된다.
+     * 개별 변경의 실패(권한, 검증, 버전 충돌)는 결과에만 기록하고 나머지 변경은 계속 적용한다.
+     */
+    @Transactional
+    public SyncDto.MutationBatchResponse applyMutations(Long userId, SyncDto.MutationBatchRequest request) {
+        List<SyncDto.Mutation> mutations = request.getMutations();
+        validateOrdering(mutations);
+
+        // 새 태스크의 외래 키로만 쓰므로 조회하지 않고 프록시를 쓴다
+        User user = userRepository.getReferenceById(userId);
+
+        Set<Long> taskIds = new HashSet<>();
+        Set<String> clientTaskIds = new HashSet<>();
+        Set<Long> projectIds = new HashSet<>();
+        for (SyncDto.Mutation mutation : mutations) {
+            if (mutation.getTaskId() != null) {
+                taskIds.add(mutation.getTaskId());
+            }
+            if (mutation.getClientTaskId() != null) {
+                clientTaskIds.add(mutation.getClientTaskId());
+            }
+            if (mutation.getCreate() != null && mutation.getCreate().getProjectId() != null) {
+                projectIds.add(mutation.getCreate().getProjectId());
+            }
+            if (mutation.getUpdate() != null && mutation.getUpdate().getProjectId() != null) {
+                projectIds.add(mutation.getUpdate().getProjectId());
+            }
+        }
+
+        TaskIndex tasks = new TaskIndex();
+        if (!taskIds.isEmpty()) {
+            taskRepository.findAllByUserIdAndIdIn(userId, taskIds).forEach(tasks::put);
+        }
+        if (!clientTaskIds.isEmpty()) {
+            taskRepository.findAllByUserIdAndClientIdIn(userId, clientTaskIds).forEach(tasks::put);
+        }
+        Map<Long, Project> projects = new HashMap<>();
+        if (!projectIds.isEmpty()) {
+            projectRepository.findByUserIdAndIdIn(userId, projectIds)
+                    .forEach(project -> projects.put(project.getId(), project));
+        }
+
+        List<Outcome> outcomes = new ArrayList<>(mutations.size());
+        for (SyncDto.Mutation mutation : mutations) {
+            outcomes.add(apply(mutation, user, tasks, projects));
+        }
+
+        int applied = (int) outcomes.stream()
+                .filter(outcome -> outcome.status() == SyncDto.MutationStatus.APPLIED)
+                .count();
+        if (applied > 0) {
+            changeTracker.dataChanged(userId);
+        }
+
+        // 버전 증가와 UPDATE/DELETE 배치가 여기서 한 번에 실행되므로, 응답은 flush 이후의 상태로 만든다
+        taskRepository.flush();
+
+        List<SyncDto.MutationResult> results = outcomes.stream()
+                .map(Outcome::toResult)
+                .collect(Collectors.toList());
+
+        log.info("Mutation batch applied: userId={}, size={}, applied={}", userId, mutations.size(), applied);
+        return SyncDto.MutationBatchResponse.builder()
+                .applied(applied)
+                .results(results)
+                .build();
+    }
+
+    @PerShard
+    @Transactional
+    @Scheduled(cron = "${sync.tombstone-purge-cron:0 30 3 * * *}")
+    public void purgeExpiredTombstones() {
+        int purged = deletionLogRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Expired tombstones purged: count={}", purged);
+    }
+
+    private List<ProjectDto.Response> toProjectResponses(Long userId, List<Project> projects) {
+        if (projects.isEmpty()) {
+            return List.of();
+        }
+
+        // N+1 방지: 한 번의 쿼리로 변경된 프로젝트의 태스크 통계 조회
+        List<Long> projectIds = projects.stream().map(Project::getId).collect(Collectors.toList());
+        Map<Long, long[]> statsMap = new HashMap<>();
+        taskRepository.countTasksByProjectIds(userId, projectIds).forEach(row -> {
+            Long projectId = (Long) row[0];
+            long taskCount = (Long) row[1];
+            long completedCount = (Long) row[2];
+            statsMap.put(projectId, new long[]{taskCount, completedCount});
+        });
+
+        return projects.stream()
+                .map(project -> {
+                    long[] stats = statsMap.getOrDefault(project.getId(), new long[]{0, 0});
+                    return ProjectDto.Response.from(project, stats[0], stats[1]);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Outcome apply(SyncDto.Mutation mutation, User user, TaskIndex tasks, Map<Long, Project> projects) {
+        try {
+            if (mutation.getType() == SyncDto.MutationType.CREATE) {
+                return create(mutation, user, tasks, projects);
+            }
+            return modify(mutation, tasks, projects);
+        } catch (BusinessException e) {
+            return Outcome.of(mutation, SyncDto.MutationStatus.REJECTED, null, e.getMessage());
+        }
+    }
+
+    private Outcome create(SyncDto.Mutation mutation, User user, TaskIndex tasks, Map<Long, Project> projects) {
+        if (mutation.getCreate() == null || mutation.getClientTaskId() == null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "create payload and clientTaskId are required for CREATE");
+        }
+
+        Task existing = tasks.find(null, mutation.getClientTaskId());
+        if (existing != null) {
+            return Outcome.of(mutation, SyncDto.MutationStatus.DUPLICATE, existing, null);
+        }
+
+        Project project = resolveProject(mutation.getCreate().getProjectId(), projects);
+        Task task = TaskService.buildTask(user, project, mutation.getCreate());
+        task.assignClientId(mutation.getClientTaskId());
+
+        // IDENTITY 키라 INSERT는 배치되지 않고 즉시 실행된다
+        tasks.put(taskRepository.save(task));
+        changeTracker.taskChanged(DomainEventType.TASK_CREATED, task);
+        return Outcome.of(mutation, SyncDto.MutationStatus.APPLIED, task, null);
+    }
+
+    private Outcome modify(SyncDto.Mutation mutation, TaskIndex tasks, Map<Long, Project> projects) {
+        Task task = tasks.find(mutation.getTaskId(), mutation.getClientTaskId());
+        if (task == null) {
+            return Outcome.of(mutation, SyncDto.MutationStatus.NOT_FOUND, null, ErrorCode.TASK_NOT_FOUND.getMessage());
+        }
+
+        if (mutation.getBaseVersion() != null && !mutation.getBaseVersion().equals(task.getVersion())) {
+            return Outcome.of(mutation, SyncDto.MutationStatus.CONFLICT, task,
+                    "Task was modified on the server (version " + task.getVersion() + ")");
+        }
+
+        switch (mutation.getType()) {
+            case UPDATE -> {
+                if (mutation.getUpdate() == null) {
+                    throw new BusinessException(ErrorCode.INVALID_INPUT, "update payload is required for UPDATE");
+                }
+                Project project = resolveProject(mutation.getUpdate().getProjectId(), projects);
+                TaskService.applyUpdate(task, mutation.getUpdate(), project);
+                changeTracker.taskChanged(DomainEventType.TASK_UPDATED, task);
+            }
+            case COMPLETE -> {
+                if (!task.isTaskCompleted()) {
+                    // 다음 반복 태스크를 먼저 만들어 검증 실패 시 완료 처리만 남는 일이 없게 한다
+                    Task nextTask = task.isRecurringTask() ? TaskService.buildNextRecurringTask(task) : null;
+                    task.complete();
+                    changeTracker.taskChanged(DomainEventType.TASK_COMPLETED, task);
+                    if (nextTask != null) {
+                        taskRepository.save(nextTask);
+                        changeTracker.taskChanged(DomainEventType.TASK_CREATED, nextTask);
+                    }
+                }
+            }
+            case UNCOMPLETE -> {
+                task.uncomplete();
+                changeTracker.taskChanged(DomainEventType.TASK_UNCOMPLETED, task);
+            }
+            case DELETE -> {
+                changeTracker.taskDeleted(task);
+                tasks.remove(task);
+                taskRepository.delete(task);
+                return Outcome.of(mutation, SyncDto.MutationStatus.APPLIED, task, null).withoutSnapshot();
+            }
+            default -> throw new BusinessException(ErrorCode.INVALID_INPUT, "Unsupported mutation type");
+        }
+
+        return Outcome.of(mutation, SyncDto.MutationStatus.APPLIED, task, null);
+    }
+
+    private Project resolveProject(Long projectId, Map<Long, Project> projects) {
+        if (projectId == null) {
+            return null;
+        }
+        Project project = projects.get(projectId);
+        if (project == null) {
+            throw new ResourceNotFoundException(ErrorCode.PROJECT_NOT_FOUND, projectId);
+        }
+        return project;
+    }
+
+    private void validateOrdering(List<SyncDto.Mutation> mutations) {
+        String previous = null;
+        for (SyncDto.Mutation mutation : mutations) {
+            String current = mutation.getMutationId().toLowerCase();
+            if (previous != null && previous.compareTo(current) >= 0) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT,
+                        "mutations must be unique and in ascending mutationId order");
+            }
+            previous = current;
+        }
+    }
+
+    /**
+     * 배치 안에서 서버 ID 또는 clientTaskId로 태스크를 찾는다. 같은 배치에서 생성한 태스크도 바로 참조할 수 있다.
+     */
+    private static class TaskIndex {
+
+        private final Map<Long, Task> byId = new HashMap<>();
+        private final Map<String, Task> byClientId = new HashMap<>();
+
+        void put(Task task) {
+            byId.put(task.getId(), task);
+            if (task.getClientId() != null) {
+                byClientId.put(task.getClientId(), task);
+            }
+        }
+
+        void remove(Task task) {
+            // cascade로 함께 지워지는 반복 태스크 자식도 이후 변경에서 참조하지 않도록 제거
+            task.getChildTasks().forEach(this::removeOne);
+            removeOne(task);
+        }
+
+        Task find(Long taskId, String clientTaskId) {
+            if (taskId != null) {
+                return byId.get(taskId);
+            }
+            return clientTaskId != null ? byClientId.get(clientTaskId) : null;
+        }
+
+        private void removeOne(Task task) {
+            byId.remove(task.getId());
+            if (task.getClientId() != null) {
+                byClientId.remove(task.getClientId());
+            }
+        }
+    }
+
+    private record Outcome(SyncDto.Mutation mutation, SyncDto.MutationStatus status, Long taskId,
+                           Task task, String message) {
+
+        static Outcome of(SyncDto.Mutation mutation, SyncDto.MutationStatus status, Task task, String message) {
+            return new Outcome(mutation, status, task != null ? task.getId() : mutation.getTaskId(), task, message);
+        }
+
+        Outcome withoutSnapshot() {
+            return new Outcome(mutation, status, taskId, null, message);
+        }
+
+        SyncDto.MutationResult toResult() {
+            return SyncDto.MutationResult.builder()
+                    .mutationId(mutation.getMutationId())
+                    .status(status)
+                    .taskId(taskId)
+                    .clientTaskId(task != null ? task.getClientId() : mutation.getClientTaskId())
+                    .task(task != null ? TaskDto.Response.from(task) : null)
+                    .message(message)
+                    .build();
+        }
+    }
+
+    private String encodeToken(LocalDateTime since) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(since.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private LocalDateTime decodeToken(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return LocalDateTime.parse(decoded);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid sync token");
+        }
+    }
+}
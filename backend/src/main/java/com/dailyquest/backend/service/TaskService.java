@@ -1,5 +1,6 @@
 package com.dailyquest.backend.service;
 
+import com.dailyquest.backend.config.SingleFlight;
 import com.dailyquest.backend.domain.*;
 import com.dailyquest.backend.dto.TaskDto;
 import com.dailyquest.backend.exception.BusinessException;
@@ -7,6 +8,7 @@ import com.dailyquest.backend.exception.ErrorCode;
 import com.dailyquest.backend.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,48 +28,61 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
+    private final ChangeTracker changeTracker;
 
     @Transactional
     public TaskDto.Response createTask(Long userId, TaskDto.CreateRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId));
+        return createTask(userId, request, null);
+    }
 
-        Project project = null;
-        if (request.getProjectId() != null) {
-            project = projectRepository.findById(request.getProjectId())
-                    .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROJECT_NOT_FOUND, request.getProjectId()));
-            if (!project.getUser().getId().equals(userId)) {
-                throw new BusinessException(ErrorCode.NO_PERMISSION);
+    /**
+     * clientId가 있으면 tasks(user_id, client_id) unique 인덱스가 같은 키의 두 번째 생성을 막는다.
+     * 다른 인스턴스에서 같은 키로 동시에 만들고 있으면 IDEMPOTENCY_REQUEST_IN_PROGRESS다.
+     */
+    @Transactional
+    public TaskDto.Response createTask(Long userId, TaskDto.CreateRequest request, String clientId) {
+        // 외래 키만 채우면 되므로 사용자는 조회하지 않고 프록시를 쓴다.
+        // 탈퇴한 사용자의 access token은 만료 전까지 유효하므로, 그때는 INSERT의 외래 키 오류를 USER_NOT_FOUND로 바꾼다
+        User user = userRepository.getReferenceById(userId);
+        Project project = request.getProjectId() != null ? getOwnedProject(userId, request.getProjectId()) : null;
+
+        Task task = buildTask(user, project, request);
+        task.assignClientId(clientId);
+
+        Task savedTask;
+        try {
+            savedTask = taskRepository.save(task);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isForeignKey(e)) {
+                throw new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId);
+            }
+            if (clientId != null) {
+                throw new BusinessException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
             }
+            throw e;
         }
-
-        validateRecurringConfiguration(request.getIsRecurring(), request.getRecurrenceType());
-        validateRecurrenceInterval(request.getRecurrenceInterval());
-
-        Task task = Task.builder()
-                .user(user)
-                .project(project)
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .priority(request.getPriority() != null ? request.getPriority() : Priority.MEDIUM)
-                .dueDate(request.getDueDate())
-                .isRecurring(request.getIsRecurring() != null ? request.getIsRecurring() : false)
-                .recurrenceType(request.getRecurrenceType())
-                .recurrenceInterval(request.getRecurrenceInterval() != null ? request.getRecurrenceInterval() : 1)
-                .recurrenceEndDate(request.getRecurrenceEndDate())
-                .build();
-
-        Task savedTask = taskRepository.save(task);
+        changeTracker.taskChanged(DomainEventType.TASK_CREATED, savedTask);
+        changeTracker.dataChanged(userId);
         log.info("Task created: id={}, title={}", savedTask.getId(), savedTask.getTitle());
 
         return TaskDto.Response.from(savedTask);
     }
 
+    /**
+     * 같은 clientId로 이미 만든 Task. 다른 인스턴스에서 처리된 Idempotency-Key 재시도에 그 결과를 돌려줄 때 쓴다.
+     */
+    public Optional<TaskDto.Response> findCreatedTask(Long userId, String clientId) {
+        return taskRepository.findAllByUserIdAndClientIdIn(userId, List.of(clientId)).stream()
+                .findFirst()
+                .map(TaskDto.Response::from);
+    }
+
     public TaskDto.Response getTask(Long userId, Long taskId) {
         Task task = getOwnedTask(userId, taskId);
         return TaskDto.Response.from(task);
     }
 
+    @SingleFlight
     public List<TaskDto.ListResponse> getAllTasks(Long userId) {
         return taskRepository.findByUserIdOrderByCreatedAtDesc(userId)
                 .stream()
@@ -74,6 +90,7 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight
     public List<TaskDto.ListResponse> getPendingTasks(Long userId) {
         return taskRepository.findByUserIdAndIsCompleted(userId, false)
                 .stream()
@@ -81,6 +98,7 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight
     public List<TaskDto.ListResponse> getCompletedTasks(Long userId) {
         return taskRepository.findByUserIdAndIsCompleted(userId, true)
                 .stream()
@@ -88,6 +106,7 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight
     public List<TaskDto.ListResponse> getTodayTasks(Long userId) {
         LocalDate today = LocalDate.now();
         return taskRepository.findByUserIdAndDueDate(userId, today)
@@ -96,6 +115,7 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight
     public List<TaskDto.ListResponse> getWeekTasks(Long userId) {
         LocalDate today = LocalDate.now();
         LocalDate startOfWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
@@ -107,13 +127,9 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight
     public List<TaskDto.ListResponse> getTasksByProject(Long userId, Long projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROJECT_NOT_FOUND, projectId));
-
-        if (!project.getUser().getId().equals(userId)) {
-            throw new BusinessException(ErrorCode.NO_PERMISSION);
-        }
+        getOwnedProject(userId, projectId);
 
         return taskRepository.findByProjectIdAndUserIdOrderByCreatedAtDesc(projectId, userId)
                 .stream()
@@ -121,6 +137,7 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight
     public List<TaskDto.ListResponse> getTasksByPriority(Long userId, Priority priority) {
         return taskRepository.findByUserIdAndPriorityOrderByDueDateAsc(userId, priority)
                 .stream()
@@ -128,6 +145,7 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight
     public List<TaskDto.ListResponse> getOverdueTasks(Long userId) {
         LocalDate today = LocalDate.now();
         return taskRepository.findOverdueTasks(userId, today)
@@ -136,43 +154,30 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * @param expectedVersion If-Match로 받은 Task.version. null이면 버전 검사를 하지 않는다
+     */
     @Transactional
-    public TaskDto.Response updateTask(Long userId, Long taskId, TaskDto.UpdateRequest request) {
+    public TaskDto.Response updateTask(Long userId, Long taskId, TaskDto.UpdateRequest request, Long expectedVersion) {
         Task task = getOwnedTask(userId, taskId);
 
-        if (request.getTitle() != null) {
-            task.updateTitle(request.getTitle());
-        }
-        if (request.getDescription() != null) {
-            task.updateDescription(request.getDescription());
-        }
-        if (request.getPriority() != null) {
-            task.updatePriority(request.getPriority());
-        }
-        if (request.getDueDate() != null) {
-            task.updateDueDate(request.getDueDate());
-        }
-        if (request.getProjectId() != null) {
-            Project project = projectRepository.findById(request.getProjectId())
-                    .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROJECT_NOT_FOUND, request.getProjectId()));
-            if (!project.getUser().getId().equals(userId)) {
-                throw new BusinessException(ErrorCode.NO_PERMISSION);
-            }
-            task.changeProject(project);
+        // 이미 로딩한 엔티티의 버전과 비교하므로 낙관적 동시성 검사에 추가 조회가 없다
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new BusinessException(ErrorCode.PRECONDITION_FAILED);
         }
 
-        if (Boolean.TRUE.equals(request.getIsRecurring())) {
-            validateRecurringConfiguration(true, request.getRecurrenceType());
-            validateRecurrenceInterval(request.getRecurrenceInterval());
-            task.setRecurring(
-                    request.getRecurrenceType(),
-                    request.getRecurrenceInterval() != null ? request.getRecurrenceInterval() : 1,
-                    request.getRecurrenceEndDate()
-            );
-        } else if (Boolean.FALSE.equals(request.getIsRecurring())) {
-            task.clearRecurring();
+        // 클라이언트는 수정 폼 전체를 보내므로 대개 projectId가 그대로다. 이미 태스크와 함께 읽은 프로젝트면 다시 조회하지 않는다
+        Project project = null;
+        if (request.getProjectId() != null && !isCurrentProject(task, request.getProjectId())) {
+            project = getOwnedProject(userId, request.getProjectId());
         }
 
+        applyUpdate(task, request, project);
+        changeTracker.taskChanged(DomainEventType.TASK_UPDATED, task);
+        changeTracker.dataChanged(userId);
+
+        // 응답의 version이 증가된 값이 되도록 커밋 전에 UPDATE를 반영
+        taskRepository.flush();
         log.info("Task updated: id={}", taskId);
         return TaskDto.Response.from(task);
     }
@@ -187,12 +192,15 @@ public class TaskService {
         }
 
         task.complete();
+        changeTracker.taskChanged(DomainEventType.TASK_COMPLETED, task);
         log.info("Task completed: id={}", taskId);
 
         if (task.isRecurringTask()) {
             createNextRecurringTask(task);
         }
 
+        changeTracker.dataChanged(userId);
+        taskRepository.flush();
         return TaskDto.Response.from(task);
     }
 
@@ -201,6 +209,9 @@ public class TaskService {
         Task task = getOwnedTask(userId, taskId);
 
         task.uncomplete();
+        changeTracker.taskChanged(DomainEventType.TASK_UNCOMPLETED, task);
+        changeTracker.dataChanged(userId);
+        taskRepository.flush();
         log.info("Task uncompleted: id={}", taskId);
         return TaskDto.Response.from(task);
     }
@@ -209,24 +220,93 @@ public class TaskService {
     public void deleteTask(Long userId, Long taskId) {
         Task task = getOwnedTask(userId, taskId);
 
+        changeTracker.taskDeleted(task);
+        changeTracker.dataChanged(userId);
         taskRepository.delete(task);
         log.info("Task deleted: id={}", taskId);
     }
 
     private void createNextRecurringTask(Task completedTask) {
-        if (completedTask.getDueDate() == null) {
+        Task nextTask = buildNextRecurringTask(completedTask);
+        if (nextTask == null) {
             return;
         }
 
+        taskRepository.save(nextTask);
+        changeTracker.taskChanged(DomainEventType.TASK_CREATED, nextTask);
+        log.info("Next recurring task created: parentId={}, nextDueDate={}", 
+                completedTask.getId(), nextTask.getDueDate());
+    }
+
+    // 아래 static 헬퍼는 Spring 프록시를 거치지 않으므로, 예외가 나도 호출한 트랜잭션을 rollback-only로 만들지 않는다.
+    // SyncService의 배치 재생이 변경 단위로 실패를 격리할 수 있도록 엔티티 조작만 담당한다.
+
+    static Task buildTask(User user, Project project, TaskDto.CreateRequest request) {
+        validateRecurringConfiguration(request.getIsRecurring(), request.getRecurrenceType());
+        validateRecurrenceInterval(request.getRecurrenceInterval());
+
+        return Task.builder()
+                .user(user)
+                .project(project)
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .priority(request.getPriority() != null ? request.getPriority() : Priority.MEDIUM)
+                .dueDate(request.getDueDate())
+                .isRecurring(request.getIsRecurring() != null ? request.getIsRecurring() : false)
+                .recurrenceType(request.getRecurrenceType())
+                .recurrenceInterval(request.getRecurrenceInterval() != null ? request.getRecurrenceInterval() : 1)
+                .recurrenceEndDate(request.getRecurrenceEndDate())
+                .build();
+    }
+
+    static void applyUpdate(Task task, TaskDto.UpdateRequest request, Project project) {
+        // 검증을 먼저 끝내서 실패 시 엔티티가 일부만 바뀐 채로 남지 않게 한다
+        if (Boolean.TRUE.equals(request.getIsRecurring())) {
+            validateRecurringConfiguration(true, request.getRecurrenceType());
+            validateRecurrenceInterval(request.getRecurrenceInterval());
+        }
+
+        if (request.getTitle() != null) {
+            task.updateTitle(request.getTitle());
+        }
+        if (request.getDescription() != null) {
+            task.updateDescription(request.getDescription());
+        }
+        if (request.getPriority() != null) {
+            task.updatePriority(request.getPriority());
+        }
+        if (request.getDueDate() != null) {
+            task.updateDueDate(request.getDueDate());
+        }
+        if (project != null) {
+            task.changeProject(project);
+        }
+
+        if (Boolean.TRUE.equals(request.getIsRecurring())) {
+            task.setRecurring(
+                    request.getRecurrenceType(),
+                    request.getRecurrenceInterval() != null ? request.getRecurrenceInterval() : 1,
+                    request.getRecurrenceEndDate()
+            );
+        } else if (Boolean.FALSE.equals(request.getIsRecurring())) {
+            task.clearRecurring();
+        }
+    }
+
+    static Task buildNextRecurringTask(Task completedTask) {
+        if (completedTask.getDueDate() == null) {
+            return null;
+        }
+
         LocalDate nextDueDate = calculateNextDueDate(completedTask);
 
         if (completedTask.getRecurrenceEndDate() != null 
                 && nextDueDate.isAfter(completedTask.getRecurrenceEndDate())) {
             log.info("Recurring task ended: parentId={}", completedTask.getId());
-            return;
+            return null;
         }
 
-        Task nextTask = Task.builder()
+        return Task.builder()
                 .user(completedTask.getUser())
                 .project(completedTask.getProject())
                 .title(completedTask.getTitle())
@@ -239,13 +319,9 @@ public class TaskService {
                 .recurrenceEndDate(completedTask.getRecurrenceEndDate())
                 .parentTask(completedTask.getParentTask() != null ? completedTask.getParentTask() : completedTask)
                 .build();
-
-        taskRepository.save(nextTask);
-        log.info("Next recurring task created: parentId={}, nextDueDate={}", 
-                completedTask.getId(), nextDueDate);
     }
 
-    private LocalDate calculateNextDueDate(Task task) {
+    static LocalDate calculateNextDueDate(Task task) {
         if (task.getRecurrenceType() == null) {
             throw new BusinessException(
                     ErrorCode.INVALID_INPUT,
@@ -263,7 +339,7 @@ public class TaskService {
         };
     }
 
-    private void validateRecurringConfiguration(Boolean isRecurring, RecurrenceType recurrenceType) {
+    static void validateRecurringConfiguration(Boolean isRecurring, RecurrenceType recurrenceType) {
         if (Boolean.TRUE.equals(isRecurring) && recurrenceType == null) {
             throw new BusinessException(
                     ErrorCode.INVALID_INPUT,
@@ -272,7 +348,7 @@ public class TaskService {
         }
     }
 
-    private void validateRecurrenceInterval(Integer interval) {
+    static void validateRecurrenceInterval(Integer interval) {
         if (interval != null && (interval < 1 || interval > 365)) {
             throw new BusinessException(
                     ErrorCode.INVALID_INPUT,
@@ -282,13 +358,22 @@ public class TaskService {
     }
 
     private Task getOwnedTask(Long userId, Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TASK_NOT_FOUND, taskId));
+        // user_id 조건으로 조회해 파티션 하나만 읽는다. 없을 때만 존재 여부를 다시 확인해 404/403을 구분한다
+        return taskRepository.findWithProjectByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> taskRepository.existsById(taskId)
+                        ? new BusinessException(ErrorCode.NO_PERMISSION)
+                        : new ResourceNotFoundException(ErrorCode.TASK_NOT_FOUND, taskId));
+    }
 
-        if (!task.getUser().getId().equals(userId)) {
-            throw new BusinessException(ErrorCode.NO_PERMISSION);
-        }
+    private static boolean isCurrentProject(Task task, Long projectId) {
+        return task.getProject() != null && projectId.equals(task.getProject().getId());
+    }
 
-        return task;
+    private Project getOwnedProject(Long userId, Long projectId) {
+        // 응답에 프로젝트 이름/색을 담으므로 프록시 대신 엔티티를 읽는다 (ProjectService.getOwnedProject와 같은 방식)
+        return projectRepository.findByIdAndUserId(projectId, userId)
+                .orElseThrow(() -> projectRepository.existsById(projectId)
+                        ? new BusinessException(ErrorCode.NO_PERMISSION)
+                        : new ResourceNotFoundException(ErrorCode.PROJECT_NOT_FOUND, projectId));
     }
 }
@@ -0,0 +1,218 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.datasource.PerShard;
+import com.dailyquest.backend.config.datasource.ShardRoutingDataSource;
+import com.dailyquest.backend.domain.RevokedToken;
+import com.dailyquest.backend.domain.RevokedTokenRepository;
+import com.dailyquest.backend.util.LongPairSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 만료 전에 폐기된 access token(jti) 목록. 모든 인증 요청에서 조회하므로 DB 대신 메모리의 LongPairSet으로 답한다.
+ *
+ * 이 인스턴스에서 폐기한 jti는 즉시 반영하고, 다른 인스턴스에서 폐기한 jti는 sync-interval마다 id 증분으로 가져온다.
+ * 커밋 순서가 id 순서와 다를 수 있어 증분 조회는 마지막 id보다 SYNC_OVERLAP_IDS만큼 앞에서 시작하고,
+ * 그래도 놓친 행은 주기적인 전체 재적재에서 채워진다. 만료된 jti는 전체 재적재 때 빠진다.
+ * access token 수명이 짧으므로 목록은 "최근 access TTL 동안의 로그아웃 수" 이상으로 커지지 않는다.
+ *
+ * 샤딩을 켜면 revoked_tokens도 사용자의 샤드에 있으므로 샤드마다 따로 적재/동기화하고, 조회는 모든 샤드의 목록을 본다.
+ */
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private static final long SYNC_OVERLAP_IDS = 100;
+    private static final String SINGLE_DATABASE = "";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ShardRoutingDataSource shardRouting;
+    private final Object updateLock = new Object();
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private volatile Partition[] snapshot = new Partition[0];
+
+    public TokenDenylist(RevokedTokenRepository revokedTokenRepository,
+                         ObjectProvider<ShardRoutingDataSource> shardRouting) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.shardRouting = shardRouting.getIfAvailable();
+    }
+
+    /**
+     * DB(샤드) 하나의 폐기 목록. 샤딩을 쓰지 않으면 하나뿐이다.
+     */
+    private static final class Partition {
+        private volatile LongPairSet revoked = LongPairSet.empty();
+        private volatile long lastSyncedId;
+    }
+
+    /**
+     * jti 문자열을 UUID 객체로 만들지 않고 두 long으로 바로 파싱해 조회한다.
+     */
+    public boolean isRevoked(String jti) {
+        Partition[] current = snapshot;
+        if (jti == null || isEmpty(current)) {
+            return false;
+        }
+        long msb = 0;
+        long lsb = 0;
+        int digits = 0;
+        for (int i = 0; i < jti.length(); i++) {
+            char c = jti.charAt(i);
+            if (c == '-') {
+                continue;
+            }
+            int value = Character.digit(c, 16);
+            if (value < 0 || digits >= 32) {
+                return false;
+            }
+            if (digits < 16) {
+                msb = (msb << 4) | value;
+            } else {
+                lsb = (lsb << 4) | value;
+            }
+            digits++;
+        }
+        if (digits != 32) {
+            return false;
+        }
+        for (Partition partition : current) {
+            if (partition.revoked.contains(msb, lsb)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 호출한 트랜잭션 안에서 폐기 기록을 남기고, 이 인스턴스에는 바로 반영한다.
+     */
+    public void revoke(String jti, Long userId, Instant expiresAt) {
+        revokedTokenRepository.save(RevokedToken.of(jti, userId, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())));
+        long[] pair = toPair(jti);
+        if (pair != null) {
+            Partition partition = partition();
+            synchronized (updateLock) {
+                partition.revoked = partition.revoked.plus(pair, 1);
+            }
+        }
+    }
+
+    @PerShard
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${jwt.denylist-rebuild-cron:0 */30 * * * *}")
+    public void rebuild() {
+        Partition partition = partition();
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
+        synchronized (updateLock) {
+            long maxId = partition.lastSyncedId;
+            long[] pairs = new long[active.size() * 2];
+            int count = 0;
+            for (RevokedToken token : active) {
+                maxId = Math.max(maxId, token.getId());
+                long[] pair = toPair(token.getJti());
+                if (pair != null) {
+                    pairs[count * 2] = pair[0];
+                    pairs[count * 2 + 1] = pair[1];
+                    count++;
+                }
+            }
+            partition.revoked = LongPairSet.of(pairs, count);
+            partition.lastSyncedId = maxId;
+        }
+        log.debug("Token denylist rebuilt: size={}", partition.revoked.size());
+    }
+
+    @PerShard
+    @Scheduled(fixedDelayString = "${jwt.denylist-sync-interval-ms:5000}",
+               initialDelayString = "${jwt.denylist-sync-interval-ms:5000}")
+    public void sync() {
+        Partition partition = partition();
+        List<RevokedToken> added = revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(
+                Math.max(0, partition.lastSyncedId - SYNC_OVERLAP_IDS));
+        if (added.isEmpty()) {
+            return;
+        }
+        LongPairSet current = partition.revoked;
+        long[] pairs = new long[added.size() * 2];
+        int count = 0;
+        for (RevokedToken token : added) {
+            long[] pair = toPair(token.getJti());
+            if (pair != null && !current.contains(pair[0], pair[1])) {
+                pairs[count * 2] = pair[0];
+                pairs[count * 2 + 1] = pair[1];
+                count++;
+            }
+        }
+        synchronized (updateLock) {
+            if (count > 0) {
+                partition.revoked = partition.revoked.plus(pairs, count);
+            }
+            partition.lastSyncedId = Math.max(partition.lastSyncedId, added.get(added.size() - 1).getId());
+        }
+    }
+
+    @PerShard
+    @Transactional
+    @Scheduled(cron = "${jwt.token-purge-cron:0 15 4 * * *}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged expired revoked tokens: count={}", deleted);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Partition partition : snapshot) {
+            size += partition.revoked.size();
+        }
+        return size;
+    }
+
+    /**
+     * 지금 라우팅되는 샤드(요청은 사용자의 샤드, 스케줄 작업은 묶인 샤드)의 목록
+     */
+    private Partition partition() {
+        String key = shardRouting != null ? shardRouting.currentShard() : SINGLE_DATABASE;
+        Partition partition = partitions.get(key);
+        if (partition == null) {
+            synchronized (updateLock) {
+                partition = partitions.computeIfAbsent(key, ignored -> new Partition());
+                snapshot = partitions.values().toArray(Partition[]::new);
+            }
+        }
+        return partition;
+    }
+
+    private static boolean isEmpty(Partition[] partitions) {
+        for (Partition partition : partitions) {
+            if (partition.revoked.size() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] toPair(String jti) {
+        try {
+            UUID uuid = UUID.fromString(jti);
+            return new long[]{uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()};
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
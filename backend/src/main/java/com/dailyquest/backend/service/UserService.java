@@ -1,14 +1,28 @@
 package com.dailyquest.backend.service;
 
+import com.dailyquest.backend.config.datasource.ShardContext;
+import com.dailyquest.backend.config.datasource.ShardDirectory;
 import com.dailyquest.backend.domain.User;
 import com.dailyquest.backend.domain.UserRepository;
 import com.dailyquest.backend.dto.UserDto;
 import com.dailyquest.backend.exception.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -18,32 +32,65 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ChangeTracker changeTracker;
+    private final EmailRegistry emailRegistry;
+    private final AuthTokenService authTokenService;
+    private final PersonalAccessTokenService personalAccessTokenService;
+    // 해싱을 마친 뒤 쓰기만 짧은 트랜잭션으로 묶는다
+    private final TransactionTemplate transactionTemplate;
+    // 샤딩(datasource.shards.enabled)을 켰을 때만 있다
+    private final ObjectProvider<ShardDirectory> shardDirectory;
 
-    @Transactional
+    // 존재하지 않는 이메일로 로그인할 때 비교할 해시. 현재 strength로 만들어야 응답 시간이 실제 사용자와 같다
+    private volatile String dummyHash;
+
+    /**
+     * 비밀번호 해싱은 트랜잭션 밖에서 하고, 사용자 저장만 짧은 트랜잭션으로 한다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserDto.Response signUp(UserDto.SignUpRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (emailRegistry.exists(request.getEmail())) {
             throw new DuplicateException(ErrorCode.EMAIL_ALREADY_EXISTS, request.getEmail());
         }
 
-        User user = User.builder()
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .nickname(request.getNickname())
-                .build();
-
-        User savedUser = userRepository.save(user);
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
+        User savedUser = transactionTemplate.execute(status -> {
+            ShardDirectory directory = shardDirectory.getIfAvailable();
+            User user;
+            if (directory != null) {
+                user = signUpOnShard(directory, request, encodedPassword);
+            } else {
+                try {
+                    user = userRepository.save(User.builder()
+                            .email(request.getEmail())
+                            .password(encodedPassword)
+                            .nickname(request.getNickname())
+                            .build());
+                } catch (DataIntegrityViolationException e) {
+                    // 다른 인스턴스에서 방금 가입해 필터에 아직 없는 경우 등, 최종 중복 검사는 unique 제약이 맡는다
+                    throw new DuplicateException(ErrorCode.EMAIL_ALREADY_EXISTS, request.getEmail());
+                }
+            }
+            changeTracker.userCreated(user.getId());
+            return user;
+        });
         log.info("User signed up: id={}, email={}", savedUser.getId(), savedUser.getEmail());
 
         return UserDto.Response.from(savedUser);
     }
 
+    /**
+     * BCrypt는 대기열과 해싱에 수백 ms가 걸리므로 트랜잭션 밖에서 한다.
+     * 조회와 재해시 저장은 각각 repository의 짧은 트랜잭션으로 하고, 그 사이에는 DB 커넥션을 잡지 않는다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User login(UserDto.LoginRequest request) {
         // 타이밍 공격 방지: 이메일 존재 여부와 관계없이 항상 패스워드 해싱 수행
-        var userOptional = userRepository.findByEmail(request.getEmail());
+        var userOptional = findByEmail(request.getEmail());
 
         if (userOptional.isEmpty()) {
             // 더미 해시로 타이밍 일관성 유지
-            passwordEncoder.matches(request.getPassword(), "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy");
+            passwordEncoder.matches(request.getPassword(), dummyHash());
             throw new UnauthorizedException(ErrorCode.INVALID_CREDENTIALS);
         }
 
@@ -52,6 +99,20 @@ public class UserService {
             throw new UnauthorizedException(ErrorCode.INVALID_CREDENTIALS);
         }
 
+        // strength를 올린 뒤 처음 로그인하면 평문을 알고 있는 지금 새 strength로 다시 저장한다
+        // 해싱하는 동안 비밀번호가 바뀌었으면 덮어쓰지 않는다
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            String upgraded = passwordEncoder.encode(request.getPassword());
+            int updated;
+            try (ShardContext.Scope ignored = ShardContext.forUser(user.getId())) {
+                updated = userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), upgraded);
+            }
+            if (updated > 0) {
+                user.updatePassword(upgraded);
+                log.info("Password hash upgraded: id={}", user.getId());
+            }
+        }
+
         log.info("User logged in: id={}, email={}", user.getId(), user.getEmail());
         return user;
     }
@@ -63,7 +124,7 @@ public class UserService {
     }
 
     public UserDto.Response getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND));
         return UserDto.Response.from(user);
     }
@@ -79,38 +140,133 @@ public class UserService {
         return UserDto.Response.from(user);
     }
 
-    @Transactional
+    /**
+     * 로그인처럼 해시 확인과 새 해시 계산은 트랜잭션 밖에서 한다.
+     * 저장은 확인한 해시가 그대로일 때만 하므로, 그 사이 다른 요청이 비밀번호를 바꿨으면 PASSWORD_MISMATCH다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void changePassword(Long userId, String currentPassword, String newPassword) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId));
+        String currentHash = currentPasswordHash(userId);
 
         if (currentPassword == null || currentPassword.isBlank()
                 || newPassword == null || newPassword.isBlank()) {
             throw new BusinessException(ErrorCode.INVALID_INPUT, "Current password and new password are required");
         }
 
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordEncoder.matches(currentPassword, currentHash)) {
             throw new BusinessException(ErrorCode.PASSWORD_MISMATCH);
         }
 
-        user.updatePassword(passwordEncoder.encode(newPassword));
+        String newHash = passwordEncoder.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            // JPQL UPDATE라 캐시된 User도 무효화된다
+            if (userRepository.updatePasswordIfUnchanged(userId, currentHash, newHash) == 0) {
+                throw new BusinessException(ErrorCode.PASSWORD_MISMATCH);
+            }
+            authTokenService.revokeAll(userId);
+        });
         log.info("User password changed: id={}", userId);
     }
 
-    @Transactional
+    /**
+     * 비밀번호 확인은 트랜잭션 밖에서 하고, 삭제는 확인한 해시가 그대로인 행만 잠가 짧은 트랜잭션으로 한다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteUser(Long userId, String password) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId));
-
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        String currentHash = currentPasswordHash(userId);
+        if (!passwordEncoder.matches(password, currentHash)) {
             throw new BusinessException(ErrorCode.PASSWORD_MISMATCH);
         }
 
-        userRepository.delete(user);
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findByIdAndPassword(userId, currentHash)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.PASSWORD_MISMATCH));
+            userRepository.delete(user);
+            authTokenService.revokeAll(userId);
+            personalAccessTokenService.revokeAll(userId);
+            emailRegistry.unregistered();
+            ShardDirectory directory = shardDirectory.getIfAvailable();
+            if (directory != null) {
+                afterCompletion(committed -> {
+                    if (committed) {
+                        directory.unregister(userId);
+                    }
+                });
+            }
+        });
         log.info("User deleted: id={}", userId);
     }
 
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return emailRegistry.exists(email);
+    }
+
+    /**
+     * directory가 발급한 id로 ring이 고른 샤드에 사용자를 만든다.
+     * 샤드 트랜잭션이 커밋되지 않으면 directory 등록도 지워 같은 이메일로 다시 가입할 수 있게 한다.
+     */
+    private User signUpOnShard(ShardDirectory directory, UserDto.SignUpRequest request, String encodedPassword) {
+        ShardDirectory.Entry entry;
+        try {
+            entry = directory.register(request.getEmail());
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateException(ErrorCode.EMAIL_ALREADY_EXISTS, request.getEmail());
+        }
+        afterCompletion(committed -> {
+            if (!committed) {
+                directory.unregister(entry.userId());
+            }
+        });
+
+        // 이 트랜잭션의 첫 SQL이므로 여기서 고른 샤드 커넥션을 커밋까지 쓴다
+        try (ShardContext.Scope ignored = ShardContext.forShard(entry.shard())) {
+            userRepository.insertWithId(entry.userId(), request.getEmail(), encodedPassword,
+                    request.getNickname(), LocalDateTime.now());
+        }
+        return userRepository.findById(entry.userId())
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, entry.userId()));
+    }
+
+    /**
+     * 인증 전이라 샤드를 모르는 이메일 조회. 샤딩을 켜면 directory에서 사용자 id를 찾아 그 샤드에서 읽는다.
+     */
+    private Optional<User> findByEmail(String email) {
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        if (directory == null) {
+            return userRepository.findByEmail(email);
+        }
+        Optional<ShardDirectory.Entry> entry = directory.findByEmail(email);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        try (ShardContext.Scope ignored = ShardContext.forUser(entry.get().userId())) {
+            return userRepository.findByEmail(email);
+        }
+    }
+
+    /**
+     * 비밀번호 확인은 캐시된 User가 아니라 DB의 현재 해시로 한다. 다른 인스턴스에서 바꾼 뒤에도 옛 비밀번호가 통하지 않게 한다.
+     */
+    private String currentPasswordHash(Long userId) {
+        return userRepository.findPasswordById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId));
+    }
+
+    private static void afterCompletion(Consumer<Boolean> callback) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
     }
 }
@@ -0,0 +1,110 @@
+package com.dailyquest.backend.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 동시에 처리하는 요청 수를 AIMD(additive increase, multiplicative decrease)로 조절하는 제한기.
+ *
+ * - 처리 시간이 latencyThreshold 안에 끝나고 limit의 절반 이상을 쓰고 있으면 요청마다 1/limit씩 늘린다 (한 바퀴에 약 1).
+ * - 처리 시간이 latencyThreshold를 넘거나 실패(dropped)하면 limit에 backoffRatio를 곱한다.
+ *   과부하 때는 그 순간 처리 중이던 요청이 모두 느리게 끝나므로, 줄이는 건 latencyThreshold에 한 번만 한다.
+ *
+ * 자리가 없으면 기다리지 않고 바로 null을 돌려준다. 대기열을 두지 않아야 과부하에서도 처리되는 요청의 지연이 limit 만큼으로 묶인다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio, LongSupplier nanoClock) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 0 < min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return 자리를 얻으면 처리가 끝난 뒤 반드시 release해야 하는 Permit, 가득 찼으면 null
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1, nanoClock.getAsLong());
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(int inFlightAtStart, long startNanos, boolean dropped) {
+        long now = nanoClock.getAsLong();
+        if (dropped || now - startNanos > latencyThresholdNanos) {
+            // 줄인 뒤에 시작한 요청의 결과로만 다시 줄인다
+            if (decreased && startNanos - lastDecreaseNanos < 0) {
+                return;
+            }
+            limit = Math.max(minLimit, limit * backoffRatio);
+            lastDecreaseNanos = now;
+            decreased = true;
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * @param dropped 요청이 과부하 때문에 실패했으면 true (5xx, 커넥션 대기 초과 등)
+         */
+        public void release(boolean dropped) {
+            if (released) {
+                return;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+            onSample(inFlightAtStart, startNanos, dropped);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.dailyquest.backend.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 연속 실패 횟수로 여닫는 회로 차단기.
+ *
+ * - CLOSED: 모두 통과. 연속 failureThreshold번 실패하면 OPEN
+ * - OPEN: openDuration 동안 모두 막는다. 지나면 한 호출만 시험(probe)으로 통과시킨다 (HALF_OPEN)
+ * - HALF_OPEN: 시험 호출이 성공하면 CLOSED, 실패하면 다시 OPEN. 결과가 나올 때까지 다른 호출은 막는다
+ *
+ * CLOSED에서 성공만 이어지는 동안은 락을 잡지 않는다.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+    private volatile State state = State.CLOSED;
+    private volatile int consecutiveFailures;
+    private long openedAtNanos;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return 호출해도 되면 true. true를 받았으면 결과를 onSuccess 또는 onFailure로 알려야 한다
+     */
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openDurationNanos) {
+                state = State.HALF_OPEN;
+                return true;
+            }
+            return state == State.CLOSED;
+        }
+    }
+
+    /**
+     * @return 이 성공으로 차단기가 닫혔으면 (복구되었으면) true
+     */
+    public boolean onSuccess() {
+        if (state == State.CLOSED && consecutiveFailures == 0) {
+            return false;
+        }
+        synchronized (this) {
+            consecutiveFailures = 0;
+            if (state == State.HALF_OPEN) {
+                state = State.CLOSED;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAtNanos = nanoClock.getAsLong();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * OPEN이면 시험 호출을 허용하기까지 남은 시간(나노초), 아니면 0
+     */
+    public synchronized long remainingOpenNanos() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openDurationNanos - (nanoClock.getAsLong() - openedAtNanos));
+    }
+}
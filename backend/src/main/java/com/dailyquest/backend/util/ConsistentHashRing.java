@@ -0,0 +1,84 @@
+package com.dailyquest.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * long 키를 노드에 배치하는 consistent hash ring. 노드마다 virtualNodes개의 점을 링에 찍고,
+ * 키의 해시에서 시계 방향으로 처음 만나는 점의 노드를 고른다.
+ *
+ * 노드를 하나 추가하면 새 노드가 가져가는 약 1/N의 키만 자리가 바뀌고 나머지는 그대로다.
+ * 점의 위치는 노드 이름(toString)으로만 정하므로, 같은 이름 목록이면 어느 인스턴스에서 만들어도 같은 링이 된다.
+ * 만든 뒤에는 바뀌지 않으며 조회는 정렬된 long 배열의 이진 탐색 한 번이다.
+ */
+public class ConsistentHashRing<T> {
+
+    private final List<T> nodes;
+    private final long[] points;
+    private final Object[] owners;
+
+    public ConsistentHashRing(Collection<T> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("nodes must not be empty and virtualNodes must be positive");
+        }
+        this.nodes = List.copyOf(nodes);
+
+        List<Point> ring = new ArrayList<>(nodes.size() * virtualNodes);
+        for (T node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.add(new Point(hash(node + "#" + i), node));
+            }
+        }
+        // 해시가 겹치면 이름 순으로 정해 인스턴스마다 결과가 같게 한다
+        ring.sort(Comparator.comparingLong(Point::position).thenComparing(point -> point.node().toString()));
+
+        this.points = new long[ring.size()];
+        this.owners = new Object[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            points[i] = ring.get(i).position();
+            owners[i] = ring.get(i).node();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T nodeFor(long key) {
+        int index = Arrays.binarySearch(points, mix(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return (T) owners[index == points.length ? 0 : index];
+    }
+
+    public List<T> nodes() {
+        return nodes;
+    }
+
+    private record Point(long position, Object node) {
+    }
+
+    /**
+     * 연속된 id도 링 전체에 고르게 흩어지도록 murmur3 finalizer로 섞는다.
+     */
+    private static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec5L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+}
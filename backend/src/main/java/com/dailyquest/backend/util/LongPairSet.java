@@ -0,0 +1,107 @@
+package com.dailyquest.backend.util;
+
+/**
+ * 128비트 키(long 두 개)의 불변 open addressing 해시 집합. UUID를 객체 없이 담기 위한 용도다.
+ * 조회는 배열 접근만 하므로 할당이 없고, 적재율을 50% 이하로 유지해 선형 탐사가 짧다.
+ * 변경이 필요하면 새 집합을 만들어 참조를 교체한다 (copy-on-write).
+ */
+public final class LongPairSet {
+
+    private static final LongPairSet EMPTY = new LongPairSet(new long[4], 0);
+
+    // [msb0, lsb0, msb1, lsb1, ...]. (0, 0)은 빈 슬롯을 뜻하므로 키로 쓸 수 없다 (랜덤 UUID는 version 비트 때문에 0이 될 수 없다)
+    private final long[] table;
+    private final int mask;
+    private final int size;
+
+    private LongPairSet(long[] table, int size) {
+        this.table = table;
+        this.mask = table.length / 2 - 1;
+        this.size = size;
+    }
+
+    public static LongPairSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param pairs [msb0, lsb0, msb1, lsb1, ...]
+     */
+    public static LongPairSet of(long[] pairs, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        int slots = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        long[] table = new long[slots * 2];
+        int mask = slots - 1;
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            long msb = pairs[i * 2];
+            long lsb = pairs[i * 2 + 1];
+            if (msb == 0 && lsb == 0) {
+                continue;
+            }
+            int slot = slot(msb, lsb, mask);
+            while (true) {
+                long existingMsb = table[slot * 2];
+                long existingLsb = table[slot * 2 + 1];
+                if (existingMsb == 0 && existingLsb == 0) {
+                    table[slot * 2] = msb;
+                    table[slot * 2 + 1] = lsb;
+                    size++;
+                    break;
+                }
+                if (existingMsb == msb && existingLsb == lsb) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        return new LongPairSet(table, size);
+    }
+
+    /**
+     * 현재 원소에 pairs를 더한 새 집합을 만든다.
+     */
+    public LongPairSet plus(long[] pairs, int count) {
+        long[] merged = new long[(size + count) * 2];
+        int n = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            if (table[slot * 2] != 0 || table[slot * 2 + 1] != 0) {
+                merged[n * 2] = table[slot * 2];
+                merged[n * 2 + 1] = table[slot * 2 + 1];
+                n++;
+            }
+        }
+        System.arraycopy(pairs, 0, merged, n * 2, count * 2);
+        return of(merged, n + count);
+    }
+
+    public boolean contains(long msb, long lsb) {
+        if (size == 0 || (msb == 0 && lsb == 0)) {
+            return false;
+        }
+        int slot = slot(msb, lsb, mask);
+        while (true) {
+            long existingMsb = table[slot * 2];
+            long existingLsb = table[slot * 2 + 1];
+            if (existingMsb == msb && existingLsb == lsb) {
+                return true;
+            }
+            if (existingMsb == 0 && existingLsb == 0) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int slot(long msb, long lsb, int mask) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 32;
+        return (int) h & mask;
+    }
+}
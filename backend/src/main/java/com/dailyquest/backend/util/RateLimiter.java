@@ -0,0 +1,94 @@
+package com.dailyquest.backend.util;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 키별 토큰 버킷 (GCRA 방식). 버킷 상태를 "다음 요청이 허용되는 이론상 시각" 하나의 AtomicLong으로 표현해
+ * 락 없이 CAS로 갱신한다. 버킷이 가득 찬 상태와 키가 없는 상태가 같으므로, 회복이 끝난 키는 언제든 지워도 된다.
+ *
+ * 메모리는 maxKeys로 제한한다. 가득 차면 새 키는 거절하고, 회복이 끝난 키는 주기적으로 evictIdle()을 불러 정리한다.
+ * 요청 경로에서는 전체를 훑지 않는다. 키를 무작위로 바꿔가며 들어오는 공격이 표를 채우면 새 키마다 전체 정리를 하게 되기 때문이다.
+ * 공격이 메모리를 채우더라도 보호 대상(DB, BCrypt)으로 요청이 흘러가지 않게 하기 위함이다.
+ */
+public class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(int permits, Duration period, int maxKeys) {
+        this(permits, period, maxKeys, System::nanoTime);
+    }
+
+    public RateLimiter(int permits, Duration period, int maxKeys, LongSupplier nanoClock) {
+        if (permits <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("permits and maxKeys must be positive");
+        }
+        this.emissionIntervalNanos = period.toNanos() / permits;
+        this.burstToleranceNanos = emissionIntervalNanos * (permits - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return 허용되면 0, 거절되면 다시 시도할 수 있을 때까지 남은 나노초
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                return emissionIntervalNanos;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long stored = bucket.get();
+            long tat = stored - now < 0 ? now : stored;
+            long waitNanos = tat - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(stored, tat + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * tryAcquire가 지금 거절할지 permit을 쓰지 않고 본다. 실패한 요청만 세는 제한에 쓴다:
+     * 요청 전에 이것으로 막혔는지 보고, 실패했을 때만 tryAcquire로 센다.
+     * 표에 없는 키는 아직 센 것이 없으므로 표가 가득 차 있어도 허용한다.
+     *
+     * @return 허용되면 0, 거절되면 다시 시도할 수 있을 때까지 남은 나노초
+     */
+    public long waitNanos(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            return 0;
+        }
+        return Math.max(0, bucket.get() - now - burstToleranceNanos);
+    }
+
+    /**
+     * 버킷이 완전히 회복된 키를 지운다. 지워진 키는 새 요청이 오면 가득 찬 버킷으로 다시 만들어진다.
+     * 전체를 훑으므로 요청 경로가 아닌 스케줄 작업에서 부른다.
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -1,5 +1,6 @@
 package com.dailyquest.backend.util;
 
+import com.dailyquest.backend.config.jwt.AccessToken;
 import com.dailyquest.backend.exception.ErrorCode;
 import com.dailyquest.backend.exception.UnauthorizedException;
 import org.springframework.security.core.Authentication;
@@ -23,6 +24,16 @@ public class SecurityUtil {
         throw new UnauthorizedException(ErrorCode.UNAUTHORIZED);
     }
 
+    public static AccessToken getCurrentAccessToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getDetails() instanceof AccessToken accessToken) {
+            return accessToken;
+        }
+
+        throw new UnauthorizedException(ErrorCode.UNAUTHORIZED);
+    }
+
     public static boolean isAuthenticated() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         return authentication != null 
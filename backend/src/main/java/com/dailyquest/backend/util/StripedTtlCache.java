@@ -0,0 +1,170 @@
+package com.dailyquest.backend.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 고정 TTL을 가진 경량 인메모리 캐시.
+ * 키 해시로 나눈 stripe마다 LinkedHashMap과 락을 따로 두어, 서로 다른 키는 거의 경합하지 않는다.
+ * 모든 항목의 TTL이 같으므로 삽입 순서가 곧 만료 순서이고, 만료/용량 정리는 각 stripe의 앞쪽만 보면 된다.
+ */
+public class StripedTtlCache<K, V> {
+
+    private final Stripe<K, V>[] stripes;
+    private final long ttlMillis;
+    private final int maxEntriesPerStripe;
+    private final Clock clock;
+
+    public StripedTtlCache(int stripeCount, int maxEntries, Duration ttl) {
+        this(stripeCount, maxEntries, ttl, Clock.systemUTC());
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedTtlCache(int stripeCount, int maxEntries, Duration ttl, Clock clock) {
+        if (stripeCount <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("stripeCount and maxEntries must be positive");
+        }
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / size);
+        this.clock = clock;
+    }
+
+    public V get(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        long now = clock.millis();
+        stripe.lock.lock();
+        try {
+            Entry<V> entry = stripe.map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= now) {
+                stripe.map.remove(key);
+                return null;
+            }
+            return entry.value;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 살아있는 값이 있으면 그 값을, 없으면 value를 저장하고 null을 돌려준다.
+     */
+    public V putIfAbsent(K key, V value) {
+        Stripe<K, V> stripe = stripeFor(key);
+        long now = clock.millis();
+        stripe.lock.lock();
+        try {
+            Entry<V> existing = stripe.map.get(key);
+            if (existing != null && existing.expiresAt > now) {
+                return existing.value;
+            }
+            store(stripe, key, value, now);
+            return null;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        Stripe<K, V> stripe = stripeFor(key);
+        long now = clock.millis();
+        stripe.lock.lock();
+        try {
+            store(stripe, key, value, now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 값이 없으면 loader로 만들어 저장한다. loader는 stripe 락 안에서 실행되므로 가벼워야 한다.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        Stripe<K, V> stripe = stripeFor(key);
+        long now = clock.millis();
+        stripe.lock.lock();
+        try {
+            Entry<V> existing = stripe.map.get(key);
+            if (existing != null && existing.expiresAt > now) {
+                return existing.value;
+            }
+            V value = loader.apply(key);
+            if (value != null) {
+                store(stripe, key, value, now);
+            }
+            return value;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.map.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                total += stripe.map.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private void store(Stripe<K, V> stripe, K key, V value, long now) {
+        // 재삽입해서 만료 순서(삽입 순서)를 유지한다
+        stripe.map.remove(key);
+        stripe.map.put(key, new Entry<>(value, now + ttlMillis));
+        evict(stripe, now);
+    }
+
+    private void evict(Stripe<K, V> stripe, long now) {
+        Iterator<Entry<V>> it = stripe.map.values().iterator();
+        while (it.hasNext()) {
+            Entry<V> eldest = it.next();
+            if (eldest.expiresAt > now && stripe.map.size() <= maxEntriesPerStripe) {
+                break;
+            }
+            it.remove();
+        }
+    }
+
+    private Stripe<K, V> stripeFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    private static final class Stripe<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<K, Entry<V>> map = new LinkedHashMap<>();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
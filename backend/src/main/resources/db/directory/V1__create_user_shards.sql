@@ -0,0 +1,14 @@
+-- 샤딩 directory: 사용자 id 발급과 사용자 → 샤드 기록. 샤드 DB가 아니라 spring.datasource DB에 둔다.
+CREATE SEQUENCE IF NOT EXISTS user_shards_user_id_seq;
+
+CREATE TABLE IF NOT EXISTS user_shards (
+    user_id    BIGINT       PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL,
+    shard      VARCHAR(64)  NOT NULL,
+    -- ShardRebalancer가 옮기는 동안 TRUE. 이 사이 사용자의 요청은 503으로 거절한다
+    moving     BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_user_shards_email UNIQUE (email)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_shards_shard ON user_shards (shard);
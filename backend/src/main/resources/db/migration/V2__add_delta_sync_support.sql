@@ -0,0 +1,22 @@
+ALTER TABLE projects
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+
+UPDATE projects SET updated_at = created_at WHERE updated_at IS NULL;
+UPDATE tasks SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_updated_at
+    ON tasks (user_id, updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_projects_user_updated_at
+    ON projects (user_id, updated_at);
+
+CREATE TABLE IF NOT EXISTS deletion_logs (
+    id          BIGSERIAL PRIMARY KEY,
+    user_id     BIGINT      NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_deletion_logs_user_deleted_at
+    ON deletion_logs (user_id, deleted_at);
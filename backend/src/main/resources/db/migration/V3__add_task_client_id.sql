@@ -0,0 +1,5 @@
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS client_id VARCHAR(36);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_tasks_user_client_id
+    ON tasks (user_id, client_id);
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS user_change_counters (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO user_change_counters (user_id, version)
+SELECT id, 0 FROM users
+ON CONFLICT (user_id) DO NOTHING;
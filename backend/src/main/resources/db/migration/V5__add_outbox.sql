@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id           BIGSERIAL PRIMARY KEY,
+    user_id      BIGINT      NOT NULL,
+    event_type   VARCHAR(30) NOT NULL,
+    aggregate_id BIGINT      NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_created_at
+    ON outbox_events (created_at);
+
+CREATE TABLE IF NOT EXISTS outbox_checkpoints (
+    consumer_name VARCHAR(100) PRIMARY KEY,
+    last_event_id BIGINT       NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL
+);
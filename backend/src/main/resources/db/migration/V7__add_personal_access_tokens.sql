@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS personal_access_tokens (
+    id           BIGSERIAL PRIMARY KEY,
+    user_id      BIGINT       NOT NULL,
+    name         VARCHAR(100) NOT NULL,
+    token_digest VARCHAR(64)  NOT NULL UNIQUE,
+    token_prefix VARCHAR(16)  NOT NULL,
+    scopes       VARCHAR(50)  NOT NULL,
+    expires_at   TIMESTAMP(6),
+    last_used_at TIMESTAMP(6),
+    revoked_at   TIMESTAMP(6),
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_personal_access_tokens_user_id
+    ON personal_access_tokens (user_id);
@@ -0,0 +1,94 @@
+-- tasks를 user_id 해시 파티션 테이블로 옮기는 1단계: 빈 파티션 테이블을 만들고, 이후 tasks의 변경을 트리거로 따라 쓴다.
+-- 2단계(V7_2)가 기존 행을 배치로 복사하고, 3단계(V7_3)가 짧은 잠금 안에서 테이블을 바꿔 끼운다.
+
+-- 기존 인덱스 이름을 새 테이블에 쓰기 위해 옛 인덱스 이름을 바꾼다 (메타데이터만 변경)
+ALTER INDEX IF EXISTS idx_tasks_user_due_date RENAME TO idx_tasks_unpartitioned_user_due_date;
+ALTER INDEX IF EXISTS idx_tasks_user_updated_at RENAME TO idx_tasks_unpartitioned_user_updated_at;
+ALTER INDEX IF EXISTS uk_tasks_user_client_id RENAME TO uk_tasks_unpartitioned_user_client_id;
+
+-- 기존 id는 그대로 복사하고, 교체 후 새 행은 이 시퀀스로 id를 받는다 (serial/identity 어느 쪽이든 동일)
+CREATE SEQUENCE tasks_partitioned_id_seq;
+
+-- 파티션 키가 기본 키에 포함되어야 하므로 PK는 (id, user_id)
+CREATE TABLE tasks_partitioned (
+    id                  BIGINT       NOT NULL DEFAULT nextval('tasks_partitioned_id_seq'),
+    user_id             BIGINT       NOT NULL REFERENCES users (id),
+    project_id          BIGINT       REFERENCES projects (id),
+    client_id           VARCHAR(36),
+    title               VARCHAR(255) NOT NULL,
+    description         TEXT,
+    priority            VARCHAR(20),
+    due_date            DATE,
+    is_completed        BOOLEAN,
+    completed_at        TIMESTAMP(6),
+    is_recurring        BOOLEAN,
+    recurrence_type     VARCHAR(20),
+    recurrence_interval INTEGER,
+    recurrence_end_date DATE,
+    parent_task_id      BIGINT,
+    version             BIGINT       NOT NULL DEFAULT 0,
+    created_at          TIMESTAMP(6),
+    updated_at          TIMESTAMP(6),
+    PRIMARY KEY (id, user_id)
+) PARTITION BY HASH (user_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..${task_partitions} - 1 LOOP
+        EXECUTE format('CREATE TABLE tasks_p%s PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                       i, ${task_partitions}, i);
+    END LOOP;
+END $$;
+
+-- 비어 있을 때 만들어 두어 복사 중에 채워지게 한다 (파티션 테이블은 CREATE INDEX CONCURRENTLY를 지원하지 않음)
+CREATE INDEX idx_tasks_user_due_date ON tasks_partitioned (user_id, due_date);
+CREATE INDEX idx_tasks_user_updated_at ON tasks_partitioned (user_id, updated_at);
+CREATE UNIQUE INDEX uk_tasks_user_client_id ON tasks_partitioned (user_id, client_id);
+CREATE INDEX idx_tasks_project_id ON tasks_partitioned (project_id);
+CREATE INDEX idx_tasks_parent_task_id ON tasks_partitioned (parent_task_id);
+
+-- 복사 중 tasks에 들어온 변경을 새 테이블에 반영한다. 복사와 겹친 행은 ON CONFLICT로 최신 값이 남는다
+CREATE FUNCTION tasks_partitioned_sync() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND NEW.user_id <> OLD.user_id) THEN
+        DELETE FROM tasks_partitioned WHERE id = OLD.id AND user_id = OLD.user_id;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO tasks_partitioned (id, user_id, project_id, client_id, title, description, priority, due_date,
+                                   is_completed, completed_at, is_recurring, recurrence_type, recurrence_interval,
+                                   recurrence_end_date, parent_task_id, version, created_at, updated_at)
+    VALUES (NEW.id, NEW.user_id, NEW.project_id, NEW.client_id, NEW.title, NEW.description, NEW.priority, NEW.due_date,
+            NEW.is_completed, NEW.completed_at, NEW.is_recurring, NEW.recurrence_type, NEW.recurrence_interval,
+            NEW.recurrence_end_date, NEW.parent_task_id, NEW.version, NEW.created_at, NEW.updated_at)
+    ON CONFLICT (id, user_id) DO UPDATE SET
+        project_id = EXCLUDED.project_id,
+        client_id = EXCLUDED.client_id,
+        title = EXCLUDED.title,
+        description = EXCLUDED.description,
+        priority = EXCLUDED.priority,
+        due_date = EXCLUDED.due_date,
+        is_completed = EXCLUDED.is_completed,
+        completed_at = EXCLUDED.completed_at,
+        is_recurring = EXCLUDED.is_recurring,
+        recurrence_type = EXCLUDED.recurrence_type,
+        recurrence_interval = EXCLUDED.recurrence_interval,
+        recurrence_end_date = EXCLUDED.recurrence_end_date,
+        parent_task_id = EXCLUDED.parent_task_id,
+        version = EXCLUDED.version,
+        created_at = EXCLUDED.created_at,
+        updated_at = EXCLUDED.updated_at;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_partitioned_sync
+    AFTER INSERT OR UPDATE OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION tasks_partitioned_sync();
+
+-- 복사 진행 위치. V7_2가 중단되면 flyway repair 후 다시 실행해 이어서 복사한다
+CREATE TABLE tasks_partition_backfill (
+    last_id BIGINT NOT NULL
+);
+INSERT INTO tasks_partition_backfill (last_id) VALUES (0);
@@ -0,0 +1,41 @@
+-- tasks의 기존 행을 id 구간별로 tasks_partitioned에 복사한다. 구간마다 커밋하므로 긴 트랜잭션이나 테이블 잠금이 없다.
+-- 트리거가 이미 옮긴 행(복사 중 변경된 행)은 ON CONFLICT DO NOTHING으로 건너뛰어 최신 값을 덮어쓰지 않는다.
+-- 읽는 행은 FOR SHARE로 잠근다. 잠그지 않으면 복사 중 커밋된 DELETE의 트리거가 아직 없는 행을 지운 뒤
+-- 이 배치가 삭제 전 스냅샷으로 행을 넣어, 교체 후에 지운 할 일이 되살아난다.
+-- 잠그면 진행 중인 DELETE/UPDATE가 끝날 때까지 기다린 뒤 최신 행만 복사하고(지워진 행은 건너뜀),
+-- 이후의 DELETE/UPDATE는 이 배치가 커밋된 뒤 실행되어 트리거가 복사본을 고친다. 잠금은 배치 하나 동안만 유지된다.
+-- 트랜잭션 밖에서 실행된다 (V7_2__backfill_partitioned_tasks.sql.conf)
+
+CREATE PROCEDURE backfill_tasks_partitioned(batch_size BIGINT)
+LANGUAGE plpgsql AS $$
+DECLARE
+    from_id BIGINT;
+    max_id  BIGINT;
+BEGIN
+    -- 트리거가 생긴 뒤 들어온 행은 트리거가 옮기므로 지금의 최대 id까지만 복사하면 된다
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM tasks;
+    SELECT last_id INTO from_id FROM tasks_partition_backfill;
+
+    WHILE from_id < max_id LOOP
+        INSERT INTO tasks_partitioned (id, user_id, project_id, client_id, title, description, priority, due_date,
+                                       is_completed, completed_at, is_recurring, recurrence_type,
+                                       recurrence_interval, recurrence_end_date, parent_task_id, version,
+                                       created_at, updated_at)
+        SELECT id, user_id, project_id, client_id, title, description, priority, due_date,
+               is_completed, completed_at, is_recurring, recurrence_type,
+               recurrence_interval, recurrence_end_date, parent_task_id, version,
+               created_at, updated_at
+        FROM tasks
+        WHERE id > from_id AND id <= from_id + batch_size
+        FOR SHARE
+        ON CONFLICT (id, user_id) DO NOTHING;
+
+        from_id := from_id + batch_size;
+        UPDATE tasks_partition_backfill SET last_id = from_id;
+        COMMIT;
+    END LOOP;
+END $$;
+
+CALL backfill_tasks_partitioned(${task_backfill_batch_size});
+
+DROP PROCEDURE backfill_tasks_partitioned(BIGINT);
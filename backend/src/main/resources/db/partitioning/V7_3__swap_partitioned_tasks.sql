@@ -0,0 +1,40 @@
+-- 복사가 끝난 tasks_partitioned를 tasks로 바꿔 끼운다. 모두 메타데이터 변경이라 잠금은 짧다.
+-- 옛 테이블은 tasks_unpartitioned로 남겨 둔다. 확인이 끝나면 DROP TABLE tasks_unpartitioned로 지운다.
+
+LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE;
+
+DROP TRIGGER tasks_partitioned_sync ON tasks;
+DROP FUNCTION tasks_partitioned_sync();
+DROP TABLE tasks_partition_backfill;
+
+SELECT setval('tasks_partitioned_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks), false);
+
+ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+ALTER TABLE tasks_partitioned RENAME TO tasks;
+ALTER SEQUENCE tasks_partitioned_id_seq OWNED BY tasks.id;
+
+-- 옛 테이블의 외래 키가 users/projects 삭제를 막지 않도록 제거한다
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN SELECT conname FROM pg_constraint
+              WHERE conrelid = 'tasks_unpartitioned'::regclass AND contype = 'f' LOOP
+        EXECUTE format('ALTER TABLE tasks_unpartitioned DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END $$;
+
+-- 반복 태스크 부모 참조. 복사 순서상 자식이 부모보다 먼저 들어올 수 있어 교체 후에 건다.
+-- 파티션 테이블에는 NOT VALID 외래 키를 걸 수 없으므로 파티션마다 걸고 V7_4에서 검증한다.
+-- 부모와 자식은 항상 같은 사용자이므로 (parent_task_id, user_id)로 참조한다
+DO $$
+DECLARE
+    part RECORD;
+BEGIN
+    FOR part IN SELECT inhrelid::regclass::text AS name FROM pg_inherits
+                WHERE inhparent = 'tasks'::regclass LOOP
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I FOREIGN KEY (parent_task_id, user_id) '
+                       'REFERENCES tasks (id, user_id) NOT VALID',
+                       part.name, 'fk_' || part.name || '_parent_task');
+    END LOOP;
+END $$;
@@ -0,0 +1,12 @@
+-- V7_3에서 NOT VALID로 건 부모 참조를 검증한다. VALIDATE는 SHARE UPDATE EXCLUSIVE 잠금이라 읽기/쓰기를 막지 않는다
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN SELECT c.conrelid::regclass::text AS table_name, c.conname
+              FROM pg_constraint c
+              JOIN pg_inherits i ON i.inhrelid = c.conrelid
+              WHERE i.inhparent = 'tasks'::regclass AND c.contype = 'f' AND NOT c.convalidated LOOP
+        EXECUTE format('ALTER TABLE %I VALIDATE CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
@@ -0,0 +1,30 @@
+-- 샤드마다 id 시퀀스를 겹치지 않는 구간으로 나눈다: 이 샤드의 새 id는 shard_id_base + shard_index * shard_id_range부터다.
+-- 사용자를 다른 샤드로 옮길 때 id를 그대로 복사해도 충돌하지 않게 하기 위해서다.
+-- outbox_events는 넣지 않는다: 옮기는 사용자의 outbox 행은 복사하지 않으니 구간을 나눌 필요가 없고,
+-- 시퀀스를 건너뛰면 디스패처가 10억 개짜리 빈 구간으로 보고 건너뛴 id를 계속 다시 조회한다.
+-- shard_id_base는 샤딩 전 단일 DB의 가장 큰 id보다 커야 한다. users id는 directory가 발급하지만 같이 맞춰 둔다.
+DO $$
+DECLARE
+    tbl      TEXT;
+    seq_name TEXT;
+    is_ident BOOLEAN;
+    max_id   BIGINT;
+    next_id  BIGINT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['users', 'projects', 'tasks', 'personal_access_tokens', 'refresh_tokens',
+                               'revoked_tokens', 'deletion_logs'] LOOP
+        EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', tbl) INTO max_id;
+        next_id := GREATEST(max_id + 1, ${shard_id_base} + ${shard_index} * ${shard_id_range});
+
+        SELECT c.is_identity = 'YES' INTO is_ident
+        FROM information_schema.columns c
+        WHERE c.table_schema = current_schema() AND c.table_name = tbl AND c.column_name = 'id';
+
+        IF is_ident THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id RESTART WITH %s', tbl, next_id);
+        ELSE
+            seq_name := pg_get_serial_sequence(tbl, 'id');
+            PERFORM setval(seq_name, next_id, false);
+        END IF;
+    END LOOP;
+END $$;
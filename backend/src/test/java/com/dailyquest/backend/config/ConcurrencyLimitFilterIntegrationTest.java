@@ -0,0 +1,85 @@
+package com.dailyquest.backend.config;
+
+import com.dailyquest.backend.util.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "concurrency-limit.auth.initial-limit=2",
+        "concurrency-limit.auth.min-limit=2"
+})
+class ConcurrencyLimitFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("Reject auth requests with 503 and Retry-After when the auth limit is full, without affecting other classes")
+    void rejectWhenAuthLimitIsFull() throws Exception {
+        AdaptiveConcurrencyLimiter auth = concurrencyLimitFilter.limiter(RateLimitFilter.LOGIN_PATH);
+        List<AdaptiveConcurrencyLimiter.Permit> held = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = auth.tryAcquire()) != null) {
+            held.add(permit);
+        }
+        String body = "{\"email\":\"busy@test.com\",\"password\":\"password123\"}";
+
+        try {
+            mockMvc.perform(post("/api/users/login")
+                            .header("Origin", "http://localhost:3000")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:3000"))
+                    .andExpect(jsonPath("$.code").value(503001));
+            verify(passwordEncoder, never()).matches(any(), anyString());
+
+            // 다른 종류와 헬스 체크는 따로 센다
+            mockMvc.perform(get("/api/tasks"))
+                    .andExpect(status().is4xxClientError());
+            mockMvc.perform(get("/api/health"))
+                    .andExpect(status().isOk());
+        } finally {
+            held.forEach(p -> p.release(false));
+        }
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isUnauthorized());
+        assertThat(auth.getInFlight()).isZero();
+    }
+}
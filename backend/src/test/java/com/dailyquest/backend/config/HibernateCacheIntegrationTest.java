@@ -0,0 +1,166 @@
+package com.dailyquest.backend.config;
+
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import com.dailyquest.backend.dto.ProjectDto;
+import com.dailyquest.backend.dto.TaskDto;
+import com.dailyquest.backend.exception.BusinessException;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.dailyquest.backend.exception.ResourceNotFoundException;
+import com.dailyquest.backend.service.ProjectService;
+import com.dailyquest.backend.service.TaskService;
+import com.dailyquest.backend.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class HibernateCacheIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder()
+                .email("cache-" + UUID.randomUUID().toString().substring(0, 8) + "@test.com")
+                .password("encoded")
+                .nickname("before")
+                .build());
+    }
+
+    @Test
+    @DisplayName("User reads by id are served from the second-level cache without SQL")
+    void userReadIsServedFromCache() {
+        // IDENTITY 키로 넣은 엔티티는 INSERT 때 캐시되지 않고 처음 읽을 때 채워진다
+        inTransaction(() -> userRepository.findById(user.getId()).orElseThrow().getNickname());
+
+        long hitsBefore = statistics.getDomainDataRegionStatistics(HibernateCacheConfig.USERS_REGION).getHitCount();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        String nickname = inTransaction(() -> userRepository.findById(user.getId()).orElseThrow().getNickname());
+
+        assertThat(nickname).isEqualTo("before");
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.USERS_REGION).getHitCount())
+                .isGreaterThan(hitsBefore);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", HibernateCacheConfig.USERS_REGION)
+                .tag("result", "hit")
+                .functionCounter())
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("Nickname updates invalidate the cached user")
+    void nicknameUpdateInvalidates() {
+        inTransaction(() -> userRepository.findById(user.getId()).orElseThrow().getNickname());
+        userService.updateNickname(user.getId(), "after");
+        assertThat(inTransaction(() -> userRepository.findById(user.getId()).orElseThrow().getNickname()))
+                .isEqualTo("after");
+    }
+
+    @Test
+    @DisplayName("Updating from a stale cached user does not revert columns changed on another instance")
+    void staleCachedUserKeepsOtherColumns() {
+        inTransaction(() -> userRepository.findById(user.getId()).orElseThrow().getNickname());
+        // 다른 인스턴스가 비밀번호를 바꿨다. 이 인스턴스의 캐시는 아직 옛 값이다
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE id = ?", "changed-elsewhere", user.getId());
+
+        userService.updateNickname(user.getId(), "after");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = ?", String.class, user.getId()))
+                .isEqualTo("changed-elsewhere");
+    }
+
+    @Test
+    @DisplayName("Password checks read the current hash, not the cached user")
+    void passwordChecksBypassCache() {
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE id = ?", passwordEncoder.encode("old-password"),
+                user.getId());
+        inTransaction(() -> userRepository.findById(user.getId()).orElseThrow().getNickname());
+        // 다른 인스턴스에서 비밀번호를 바꿨다. 이 인스턴스의 캐시에는 옛 해시가 남아 있다
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE id = ?", passwordEncoder.encode("new-password"),
+                user.getId());
+
+        assertThatThrownBy(() -> userService.changePassword(user.getId(), "old-password", "another-password"))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getErrorCode())
+                        .isEqualTo(ErrorCode.PASSWORD_MISMATCH));
+        assertThatThrownBy(() -> userService.deleteUser(user.getId(), "old-password"))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getErrorCode())
+                        .isEqualTo(ErrorCode.PASSWORD_MISMATCH));
+
+        userService.changePassword(user.getId(), "new-password", "another-password");
+        assertThat(passwordEncoder.matches("another-password",
+                inTransaction(() -> userRepository.findById(user.getId()).orElseThrow().getPassword()))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Project ownership checks and project lists read the database, not an instance-local cache")
+    void projectReadsSeeChangesFromOtherInstances() {
+        Long projectId = projectService.createProject(user.getId(),
+                ProjectDto.CreateRequest.builder().name("shared").build()).getId();
+        assertThat(projectService.getProject(user.getId(), projectId).getName()).isEqualTo("shared");
+        assertThat(projectService.getAllProjects(user.getId())).hasSize(1);
+
+        // 다른 인스턴스가 프로젝트를 지웠다
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", projectId);
+
+        assertThat(projectService.getAllProjects(user.getId())).isEmpty();
+        assertThatThrownBy(() -> projectService.getProject(user.getId(), projectId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> taskService.createTask(user.getId(),
+                TaskDto.CreateRequest.builder().title("orphan").projectId(projectId).build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
@@ -0,0 +1,51 @@
+package com.dailyquest.backend.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencySummaryEndpointTest {
+
+    // SimpleMeterRegistry는 percentile histogram 버킷을 만들지 않으므로 SLO 경계로 버킷을 지정한다
+    private static final Duration[] BUCKETS = {
+            Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(75), Duration.ofMillis(100), Duration.ofMillis(250)};
+
+    @Test
+    @DisplayName("Summarise timers by total time with percentiles from histogram buckets")
+    void summary() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer slow = Timer.builder("spring.data.repository.invocations")
+                .tag("repository", "TaskRepository").tag("method", "findByUserId")
+                .serviceLevelObjectives(BUCKETS)
+                .register(registry);
+        Timer fast = Timer.builder("spring.data.repository.invocations")
+                .tag("repository", "UserRepository").tag("method", "findById")
+                .serviceLevelObjectives(BUCKETS)
+                .register(registry);
+        for (int i = 1; i <= 100; i++) {
+            slow.record(Duration.ofMillis(i));
+            fast.record(Duration.ofMillis(1));
+        }
+
+        Map<String, List<LatencySummaryEndpoint.TimerSummary>> summary =
+                new LatencySummaryEndpoint(registry).summary();
+
+        List<LatencySummaryEndpoint.TimerSummary> rows = summary.get("spring.data.repository.invocations");
+        assertThat(summary.get("http.server.requests")).isEmpty();
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).tags()).containsEntry("method", "findByUserId");
+        assertThat(rows.get(0).count()).isEqualTo(100);
+        assertThat(rows.get(0).maxMs()).isEqualTo(100.0);
+        assertThat(rows.get(0).p50Ms()).isEqualTo(50.0);
+        assertThat(rows.get(0).p95Ms()).isEqualTo(100.0);
+        assertThat(rows.get(1).p99Ms()).isEqualTo(10.0);
+    }
+}
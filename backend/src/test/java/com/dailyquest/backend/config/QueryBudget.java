@@ -0,0 +1,20 @@
+package com.dailyquest.backend.config;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 메서드 본문이 실행하는 SQL 수의 상한. @BeforeEach에서 만든 데이터는 세지 않는다.
+ * 변경으로 쿼리가 늘면(N+1 등) 실행된 SQL 목록과 함께 테스트가 실패한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    int value();
+}
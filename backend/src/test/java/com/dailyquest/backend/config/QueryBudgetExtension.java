@@ -0,0 +1,74 @@
+package com.dailyquest.backend.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+/**
+ * @QueryBudget 처리. 테스트 본문 전후로 RequestStatistics 구간을 열고 닫아 실행된 SQL 수를 센다.
+ * MockMvc 요청은 같은 스레드에서 ServerTimingFilter가 안쪽 구간을 열므로 그 SQL도 함께 세어진다.
+ */
+class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        clearPersistenceContext(context);
+        RecordingStatementInspector.start();
+        context.getStore(NAMESPACE).put(RequestStatistics.class, RequestStatistics.begin());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        // 테스트 트랜잭션은 롤백되므로 커밋 때 나갈 쓰기 SQL을 여기서 내보내 함께 센다
+        flushPersistenceContext(context);
+        RequestStatistics statistics = context.getStore(NAMESPACE).remove(RequestStatistics.class, RequestStatistics.class);
+        RequestStatistics.end();
+        List<String> statements = RecordingStatementInspector.stop();
+
+        int budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class).value();
+        if (statistics.statements() > budget) {
+            StringBuilder message = new StringBuilder()
+                    .append("Query budget exceeded: ").append(statistics.statements())
+                    .append(" statements, budget ").append(budget);
+            for (int i = 0; i < statements.size(); i++) {
+                message.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(statements.get(i));
+            }
+            throw new AssertionFailedError(message.toString(), budget, statistics.statements());
+        }
+    }
+
+    /**
+     * @BeforeEach에서 저장한 엔티티가 1차 캐시에 남아 있으면 조회 SQL이 생략되어 실제보다 적게 세어진다.
+     * 테스트 트랜잭션의 EntityManager를 flush/clear 해서 본문이 빈 영속성 컨텍스트에서 시작하게 한다.
+     */
+    private static void clearPersistenceContext(ExtensionContext context) {
+        EntityManager entityManager = transactionalEntityManager(context);
+        if (entityManager != null) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private static void flushPersistenceContext(ExtensionContext context) {
+        EntityManager entityManager = transactionalEntityManager(context);
+        if (entityManager != null) {
+            entityManager.flush();
+        }
+    }
+
+    private static EntityManager transactionalEntityManager(ExtensionContext context) {
+        EntityManagerFactory entityManagerFactory = SpringExtension.getApplicationContext(context)
+                .getBean(EntityManagerFactory.class);
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+    }
+}
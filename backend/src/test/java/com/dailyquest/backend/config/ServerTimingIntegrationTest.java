@@ -0,0 +1,81 @@
+package com.dailyquest.backend.config;
+
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ServerTimingIntegrationTest {
+
+    private static final Pattern SERVER_TIMING = Pattern.compile(
+            "auth;dur=[\\d.]+, db;dur=[\\d.]+;desc=\"(\\d+) statements\", ser;dur=[\\d.]+, total;dur=[\\d.]+");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("timing@test.com")
+                .password("encoded")
+                .nickname("timing")
+                .build());
+        token = jwtTokenProvider.createToken(user.getId(), user.getEmail());
+    }
+
+    @Test
+    @DisplayName("JSON responses carry Server-Timing with the number of executed statements")
+    void jsonResponse() throws Exception {
+        String header = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ServerTimingFilter.HEADER);
+
+        Matcher matcher = SERVER_TIMING.matcher(header);
+        assertThat(matcher.matches()).as(header).isTrue();
+        assertThat(Integer.parseInt(matcher.group(1))).isPositive();
+    }
+
+    @Test
+    @DisplayName("Responses without a body still carry Server-Timing")
+    void notModifiedResponse() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String header = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse().getHeader(ServerTimingFilter.HEADER);
+
+        assertThat(header).matches(SERVER_TIMING);
+    }
+}
@@ -0,0 +1,151 @@
+package com.dailyquest.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightAspectTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightAspect aspect;
+    private Loader target;
+    private Loader loader;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new SingleFlightAspect(true, meterRegistry);
+        target = new Loader();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        loader = factory.getProxy();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent calls with the same user and arguments share one execution and are counted as followers")
+    void concurrentCallsShareOneExecution() throws Exception {
+        List<Future<String>> results = callConcurrently(1L, "today");
+        target.release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("1:today#1");
+        }
+        assertThat(target.executions.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("singleflight.calls").tag("role", "leader").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("singleflight.calls").tag("role", "follower").counter().count())
+                .isEqualTo(CALLERS - 1);
+
+        // 끝난 결과는 남기지 않는다
+        assertThat(loader.load(1L, "today")).isEqualTo("1:today#2");
+    }
+
+    @Test
+    @DisplayName("Different users or arguments are not coalesced")
+    void differentKeysRunSeparately() throws Exception {
+        target.release.countDown();
+
+        assertThat(loader.load(1L, "today")).isEqualTo("1:today#1");
+        assertThat(loader.load(2L, "today")).isEqualTo("2:today#2");
+        assertThat(loader.load(1L, "week")).isEqualTo("1:week#3");
+    }
+
+    @Test
+    @DisplayName("A call after a committed write does not join a flight that started before it")
+    void callAfterWriteStartsNewFlight() throws Exception {
+        Future<String> before = executor.submit(() -> loader.load(1L, "today"));
+        awaitExecutions(1);
+
+        aspect.writeCommitting(1L);
+        Future<String> duringCommit = executor.submit(() -> loader.load(1L, "today"));
+        awaitExecutions(2);
+        aspect.writeCompleted(1L);
+        Future<String> afterCommit = executor.submit(() -> loader.load(1L, "today"));
+        awaitExecutions(3);
+
+        target.release.countDown();
+        assertThat(List.of(before.get(5, TimeUnit.SECONDS), duringCommit.get(5, TimeUnit.SECONDS),
+                afterCommit.get(5, TimeUnit.SECONDS)))
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Followers receive the leader's exception")
+    void followersReceiveFailure() throws Exception {
+        target.fail = true;
+        List<Future<String>> results = callConcurrently(1L, "today");
+        target.release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(target.executions.get()).isEqualTo(1);
+    }
+
+    private List<Future<String>> callConcurrently(Long userId, String range) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> loader.load(userId, range)));
+        awaitExecutions(1);
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> loader.load(userId, range)));
+        }
+        // follower가 모두 leader의 결과를 기다리기 시작할 때까지
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("singleflight.calls").tag("role", "follower").counter() == null
+                || meterRegistry.get("singleflight.calls").tag("role", "follower").counter().count() < CALLERS - 1) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    private void awaitExecutions(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (target.executions.get() < count) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    static class Loader {
+
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean fail;
+
+        @SingleFlight
+        public String load(Long userId, String range) throws InterruptedException {
+            int execution = executions.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            if (fail) {
+                throw new IllegalStateException("load failed");
+            }
+            return userId + ":" + range + "#" + execution;
+        }
+    }
+}
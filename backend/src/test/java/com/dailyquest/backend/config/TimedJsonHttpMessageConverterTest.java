@@ -0,0 +1,57 @@
+package com.dailyquest.backend.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimedJsonHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TimedJsonHttpMessageConverter converter = new TimedJsonHttpMessageConverter(objectMapper, 64);
+
+    @BeforeEach
+    void setUp() {
+        RequestStatistics.begin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    @Test
+    @DisplayName("Bodies under the buffer cap carry the serialization time in Server-Timing")
+    void smallBodyIsBuffered() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        Map<String, String> body = Map.of("title", "small");
+
+        converter.write(body, MediaType.APPLICATION_JSON, message);
+
+        assertThat(message.getHeaders().getFirst(ServerTimingFilter.HEADER)).contains("ser;dur=");
+        assertThat(objectMapper.readValue(message.getBodyAsString(), new TypeReference<Map<String, String>>() {})).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Bodies over the buffer cap are streamed with Server-Timing sent before serialization ends")
+    void largeBodyIsStreamed() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        List<String> body = Collections.nCopies(10_000, "a longer title to go past the cap");
+
+        converter.write(body, MediaType.APPLICATION_JSON, message);
+
+        String header = message.getHeaders().getFirst(ServerTimingFilter.HEADER);
+        assertThat(header).startsWith("auth;dur=").contains("total;dur=").doesNotContain("ser;dur=");
+        assertThat(objectMapper.readValue(message.getBodyAsString(), new TypeReference<List<String>>() {})).isEqualTo(body);
+    }
+}
@@ -0,0 +1,199 @@
+package com.dailyquest.backend.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * H2 메모리 DB 두 개를 primary/replica로 두고, 각 DB의 node 테이블 값으로 어느 쪽에서 읽었는지 확인한다.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration STICKY_WINDOW = Duration.ofSeconds(5);
+
+    private final AtomicLong now = new AtomicLong(Instant.parse("2026-01-01T00:00:00Z").toEpochMilli());
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    };
+
+    private DataSource primary;
+    private DataSource replica;
+    private Long currentUserId;
+    private ReplicaRoutingDataSource routingDataSource;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing_primary", "primary");
+        replica = database("routing_replica", "replica");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica),
+                STICKY_WINDOW, 1000, clock, () -> currentUserId);
+        lagMonitor = new ReplicaLagMonitor(routingDataSource, "SELECT seconds FROM lag", Duration.ofSeconds(5),
+                Duration.ofSeconds(2));
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lagMonitor.destroy();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to the replica and writes go to the primary")
+    void routesByReadOnlyFlag() {
+        assertThat(readNode()).isEqualTo("replica");
+        String written = writeTransaction.execute(status -> node());
+        assertThat(written).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("A user reads from the primary for the sticky window after their own write")
+    void readYourWrites() {
+        currentUserId = 1L;
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+
+        assertThat(readNode()).isEqualTo("primary");
+
+        currentUserId = 2L;
+        assertThat(readNode()).isEqualTo("replica");
+
+        currentUserId = 1L;
+        now.addAndGet(STICKY_WINDOW.toMillis() + 1);
+        assertThat(readNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Reads fall back to the primary while the replica lags and return once it catches up")
+    void lagFallback() {
+        new JdbcTemplate(replica).update("UPDATE lag SET seconds = 30");
+        lagMonitor.check();
+        assertThat(readNode()).isEqualTo("primary");
+
+        new JdbcTemplate(replica).update("UPDATE lag SET seconds = 0.5");
+        lagMonitor.check();
+        assertThat(readNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("A replica whose lag check fails is removed from the read pool")
+    void unreachableReplica() {
+        new JdbcTemplate(replica).execute("DROP TABLE lag");
+        lagMonitor.check();
+
+        assertThat(readNode()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("A replica that hangs on connect is removed after the check timeout without blocking later checks")
+    void hangingReplica() {
+        CountDownLatch release = new CountDownLatch(1);
+        DataSource hanging = new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getConnection();
+            }
+        };
+        ReplicaRoutingDataSource hangingRouting = new ReplicaRoutingDataSource(primary, Map.of("replica-1", hanging),
+                STICKY_WINDOW, 1000, clock, () -> null);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(hangingRouting, "SELECT seconds FROM lag",
+                Duration.ofSeconds(5), Duration.ofMillis(200));
+        try {
+            long started = System.nanoTime();
+            monitor.check();
+            // 지난 확인이 아직 멈춰 있으면 다시 기다리지 않는다
+            monitor.check();
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+            assertThat(readOnly(hangingRouting::determineCurrentLookupKey)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+            release.countDown();
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+                monitor.check();
+                assertThat(readOnly(hangingRouting::determineCurrentLookupKey)).isEqualTo("replica-1");
+            });
+        } finally {
+            release.countDown();
+            monitor.destroy();
+        }
+    }
+
+    private String readNode() {
+        return readTransaction.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static Object readOnly(Supplier<Object> lookup) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return lookup.get();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private static DataSource database(String name, String node) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", node);
+        jdbcTemplate.execute("CREATE TABLE lag (seconds DOUBLE PRECISION)");
+        jdbcTemplate.update("INSERT INTO lag VALUES (0)");
+        return dataSource;
+    }
+}
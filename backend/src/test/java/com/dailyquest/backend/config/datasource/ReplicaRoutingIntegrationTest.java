@@ -0,0 +1,90 @@
+package com.dailyquest.backend.config.datasource;
+
+import com.dailyquest.backend.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 앱의 JPA 트랜잭션 매니저로 연 트랜잭션이 readOnly 여부에 따라 replica/primary로 가는지 확인한다.
+ * 스키마가 같아야 하므로 replica도 같은 H2 DB를 가리키되 다른 사용자로 접속하고, 트랜잭션이 잡은 커넥션의 사용자로 구분한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.URL
+                + ";INIT=CREATE USER IF NOT EXISTS replica PASSWORD 'replica' ADMIN",
+        "datasource.replica.enabled=true",
+        "datasource.replica.urls=" + ReplicaRoutingIntegrationTest.URL,
+        "datasource.replica.username=replica",
+        "datasource.replica.password=replica",
+        "datasource.replica.lag-query=SELECT 0",
+        "datasource.replica.lag-check-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    static final String URL = "jdbc:h2:mem:replica-routing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String PRIMARY_USER = "SA";
+    private static final String REPLICA_USER = "REPLICA";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private TaskService taskService;
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.setAvailableReplicas(routingDataSource.getReplicas().keySet());
+    }
+
+    @Test
+    @DisplayName("JPA read-only transactions read from the replica, writes and replica-less reads use the primary")
+    void routesJpaTransactions() {
+        assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+
+        assertThat(transactionUser(true)).isEqualTo(REPLICA_USER);
+        assertThat(transactionUser(false)).isEqualTo(PRIMARY_USER);
+
+        routingDataSource.setAvailableReplicas(List.of());
+        assertThat(transactionUser(true)).isEqualTo(PRIMARY_USER);
+    }
+
+    /**
+     * 서비스 조회를 실행한 뒤, 그 트랜잭션에 묶인 JDBC 커넥션의 사용자를 돌려준다.
+     */
+    private String transactionUser(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> {
+            taskService.getAllTasks(1L);
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                return connection.getMetaData().getUserName();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        });
+    }
+}
@@ -0,0 +1,227 @@
+package com.dailyquest.backend.config.datasource;
+
+import com.dailyquest.backend.domain.DomainEventType;
+import com.dailyquest.backend.service.DomainEvent;
+import com.dailyquest.backend.service.EventStreamConsumer;
+import com.dailyquest.backend.service.EventStreamService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard-directory;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.shards.enabled=true",
+        "datasource.shards.urls=jdbc:h2:mem:shard1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:shard2;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.shards.directory-cache-ttl=100ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardRoutingIntegrationTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private EventStreamConsumer eventStreamConsumer;
+
+    @Autowired
+    private EventStreamService eventStreamService;
+
+    @Test
+    @DisplayName("Sign-ups are placed on the ring's shard and their tasks stay on that shard only")
+    void signUpPlacesUsersByRing() throws Exception {
+        Set<String> usedShards = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            String email = uniqueEmail();
+            long userId = signUp(email);
+
+            String shard = shardDirectory.find(userId).orElseThrow().shard();
+            assertThat(shard).isEqualTo(shardDirectory.ring().nodeFor(userId));
+            assertThat(countOn(shard, "SELECT COUNT(*) FROM users WHERE id = ?", userId)).isEqualTo(1);
+            assertThat(countOn(otherShard(shard), "SELECT COUNT(*) FROM users WHERE id = ?", userId)).isZero();
+            usedShards.add(shard);
+
+            String accessToken = login(email).get("accessToken").asText();
+            createTask(accessToken, "task " + i);
+            assertThat(countOn(shard, "SELECT COUNT(*) FROM tasks WHERE user_id = ?", userId)).isEqualTo(1);
+            assertThat(countOn(otherShard(shard), "SELECT COUNT(*) FROM tasks WHERE user_id = ?", userId)).isZero();
+        }
+        assertThat(usedShards).containsExactlyInAnyOrderElementsOf(shardRoutingDataSource.getShardNames());
+    }
+
+    @Test
+    @DisplayName("Duplicate email is rejected across shards and refresh tokens rotate on the user's shard")
+    void duplicateEmailAndRefresh() throws Exception {
+        String email = uniqueEmail();
+        signUp(email);
+
+        mockMvc.perform(post("/api/users/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(signUpBody(email)))
+                .andExpect(status().isConflict());
+
+        String refreshToken = login(email).get("refreshToken").asText();
+        mockMvc.perform(post("/api/users/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.accessToken").exists());
+    }
+
+    @Test
+    @DisplayName("Moving a user keeps their tasks and access tokens working from the new shard")
+    void moveUser() throws Exception {
+        String email = uniqueEmail();
+        long userId = signUp(email);
+        String sessionToken = login(email).get("accessToken").asText();
+        createTask(sessionToken, "before move");
+        String patToken = createAccessToken(sessionToken);
+
+        String from = shardDirectory.find(userId).orElseThrow().shard();
+        String to = otherShard(from);
+        ShardRebalancer rebalancer = new ShardRebalancer(shardDirectory, shardRoutingDataSource.getShards(),
+                Duration.ofMillis(200));
+        assertThat(rebalancer.move(userId, to)).isTrue();
+
+        assertThat(shardDirectory.find(userId).orElseThrow().shard()).isEqualTo(to);
+        assertThat(countOn(from, "SELECT COUNT(*) FROM tasks WHERE user_id = ?", userId)).isZero();
+        assertThat(countOn(to, "SELECT COUNT(*) FROM tasks WHERE user_id = ?", userId)).isEqualTo(1);
+
+        Thread.sleep(200);
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + sessionToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].title").value("before move"));
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + patToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+        createTask(sessionToken, "after move");
+        assertThat(countOn(to, "SELECT COUNT(*) FROM tasks WHERE user_id = ?", userId)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Dashboards pushed over SSE from the scheduler are read from the user's shard")
+    void streamDashboardUsesUsersShard() throws Exception {
+        String defaultShard = shardRoutingDataSource.getShardNames().iterator().next();
+        String email;
+        long userId;
+        do {
+            email = uniqueEmail();
+            userId = signUp(email);
+        } while (shardDirectory.find(userId).orElseThrow().shard().equals(defaultShard));
+        String accessToken = login(email).get("accessToken").asText();
+        createTask(accessToken, "first");
+
+        MvcResult result = mockMvc.perform(get("/api/stream")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        createTask(accessToken, "second");
+
+        // 스케줄러 스레드처럼 인증 정보도 샤드도 없는 스레드에서 대시보드를 보낸다
+        eventStreamConsumer.onEvents(userId, List.of(
+                new DomainEvent(1L, userId, DomainEventType.TASK_CREATED, 2L, LocalDateTime.now())));
+        eventStreamService.flushDashboards();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            String body = result.getResponse().getContentAsString();
+            assertThat(body).contains("\"totalTasks\":1");
+            assertThat(body).contains("\"totalTasks\":2");
+        });
+    }
+
+    private long signUp(String email) throws Exception {
+        String body = mockMvc.perform(post("/api/users/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(signUpBody(email)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).at("/data/id").asLong();
+    }
+
+    private JsonNode login(String email) throws Exception {
+        String body = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+
+    private void createTask(String accessToken, String title) throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", title))))
+                .andExpect(status().isCreated());
+    }
+
+    private String createAccessToken(String sessionToken) throws Exception {
+        String body = mockMvc.perform(post("/api/tokens")
+                        .header("Authorization", "Bearer " + sessionToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"ci\",\"scopes\":[\"READ\"]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).at("/data/token").asText();
+    }
+
+    private String signUpBody(String email) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD, "nickname", "sharded"));
+    }
+
+    private long countOn(String shard, String sql, long userId) {
+        DataSource dataSource = shardRoutingDataSource.getShards().get(shard);
+        return new JdbcTemplate(dataSource).queryForObject(sql, Long.class, userId);
+    }
+
+    private String otherShard(String shard) {
+        return shardRoutingDataSource.getShardNames().stream()
+                .filter(name -> !name.equals(shard))
+                .findFirst().orElseThrow();
+    }
+
+    private static String uniqueEmail() {
+        return "shard-" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+    }
+}
@@ -0,0 +1,142 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.domain.PersonalAccessTokenRepository;
+import com.dailyquest.backend.domain.TokenScope;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import com.dailyquest.backend.dto.AccessTokenDto;
+import com.dailyquest.backend.service.PersonalAccessTokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AccessTokenControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private PersonalAccessTokenService personalAccessTokenService;
+
+    @Autowired
+    private PersonalAccessTokenRepository personalAccessTokenRepository;
+
+    private String sessionToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("pat@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .nickname("scripter")
+                .build());
+        sessionToken = jwtTokenProvider.createToken(user.getId(), user.getEmail());
+    }
+
+    @Test
+    @DisplayName("Read-only access token can read tasks but not create them or manage tokens")
+    void readScope() throws Exception {
+        String token = createToken(Set.of(TokenScope.READ)).get("token").asText();
+
+        assertThat(token).startsWith(PersonalAccessTokenService.TOKEN_PREFIX);
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"from script\"}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tokens")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Write access token can create tasks and its last use is recorded on flush")
+    void writeScope() throws Exception {
+        JsonNode created = createToken(Set.of(TokenScope.WRITE));
+        String token = created.get("token").asText();
+        long tokenId = created.at("/details/id").asLong();
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"from script\"}"))
+                .andExpect(status().isCreated());
+
+        personalAccessTokenService.flushLastUsed();
+        assertThat(personalAccessTokenRepository.findById(tokenId).orElseThrow().getLastUsedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Revoked access token is rejected immediately")
+    void revoke() throws Exception {
+        JsonNode created = createToken(Set.of(TokenScope.READ));
+        String token = created.get("token").asText();
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/tokens/{tokenId}", created.at("/details/id").asLong())
+                        .header("Authorization", "Bearer " + sessionToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tokens")
+                        .header("Authorization", "Bearer " + sessionToken))
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    private JsonNode createToken(Set<TokenScope> scopes) throws Exception {
+        AccessTokenDto.CreateRequest request = AccessTokenDto.CreateRequest.builder()
+                .name("ci")
+                .scopes(scopes)
+                .build();
+
+        String body = mockMvc.perform(post("/api/tokens")
+                        .header("Authorization", "Bearer " + sessionToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+}
@@ -0,0 +1,137 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.domain.Priority;
+import com.dailyquest.backend.domain.Project;
+import com.dailyquest.backend.domain.ProjectRepository;
+import com.dailyquest.backend.domain.Task;
+import com.dailyquest.backend.domain.TaskRepository;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class BootstrapControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("bootstrap@test.com")
+                .password("password")
+                .nickname("bootstrap")
+                .build());
+        Project work = projectRepository.save(Project.builder().user(user).name("Work").color("#3B82F6").build());
+        projectRepository.save(Project.builder().user(user).name("Empty").color("#10B981").build());
+
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 10; i++) {
+            taskRepository.save(Task.builder()
+                    .user(user)
+                    .project(i % 2 == 0 ? work : null)
+                    .title("Task " + i)
+                    .priority(Priority.values()[i % Priority.values().length])
+                    .dueDate(i == 9 ? null : today.plusDays(i - 4))
+                    .isCompleted(i % 3 == 0)
+                    .isRecurring(false)
+                    .build());
+        }
+        token = jwtTokenProvider.createToken(user.getId(), user.getEmail());
+    }
+
+    @Test
+    @DisplayName("GET /api/bootstrap - Return the same data as the separate dashboard, project, task and user endpoints")
+    void bootstrapMatchesSeparateEndpoints() throws Exception {
+        JsonNode bootstrap = read("/api/bootstrap");
+
+        assertThat(bootstrap.get("user")).isEqualTo(read("/api/users/me"));
+        // 대시보드의 프로젝트 통계는 순서를 정하지 않는다
+        ObjectNode dashboard = (ObjectNode) read("/api/dashboard");
+        assertThat(elements(bootstrap.at("/dashboard/projectStats")))
+                .containsExactlyInAnyOrderElementsOf(elements(dashboard.remove("projectStats")));
+        ObjectNode bootstrapDashboard = bootstrap.get("dashboard").deepCopy();
+        bootstrapDashboard.remove("projectStats");
+        assertThat(bootstrapDashboard).isEqualTo(dashboard);
+        assertThat(bootstrap.get("projects")).isEqualTo(read("/api/projects"));
+        assertThat(bootstrap.get("tasks")).isEqualTo(read("/api/tasks"));
+        assertThat(bootstrap.get("weekTasks")).isEqualTo(read("/api/tasks/week"));
+        assertThat(elements(bootstrap.get("todayTasks")))
+                .containsExactlyInAnyOrderElementsOf(elements(read("/api/tasks/today")));
+        assertThat(elements(bootstrap.get("overdueTasks")))
+                .containsExactlyInAnyOrderElementsOf(elements(read("/api/tasks/overdue")));
+        assertThat(bootstrap.at("/dashboard/overdueTasks").asLong()).isEqualTo(bootstrap.get("overdueTasks").size());
+    }
+
+    @Test
+    @DisplayName("GET /api/bootstrap - Personal access tokens cannot read account data through bootstrap")
+    void bootstrapRequiresSession() throws Exception {
+        String body = mockMvc.perform(post("/api/tokens")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"ci\",\"scopes\":[\"READ\"]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String patToken = objectMapper.readTree(body).at("/data/token").asText();
+
+        mockMvc.perform(get("/api/bootstrap")
+                        .header("Authorization", "Bearer " + patToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode read(String path) throws Exception {
+        String body = mockMvc.perform(get(path)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+
+    private static List<JsonNode> elements(JsonNode array) {
+        List<JsonNode> elements = new ArrayList<>();
+        array.forEach(elements::add);
+        return elements;
+    }
+}
@@ -0,0 +1,140 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 로그인, 가입, 비밀번호 변경, 탈퇴의 BCrypt 대기/해싱 동안 요청 스레드가 DB 커넥션이나 트랜잭션을 잡고 있지 않은지 확인한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginConnectionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("Login verifies and rehashes the password without holding a transaction or connection")
+    void hashesOutsideTransaction() throws Exception {
+        String email = "login-" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+        String oldHash = passwordEncoder.encode("password123");
+        User user = userRepository.save(User.builder().email(email).password(oldHash).nickname("login").build());
+
+        List<Boolean> heldWhileHashing = recordConnectionWhileHashing();
+        willReturn(true).given(passwordEncoder).upgradeEncoding(oldHash);
+
+        login(email, "password123");
+        login("nobody-" + email, "password123");
+
+        assertThat(heldWhileHashing).isNotEmpty().containsOnly(false);
+        String newHash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(newHash).isNotEqualTo(oldHash);
+        assertThat(passwordEncoder.matches("password123", newHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Sign-up, password change and account deletion hash without holding a transaction or connection")
+    void accountChangesHashOutsideTransaction() throws Exception {
+        String email = "account-" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+        List<Boolean> heldWhileHashing = recordConnectionWhileHashing();
+
+        mockMvc.perform(post("/api/users/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"password123\",\"nickname\":\"account\"}"))
+                .andExpect(status().isCreated());
+        assertThat(heldWhileHashing).isNotEmpty().containsOnly(false);
+
+        heldWhileHashing.clear();
+        User user = userRepository.findByEmail(email).orElseThrow();
+        String token = jwtTokenProvider.createToken(user.getId(), email);
+        mockMvc.perform(patch("/api/users/me/password")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"password123\",\"newPassword\":\"password456\"}"))
+                .andExpect(status().isOk());
+        assertThat(heldWhileHashing).hasSize(2).containsOnly(false);
+        assertThat(passwordEncoder.matches("password456", userRepository.findPasswordById(user.getId()).orElseThrow()))
+                .isTrue();
+
+        heldWhileHashing.clear();
+        mockMvc.perform(delete("/api/users/me")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"password\":\"password456\"}"))
+                .andExpect(status().isOk());
+        assertThat(heldWhileHashing).hasSize(1).containsOnly(false);
+        assertThat(userRepository.findPasswordById(user.getId())).isEmpty();
+    }
+
+    private List<Boolean> recordConnectionWhileHashing() {
+        List<Boolean> heldWhileHashing = new ArrayList<>();
+        willAnswer(invocation -> {
+            heldWhileHashing.add(holdsConnection());
+            return invocation.callRealMethod();
+        }).given(passwordEncoder).matches(any(), anyString());
+        willAnswer(invocation -> {
+            heldWhileHashing.add(holdsConnection());
+            return invocation.callRealMethod();
+        }).given(passwordEncoder).encode(any());
+        return heldWhileHashing;
+    }
+
+    private void login(String email, String password) throws Exception {
+        mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().is(email.startsWith("nobody-") ? 401 : 200));
+    }
+
+    private boolean holdsConnection() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return true;
+        }
+        // 트랜잭션이 끝난 뒤에도 스레드에 묶인 EntityManager가 커넥션을 들고 있을 수 있다
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+        return holder != null && holder.getEntityManager().unwrap(SessionImplementor.class)
+                .getJdbcCoordinator().getLogicalConnection().isPhysicallyConnected();
+    }
+}
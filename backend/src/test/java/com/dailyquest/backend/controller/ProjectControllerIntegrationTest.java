@@ -11,12 +11,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -67,6 +69,26 @@ class ProjectControllerIntegrationTest {
         otherUserToken = jwtTokenProvider.createToken(otherUser.getId(), otherUser.getEmail());
     }
 
+    @Test
+    @DisplayName("POST /api/projects - Fail with not found when the user was deleted but the access token is still valid")
+    void createProject_NotFound_WhenUserDeleted() throws Exception {
+        User deleted = userRepository.save(User.builder()
+                .email("deleted-project@test.com")
+                .password("encoded")
+                .nickname("deleted")
+                .build());
+        String token = jwtTokenProvider.createToken(deleted.getId(), deleted.getEmail());
+        userRepository.delete(deleted);
+        userRepository.flush();
+
+        mockMvc.perform(post("/api/projects")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"orphan\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(404001));
+    }
+
     @Test
     @DisplayName("GET /api/projects/{projectId} - Fail with forbidden when project owner is different")
     void getProject_Forbidden_WhenNotOwner() throws Exception {
@@ -0,0 +1,192 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.config.QueryBudget;
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.domain.Priority;
+import com.dailyquest.backend.domain.Project;
+import com.dailyquest.backend.domain.ProjectRepository;
+import com.dailyquest.backend.domain.Task;
+import com.dailyquest.backend.domain.TaskRepository;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import com.dailyquest.backend.service.ChangeTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 엔드포인트별 SQL 수 상한. 인증(JWT 검증, 폐기 목록)은 메모리에서 끝나므로 DB를 조회하지 않는다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class QueryBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String token;
+    private Long projectId;
+    private Long taskId;
+    private String tasksETag;
+    private String taskETag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User user = userRepository.save(User.builder()
+                .email("endpoint-budget@test.com")
+                .password("password")
+                .nickname("budget")
+                .build());
+        changeTracker.userCreated(user.getId());
+
+        for (int p = 0; p < 3; p++) {
+            Project project = projectRepository.save(Project.builder()
+                    .user(user)
+                    .name("Project " + p)
+                    .color("#10B981")
+                    .build());
+            projectId = project.getId();
+
+            for (int t = 0; t < 3; t++) {
+                taskId = taskRepository.save(Task.builder()
+                        .user(user)
+                        .project(project)
+                        .title("Task " + p + "-" + t)
+                        .priority(Priority.MEDIUM)
+                        .dueDate(LocalDate.now().plusDays(t - 1))
+                        .isCompleted(false)
+                        .isRecurring(false)
+                        .build()).getId();
+            }
+        }
+
+        token = jwtTokenProvider.createToken(user.getId(), user.getEmail());
+        tasksETag = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+        taskETag = mockMvc.perform(get("/api/tasks/{taskId}", taskId)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    @Test
+    @QueryBudget(2)
+    @DisplayName("GET /api/tasks - ETag lookup plus one task query")
+    void getAllTasks() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(9));
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("GET /api/tasks - 304 only reads the change counter")
+    void getAllTasks_NotModified() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", tasksETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("GET /api/tasks/{taskId} - 304 only reads the change counter")
+    void getTask_NotModified() throws Exception {
+        mockMvc.perform(get("/api/tasks/{taskId}", taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", taskETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @QueryBudget(3)
+    @DisplayName("GET /api/tasks/project/{projectId}")
+    void getTasksByProject() throws Exception {
+        mockMvc.perform(get("/api/tasks/project/{projectId}", projectId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(3)
+    @DisplayName("GET /api/bootstrap - user, projects and one task scan")
+    void getBootstrap() throws Exception {
+        mockMvc.perform(get("/api/bootstrap")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.tasks.length()").value(9))
+                .andExpect(jsonPath("$.data.dashboard.projectStats.length()").value(3));
+    }
+
+    @Test
+    @QueryBudget(7)
+    @DisplayName("GET /api/dashboard")
+    void getDashboard() throws Exception {
+        mockMvc.perform(get("/api/dashboard")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.projectStats.length()").value(3));
+    }
+
+    @Test
+    @QueryBudget(3)
+    @DisplayName("GET /api/projects - ETag lookup, projects and one aggregate count query")
+    void getAllProjects() throws Exception {
+        mockMvc.perform(get("/api/projects")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(4)
+    @DisplayName("POST /api/tasks")
+    void createTask() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New task\",\"projectId\":" + projectId + "}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @QueryBudget(5)
+    @DisplayName("PATCH /api/tasks/{taskId}/complete - includes the change counter read for the response ETag")
+    void completeTask() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{taskId}/complete", taskId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,127 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.domain.Task;
+import com.dailyquest.backend.domain.TaskRepository;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import com.dailyquest.backend.service.ChangeTracker;
+import com.dailyquest.backend.util.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "stale-snapshot.failure-threshold=2",
+        "stale-snapshot.open-duration=300ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StaleSnapshotIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private StaleSnapshotSupport staleSnapshotSupport;
+
+    @MockitoSpyBean
+    private ChangeTracker changeTracker;
+
+    @Test
+    @DisplayName("GET /api/dashboard - Serve the last snapshot as stale while the database fails, then refresh after recovery")
+    void dashboardFallsBackToSnapshot() throws Exception {
+        User user = saveUser();
+        String token = token(user);
+        String newcomerToken = token(saveUser());
+
+        mockMvc.perform(get("/api/dashboard").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stale").doesNotExist())
+                .andExpect(jsonPath("$.data.totalTasks").value(0));
+
+        doThrow(new CannotCreateTransactionException("connection refused"))
+                .when(changeTracker).currentVersion(anyLong());
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-store"))
+                    .andExpect(header().exists("Age"))
+                    .andExpect(jsonPath("$.stale").value(true))
+                    .andExpect(jsonPath("$.data.totalTasks").value(0));
+        }
+        assertThat(staleSnapshotSupport.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // 회로가 열린 동안은 DB에 가지 않는다
+        clearInvocations(changeTracker);
+        mockMvc.perform(get("/api/dashboard").header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$.stale").value(true));
+        mockMvc.perform(get("/api/projects").header("Authorization", "Bearer " + newcomerToken))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.code").value(503001));
+        verify(changeTracker, never()).currentVersion(anyLong());
+
+        taskRepository.save(Task.builder().user(user).title("written elsewhere").build());
+        doCallRealMethod().when(changeTracker).currentVersion(anyLong());
+        Thread.sleep(300);
+
+        // open-duration이 지나도 사용자는 기다리지 않고 스냅샷을 받고, 시험 조회는 백그라운드에서 돈다
+        mockMvc.perform(get("/api/dashboard").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stale").value(true));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (staleSnapshotSupport.circuitState() != CircuitBreaker.State.CLOSED) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+
+        mockMvc.perform(get("/api/dashboard").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.stale").doesNotExist())
+                .andExpect(jsonPath("$.data.totalTasks").value(1));
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .email("stale-" + UUID.randomUUID().toString().substring(0, 8) + "@test.com")
+                .password("encoded")
+                .nickname("stale")
+                .build());
+    }
+
+    private String token(User user) {
+        return jwtTokenProvider.createToken(user.getId(), user.getEmail());
+    }
+}
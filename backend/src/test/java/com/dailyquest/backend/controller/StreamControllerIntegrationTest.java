@@ -0,0 +1,129 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.domain.DomainEventType;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import com.dailyquest.backend.service.DomainEvent;
+import com.dailyquest.backend.service.EventStreamConsumer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class StreamControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private EventStreamConsumer eventStreamConsumer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("stream@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .nickname("streamer")
+                .build());
+        token = jwtTokenProvider.createToken(user.getId(), user.getEmail());
+    }
+
+    @Test
+    @DisplayName("GET /api/stream - Fail without token")
+    void stream_Forbidden_WithoutToken() throws Exception {
+        mockMvc.perform(get("/api/stream"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("GET /api/stream - Send dashboard snapshot and push change events")
+    void stream_PushesChanges() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/stream")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        eventStreamConsumer.onEvents(user.getId(), List.of(
+                new DomainEvent(1L, user.getId(), DomainEventType.TASK_CREATED, 42L, LocalDateTime.now())));
+
+        // 이벤트는 송신 스레드에서 쓰인다
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            String body = result.getResponse().getContentAsString();
+            assertThat(body).contains("event:dashboard");
+            assertThat(body).contains("event:change");
+            assertThat(body).contains("\"type\":\"TASK_CREATED\"");
+        });
+    }
+
+    @Test
+    @DisplayName("GET /api/stream - Connect with a single-use ticket instead of the JWT")
+    void stream_ConnectsWithTicketOnce() throws Exception {
+        String body = mockMvc.perform(post("/api/stream/ticket")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String ticket = objectMapper.readTree(body).at("/data/ticket").asText();
+
+        mockMvc.perform(get("/api/stream")
+                        .param("ticket", ticket))
+                .andExpect(request().asyncStarted());
+
+        mockMvc.perform(get("/api/stream")
+                        .param("ticket", ticket))
+                .andExpect(status().isForbidden());
+        // 티켓은 access token으로 쓸 수 없다
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + ticket))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("GET /api/stream - JWT in the query string is not accepted")
+    void queryToken_Rejected() throws Exception {
+        mockMvc.perform(get("/api/stream")
+                        .param("access_token", token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tasks")
+                        .param("access_token", token))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,202 @@
+package com.dailyquest.backend.controller;
+
+import com.dailyquest.backend.config.jwt.JwtTokenProvider;
+import com.dailyquest.backend.domain.Priority;
+import com.dailyquest.backend.domain.Project;
+import com.dailyquest.backend.domain.ProjectRepository;
+import com.dailyquest.backend.domain.Task;
+import com.dailyquest.backend.domain.TaskRepository;
+import com.dailyquest.backend.domain.User;
+import com.dailyquest.backend.domain.UserRepository;
+import com.dailyquest.backend.dto.SyncDto;
+import com.dailyquest.backend.dto.TaskDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SyncControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private Task task;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("sync@test.com")
+                .password("password123")
+                .nickname("syncer")
+                .build());
+
+        Project project = projectRepository.save(Project.builder()
+                .user(user)
+                .name("Sync Project")
+                .build());
+
+        task = taskRepository.save(Task.builder()
+                .user(user)
+                .project(project)
+                .title("Sync Task")
+                .priority(Priority.HIGH)
+                .dueDate(LocalDate.now())
+                .build());
+
+        accessToken = jwtTokenProvider.createToken(user.getId(), user.getEmail());
+    }
+
+    @Test
+    @DisplayName("GET /api/sync - Full snapshot without token")
+    void getChanges_FullSync() throws Exception {
+        mockMvc.perform(get("/api/sync")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.fullSync").value(true))
+                .andExpect(jsonPath("$.data.nextToken").isNotEmpty())
+                .andExpect(jsonPath("$.data.tasks[0].title").value("Sync Task"))
+                .andExpect(jsonPath("$.data.tasks[0].projectName").value("Sync Project"))
+                .andExpect(jsonPath("$.data.projects[0].taskCount").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync - Delta contains tombstone for deleted task")
+    void getChanges_DeltaWithTombstone() throws Exception {
+        String body = mockMvc.perform(get("/api/sync")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode data = objectMapper.readTree(body).get("data");
+
+        mockMvc.perform(delete("/api/tasks/{taskId}", task.getId())
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/sync")
+                        .param("since", data.get("nextToken").asText())
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.fullSync").value(false))
+                .andExpect(jsonPath("$.data.deleted[0].type").value("TASK"))
+                .andExpect(jsonPath("$.data.deleted[0].id").value(task.getId()));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync - Fail with malformed token")
+    void getChanges_InvalidToken() throws Exception {
+        mockMvc.perform(get("/api/sync")
+                        .param("since", "not-a-token")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400002));
+    }
+
+    @Test
+    @DisplayName("POST /api/sync/mutations - Apply batch and report version conflicts")
+    void applyMutations() throws Exception {
+        String clientTaskId = "0190a6e0-0000-7000-8000-00000000c001";
+        SyncDto.MutationBatchRequest request = SyncDto.MutationBatchRequest.builder()
+                .mutations(List.of(
+                        SyncDto.Mutation.builder()
+                                .mutationId("0190a6e0-0000-7000-8000-000000000001")
+                                .type(SyncDto.MutationType.CREATE)
+                                .clientTaskId(clientTaskId)
+                                .create(TaskDto.CreateRequest.builder().title("Offline Task").build())
+                                .build(),
+                        SyncDto.Mutation.builder()
+                                .mutationId("0190a6e0-0000-7000-8000-000000000002")
+                                .type(SyncDto.MutationType.UPDATE)
+                                .clientTaskId(clientTaskId)
+                                .update(TaskDto.UpdateRequest.builder().title("Offline Task (edited)").build())
+                                .build(),
+                        SyncDto.Mutation.builder()
+                                .mutationId("0190a6e0-0000-7000-8000-000000000003")
+                                .type(SyncDto.MutationType.COMPLETE)
+                                .taskId(task.getId())
+                                .baseVersion(task.getVersion() + 1)
+                                .build()))
+                .build();
+
+        mockMvc.perform(post("/api/sync/mutations")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.applied").value(2))
+                .andExpect(jsonPath("$.data.results[0].status").value("APPLIED"))
+                .andExpect(jsonPath("$.data.results[1].task.title").value("Offline Task (edited)"))
+                .andExpect(jsonPath("$.data.results[2].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.data.results[2].task.isCompleted").value(false));
+
+        // 응답을 받지 못한 클라이언트가 같은 생성을 재전송해도 중복 생성되지 않는다
+        mockMvc.perform(post("/api/sync/mutations")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(SyncDto.MutationBatchRequest.builder()
+                                .mutations(List.of(request.getMutations().get(0)))
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.results[0].status").value("DUPLICATE"));
+    }
+
+    @Test
+    @DisplayName("POST /api/sync/mutations - Fail when mutations are not in mutationId order")
+    void applyMutations_OutOfOrder() throws Exception {
+        SyncDto.MutationBatchRequest request = SyncDto.MutationBatchRequest.builder()
+                .mutations(List.of(
+                        SyncDto.Mutation.builder()
+                                .mutationId("0190a6e0-0000-7000-8000-000000000002")
+                                .type(SyncDto.MutationType.COMPLETE)
+                                .taskId(task.getId())
+                                .build(),
+                        SyncDto.Mutation.builder()
+                                .mutationId("0190a6e0-0000-7000-8000-000000000001")
+                                .type(SyncDto.MutationType.UNCOMPLETE)
+                                .taskId(task.getId())
+                                .build()))
+                .build();
+
+        mockMvc.perform(post("/api/sync/mutations")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400002));
+    }
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,7 +22,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -49,7 +56,9 @@ class TaskControllerIntegrationTest {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    private Project ownerProject;
     private Task ownerTask;
+    private String ownerToken;
     private String otherUserToken;
 
     @BeforeEach
@@ -66,7 +75,7 @@ class TaskControllerIntegrationTest {
                 .nickname("other")
                 .build());
 
-        Project ownerProject = projectRepository.save(Project.builder()
+        ownerProject = projectRepository.save(Project.builder()
                 .user(owner)
                 .name("Owner Project")
                 .color("#3B82F6")
@@ -82,9 +91,30 @@ class TaskControllerIntegrationTest {
                 .isRecurring(false)
                 .build());
 
+        ownerToken = jwtTokenProvider.createToken(owner.getId(), owner.getEmail());
         otherUserToken = jwtTokenProvider.createToken(otherUser.getId(), otherUser.getEmail());
     }
 
+    @Test
+    @DisplayName("POST /api/tasks - Fail with not found when the user was deleted but the access token is still valid")
+    void createTask_NotFound_WhenUserDeleted() throws Exception {
+        User deleted = userRepository.save(User.builder()
+                .email("deleted@test.com")
+                .password("encoded")
+                .nickname("deleted")
+                .build());
+        String token = jwtTokenProvider.createToken(deleted.getId(), deleted.getEmail());
+        userRepository.delete(deleted);
+        userRepository.flush();
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"orphan\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(404001));
+    }
+
     @Test
     @DisplayName("GET /api/tasks/{taskId} - Fail with forbidden when task owner is different")
     void getTask_Forbidden_WhenNotOwner() throws Exception {
@@ -94,4 +124,184 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.code").value(403001));
     }
+
+    @Test
+    @DisplayName("GET /api/tasks - Return 304 when If-None-Match matches the current ETag")
+    void getAllTasks_NotModified_WhenETagMatches() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - Return fresh body after the task list changes")
+    void getAllTasks_Ok_WhenChangedAfterETag() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(patch("/api/tasks/{taskId}/complete", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].isCompleted").value(true));
+    }
+
+    @Test
+    @DisplayName("PUT /api/tasks/{taskId} - Fail with precondition failed when If-Match version is stale")
+    void updateTask_PreconditionFailed_WhenVersionStale() throws Exception {
+        long staleVersion = ownerTask.getVersion() + 1;
+
+        mockMvc.perform(put("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("If-Match", "\"" + staleVersion + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value(412000));
+    }
+
+    @Test
+    @DisplayName("PUT /api/tasks/{taskId} - Accept the ETag from GET as If-Match and return the new version as ETag")
+    void updateTask_Ok_WhenIfMatchIsETagFromGet() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + ownerTask.getVersion() + "-")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String updatedETag = mockMvc.perform(put("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value("Renamed"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", updatedETag));
+        assertThat(updatedETag).isNotEqualTo(eTag);
+
+        mockMvc.perform(put("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed again\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId} - Return 304 until the task or its project changes")
+    void getTask_NotModified_UntilChanged() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+
+        // 프로젝트 이름은 Task.version을 올리지 않지만 응답에 들어간다
+        mockMvc.perform(put("/api/projects/{projectId}", ownerProject.getId())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed Project\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.projectName").value("Renamed Project"))
+                .andExpect(header().string("ETag", startsWith("\"" + ownerTask.getVersion() + "-")));
+    }
+
+    @Test
+    @DisplayName("PUT /api/tasks/{taskId} - Fail with precondition failed when If-Match is a weak ETag")
+    void updateTask_PreconditionFailed_WhenIfMatchWeak() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(put("/api/tasks/{taskId}", ownerTask.getId())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("If-Match", "W/" + eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value(412000));
+    }
+
+    @Test
+    @DisplayName("POST /api/tasks - Replay the first response when Idempotency-Key is retried")
+    void createTask_ReplaysResponse_WhenIdempotencyKeyRetried() throws Exception {
+        long before = taskRepository.count();
+        String body = "{\"title\":\"Retried Task\",\"priority\":\"HIGH\"}";
+
+        String firstId = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        String secondId = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(secondId).isEqualTo(firstId);
+        assertThat(taskRepository.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("POST /api/tasks - Return the task another instance already created with the same Idempotency-Key")
+    void createTask_ReturnsStoredTask_WhenKeyUsedOnAnotherInstance() throws Exception {
+        // 다른 인스턴스가 같은 키로 만든 Task. 이 인스턴스의 메모리에는 응답이 없다
+        Task stored = Task.builder()
+                .user(ownerTask.getUser())
+                .title("Created elsewhere")
+                .priority(Priority.HIGH)
+                .isCompleted(false)
+                .isRecurring(false)
+                .build();
+        stored.assignClientId("create-elsewhere");
+        taskRepository.save(stored);
+        long before = taskRepository.count();
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .header("Idempotency-Key", "create-elsewhere")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Created elsewhere\",\"priority\":\"HIGH\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.data.id").value(stored.getId()));
+
+        assertThat(taskRepository.count()).isEqualTo(before);
+    }
 }
@@ -17,6 +17,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -102,7 +103,74 @@ class UserControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.data.accessToken").exists());
+                .andExpect(jsonPath("$.data.accessToken").exists())
+                .andExpect(jsonPath("$.data.refreshToken").exists())
+                .andExpect(jsonPath("$.data.expiresIn").value(3600));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/refresh - Rotate the refresh token")
+    void refresh() throws Exception {
+        String refreshToken = loginAndGetRefreshToken();
+
+        String body = mockMvc.perform(post("/api/users/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(refreshToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.accessToken").exists())
+                .andReturn().getResponse().getContentAsString();
+        String rotated = objectMapper.readTree(body).at("/data/refreshToken").asText();
+        String newAccessToken = objectMapper.readTree(body).at("/data/accessToken").asText();
+
+        assertThat(rotated).isNotEqualTo(refreshToken);
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + newAccessToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/users/refresh - Reusing a rotated token revokes the whole family")
+    void refresh_ReuseRevokesFamily() throws Exception {
+        String refreshToken = loginAndGetRefreshToken();
+
+        String body = mockMvc.perform(post("/api/users/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(refreshToken)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String rotated = objectMapper.readTree(body).at("/data/refreshToken").asText();
+
+        mockMvc.perform(post("/api/users/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(refreshToken)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.code").value(401005));
+
+        mockMvc.perform(post("/api/users/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(rotated)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("POST /api/users/logout - Revoke the access token and refresh token")
+    void logout() throws Exception {
+        String refreshToken = loginAndGetRefreshToken();
+
+        mockMvc.perform(post("/api/users/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(refreshToken)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/users/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(refreshToken)))
+                .andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -155,4 +223,22 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data").value(true));
     }
+
+    private String loginAndGetRefreshToken() throws Exception {
+        UserDto.LoginRequest request = UserDto.LoginRequest.builder()
+                .email("test@test.com")
+                .password("password123")
+                .build();
+
+        String body = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).at("/data/refreshToken").asText();
+    }
+
+    private String refreshBody(String refreshToken) throws Exception {
+        return objectMapper.writeValueAsString(new UserDto.RefreshRequest(refreshToken));
+    }
 }
@@ -0,0 +1,112 @@
+package com.dailyquest.backend.domain;
+
+import com.dailyquest.backend.config.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * tasks를 user_id로 해시 파티셔닝하면(db/partitioning) user_id 조건이 있는 SQL만 파티션 하나를 읽는다.
+ * TaskRepository의 모든 조회가 tasks의 user_id 컬럼에 직접 조건을 거는지 생성된 SQL로 확인한다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskPartitionPruningTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private Long userId;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("pruning@test.com")
+                .password("password123")
+                .nickname("pruning")
+                .build());
+        userId = user.getId();
+        projectId = projectRepository.save(Project.builder()
+                .user(user)
+                .name("Pruning")
+                .color("#3B82F6")
+                .build()).getId();
+    }
+
+    private Map<String, Consumer<TaskRepository>> queries() {
+        LocalDate today = LocalDate.now();
+        Map<String, Consumer<TaskRepository>> queries = new LinkedHashMap<>();
+        queries.put("findByUserIdOrderByCreatedAtDesc", r -> r.findByUserIdOrderByCreatedAtDesc(userId));
+        queries.put("findByUserIdAndIsCompleted", r -> r.findByUserIdAndIsCompleted(userId, false));
+        queries.put("findByUserIdAndDueDate", r -> r.findByUserIdAndDueDate(userId, today));
+        queries.put("findByUserIdAndDueDateBetween", r -> r.findByUserIdAndDueDateBetween(userId, today, today));
+        queries.put("findByUserIdAndProjectId", r -> r.findByUserIdAndProjectId(userId, projectId));
+        queries.put("findByProjectIdAndUserIdOrderByCreatedAtDesc",
+                r -> r.findByProjectIdAndUserIdOrderByCreatedAtDesc(projectId, userId));
+        queries.put("findByUserIdAndPriorityOrderByDueDateAsc",
+                r -> r.findByUserIdAndPriorityOrderByDueDateAsc(userId, Priority.HIGH));
+        queries.put("findOverdueTasks", r -> r.findOverdueTasks(userId, today));
+        queries.put("countOverdueTasks", r -> r.countOverdueTasks(userId, today));
+        queries.put("findRecurringParentTasks", r -> r.findRecurringParentTasks(userId));
+        queries.put("findByIdAndUserId", r -> r.findByIdAndUserId(1L, userId));
+        queries.put("findWithProjectByIdAndUserId", r -> r.findWithProjectByIdAndUserId(1L, userId));
+        queries.put("findChangedSince", r -> r.findChangedSince(userId, LocalDateTime.now().minusDays(1)));
+        queries.put("findAllForSync", r -> r.findAllForSync(userId));
+        queries.put("findAllByUserIdAndIdIn", r -> r.findAllByUserIdAndIdIn(userId, List.of(1L, 2L)));
+        queries.put("findAllByUserIdAndClientIdIn", r -> r.findAllByUserIdAndClientIdIn(userId, List.of("a")));
+        queries.put("countByUserId", r -> r.countByUserId(userId));
+        queries.put("countByUserIdAndIsCompleted", r -> r.countByUserIdAndIsCompleted(userId, true));
+        queries.put("countDueTasksByCompletion",
+                r -> r.countDueTasksByCompletion(userId, today, today, today.plusDays(6)));
+        queries.put("countTasksByProjectIds", r -> r.countTasksByProjectIds(userId, List.of(projectId)));
+        return queries;
+    }
+
+    @Test
+    @DisplayName("Every TaskRepository query method is covered by this test")
+    void coversAllQueryMethods() {
+        Set<String> declared = Arrays.stream(TaskRepository.class.getDeclaredMethods())
+                .map(method -> method.getName())
+                .collect(Collectors.toSet());
+
+        assertThat(queries().keySet()).containsExactlyInAnyOrderElementsOf(declared);
+    }
+
+    @Test
+    @DisplayName("Every TaskRepository query filters tasks on the user_id column")
+    void everyQueryFiltersOnUserId() {
+        queries().forEach((name, query) -> {
+            RecordingStatementInspector.start();
+            query.accept(taskRepository);
+            List<String> statements = RecordingStatementInspector.stop();
+
+            assertThat(statements).as(name).isNotEmpty();
+            // users를 조인한 뒤 u.id로 거르면 tasks 쪽 조건이 아니므로 pruning을 보장할 수 없다
+            assertThat(statements).as(name)
+                    .allSatisfy(sql -> assertThat(sql).containsPattern("\\bt\\d+_0\\.user_id=\\?")
+                            .doesNotContain("join users"));
+        });
+    }
+}
@@ -109,6 +109,33 @@ class TaskRepositoryTest {
         assertThat(todayTasks.get(0).getTitle()).isEqualTo("Today Task");
     }
 
+    @Test
+    @DisplayName("Count tasks due today and in the period by completion")
+    void countDueTasksByCompletion() {
+        // given
+        LocalDate today = LocalDate.of(2026, 10, 14);
+        taskRepository.save(Task.builder().user(testUser).title("Today").dueDate(today).isCompleted(false).build());
+        taskRepository.save(Task.builder().user(testUser).title("Today Done").dueDate(today).isCompleted(true).build());
+        taskRepository.save(Task.builder().user(testUser).title("Week").dueDate(today.plusDays(2)).isCompleted(false).build());
+        taskRepository.save(Task.builder().user(testUser).title("Next Week").dueDate(today.plusDays(7)).isCompleted(true).build());
+
+        // when
+        List<Object[]> rows = taskRepository.countDueTasksByCompletion(
+                testUser.getId(), today, today.minusDays(2), today.plusDays(4));
+
+        // then: [완료 여부, 기간 내 수, 오늘 수]
+        assertThat(rows).hasSize(2);
+        for (Object[] row : rows) {
+            if (Boolean.TRUE.equals(row[0])) {
+                assertThat(((Number) row[1]).longValue()).isEqualTo(1);
+                assertThat(((Number) row[2]).longValue()).isEqualTo(1);
+            } else {
+                assertThat(((Number) row[1]).longValue()).isEqualTo(2);
+                assertThat(((Number) row[2]).longValue()).isEqualTo(1);
+            }
+        }
+    }
+
     @Test
     @DisplayName("Find overdue tasks")
     void findOverdueTasks() {
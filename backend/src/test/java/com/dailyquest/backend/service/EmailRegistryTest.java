@@ -0,0 +1,106 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.domain.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class EmailRegistryTest {
+
+    private static final Duration REFRESH = Duration.ofSeconds(30);
+
+    @Mock
+    private UserRepository userRepository;
+
+    // 커밋된 사용자 (id → email)
+    private final TreeMap<Long, String> committed = new TreeMap<>();
+    private long nanos;
+    private EmailRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        given(userRepository.count()).willAnswer(invocation -> (long) committed.size());
+        given(userRepository.findEmailsAfter(anyLong(), any(Pageable.class))).willAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return committed.tailMap(afterId, false).entrySet().stream()
+                    .limit(pageable.getPageSize())
+                    .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                    .toList();
+        });
+        // DB는 커밋된 사용자만 안다
+        given(userRepository.existsByEmail(anyString())).willAnswer(invocation ->
+                committed.containsValue(invocation.<String>getArgument(0)));
+
+        registry = new EmailRegistry(userRepository, null, new SimpleMeterRegistry(), 1000, 0.01,
+                Duration.ofMinutes(5), Duration.ofHours(24), () -> nanos);
+        committed.put(1L, "a@test.com");
+        committed.put(2L, "b@test.com");
+        registry.rebuild();
+    }
+
+    @Test
+    @DisplayName("A sign-up committed after a higher id is still picked up by the overlapping reload")
+    void lateCommitWithLowerId() {
+        // id 3의 트랜잭션이 열려 있는 동안 id 4가 먼저 커밋된다
+        committed.put(4L, "d@test.com");
+        advance(REFRESH);
+        registry.refresh();
+        assertThat(registry.exists("d@test.com")).isTrue();
+
+        committed.put(3L, "c@test.com");
+        advance(REFRESH);
+        registry.refresh();
+        assertThat(registry.exists("c@test.com")).isTrue();
+
+        // overlap이 지난 뒤에도 그 뒤에 읽은 id부터 이어서 읽는다
+        for (int i = 0; i < 12; i++) {
+            advance(REFRESH);
+            registry.refresh();
+        }
+        committed.put(5L, "e@test.com");
+        advance(REFRESH);
+        registry.refresh();
+        assertThat(registry.exists("e@test.com")).isTrue();
+        assertThat(registry.exists("nobody@test.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("The filter is rebuilt after the rebuild interval to catch sign-ups older than the overlap")
+    void periodicRebuild() {
+        committed.put(4L, "d@test.com");
+        advance(REFRESH);
+        registry.refresh();
+
+        // overlap보다 오래 열려 있던 트랜잭션
+        advance(Duration.ofMinutes(10));
+        registry.refresh();
+        committed.put(3L, "c@test.com");
+        advance(REFRESH);
+        registry.refresh();
+        assertThat(registry.exists("c@test.com")).isFalse();
+
+        advance(Duration.ofHours(24));
+        registry.refresh();
+        assertThat(registry.exists("c@test.com")).isTrue();
+    }
+
+    private void advance(Duration duration) {
+        nanos += duration.toNanos();
+    }
+}
@@ -0,0 +1,145 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.exception.BusinessException;
+import com.dailyquest.backend.exception.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyService idempotencyService;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(new ObjectMapper(), Duration.ofHours(1), 1000, 4, 2);
+        executions = new AtomicInteger();
+    }
+
+    private ResponseEntity<String> create() {
+        return ResponseEntity.status(HttpStatus.CREATED).body("created-" + executions.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("Execute - Run every time when no key is given")
+    void execute_NoKey_AlwaysRuns() {
+        idempotencyService.execute(1L, "tasks", null, Map.of("title", "A"), this::create);
+        idempotencyService.execute(1L, "tasks", null, Map.of("title", "A"), this::create);
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Execute - Replay first response for the same key and body")
+    void execute_SameKey_ReplaysResponse() {
+        ResponseEntity<String> first = idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "A"), this::create);
+        ResponseEntity<String> second = idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "A"), this::create);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Execute - Keys are scoped per user")
+    void execute_DifferentUser_RunsAgain() {
+        idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "A"), this::create);
+        idempotencyService.execute(2L, "tasks", "key-1", Map.of("title", "A"), this::create);
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Execute - Fail when the key is reused with a different body")
+    void execute_DifferentBody_Fail() {
+        idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "A"), this::create);
+
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "B"), this::create))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+    }
+
+    @Test
+    @DisplayName("Execute - Fail with conflict while the first request is still running")
+    void execute_InFlight_Conflict() {
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "A"),
+                () -> idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "A"), this::create)))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("Execute - Failed request releases the key for a retry")
+    void execute_Failure_ReleasesKey() {
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "A"),
+                () -> {
+                    throw new BusinessException(ErrorCode.PROJECT_NOT_FOUND);
+                }))
+                .isInstanceOf(BusinessException.class);
+
+        ResponseEntity<String> retry = idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "A"), this::create);
+
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Execute - Keep a running key even when completed responses fill the cache")
+    void execute_InFlight_NotEvicted() {
+        IdempotencyService small = new IdempotencyService(new ObjectMapper(), Duration.ofHours(1), 1, 1, 2);
+
+        assertThatThrownBy(() -> small.execute(1L, "tasks", "running", Map.of("title", "A"), () -> {
+            // 처리 중에 다른 키의 응답이 용량을 채운다
+            small.execute(2L, "tasks", "other-1", Map.of("title", "B"), this::create);
+            small.execute(2L, "tasks", "other-2", Map.of("title", "C"), this::create);
+            return small.execute(1L, "tasks", "running", Map.of("title", "A"), this::create);
+        }))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("Execute - Limit the keys one user can have in progress at once")
+    void execute_TooManyInFlightPerUser() {
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "tasks", "key-1", Map.of("title", "A"),
+                () -> idempotencyService.execute(1L, "tasks", "key-2", Map.of("title", "B"),
+                        () -> idempotencyService.execute(1L, "tasks", "key-3", Map.of("title", "C"), this::create))))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.TOO_MANY_REQUESTS);
+
+        // 다른 사용자와 끝난 요청은 제한에 들지 않는다
+        idempotencyService.execute(2L, "tasks", "key-1", Map.of("title", "A"),
+                () -> idempotencyService.execute(2L, "tasks", "key-2", Map.of("title", "B"), this::create));
+        idempotencyService.execute(1L, "tasks", "key-4", Map.of("title", "D"), this::create);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Client id - Use short keys as is and shorten long keys to the column length")
+    void clientIdOf() {
+        assertThat(IdempotencyService.clientIdOf(null)).isNull();
+        assertThat(IdempotencyService.clientIdOf("550e8400-e29b-41d4-a716-446655440000"))
+                .isEqualTo("550e8400-e29b-41d4-a716-446655440000");
+        String longKey = "k".repeat(200);
+        assertThat(IdempotencyService.clientIdOf(longKey))
+                .hasSize(36)
+                .isEqualTo(IdempotencyService.clientIdOf(longKey))
+                .isNotEqualTo(IdempotencyService.clientIdOf(longKey + "x"));
+    }
+}
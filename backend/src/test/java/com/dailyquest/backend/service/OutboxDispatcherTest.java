@@ -0,0 +1,214 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.domain.DomainEventType;
+import com.dailyquest.backend.domain.OutboxCheckpoint;
+import com.dailyquest.backend.domain.OutboxCheckpointRepository;
+import com.dailyquest.backend.domain.OutboxEvent;
+import com.dailyquest.backend.domain.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxCheckpointRepository outboxCheckpointRepository;
+
+    private final List<OutboxEvent> stored = new ArrayList<>();
+    private long nanos;
+    private RecordingConsumer consumer;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new RecordingConsumer();
+        dispatcher = new OutboxDispatcher(outboxEventRepository, outboxCheckpointRepository,
+                List.of(consumer), 100, Duration.ofSeconds(5), Duration.ofMinutes(10), 1000, Duration.ofDays(7),
+                () -> nanos);
+
+        given(outboxCheckpointRepository.findById(anyString())).willReturn(Optional.empty());
+        given(outboxEventRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .willAnswer(invocation -> {
+                    long afterId = invocation.getArgument(0);
+                    return stored.stream().filter(e -> e.getId() > afterId).toList();
+                });
+    }
+
+    private void store(long id, Long userId, LocalDateTime createdAt) {
+        stored.add(OutboxEvent.builder()
+                .id(id)
+                .userId(userId)
+                .eventType(DomainEventType.TASK_UPDATED)
+                .aggregateId(id * 10)
+                .createdAt(createdAt)
+                .build());
+    }
+
+    private void stubRange() {
+        given(outboxEventRepository.findRange(anyLong(), anyLong(), any(Pageable.class)))
+                .willAnswer(invocation -> {
+                    long afterId = invocation.getArgument(0);
+                    long upToId = invocation.getArgument(1);
+                    return stored.stream().filter(e -> e.getId() > afterId && e.getId() <= upToId).toList();
+                });
+        given(outboxCheckpointRepository.save(any(OutboxCheckpoint.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Dispatch - Deliver events grouped by user in id order and save checkpoint")
+    void dispatch_DeliversPerUserInOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        store(1, 1L, now);
+        store(2, 2L, now);
+        store(3, 1L, now);
+        stubRange();
+
+        int delivered = dispatcher.dispatch();
+
+        assertThat(delivered).isEqualTo(3);
+        assertThat(consumer.calls).containsExactly("1:[1, 3]", "2:[2]");
+
+        ArgumentCaptor<OutboxCheckpoint> captor = ArgumentCaptor.forClass(OutboxCheckpoint.class);
+        verify(outboxCheckpointRepository).save(captor.capture());
+        assertThat(captor.getValue().getLastEventId()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Dispatch - Hold events behind an id gap until the gap has been open for the timeout")
+    void dispatch_WaitsOnRecentGap() {
+        // 뒤 이벤트가 오래전에 기록됐어도 빈 구간을 처음 본 시각부터 센다
+        LocalDateTime longAgo = LocalDateTime.now().minusMinutes(10);
+        store(1, 1L, longAgo);
+        store(3, 1L, longAgo);
+        stubRange();
+
+        dispatcher.dispatch();
+        assertThat(consumer.calls).containsExactly("1:[1]");
+
+        nanos += Duration.ofSeconds(4).toNanos();
+        dispatcher.dispatch();
+        assertThat(consumer.calls).containsExactly("1:[1]");
+
+        nanos += Duration.ofSeconds(1).toNanos();
+        dispatcher.dispatch();
+        assertThat(consumer.calls).containsExactly("1:[1]", "1:[3]");
+    }
+
+    @Test
+    @DisplayName("Dispatch - Deliver an event whose transaction commits after its id gap was skipped")
+    void dispatch_DeliversLateCommitAfterGapSkipped() {
+        LocalDateTime now = LocalDateTime.now();
+        store(1, 1L, now);
+        store(3, 2L, now);
+        stubRange();
+        given(outboxEventRepository.findAllById(any()))
+                .willAnswer(invocation -> {
+                    Iterable<Long> ids = invocation.getArgument(0);
+                    List<Long> wanted = new ArrayList<>();
+                    ids.forEach(wanted::add);
+                    return stored.stream().filter(e -> wanted.contains(e.getId())).toList();
+                });
+
+        dispatcher.dispatch();
+        nanos += Duration.ofSeconds(6).toNanos();
+        dispatcher.dispatch();
+        assertThat(consumer.calls).containsExactly("1:[1]", "2:[3]");
+
+        // id 2를 잡은 트랜잭션이 gap-timeout보다 오래 걸려 이제 커밋됐다
+        store(2, 1L, now);
+        assertThat(dispatcher.dispatch()).isEqualTo(1);
+        assertThat(consumer.calls).containsExactly("1:[1]", "2:[3]", "1:[2]");
+
+        // 한 번 전달한 늦은 이벤트는 다시 전달하지 않는다
+        assertThat(dispatcher.dispatch()).isZero();
+        assertThat(consumer.calls).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Dispatch - Pass a restarted id sequence after the gap timeout without rechecking the jumped ids")
+    void dispatch_RestartedSequence_NoRecheck() {
+        LocalDateTime now = LocalDateTime.now();
+        store(1, 1L, now);
+        store(2, 1L, now);
+        stubRange();
+
+        dispatcher.dispatch();
+        assertThat(consumer.calls).containsExactly("1:[1, 2]");
+
+        // 시퀀스가 RESTART WITH로 10억 뒤에서 다시 시작했다
+        store(1_000_000_001L, 1L, now);
+        store(1_000_000_002L, 2L, now);
+        dispatcher.dispatch();
+        assertThat(consumer.calls).containsExactly("1:[1, 2]");
+
+        nanos += Duration.ofSeconds(5).toNanos();
+        assertThat(dispatcher.dispatch()).isEqualTo(2);
+        assertThat(consumer.calls).containsExactly("1:[1, 2]", "1:[1000000001]", "2:[1000000002]");
+
+        // 건너뛴 구간을 매 폴링마다 다시 조회하지 않는다
+        nanos += Duration.ofSeconds(1).toNanos();
+        assertThat(dispatcher.dispatch()).isZero();
+        verify(outboxEventRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Dispatch - Keep checkpoint when consumer fails so events are redelivered")
+    void dispatch_ConsumerFailure_Redelivers() {
+        store(1, 1L, LocalDateTime.now());
+        given(outboxEventRepository.findRange(anyLong(), anyLong(), any(Pageable.class)))
+                .willAnswer(invocation -> List.copyOf(stored));
+        consumer.failNext = true;
+
+        assertThat(dispatcher.dispatch()).isZero();
+        verify(outboxCheckpointRepository, never()).save(any(OutboxCheckpoint.class));
+
+        given(outboxCheckpointRepository.save(any(OutboxCheckpoint.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        assertThat(dispatcher.dispatch()).isEqualTo(1);
+        assertThat(consumer.calls).containsExactly("1:[1]");
+    }
+
+    private static class RecordingConsumer implements DomainEventConsumer {
+
+        private final List<String> calls = new ArrayList<>();
+        private boolean failNext;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void onEvents(Long userId, List<DomainEvent> events) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("consumer down");
+            }
+            calls.add(userId + ":" + events.stream().map(DomainEvent::id).toList());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.datasource.ShardRoutingDataSource;
+import com.dailyquest.backend.domain.PersonalAccessToken;
+import com.dailyquest.backend.domain.PersonalAccessTokenRepository;
+import com.dailyquest.backend.domain.TokenScope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PersonalAccessTokenServiceTest {
+
+    private static final String VALID_TOKEN = PersonalAccessTokenService.TOKEN_PREFIX + "valid";
+
+    @Mock
+    private PersonalAccessTokenRepository personalAccessTokenRepository;
+
+    @Mock
+    private ObjectProvider<ShardRoutingDataSource> shardRouting;
+
+    private PersonalAccessTokenService service;
+    private String validDigest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 유효한 토큰 캐시와 없는 토큰 캐시 모두 stripe당 한 칸, IP당 실패 3번
+        service = new PersonalAccessTokenService(personalAccessTokenRepository, shardRouting,
+                Duration.ofMinutes(1), 16, 16, 3, Duration.ofMinutes(1), 100, 20);
+
+        validDigest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(VALID_TOKEN.getBytes(StandardCharsets.UTF_8)));
+        PersonalAccessToken stored = PersonalAccessToken.builder()
+                .id(7L)
+                .userId(1L)
+                .name("script")
+                .tokenDigest(validDigest)
+                .tokenPrefix(VALID_TOKEN.substring(0, 12))
+                .scopes(PersonalAccessToken.joinScopes(Set.of(TokenScope.READ)))
+                .build();
+        given(personalAccessTokenRepository.findByTokenDigest(anyString()))
+                .willAnswer(invocation -> validDigest.equals(invocation.getArgument(0))
+                        ? Optional.of(stored)
+                        : Optional.empty());
+    }
+
+    @Test
+    @DisplayName("Unknown tokens do not evict cached principals")
+    void unknownTokensKeepPrincipalsCached() {
+        assertThat(service.authenticate(VALID_TOKEN, "10.0.0.1")).isNotNull();
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(service.authenticate(PersonalAccessTokenService.TOKEN_PREFIX + "spray-" + i, "10.1.0." + i))
+                    .isNull();
+        }
+
+        assertThat(service.authenticate(VALID_TOKEN, "10.0.0.1").userId()).isEqualTo(1L);
+        verify(personalAccessTokenRepository, times(1)).findByTokenDigest(validDigest);
+    }
+
+    @Test
+    @DisplayName("An IP that fails too often is rejected without a lookup")
+    void failuresPerIpLimited() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(service.authenticate(PersonalAccessTokenService.TOKEN_PREFIX + "guess-" + i, "10.0.0.9"))
+                    .isNull();
+        }
+
+        assertThat(service.authenticate(VALID_TOKEN, "10.0.0.9")).isNull();
+        verify(personalAccessTokenRepository, times(3)).findByTokenDigest(anyString());
+
+        // 다른 IP는 영향받지 않는다
+        assertThat(service.authenticate(VALID_TOKEN, "10.0.0.1")).isNotNull();
+    }
+}
@@ -0,0 +1,251 @@
+package com.dailyquest.backend.service;
+
+import com.dailyquest.backend.config.QueryBudget;
+import com.dailyquest.backend.domain.*;
+import com.dailyquest.backend.dto.BootstrapDto;
+import com.dailyquest.backend.dto.ProjectDto;
+import com.dailyquest.backend.dto.TaskDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 서비스 메서드별 SQL 수 상한. 프로젝트 3개에 태스크를 나눠 두어, 목록 조회가 프로젝트를 하나씩
+ * 지연 로딩하면(N+1) 상한을 넘도록 데이터를 구성한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class QueryBudgetTest {
+
+    private static final int PROJECTS = 3;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private BootstrapService bootstrapService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    private Long userId;
+    private Long firstProjectId;
+    private Long projectId;
+    private Long pendingTaskId;
+    private Long recurringTaskId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("budget@test.com")
+                .password("password")
+                .nickname("budget")
+                .build());
+        userId = user.getId();
+        changeTracker.userCreated(userId);
+
+        LocalDate today = LocalDate.now();
+        for (int p = 0; p < PROJECTS; p++) {
+            Project project = projectRepository.save(Project.builder()
+                    .user(user)
+                    .name("Project " + p)
+                    .color("#3B82F6")
+                    .build());
+            projectId = project.getId();
+            if (firstProjectId == null) {
+                firstProjectId = projectId;
+            }
+
+            for (int t = 0; t < 4; t++) {
+                Task task = taskRepository.save(Task.builder()
+                        .user(user)
+                        .project(project)
+                        .title("Task " + p + "-" + t)
+                        .priority(Priority.values()[t % Priority.values().length])
+                        .dueDate(today.plusDays(t - 2))
+                        .isCompleted(t == 3)
+                        .isRecurring(false)
+                        .build());
+                pendingTaskId = task.getId();
+            }
+        }
+
+        recurringTaskId = taskRepository.save(Task.builder()
+                .user(user)
+                .title("Recurring")
+                .priority(Priority.MEDIUM)
+                .dueDate(today)
+                .isCompleted(false)
+                .isRecurring(true)
+                .recurrenceType(RecurrenceType.DAILY)
+                .recurrenceInterval(1)
+                .build()).getId();
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("getAllTasks loads tasks and their projects in one query")
+    void getAllTasks() {
+        assertThat(taskService.getAllTasks(userId)).hasSize(PROJECTS * 4 + 1);
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("getPendingTasks runs one query")
+    void getPendingTasks() {
+        assertThat(taskService.getPendingTasks(userId)).isNotEmpty();
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("getCompletedTasks runs one query")
+    void getCompletedTasks() {
+        assertThat(taskService.getCompletedTasks(userId)).hasSize(PROJECTS);
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("getTodayTasks runs one query")
+    void getTodayTasks() {
+        assertThat(taskService.getTodayTasks(userId)).isNotEmpty();
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("getWeekTasks runs one query")
+    void getWeekTasks() {
+        assertThat(taskService.getWeekTasks(userId)).isNotNull();
+    }
+
+    @Test
+    @QueryBudget(2)
+    @DisplayName("getTasksByProject checks ownership and loads tasks")
+    void getTasksByProject() {
+        assertThat(taskService.getTasksByProject(userId, projectId)).hasSize(4);
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("getTasksByPriority runs one query")
+    void getTasksByPriority() {
+        assertThat(taskService.getTasksByPriority(userId, Priority.HIGH)).isNotEmpty();
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("getOverdueTasks runs one query")
+    void getOverdueTasks() {
+        assertThat(taskService.getOverdueTasks(userId)).hasSize(PROJECTS * 2);
+    }
+
+    @Test
+    @QueryBudget(6)
+    @DisplayName("getDashboard uses aggregate queries regardless of project count")
+    void getDashboard() {
+        assertThat(dashboardService.getDashboard(userId).getProjectStats()).hasSize(PROJECTS);
+    }
+
+    @Test
+    @QueryBudget(3)
+    @DisplayName("getBootstrap reads the user, projects and tasks once each")
+    void getBootstrap() {
+        BootstrapDto.Response bootstrap = bootstrapService.getBootstrap(userId);
+        assertThat(bootstrap.getTasks()).hasSize(PROJECTS * 4 + 1);
+        assertThat(bootstrap.getOverdueTasks()).hasSize(PROJECTS * 2);
+        assertThat(bootstrap.getDashboard().getProjectStats()).hasSize(PROJECTS);
+    }
+
+    @Test
+    @QueryBudget(2)
+    @DisplayName("getAllProjects loads task counts for all projects in one query")
+    void getAllProjects() {
+        assertThat(projectService.getAllProjects(userId)).hasSize(PROJECTS);
+    }
+
+    @Test
+    @QueryBudget(4)
+    @DisplayName("createTask with a project")
+    void createTask() {
+        taskService.createTask(userId, TaskDto.CreateRequest.builder()
+                .title("New task")
+                .projectId(projectId)
+                .build());
+    }
+
+    @Test
+    @QueryBudget(4)
+    @DisplayName("updateTask resending the task's current project does not look the project up again")
+    void updateTask() {
+        taskService.updateTask(userId, pendingTaskId, TaskDto.UpdateRequest.builder()
+                .title("Renamed")
+                .projectId(projectId)
+                .build(), null);
+    }
+
+    // 태스크 조회 + 새 프로젝트 소유권 확인 + outbox + 변경 카운터 + UPDATE
+    @Test
+    @QueryBudget(5)
+    @DisplayName("updateTask moving the task to another project")
+    void updateTask_MoveProject() {
+        taskService.updateTask(userId, pendingTaskId, TaskDto.UpdateRequest.builder()
+                .title("Renamed")
+                .projectId(firstProjectId)
+                .build(), null);
+    }
+
+    // 태스크 조회 + 완료/생성 outbox 2건 + 다음 회차 INSERT + 변경 카운터 + UPDATE. 사용자는 읽지 않으므로 더 뺄 조회가 없다
+    @Test
+    @QueryBudget(6)
+    @DisplayName("completeTask on a recurring task also creates the next occurrence")
+    void completeRecurringTask() {
+        assertThat(taskService.completeTask(userId, recurringTaskId).getIsCompleted()).isTrue();
+    }
+
+    @Test
+    @QueryBudget(4)
+    @DisplayName("uncompleteTask")
+    void uncompleteTask() {
+        taskService.uncompleteTask(userId, pendingTaskId);
+    }
+
+    // 태스크 조회 + 자식 태스크 조회(cascade 삭제와 삭제 기록에 필요) + 삭제 기록 + outbox + 변경 카운터 + DELETE
+    @Test
+    @QueryBudget(6)
+    @DisplayName("deleteTask")
+    void deleteTask() {
+        taskService.deleteTask(userId, pendingTaskId);
+    }
+
+    @Test
+    @QueryBudget(4)
+    @DisplayName("createProject")
+    void createProject() {
+        projectService.createProject(userId, ProjectDto.CreateRequest.builder()
+                .name("Another project")
+                .build());
+    }
+}
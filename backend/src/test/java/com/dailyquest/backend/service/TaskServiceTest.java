@@ -5,6 +5,7 @@ import com.dailyquest.backend.dto.TaskDto;
 import com.dailyquest.backend.exception.BusinessException;
 import com.dailyquest.backend.exception.ErrorCode;
 import com.dailyquest.backend.exception.ResourceNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,7 +13,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -20,7 +23,10 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +44,9 @@ class TaskServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private ChangeTracker changeTracker;
+
     private User testUser;
     private Task testTask;
 
@@ -73,7 +82,7 @@ class TaskServiceTest {
                 .dueDate(LocalDate.now().plusDays(1))
                 .build();
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
+        given(userRepository.getReferenceById(1L)).willReturn(testUser);
         given(taskRepository.save(any(Task.class))).willReturn(testTask);
 
         // when
@@ -83,6 +92,8 @@ class TaskServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getTitle()).isEqualTo("Test Task");
         verify(taskRepository).save(any(Task.class));
+        verify(changeTracker).taskChanged(DomainEventType.TASK_CREATED, testTask);
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
@@ -94,7 +105,7 @@ class TaskServiceTest {
                 .isRecurring(true)
                 .build();
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
+        given(userRepository.getReferenceById(1L)).willReturn(testUser);
 
         // when & then
         assertThatThrownBy(() -> taskService.createTask(1L, request))
@@ -111,18 +122,45 @@ class TaskServiceTest {
                 .title("New Task")
                 .build();
 
-        given(userRepository.findById(999L)).willReturn(Optional.empty());
+        // 탈퇴한 사용자의 access token: 사용자 행이 없어 INSERT가 외래 키 제약에 걸린다
+        given(userRepository.getReferenceById(999L)).willReturn(testUser);
+        given(taskRepository.save(any(Task.class))).willThrow(new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk", new SQLException("fk", "23503"), "fk_tasks_user")));
 
         // when & then
         assertThatThrownBy(() -> taskService.createTask(999L, request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .satisfies(ex -> assertThat(((ResourceNotFoundException) ex).getErrorCode())
+                        .isEqualTo(ErrorCode.USER_NOT_FOUND));
+        verify(changeTracker, never()).dataChanged(any());
+    }
+
+    @Test
+    @DisplayName("Create task fails with 403 for another user's project and 404 for a missing one")
+    void createTask_ProjectNotOwned() {
+        // given
+        given(userRepository.getReferenceById(1L)).willReturn(testUser);
+        given(projectRepository.findByIdAndUserId(anyLong(), eq(1L))).willReturn(Optional.empty());
+        given(projectRepository.existsById(10L)).willReturn(true);
+        given(projectRepository.existsById(11L)).willReturn(false);
+
+        // when & then
+        assertThatThrownBy(() -> taskService.createTask(1L,
+                TaskDto.CreateRequest.builder().title("New Task").projectId(10L).build()))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getErrorCode())
+                        .isEqualTo(ErrorCode.NO_PERMISSION));
+        assertThatThrownBy(() -> taskService.createTask(1L,
+                TaskDto.CreateRequest.builder().title("New Task").projectId(11L).build()))
                 .isInstanceOf(ResourceNotFoundException.class);
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
     @DisplayName("Get task successfully")
     void getTask() {
         // given
-        given(taskRepository.findById(1L)).willReturn(Optional.of(testTask));
+        given(taskRepository.findWithProjectByIdAndUserId(1L, 1L)).willReturn(Optional.of(testTask));
 
         // when
         TaskDto.Response response = taskService.getTask(1L, 1L);
@@ -135,19 +173,9 @@ class TaskServiceTest {
     @Test
     @DisplayName("Get task fails when task owner is different")
     void getTask_NoPermission() {
-        User otherUser = User.builder()
-                .id(2L)
-                .email("other@test.com")
-                .password("password")
-                .nickname("other")
-                .build();
-        Task otherUserTask = Task.builder()
-                .id(99L)
-                .user(otherUser)
-                .title("Other Task")
-                .build();
-
-        given(taskRepository.findById(99L)).willReturn(Optional.of(otherUserTask));
+        // 다른 사용자의 태스크는 user_id 조건 조회에서 빠지고, 존재 여부로 403을 판단한다
+        given(taskRepository.findWithProjectByIdAndUserId(99L, 1L)).willReturn(Optional.empty());
+        given(taskRepository.existsById(99L)).willReturn(true);
 
         assertThatThrownBy(() -> taskService.getTask(1L, 99L))
                 .isInstanceOf(BusinessException.class)
@@ -158,7 +186,7 @@ class TaskServiceTest {
     @DisplayName("Complete task successfully")
     void completeTask() {
         // given
-        given(taskRepository.findById(1L)).willReturn(Optional.of(testTask));
+        given(taskRepository.findWithProjectByIdAndUserId(1L, 1L)).willReturn(Optional.of(testTask));
 
         // when
         TaskDto.Response response = taskService.completeTask(1L, 1L);
@@ -183,7 +211,7 @@ class TaskServiceTest {
                 .recurrenceInterval(1)
                 .build();
 
-        given(taskRepository.findById(1L)).willReturn(Optional.of(recurringTask));
+        given(taskRepository.findWithProjectByIdAndUserId(1L, 1L)).willReturn(Optional.of(recurringTask));
         given(taskRepository.save(any(Task.class))).willReturn(recurringTask);
 
         // when
@@ -210,7 +238,7 @@ class TaskServiceTest {
                 .recurrenceInterval(1)
                 .build();
 
-        given(taskRepository.findById(1L)).willReturn(Optional.of(recurringTask));
+        given(taskRepository.findWithProjectByIdAndUserId(1L, 1L)).willReturn(Optional.of(recurringTask));
 
         // when & then
         assertThatThrownBy(() -> taskService.completeTask(1L, 1L))
@@ -238,12 +266,13 @@ class TaskServiceTest {
     @DisplayName("Delete task successfully")
     void deleteTask() {
         // given
-        given(taskRepository.findById(1L)).willReturn(Optional.of(testTask));
+        given(taskRepository.findWithProjectByIdAndUserId(1L, 1L)).willReturn(Optional.of(testTask));
 
         // when
         taskService.deleteTask(1L, 1L);
 
         // then
+        verify(changeTracker).taskDeleted(testTask);
         verify(taskRepository).delete(testTask);
     }
 }
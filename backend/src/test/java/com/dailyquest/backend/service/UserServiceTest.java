@@ -1,5 +1,6 @@
 package com.dailyquest.backend.service;
 
+import com.dailyquest.backend.config.datasource.ShardDirectory;
 import com.dailyquest.backend.domain.User;
 import com.dailyquest.backend.domain.UserRepository;
 import com.dailyquest.backend.dto.UserDto;
@@ -14,7 +15,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
@@ -23,6 +28,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -38,6 +44,24 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ChangeTracker changeTracker;
+
+    @Mock
+    private EmailRegistry emailRegistry;
+
+    @Mock
+    private AuthTokenService authTokenService;
+
+    @Mock
+    private PersonalAccessTokenService personalAccessTokenService;
+
+    @Mock
+    private ObjectProvider<ShardDirectory> shardDirectory;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     private User testUser;
 
     @BeforeEach
@@ -48,6 +72,11 @@ class UserServiceTest {
                 .password("encodedPassword")
                 .nickname("tester")
                 .build();
+
+        // 트랜잭션 없이 콜백만 실행한다
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
     }
 
     @Test
@@ -60,7 +89,7 @@ class UserServiceTest {
                 .nickname("newuser")
                 .build();
 
-        given(userRepository.existsByEmail("new@test.com")).willReturn(false);
+        given(emailRegistry.exists("new@test.com")).willReturn(false);
         given(passwordEncoder.encode(anyString())).willReturn("encodedPassword");
         given(userRepository.save(any(User.class))).willReturn(testUser);
 
@@ -82,7 +111,26 @@ class UserServiceTest {
                 .nickname("newuser")
                 .build();
 
-        given(userRepository.existsByEmail("test@test.com")).willReturn(true);
+        given(emailRegistry.exists("test@test.com")).willReturn(true);
+
+        // when & then
+        assertThatThrownBy(() -> userService.signUp(request))
+                .isInstanceOf(DuplicateException.class);
+    }
+
+    @Test
+    @DisplayName("Sign up fails when a concurrent sign up wins the unique constraint")
+    void signUp_UniqueConstraintViolation() {
+        // given
+        UserDto.SignUpRequest request = UserDto.SignUpRequest.builder()
+                .email("race@test.com")
+                .password("password123")
+                .nickname("racer")
+                .build();
+
+        given(emailRegistry.exists("race@test.com")).willReturn(false);
+        given(passwordEncoder.encode(anyString())).willReturn("encodedPassword");
+        given(userRepository.save(any(User.class))).willThrow(new DataIntegrityViolationException("uk_users_email"));
 
         // when & then
         assertThatThrownBy(() -> userService.signUp(request))
@@ -108,6 +156,51 @@ class UserServiceTest {
         assertThat(user.getEmail()).isEqualTo("test@test.com");
     }
 
+    @Test
+    @DisplayName("Login rehashes password when the stored hash uses an old work factor")
+    void login_UpgradesHash() {
+        // given
+        UserDto.LoginRequest request = UserDto.LoginRequest.builder()
+                .email("test@test.com")
+                .password("password123")
+                .build();
+
+        given(userRepository.findByEmail("test@test.com")).willReturn(Optional.of(testUser));
+        given(passwordEncoder.matches("password123", "encodedPassword")).willReturn(true);
+        given(passwordEncoder.upgradeEncoding("encodedPassword")).willReturn(true);
+        given(passwordEncoder.encode("password123")).willReturn("strongerHash");
+        given(userRepository.updatePasswordIfUnchanged(1L, "encodedPassword", "strongerHash")).willReturn(1);
+
+        // when
+        User user = userService.login(request);
+
+        // then
+        assertThat(user.getPassword()).isEqualTo("strongerHash");
+        verify(userRepository).updatePasswordIfUnchanged(1L, "encodedPassword", "strongerHash");
+    }
+
+    @Test
+    @DisplayName("Login does not overwrite a password changed while the rehash was computed")
+    void login_RehashSkippedWhenPasswordChanged() {
+        // given
+        UserDto.LoginRequest request = UserDto.LoginRequest.builder()
+                .email("test@test.com")
+                .password("password123")
+                .build();
+
+        given(userRepository.findByEmail("test@test.com")).willReturn(Optional.of(testUser));
+        given(passwordEncoder.matches("password123", "encodedPassword")).willReturn(true);
+        given(passwordEncoder.upgradeEncoding("encodedPassword")).willReturn(true);
+        given(passwordEncoder.encode("password123")).willReturn("strongerHash");
+        given(userRepository.updatePasswordIfUnchanged(1L, "encodedPassword", "strongerHash")).willReturn(0);
+
+        // when
+        User user = userService.login(request);
+
+        // then
+        assertThat(user.getPassword()).isEqualTo("encodedPassword");
+    }
+
     @Test
     @DisplayName("Login fails with wrong password")
     void login_WrongPassword() {
@@ -158,7 +251,7 @@ class UserServiceTest {
     @DisplayName("Change password fails when current/new password is null")
     void changePassword_NullPassword() {
         // given
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
+        given(userRepository.findPasswordById(1L)).willReturn(Optional.of("encodedPassword"));
 
         // when & then
         assertThatThrownBy(() -> userService.changePassword(1L, null, null))
@@ -172,7 +265,7 @@ class UserServiceTest {
     @DisplayName("Change password fails when current/new password is blank")
     void changePassword_BlankPassword() {
         // given
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
+        given(userRepository.findPasswordById(1L)).willReturn(Optional.of("encodedPassword"));
 
         // when & then
         assertThatThrownBy(() -> userService.changePassword(1L, " ", " "))
@@ -181,4 +274,54 @@ class UserServiceTest {
                         .isEqualTo(ErrorCode.INVALID_INPUT));
         verify(passwordEncoder, never()).matches(anyString(), anyString());
     }
+
+    @Test
+    @DisplayName("Change password revokes every refresh token of the user")
+    void changePassword_RevokesRefreshTokens() {
+        // given
+        given(userRepository.findPasswordById(1L)).willReturn(Optional.of("encodedPassword"));
+        given(passwordEncoder.matches("oldPassword", "encodedPassword")).willReturn(true);
+        given(passwordEncoder.encode("newPassword")).willReturn("newEncodedPassword");
+        given(userRepository.updatePasswordIfUnchanged(1L, "encodedPassword", "newEncodedPassword")).willReturn(1);
+
+        // when
+        userService.changePassword(1L, "oldPassword", "newPassword");
+
+        // then
+        verify(userRepository).updatePasswordIfUnchanged(1L, "encodedPassword", "newEncodedPassword");
+        verify(authTokenService).revokeAll(1L);
+    }
+
+    @Test
+    @DisplayName("Change password fails when the password changed while hashing")
+    void changePassword_ChangedMeanwhile() {
+        // given
+        given(userRepository.findPasswordById(1L)).willReturn(Optional.of("encodedPassword"));
+        given(passwordEncoder.matches("oldPassword", "encodedPassword")).willReturn(true);
+        given(passwordEncoder.encode("newPassword")).willReturn("newEncodedPassword");
+        given(userRepository.updatePasswordIfUnchanged(1L, "encodedPassword", "newEncodedPassword")).willReturn(0);
+
+        // when & then
+        assertThatThrownBy(() -> userService.changePassword(1L, "oldPassword", "newPassword"))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getErrorCode())
+                        .isEqualTo(ErrorCode.PASSWORD_MISMATCH));
+        verify(authTokenService, never()).revokeAll(1L);
+    }
+
+    @Test
+    @DisplayName("Delete user fails when the password changed while hashing")
+    void deleteUser_ChangedMeanwhile() {
+        // given
+        given(userRepository.findPasswordById(1L)).willReturn(Optional.of("encodedPassword"));
+        given(passwordEncoder.matches("password", "encodedPassword")).willReturn(true);
+        given(userRepository.findByIdAndPassword(1L, "encodedPassword")).willReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> userService.deleteUser(1L, "password"))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getErrorCode())
+                        .isEqualTo(ErrorCode.PASSWORD_MISMATCH));
+        verify(userRepository, never()).delete(any(User.class));
+    }
 }
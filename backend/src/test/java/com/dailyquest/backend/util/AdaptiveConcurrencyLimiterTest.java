@@ -0,0 +1,82 @@
+package com.dailyquest.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Reject immediately once the limit is reached and accept again after a release")
+    void rejectWhenFull() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        assertThat(first).isNotNull();
+        assertThat(limiter.tryAcquire()).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        first.release(false);
+        first.release(false);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Grow by about one per window of fast, well-utilized requests, up to the max")
+    void additiveIncrease() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 6);
+
+        for (int round = 0; round < 10; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter);
+            now.addAndGet(Duration.ofMillis(50).toNanos());
+            permits.forEach(permit -> permit.release(false));
+        }
+        assertThat(limiter.getLimit()).isEqualTo(6);
+
+        // 거의 쓰지 않으면 늘리지 않는다
+        AdaptiveConcurrencyLimiter idle = limiter(4, 1, 10);
+        for (int i = 0; i < 20; i++) {
+            idle.tryAcquire().release(false);
+        }
+        assertThat(idle.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Slow or dropped requests shrink the limit once per latency window, not below the min")
+    void multiplicativeDecrease() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 3, 10);
+
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter);
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        permits.forEach(permit -> permit.release(false));
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire().release(true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter(initial, min, max, Duration.ofSeconds(1), 0.5, now::get);
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquireAll(AdaptiveConcurrencyLimiter limiter) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire()) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,41 @@
+package com.dailyquest.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Never report an inserted email as absent and keep false positives near the target rate")
+    void noFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@test.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i + "@test.com")).isTrue();
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@test.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Size for 10M emails at 1% false positive rate is about 11.4 MiB with 7 hashes")
+    void sizingAtTenMillion() {
+        BloomFilter filter = new BloomFilter(10_000_000, 0.01);
+
+        double mebibytes = filter.bitSize() / 8.0 / 1024 / 1024;
+        assertThat(mebibytes).isBetween(11.3, 11.5);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+}
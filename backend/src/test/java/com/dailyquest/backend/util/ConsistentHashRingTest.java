@@ -0,0 +1,52 @@
+package com.dailyquest.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    @DisplayName("Spread sequential user ids evenly and place them the same way regardless of node order")
+    void balancedAndDeterministic() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of("shard-1", "shard-2", "shard-3", "shard-4"), 128);
+        ConsistentHashRing<String> reordered = new ConsistentHashRing<>(List.of("shard-3", "shard-1", "shard-4", "shard-2"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= KEYS; userId++) {
+            String node = ring.nodeFor(userId);
+            counts.merge(node, 1, Integer::sum);
+            assertThat(reordered.nodeFor(userId)).isEqualTo(node);
+        }
+
+        assertThat(counts).hasSize(4);
+        counts.values().forEach(count -> assertThat(count).isBetween(KEYS / 4 * 80 / 100, KEYS / 4 * 120 / 100));
+    }
+
+    @Test
+    @DisplayName("Adding a fifth node moves about a fifth of the keys, all of them to the new node")
+    void addingNodeMovesOnlyItsShare() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(List.of("shard-1", "shard-2", "shard-3", "shard-4"), 128);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(
+                List.of("shard-1", "shard-2", "shard-3", "shard-4", "shard-5"), 128);
+
+        int moved = 0;
+        for (long userId = 1; userId <= KEYS; userId++) {
+            String from = before.nodeFor(userId);
+            String to = after.nodeFor(userId);
+            if (!from.equals(to)) {
+                assertThat(to).isEqualTo("shard-5");
+                moved++;
+            }
+        }
+
+        assertThat((double) moved / KEYS).isBetween(0.15, 0.25);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dailyquest.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongPairSetTest {
+
+    @Test
+    @DisplayName("Contains every inserted pair and nothing else")
+    void containsInsertedPairs() {
+        List<UUID> inserted = new ArrayList<>();
+        long[] pairs = new long[2000 * 2];
+        for (int i = 0; i < 2000; i++) {
+            UUID uuid = UUID.randomUUID();
+            inserted.add(uuid);
+            pairs[i * 2] = uuid.getMostSignificantBits();
+            pairs[i * 2 + 1] = uuid.getLeastSignificantBits();
+        }
+
+        LongPairSet set = LongPairSet.of(pairs, 2000);
+
+        assertThat(set.size()).isEqualTo(2000);
+        assertThat(inserted).allMatch(uuid -> set.contains(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+        for (int i = 0; i < 1000; i++) {
+            UUID other = UUID.randomUUID();
+            assertThat(set.contains(other.getMostSignificantBits(), other.getLeastSignificantBits())).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("plus keeps existing pairs, adds new ones and ignores duplicates")
+    void plus() {
+        LongPairSet set = LongPairSet.of(new long[]{1, 2, 3, 4}, 2);
+
+        LongPairSet grown = set.plus(new long[]{3, 4, 5, 6}, 2);
+
+        assertThat(grown.size()).isEqualTo(3);
+        assertThat(grown.contains(1, 2)).isTrue();
+        assertThat(grown.contains(5, 6)).isTrue();
+        assertThat(set.contains(5, 6)).isFalse();
+        assertThat(LongPairSet.empty().contains(0, 0)).isFalse();
+    }
+}
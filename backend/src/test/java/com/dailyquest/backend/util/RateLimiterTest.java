@@ -0,0 +1,88 @@
+package com.dailyquest.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Allow a full burst, then reject until a permit is refilled")
+    void burstThenRefill() {
+        RateLimiter limiter = new RateLimiter(3, Duration.ofSeconds(3), 100, now::get);
+
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+
+        long wait = limiter.tryAcquire("ip");
+        assertThat(wait).isEqualTo(Duration.ofSeconds(1).toNanos());
+
+        now.addAndGet(wait);
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Buckets are independent per key")
+    void independentKeys() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofMinutes(1), 100, now::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    @DisplayName("Reject new keys when memory bound is reached until the sweep evicts fully refilled keys")
+    void boundedKeys() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofSeconds(1), 2, now::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("b")).isZero();
+        assertThat(limiter.tryAcquire("c")).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+
+        // 요청 경로에서는 정리하지 않는다
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(limiter.tryAcquire("c")).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+
+        assertThat(limiter.evictIdle()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Known keys keep working while the table is full")
+    void knownKeysWhenFull() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(1), 1, now::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("b")).isPositive();
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    @DisplayName("Report whether a key is limited without using a permit")
+    void waitNanosDoesNotConsume() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(2), 1, now::get);
+
+        assertThat(limiter.waitNanos("a")).isZero();
+        assertThat(limiter.waitNanos("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.waitNanos("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.waitNanos("a")).isEqualTo(Duration.ofSeconds(1).toNanos());
+
+        // 가득 차도 센 적 없는 키는 막지 않는다
+        assertThat(limiter.waitNanos("b")).isZero();
+        assertThat(limiter.tryAcquire("b")).isPositive();
+    }
+}
@@ -0,0 +1,92 @@
+package com.dailyquest.backend.tools;
+
+import com.dailyquest.backend.config.datasource.ShardDirectory;
+import com.dailyquest.backend.config.datasource.ShardRebalancer;
+import com.dailyquest.backend.util.ConsistentHashRing;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.convert.DurationStyle;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 샤드 운영 도구. 애플리케이션과 같은 DB에 JDBC로 접속해 ShardRebalancer를 실행한다.
+ *
+ * - import: 샤딩 전부터 shards.shard에 있던 사용자를 directory에 등록한다
+ * - move: shards.user-id 사용자를 shards.target 샤드로 옮긴다
+ * - rebalance: ring 배치와 다른 곳에 있는 사용자를 shards.limit명까지 옮긴다
+ *
+ * 실행: ./gradlew shardTool -Pshards.command=rebalance -Pshards.urls=jdbc:postgresql://db1/dq,jdbc:postgresql://db2/dq
+ */
+public final class ShardTool {
+
+    private ShardTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String command = required("shards.command");
+        String username = System.getProperty("shards.username", "postgres");
+        String password = System.getProperty("shards.password", "postgres");
+        int virtualNodes = Integer.parseInt(System.getProperty("shards.virtual-nodes", "128"));
+        Duration settleTime = DurationStyle.detectAndParse(System.getProperty("shards.settle-time", "10s"));
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        try {
+            HikariDataSource directoryDataSource = pool(pools, "shard-directory",
+                    System.getProperty("shards.directory-url", "jdbc:postgresql://localhost:5434/dailyquest"),
+                    username, password);
+            // 샤드 이름은 애플리케이션과 같이 URL 순서로 정한다 (ShardDataSourceConfig)
+            Map<String, DataSource> shards = new LinkedHashMap<>();
+            for (String url : required("shards.urls").split(",")) {
+                if (!url.isBlank()) {
+                    String name = "shard-" + (shards.size() + 1);
+                    shards.put(name, pool(pools, name, url.trim(), username, password));
+                }
+            }
+
+            ShardDirectory directory = new ShardDirectory(directoryDataSource,
+                    new ConsistentHashRing<>(shards.keySet(), virtualNodes), Duration.ZERO, 1, Clock.systemUTC());
+            ShardRebalancer rebalancer = new ShardRebalancer(directory, shards, settleTime);
+
+            switch (command) {
+                case "import" -> System.out.println("Imported users: "
+                        + rebalancer.importUsers(System.getProperty("shards.shard", "shard-1")));
+                case "move" -> System.out.println(rebalancer.move(
+                        Long.parseLong(required("shards.user-id")), required("shards.target"))
+                        ? "Moved" : "Already on target shard");
+                case "rebalance" -> System.out.println("Moved users: "
+                        + rebalancer.rebalance(Integer.parseInt(System.getProperty("shards.limit", "1000"))));
+                default -> throw new IllegalArgumentException("Unknown command: " + command
+                        + " (import, move, rebalance)");
+            }
+            System.out.println("Users per shard: " + directory.countByShard());
+        } finally {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+
+    private static HikariDataSource pool(List<HikariDataSource> pools, String name, String url,
+                                         String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(2);
+        pools.add(dataSource);
+        return dataSource;
+    }
+
+    private static String required(String key) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing -P" + key);
+        }
+        return value;
+    }
+}
@@ -19,6 +19,8 @@ import {
   useDeleteTask,
 } from '@/hooks/use-tasks';
 import { useDashboardStats } from '@/hooks/use-dashboard';
+import { useBootstrap } from '@/hooks/use-bootstrap';
+import { useLiveUpdates } from '@/hooks/use-live-updates';
 import { useProjects } from '@/hooks/use-projects';
 import { extractErrorMessage } from '@/lib/api/response';
 import type { Task } from '@/types';
@@ -41,12 +43,18 @@ export default function Page() {
   const [isMobileSidebarOpen, setIsMobileSidebarOpen] = React.useState(false);
   const [editingTask, setEditingTask] = React.useState<Task | null>(null);
 
-  const { data: stats, isLoading: statsLoading, error: statsError } = useDashboardStats();
-  const { data: projects } = useProjects();
+  const live = useLiveUpdates();
+  // 첫 화면 데이터는 bootstrap 한 번으로 받고, 끝나면 개별 쿼리가 채워진 캐시를 이어받는다
+  const bootstrap = useBootstrap();
+  const bootstrapped = !bootstrap.isPending;
+  const statsQuery = useDashboardStats(live, bootstrapped);
+  const { data: stats, error: statsError } = statsQuery;
+  const statsLoading = !bootstrapped || statsQuery.isLoading;
+  const { data: projects } = useProjects(bootstrapped);
 
-  const allTasksQuery = useTasks();
-  const todayTasksQuery = useTodayTasks();
-  const weekTasksQuery = useWeekTasks();
+  const allTasksQuery = useTasks(bootstrapped);
+  const todayTasksQuery = useTodayTasks(bootstrapped);
+  const weekTasksQuery = useWeekTasks(bootstrapped);
   const projectTasksQuery = useTasksByProject(selectedProjectId);
 
   const setTaskComplete = useSetTaskComplete();
@@ -54,12 +62,15 @@ export default function Page() {
   const addToast = useUIStore((state) => state.addToast);
 
   const activeTaskQuery: TaskQueryResult = React.useMemo(() => {
-    if (currentView === 'all' || currentView === 'dashboard') return allTasksQuery;
-    if (currentView === 'today') return todayTasksQuery;
-    if (currentView === 'week') return weekTasksQuery;
-    if (currentView === 'projects') return projectTasksQuery;
-    return allTasksQuery;
-  }, [currentView, allTasksQuery, todayTasksQuery, weekTasksQuery, projectTasksQuery]);
+    const query = (() => {
+      if (currentView === 'all' || currentView === 'dashboard') return allTasksQuery;
+      if (currentView === 'today') return todayTasksQuery;
+      if (currentView === 'week') return weekTasksQuery;
+      if (currentView === 'projects') return projectTasksQuery;
+      return allTasksQuery;
+    })();
+    return bootstrapped ? query : { ...query, isLoading: true };
+  }, [bootstrapped, currentView, allTasksQuery, todayTasksQuery, weekTasksQuery, projectTasksQuery]);
 
   const handleToggle = async (task: Task) => {
     try {
@@ -0,0 +1,35 @@
+import { useQuery, useQueryClient } from '@tanstack/react-query';
+import { bootstrapApi } from '@/lib/api/bootstrap';
+import { useAuthStore } from '@/stores/auth-store';
+import { DASHBOARD_KEYS } from './use-dashboard';
+import { PROJECT_KEYS } from './use-projects';
+import { TASK_KEYS } from './use-tasks';
+
+const BOOTSTRAP_KEY = ['bootstrap'] as const;
+
+/**
+ * 대시보드 첫 화면 데이터를 /api/bootstrap 한 번으로 받아 개별 쿼리 캐시(통계, 프로젝트, 할 일 목록)를 채운다.
+ * 개별 훅은 이 요청이 끝난 뒤 enabled로 켜면 채워진 캐시를 쓰고, 실패했으면 각자 요청한다.
+ * 이후 갱신은 개별 쿼리의 무효화/스트림으로 처리되므로 이 쿼리는 다시 요청하지 않는다.
+ */
+export const useBootstrap = () => {
+  const queryClient = useQueryClient();
+  const setUser = useAuthStore((state) => state.setUser);
+
+  return useQuery({
+    queryKey: BOOTSTRAP_KEY,
+    queryFn: async () => {
+      const data = await bootstrapApi.get();
+      setUser(data.user);
+      queryClient.setQueryData(DASHBOARD_KEYS.stats(), data.dashboard);
+      queryClient.setQueryData(PROJECT_KEYS.lists(), data.projects);
+      queryClient.setQueryData(TASK_KEYS.lists(), data.tasks);
+      queryClient.setQueryData(TASK_KEYS.today(), data.todayTasks);
+      queryClient.setQueryData(TASK_KEYS.week(), data.weekTasks);
+      queryClient.setQueryData(TASK_KEYS.overdue(), data.overdueTasks);
+      return data;
+    },
+    staleTime: Infinity,
+    retry: false,
+  });
+};
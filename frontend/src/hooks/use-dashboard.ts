@@ -1,18 +1,21 @@
 import { useQuery } from '@tanstack/react-query';
 import { dashboardApi } from '@/lib/api/dashboard';
 
-const DASHBOARD_KEYS = {
+export const DASHBOARD_KEYS = {
   all: ['dashboard'] as const,
   stats: () => [...DASHBOARD_KEYS.all, 'stats'] as const,
 };
 
 /**
  * 대시보드 통계 조회
+ * @param live /api/stream이 연결되어 있으면 서버가 갱신을 푸시하므로 폴링하지 않는다
+ * @param enabled useBootstrap이 캐시를 채우는 동안에는 false로 두어 따로 요청하지 않는다
  */
-export const useDashboardStats = () => {
+export const useDashboardStats = (live = false, enabled = true) => {
   return useQuery({
     queryKey: DASHBOARD_KEYS.stats(),
     queryFn: dashboardApi.getStats,
-    refetchInterval: 30000, // 30초마다 자동 갱신
+    enabled,
+    refetchInterval: live ? false : 30000, // 스트림이 끊긴 동안에만 30초마다 자동 갱신
   });
 };
@@ -0,0 +1,104 @@
+import React from 'react';
+import { useQueryClient } from '@tanstack/react-query';
+import { API_URL, refreshAccessToken } from '@/lib/api-client';
+import { useAuthStore } from '@/stores/auth-store';
+import { DASHBOARD_KEYS } from './use-dashboard';
+import type { DashboardStats } from '@/types';
+
+const MAX_RETRY_DELAY = 30000;
+
+type StreamEvent = { event: string; data: string };
+
+/**
+ * SSE 응답 본문을 이벤트 단위로 나눈다. 마지막의 완성되지 않은 조각은 rest로 돌려준다.
+ */
+const parseEvents = (buffer: string): { events: StreamEvent[]; rest: string } => {
+  const blocks = buffer.split('\n\n');
+  const rest = blocks.pop() ?? '';
+  const events = blocks
+    .map((block) => {
+      let event = 'message';
+      const data: string[] = [];
+      block.split('\n').forEach((line) => {
+        if (line.startsWith('event:')) event = line.slice(6).trim();
+        else if (line.startsWith('data:')) data.push(line.slice(5));
+      });
+      return { event, data: data.join('\n') };
+    })
+    .filter((e) => e.data.length > 0);
+  return { events, rest };
+};
+
+/**
+ * /api/stream에 연결해 변경 이벤트가 오면 관련 쿼리를 무효화하고, 대시보드는 푸시된 값으로 바로 갱신한다.
+ * EventSource는 Authorization 헤더를 보낼 수 없어 fetch 스트림으로 읽는다.
+ * @returns 스트림이 연결되어 있는지 여부
+ */
+export const useLiveUpdates = (): boolean => {
+  const queryClient = useQueryClient();
+  const token = useAuthStore((state) => state.token);
+  const [connected, setConnected] = React.useState(false);
+
+  React.useEffect(() => {
+    if (!token) return;
+
+    const controller = new AbortController();
+    let retryDelay = 1000;
+    let retryTimer: ReturnType<typeof setTimeout> | undefined;
+
+    const handle = ({ event, data }: StreamEvent) => {
+      if (event === 'dashboard') {
+        queryClient.setQueryData<DashboardStats>(DASHBOARD_KEYS.stats(), JSON.parse(data));
+      } else if (event === 'change') {
+        queryClient.invalidateQueries({ queryKey: ['tasks'] });
+        queryClient.invalidateQueries({ queryKey: ['projects'] });
+      }
+    };
+
+    const connect = async () => {
+      try {
+        const response = await fetch(`${API_URL}/api/stream`, {
+          headers: { Authorization: `Bearer ${token}`, Accept: 'text/event-stream' },
+          signal: controller.signal,
+        });
+        if (response.status === 401) {
+          // 토큰이 바뀌면 effect가 새 토큰으로 다시 연결한다
+          if (!(await refreshAccessToken())) return;
+          throw new Error('Stream token expired');
+        }
+        if (!response.ok || !response.body) throw new Error(`Stream failed: ${response.status}`);
+
+        setConnected(true);
+        retryDelay = 1000;
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          const parsed = parseEvents((buffer + value).replace(/\r\n/g, '\n'));
+          buffer = parsed.rest;
+          parsed.events.forEach(handle);
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+        console.warn('[Live Updates] Stream disconnected:', error);
+      }
+
+      setConnected(false);
+      if (!controller.signal.aborted) {
+        retryTimer = setTimeout(connect, retryDelay);
+        retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+      }
+    };
+
+    connect();
+
+    return () => {
+      controller.abort();
+      if (retryTimer) clearTimeout(retryTimer);
+    };
+  }, [token, queryClient]);
+
+  return connected;
+};
@@ -2,7 +2,7 @@ import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { taskApi } from '@/lib/api/task';
 import type { TaskCreateRequest, TaskUpdateRequest } from '@/types';
 
-const TASK_KEYS = {
+export const TASK_KEYS = {
   all: ['tasks'] as const,
   lists: () => [...TASK_KEYS.all, 'list'] as const,
   detail: (id: number) => [...TASK_KEYS.all, 'detail', id] as const,
@@ -12,10 +12,11 @@ const TASK_KEYS = {
   byProject: (projectId: number) => [...TASK_KEYS.all, 'project', projectId] as const,
 };
 
-export const useTasks = () =>
+export const useTasks = (enabled = true) =>
   useQuery({
     queryKey: TASK_KEYS.lists(),
     queryFn: taskApi.getAll,
+    enabled,
   });
 
 export const useTask = (id: number) =>
@@ -25,16 +26,18 @@ export const useTask = (id: number) =>
     enabled: !!id,
   });
 
-export const useTodayTasks = () =>
+export const useTodayTasks = (enabled = true) =>
   useQuery({
     queryKey: TASK_KEYS.today(),
     queryFn: taskApi.getToday,
+    enabled,
   });
 
-export const useWeekTasks = () =>
+export const useWeekTasks = (enabled = true) =>
   useQuery({
     queryKey: TASK_KEYS.week(),
     queryFn: taskApi.getThisWeek,
+    enabled,
   });
 
 export const useOverdueTasks = () =>
@@ -1,14 +1,74 @@
-import axios, { AxiosError, AxiosResponse, AxiosRequestConfig } from 'axios';
+import axios, { AxiosError, AxiosResponse, AxiosRequestConfig, InternalAxiosRequestConfig } from 'axios';
 import { useAuthStore } from '@/stores/auth-store';
+import type { ApiResponse, AuthTokens } from '@/types';
 
-const API_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080';
+export const API_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080';
 
 const PUBLIC_URLS = [
     '/api/users/login',
     '/api/users/signup',
+    '/api/users/refresh',
     '/api/health',
 ];
 
+const isPublic = (url: string) =>
+    PUBLIC_URLS.some(publicUrl => url === publicUrl || url.startsWith(publicUrl + '?') || url.startsWith(publicUrl + '/'));
+
+// 만료 직전 토큰으로 요청이 나가지 않도록 이 시간 전에 미리 갱신한다
+const REFRESH_MARGIN_MS = 30000;
+const REFRESH_LOCK = 'dailyquest-token-refresh';
+
+let refreshInFlight: Promise<string | null> | null = null;
+
+const redirectToLogin = () => {
+    useAuthStore.getState().clearSession();
+    if (typeof window !== 'undefined') {
+        window.location.href = '/login';
+    }
+};
+
+const requestNewTokens = async (): Promise<string | null> => {
+    // 다른 탭이 이미 회전시켰다면 저장소의 새 토큰을 그대로 쓴다. 같은 refresh token을 두 번 쓰면 서버가 세션 전체를 폐기한다
+    await useAuthStore.persist.rehydrate();
+    const { token, tokenExpiry, refreshToken } = useAuthStore.getState();
+    if (token && tokenExpiry && Date.now() < tokenExpiry - REFRESH_MARGIN_MS) {
+        return token;
+    }
+    if (!refreshToken) return null;
+
+    try {
+        // 인터셉터를 거치지 않도록 기본 axios로 호출한다
+        const response = await axios.post<ApiResponse<AuthTokens>>(
+            `${API_URL}/api/users/refresh`,
+            { refreshToken },
+            { timeout: 10000 }
+        );
+        const tokens = response.data.data;
+        useAuthStore.getState().setTokens(tokens.accessToken, tokens.refreshToken);
+        return tokens.accessToken;
+    } catch (error) {
+        console.warn('[API Client] Token refresh failed:', error);
+        return null;
+    }
+};
+
+/**
+ * access token을 갱신한다. 동시에 여러 요청이 401을 받아도 refresh 요청은 한 번만 나가고,
+ * Web Locks를 지원하는 브라우저에서는 탭 사이에서도 한 번만 나간다.
+ * @returns 새 access token, 실패하면 null
+ */
+export const refreshAccessToken = (): Promise<string | null> => {
+    if (!refreshInFlight) {
+        const run = typeof navigator !== 'undefined' && navigator.locks
+            ? navigator.locks.request(REFRESH_LOCK, requestNewTokens)
+            : requestNewTokens();
+        refreshInFlight = run.finally(() => {
+            refreshInFlight = null;
+        });
+    }
+    return refreshInFlight;
+};
+
 const axiosInstance = axios.create({
     baseURL: API_URL,
     headers: {
@@ -18,18 +78,17 @@ const axiosInstance = axios.create({
 });
 
 axiosInstance.interceptors.request.use(
-    (config) => {
-        const url = config.url || '';
-        const isPublicUrl = PUBLIC_URLS.some(publicUrl => url === publicUrl || url.startsWith(publicUrl + '?') || url.startsWith(publicUrl + '/'));
+    async (config) => {
+        const isPublicUrl = isPublic(config.url || '');
 
         if (!isPublicUrl) {
-            const isTokenValid = useAuthStore.getState().checkTokenExpiry();
+            const { tokenExpiry } = useAuthStore.getState();
+            const isTokenValid = useAuthStore.getState().checkTokenExpiry()
+                && Date.now() < (tokenExpiry ?? 0) - REFRESH_MARGIN_MS;
 
-            if (!isTokenValid) {
-                console.warn('[API Client] Token expired, redirecting to login');
-                if (typeof window !== 'undefined') {
-                    window.location.href = '/login';
-                }
+            if (!isTokenValid && !(await refreshAccessToken())) {
+                console.warn('[API Client] Session expired, redirecting to login');
+                redirectToLogin();
                 return Promise.reject(new Error('Token expired'));
             }
         }
@@ -52,19 +111,29 @@ axiosInstance.interceptors.response.use(
     (response: AxiosResponse) => {
         return response;
     },
-    (error: AxiosError<any>) => {
+    async (error: AxiosError<any>) => {
+        const config = error.config as (InternalAxiosRequestConfig & { _retried?: boolean }) | undefined;
+        const isPublicUrl = isPublic(config?.url || '');
+
+        // 서버에서 폐기된 토큰이면 한 번만 갱신해 같은 요청을 다시 보낸다
+        if (error.response?.status === 401 && config && !config._retried && !isPublicUrl) {
+            config._retried = true;
+            const token = await refreshAccessToken();
+            if (token) {
+                config.headers.Authorization = `Bearer ${token}`;
+                return axiosInstance(config);
+            }
+        }
+
         console.error('[API Client] Response error:', {
             status: error.response?.status,
             url: error.config?.url,
             message: error.response?.data?.message || error.message,
         });
 
-        if (error.response?.status === 401) {
+        if (error.response?.status === 401 && !isPublicUrl) {
             console.warn('[API Client] 401 Unauthorized - Logging out');
-            useAuthStore.getState().logout();
-            if (typeof window !== 'undefined') {
-                window.location.href = '/login';
-            }
+            redirectToLogin();
         }
 
         return Promise.reject(error);
@@ -1,5 +1,5 @@
 import axiosInstance from '../api-client';
-import type { LoginRequest, SignupRequest, AuthResponse, User } from '@/types';
+import type { LoginRequest, SignupRequest, AuthResponse, AuthTokens, User } from '@/types';
 import { unwrapApiResponse } from './response';
 
 interface LoginApiResponse {
@@ -7,6 +7,8 @@ interface LoginApiResponse {
   email: string;
   nickname: string;
   accessToken: string;
+  refreshToken: string;
+  expiresIn: number;
 }
 
 export const authApi = {
@@ -16,6 +18,8 @@ export const authApi = {
 
     return {
       accessToken: loginData.accessToken,
+      refreshToken: loginData.refreshToken,
+      expiresIn: loginData.expiresIn,
       user: {
         id: loginData.id,
         email: loginData.email,
@@ -24,6 +28,16 @@ export const authApi = {
     };
   },
 
+  refresh: async (refreshToken: string): Promise<AuthTokens> => {
+    const response = await axiosInstance.post('/api/users/refresh', { refreshToken });
+    return unwrapApiResponse<AuthTokens>(response);
+  },
+
+  logout: async (refreshToken: string | null): Promise<void> => {
+    const response = await axiosInstance.post('/api/users/logout', { refreshToken });
+    unwrapApiResponse(response);
+  },
+
   signup: async (data: SignupRequest): Promise<void> => {
     const response = await axiosInstance.post('/api/users/signup', data);
     unwrapApiResponse(response);
@@ -0,0 +1,10 @@
+import axiosInstance from '../api-client';
+import type { Bootstrap } from '@/types';
+import { unwrapApiResponse } from './response';
+
+export const bootstrapApi = {
+  get: async (): Promise<Bootstrap> => {
+    const response = await axiosInstance.get('/api/bootstrap');
+    return unwrapApiResponse<Bootstrap>(response);
+  },
+};
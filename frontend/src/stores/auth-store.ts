@@ -7,11 +7,15 @@ interface AuthState {
     user: User | null;
     token: string | null;
     tokenExpiry: number | null;
+    refreshToken: string | null;
     isLoading: boolean;
 
     login: (email: string, password: string) => Promise<void>;
     signup: (data: SignupRequest) => Promise<void>;
-    logout: () => void;
+    setTokens: (accessToken: string, refreshToken: string) => void;
+    setUser: (user: User) => void;
+    logout: () => Promise<void>;
+    clearSession: () => void;
     checkTokenExpiry: () => boolean;
 }
 
@@ -21,6 +25,7 @@ export const useAuthStore = create<AuthState>()(
             user: null,
             token: null,
             tokenExpiry: null,
+            refreshToken: null,
             isLoading: false,
 
             login: async (email: string, password: string) => {
@@ -33,6 +38,7 @@ export const useAuthStore = create<AuthState>()(
                         user: response.user,
                         token: response.accessToken,
                         tokenExpiry: expiry,
+                        refreshToken: response.refreshToken,
                         isLoading: false,
                     });
                 } catch (error) {
@@ -52,27 +58,47 @@ export const useAuthStore = create<AuthState>()(
                 }
             },
 
-            logout: () => {
+            setTokens: (accessToken: string, refreshToken: string) => {
+                set({
+                    token: accessToken,
+                    tokenExpiry: getTokenExpiry(accessToken),
+                    refreshToken,
+                });
+            },
+
+            setUser: (user: User) => {
+                set({ user });
+            },
+
+            // 서버에 access token과 refresh token 폐기를 요청한다. 실패해도 로컬 세션은 지운다
+            logout: async () => {
+                const { token, refreshToken } = get();
+                if (token && Date.now() < (get().tokenExpiry ?? 0)) {
+                    try {
+                        await authApi.logout(refreshToken);
+                    } catch (error) {
+                        console.warn('[Auth] Logout request failed:', error);
+                    }
+                }
+                get().clearSession();
+            },
+
+            clearSession: () => {
                 set({
                     user: null,
                     token: null,
                     tokenExpiry: null,
+                    refreshToken: null,
                 });
             },
 
+            // access token이 아직 유효한지 여부. 만료되었어도 refresh token이 있으면 세션은 살아 있다
             checkTokenExpiry: () => {
                 const { tokenExpiry, token } = get();
 
                 if (!token || !tokenExpiry) return false;
 
-                const isExpired = Date.now() > tokenExpiry;
-
-                if (isExpired) {
-                    get().logout();
-                    return false;
-                }
-
-                return true;
+                return Date.now() < tokenExpiry;
             },
         }),
         {
@@ -19,8 +19,13 @@ export interface SignupRequest {
   nickname: string;
 }
 
-export interface AuthResponse {
+export interface AuthTokens {
   accessToken: string;
+  refreshToken: string;
+  expiresIn: number;
+}
+
+export interface AuthResponse extends AuthTokens {
   user: User;
 }
 
@@ -108,6 +113,20 @@ export interface DashboardStats {
   weekCompleted: number;
 }
 
+// ========================================
+// Bootstrap Types
+// ========================================
+// GET /api/bootstrap: 대시보드 첫 화면에 필요한 데이터를 한 번에 받는다
+export interface Bootstrap {
+  user: User;
+  dashboard: DashboardStats;
+  projects: Project[];
+  tasks: Task[];
+  todayTasks: Task[];
+  weekTasks: Task[];
+  overdueTasks: Task[];
+}
+
 // ========================================
 // API Response Types
 // ========================================
@@ -115,6 +134,8 @@ export interface ApiResponse<T> {
   success: boolean;
   data: T;
   message?: string;
+  // DB 장애 중 서버가 마지막으로 성공한 조회 결과를 돌려준 경우
+  stale?: boolean;
 }
 
 export interface ApiError {